@@ -0,0 +1,190 @@
+package io.github.felipecarrillo100.ais.benchmarks;
+
+import io.github.felipecarrillo100.ais.AisEncoder;
+import io.github.felipecarrillo100.ais.AisPositionMessage;
+import io.github.felipecarrillo100.ais.AisStaticMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates deterministic benchmark corpora with the library's own encoder,
+ * so benchmarks need no external data.
+ */
+final class AisCorpus {
+
+    private AisCorpus() {
+    }
+
+    /**
+     * Creates a position report with pseudo-random but valid field values.
+     * @param random source of randomness
+     * @return position message
+     */
+    static AisPositionMessage randomPosition(Random random) {
+        AisPositionMessage msg = new AisPositionMessage();
+        msg.setMmsi(200000000 + random.nextInt(600000000));
+        msg.setRepeat(0);
+        msg.setNavStatus(random.nextInt(9));
+        msg.setRateOfTurn(random.nextInt(255) - 127);
+        msg.setSog(random.nextInt(300) / 10.0);
+        msg.setAccuracy(random.nextBoolean());
+        msg.setLon(random.nextDouble() * 360.0 - 180.0);
+        msg.setLat(random.nextDouble() * 180.0 - 90.0);
+        msg.setCog(random.nextInt(3600) / 10.0);
+        msg.setHeading(random.nextInt(360));
+        msg.setTimestamp(random.nextInt(60));
+        msg.setSpecialManoeuvre(0);
+        msg.setRaim(random.nextBoolean());
+        msg.setRadio(random.nextInt(1 << 19));
+        msg.setChannel(random.nextBoolean() ? "A" : "B");
+        return msg;
+    }
+
+    /**
+     * Creates a static and voyage data message with pseudo-random but valid field values.
+     * @param random source of randomness
+     * @return static message
+     */
+    static AisStaticMessage randomStatic(Random random) {
+        AisStaticMessage msg = new AisStaticMessage();
+        msg.setMessageType(5);
+        msg.setRepeat(0);
+        msg.setMmsi(200000000 + random.nextInt(600000000));
+        msg.setAisVersion(0);
+        msg.setImo(1000000 + random.nextInt(8999999));
+        msg.setCallsign("C" + random.nextInt(1000000));
+        msg.setName("VESSEL " + random.nextInt(100000000));
+        msg.setShipType(60 + random.nextInt(30));
+        msg.setDimensionToBow(random.nextInt(300));
+        msg.setDimensionToStern(random.nextInt(200));
+        msg.setDimensionToPort(random.nextInt(40));
+        msg.setDimensionToStarboard(random.nextInt(40));
+        msg.setEpfd(1);
+        msg.setEtaMonth(1 + random.nextInt(12));
+        msg.setEtaDay(1 + random.nextInt(28));
+        msg.setEtaHour(random.nextInt(24));
+        msg.setEtaMinute(random.nextInt(60));
+        msg.setDraught(random.nextInt(200) / 10.0);
+        msg.setDestination("PORT " + random.nextInt(100000));
+        msg.setDteAvailable(true);
+        msg.setChannel(random.nextBoolean() ? "A" : "B");
+        return msg;
+    }
+
+    /**
+     * Generates single-part position report sentences cycling through message types 1, 2 and 3.
+     * @param count number of sentences
+     * @param seed random seed
+     * @return sentences
+     */
+    static String[] positionSentences(int count, long seed) {
+        Random random = new Random(seed);
+        String[] sentences = new String[count];
+        for (int i = 0; i < count; i++) {
+            String sentence = AisEncoder.encodePositionMessage(randomPosition(random)).get(0);
+            // The encoder always emits type 1; patch the leading payload character for types 2 and 3
+            sentences[i] = withMessageType(sentence, 1 + i % 3);
+        }
+        return sentences;
+    }
+
+    /**
+     * Generates type 5 messages, fragments of one message kept together.
+     * @param count number of messages
+     * @param seed random seed
+     * @return sentences, in message order
+     */
+    static String[] staticSentences(int count, long seed) {
+        Random random = new Random(seed);
+        List<String> sentences = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<String> fragments = AisEncoder.encodeStaticMessage(randomStatic(random));
+            for (String fragment : fragments) {
+                sentences.add(withSequenceId(fragment, i % 10));
+            }
+        }
+        return sentences.toArray(new String[0]);
+    }
+
+    /**
+     * Generates type 5 messages whose fragments are interleaved with those of other
+     * in-flight messages and with position reports, as seen on a busy feed.
+     * @param count number of type 5 messages
+     * @param inFlight number of multipart messages interleaved at any time (at most 10)
+     * @param seed random seed
+     * @return sentences
+     */
+    static String[] interleavedSentences(int count, int inFlight, long seed) {
+        Random random = new Random(seed);
+        List<String> sentences = new ArrayList<>();
+        for (int base = 0; base < count; base += inFlight) {
+            int n = Math.min(inFlight, count - base);
+            List<List<String>> group = new ArrayList<>();
+            for (int k = 0; k < n; k++) {
+                group.add(AisEncoder.encodeStaticMessage(randomStatic(random)));
+            }
+            for (int part = 0; part < 2; part++) {
+                for (int k = 0; k < n; k++) {
+                    List<String> fragments = group.get(k);
+                    if (part < fragments.size()) {
+                        sentences.add(withSequenceId(fragments.get(part), k));
+                    }
+                    sentences.add(AisEncoder.encodePositionMessage(randomPosition(random)).get(0));
+                }
+            }
+        }
+        return sentences.toArray(new String[0]);
+    }
+
+    /**
+     * Replaces the message type in the first payload character of a sentence.
+     * @param sentence AIS sentence
+     * @param type message type (0-39)
+     * @return sentence with the new type and a recomputed checksum
+     */
+    static String withMessageType(String sentence, int type) {
+        String[] fields = fieldsOf(sentence);
+        fields[5] = (char) (type + 48) + fields[5].substring(1);
+        return sign(String.join(",", fields));
+    }
+
+    /**
+     * Replaces the sequential message id of a sentence.
+     * @param sentence AIS sentence
+     * @param seqId new sequential message id
+     * @return sentence with the new id and a recomputed checksum
+     */
+    static String withSequenceId(String sentence, int seqId) {
+        String[] fields = fieldsOf(sentence);
+        fields[3] = Integer.toString(seqId);
+        return sign(String.join(",", fields));
+    }
+
+    /**
+     * Prefixes a sentence with an NMEA 4 tag block.
+     * @param sentence AIS sentence
+     * @param fields tag block fields, e.g. {@code s:rx1,c:1700000000}
+     * @return tagged sentence
+     */
+    static String withTagBlock(String sentence, String fields) {
+        int checksum = 0;
+        for (int i = 0; i < fields.length(); i++) {
+            checksum ^= fields.charAt(i);
+        }
+        return "\\" + fields + "*" + String.format("%02X", checksum) + "\\" + sentence;
+    }
+
+    private static String[] fieldsOf(String sentence) {
+        return sentence.substring(0, sentence.indexOf('*')).split(",", -1);
+    }
+
+    private static String sign(String body) {
+        int checksum = 0;
+        for (int i = 1; i < body.length(); i++) {
+            checksum ^= body.charAt(i);
+        }
+        return body + "*" + String.format("%02X", checksum);
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.felipecarrillo100.ais.benchmarks;
+
+import io.github.felipecarrillo100.ais.AisArchiveBlock;
+import io.github.felipecarrillo100.ais.AisArchiveReader;
+import io.github.felipecarrillo100.ais.AisArchiveWriter;
+import io.github.felipecarrillo100.ais.MutableAisPositionMessage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Archive of 4M position reports over one day: a full scan of two columns, and a time-and-area
+ * query that skips most blocks from their headers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArchiveBenchmark {
+
+    private static final int REPORTS = 4_000_000;
+    private static final int VESSELS = 20_000;
+
+    private Path file;
+    private AisArchiveReader reader;
+
+    /**
+     * Writes the archive, reports in time order from vessels spread over the North Sea.
+     * @throws IOException if the file cannot be written
+     */
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(42);
+        file = Files.createTempFile("ais-archive", ".bin");
+        double[] lat = new double[VESSELS];
+        double[] lon = new double[VESSELS];
+        for (int i = 0; i < VESSELS; i++) {
+            lat[i] = 51 + random.nextDouble() * 7;
+            lon[i] = random.nextDouble() * 9 - 2;
+        }
+        MutableAisPositionMessage msg = new MutableAisPositionMessage();
+        msg.setMessageType(1);
+        try (AisArchiveWriter writer = new AisArchiveWriter(file)) {
+            for (int r = 0; r < REPORTS; r++) {
+                int v = random.nextInt(VESSELS);
+                lat[v] += (random.nextDouble() - 0.5) / 1000;
+                lon[v] += (random.nextDouble() - 0.5) / 1000;
+                msg.setMmsi(200_000_000 + v);
+                msg.setLat(lat[v]);
+                msg.setLon(lon[v]);
+                msg.setSog(random.nextInt(250) / 10.0);
+                msg.setCog(random.nextInt(3600) / 10.0);
+                writer.writePosition(msg, 1_700_000_000L + r * 86_400L / REPORTS);
+            }
+        }
+        reader = new AisArchiveReader(file);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        reader.close();
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Counts the reports of vessels faster than 20 knots, reading the speed and MMSI columns of every block.
+     * @return number of fast reports
+     */
+    @Benchmark
+    public long scanSpeedColumn() {
+        long fast = 0;
+        for (AisArchiveBlock block : reader.getBlocks()) {
+            ShortBuffer sog = block.sogTenths();
+            IntBuffer mmsi = block.mmsis();
+            for (int i = 0, n = block.size(); i < n; i++) {
+                if (sog.get(i) > 200 && mmsi.get(i) != 0) fast++;
+            }
+        }
+        return fast;
+    }
+
+    /**
+     * Finds the reports within one hour and a 1 by 1 degree box.
+     * @param blackhole JMH blackhole
+     * @return number of reports found
+     */
+    @Benchmark
+    public long queryHourAndBox(Blackhole blackhole) {
+        return reader.queryPositions(1_700_036_000L, 1_700_039_600L, 53, 3, 54, 4,
+                msg -> blackhole.consume(msg.getMmsi()));
+    }
+}
@@ -0,0 +1,221 @@
+package io.github.felipecarrillo100.ais.benchmarks;
+
+import io.github.felipecarrillo100.ais.AisDecoder;
+import io.github.felipecarrillo100.ais.AisDuplicateFilter;
+import io.github.felipecarrillo100.ais.AisMessageFilter;
+import io.github.felipecarrillo100.ais.AisMessageType;
+import io.github.felipecarrillo100.ais.AisStaticDataCache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoder throughput, one operation being one sentence fed to {@link AisDecoder#onSentence(String)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DecoderBenchmark {
+
+    private static final int CORPUS_SIZE = 4096;
+
+    private String[] positions;
+    private byte[] positionBytes;
+    private int[] positionOffsets;
+    private byte[] taggedBytes;
+    private int[] taggedOffsets;
+    private String[] statics;
+    private String[] interleaved;
+    private String[] overlapping;
+    private int positionIndex;
+    private int staticIndex;
+    private int interleavedIndex;
+    private int overlappingIndex;
+    private AisDecoder decoder;
+    private AisDecoder reusableDecoder;
+    private AisDecoder viewDecoder;
+    private AisDecoder filteredDecoder;
+    private AisDecoder cachedStaticDecoder;
+    private AisDecoder deduplicatingDecoder;
+
+    /**
+     * Builds the corpora and a decoder whose callbacks feed the blackhole.
+     * @param blackhole JMH blackhole
+     */
+    @Setup
+    public void setup(Blackhole blackhole) {
+        positions = AisCorpus.positionSentences(CORPUS_SIZE, 1);
+        positionOffsets = new int[positions.length + 1];
+        StringBuilder joined = new StringBuilder();
+        for (int i = 0; i < positions.length; i++) {
+            positionOffsets[i] = joined.length();
+            joined.append(positions[i]).append("\r\n");
+        }
+        positionOffsets[positions.length] = joined.length();
+        positionBytes = joined.toString().getBytes(StandardCharsets.US_ASCII);
+        taggedOffsets = new int[positions.length + 1];
+        joined.setLength(0);
+        for (int i = 0; i < positions.length; i++) {
+            taggedOffsets[i] = joined.length();
+            String tags = "s:station" + (i % 8) + ",c:" + (1700000000 + i);
+            joined.append(AisCorpus.withTagBlock(positions[i], tags)).append("\r\n");
+        }
+        taggedOffsets[positions.length] = joined.length();
+        taggedBytes = joined.toString().getBytes(StandardCharsets.US_ASCII);
+        statics = AisCorpus.staticSentences(CORPUS_SIZE, 2);
+        interleaved = AisCorpus.interleavedSentences(CORPUS_SIZE, 8, 3);
+        decoder = new AisDecoder();
+        decoder.setPositionCallback(blackhole::consume);
+        decoder.setStaticCallback(blackhole::consume);
+        reusableDecoder = new AisDecoder();
+        reusableDecoder.setReusablePositionCallback(msg -> {
+            blackhole.consume(msg.getMmsi());
+            blackhole.consume(msg.getLat());
+            blackhole.consume(msg.getLon());
+        });
+        // Watch-list of a few thousand MMSIs that matches about one report in 64
+        int[] watched = new int[3000];
+        AisDecoder collector = new AisDecoder();
+        int[] next = new int[1];
+        collector.setPositionViewCallback(view -> {
+            if (next[0] < watched.length) watched[next[0]++] = view.mmsi();
+        });
+        for (int i = 0; i < positions.length; i += 64) {
+            collector.onSentence(positions[i]);
+        }
+        for (int i = next[0]; i < watched.length; i++) {
+            watched[i] = 900000000 + i;
+        }
+        AisMessageFilter filter = new AisMessageFilter();
+        filter.addWatchedMmsis(watched);
+        filteredDecoder = new AisDecoder();
+        filteredDecoder.setFilter(filter);
+        filteredDecoder.setPositionCallback(blackhole::consume);
+        viewDecoder = new AisDecoder();
+        viewDecoder.setPositionViewCallback(view -> {
+            blackhole.consume(view.mmsi());
+            blackhole.consume(view.latMicroDeg());
+            blackhole.consume(view.lonMicroDeg());
+        });
+        cachedStaticDecoder = new AisDecoder();
+        cachedStaticDecoder.addHandler(AisMessageType.STATIC_VIEW, new AisStaticDataCache(blackhole::consume));
+        // Every report heard by three overlapping stations
+        overlapping = new String[positions.length * 3];
+        for (int i = 0; i < overlapping.length; i++) {
+            overlapping[i] = AisCorpus.withTagBlock(positions[i / 3], "s:station" + (i % 3));
+        }
+        deduplicatingDecoder = new AisDecoder();
+        deduplicatingDecoder.setDuplicateFilter(new AisDuplicateFilter());
+        deduplicatingDecoder.setReusablePositionCallback(msg -> blackhole.consume(msg.getMmsi()));
+    }
+
+    /**
+     * Single-part position reports, types 1, 2 and 3.
+     */
+    @Benchmark
+    public void decodePositionReport() {
+        decoder.onSentence(positions[positionIndex]);
+        positionIndex = (positionIndex + 1) % positions.length;
+    }
+
+    /**
+     * Single-part position reports in zero-allocation mode, the callback reading a few fields.
+     */
+    @Benchmark
+    public void decodePositionReportReusable() {
+        reusableDecoder.onSentence(positions[positionIndex]);
+        positionIndex = (positionIndex + 1) % positions.length;
+    }
+
+    /**
+     * Single-part position reports delivered as lazy views, the callback reading a few fields.
+     */
+    @Benchmark
+    public void decodePositionReportView() {
+        viewDecoder.onSentence(positions[positionIndex]);
+        positionIndex = (positionIndex + 1) % positions.length;
+    }
+
+    /**
+     * Single-part position reports filtered by an MMSI watch-list that matches about one in 64.
+     */
+    @Benchmark
+    public void decodeFilteredPositionReport() {
+        filteredDecoder.onSentence(positions[positionIndex]);
+        positionIndex = (positionIndex + 1) % positions.length;
+    }
+
+    /**
+     * Single-part position reports in zero-allocation mode, scanned in place from one read buffer.
+     */
+    @Benchmark
+    public void decodePositionReportBytes() {
+        int start = positionOffsets[positionIndex];
+        reusableDecoder.onSentence(positionBytes, start, positionOffsets[positionIndex + 1] - start);
+        positionIndex = (positionIndex + 1) % positions.length;
+    }
+
+    /**
+     * Single-part position reports with a source and time tag block, in zero-allocation mode.
+     */
+    @Benchmark
+    public void decodeTaggedPositionReportBytes() {
+        int start = taggedOffsets[positionIndex];
+        reusableDecoder.onSentence(taggedBytes, start, taggedOffsets[positionIndex + 1] - start);
+        positionIndex = (positionIndex + 1) % positions.length;
+    }
+
+    /**
+     * Two-part static and voyage data messages (type 5), fragments in order.
+     */
+    @Benchmark
+    public void decodeStaticVoyageData() {
+        decoder.onSentence(statics[staticIndex]);
+        staticIndex = (staticIndex + 1) % statics.length;
+    }
+
+    /**
+     * Two-part static and voyage data messages deduplicated by a static data cache. The corpus
+     * repeats, so after the first pass every message is an unchanged resend that is not decoded.
+     */
+    @Benchmark
+    public void decodeStaticVoyageDataCached() {
+        cachedStaticDecoder.onSentence(statics[staticIndex]);
+        staticIndex = (staticIndex + 1) % statics.length;
+    }
+
+    /**
+     * Position reports received by three stations each, copies dropped by a duplicate filter
+     * before decoding. The corpus repeats within the filter window, so after the first pass
+     * every report is dropped; this measures the cost of the lookup.
+     */
+    @Benchmark
+    public void decodeOverlappingPositionReport() {
+        deduplicatingDecoder.onSentence(overlapping[overlappingIndex]);
+        overlappingIndex = (overlappingIndex + 1) % overlapping.length;
+    }
+
+    /**
+     * Type 5 fragments interleaved with other in-flight multipart messages and position reports.
+     */
+    @Benchmark
+    public void decodeInterleavedMultipart() {
+        decoder.onSentence(interleaved[interleavedIndex]);
+        interleavedIndex = (interleavedIndex + 1) % interleaved.length;
+    }
+}
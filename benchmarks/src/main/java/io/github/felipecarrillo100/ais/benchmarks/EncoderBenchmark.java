@@ -0,0 +1,116 @@
+package io.github.felipecarrillo100.ais.benchmarks;
+
+import io.github.felipecarrillo100.ais.AisBatchEncoder;
+import io.github.felipecarrillo100.ais.AisEncoder;
+import io.github.felipecarrillo100.ais.AisPositionMessage;
+import io.github.felipecarrillo100.ais.AisStaticMessage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoder throughput, one operation being one message encoded into NMEA sentences.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncoderBenchmark {
+
+    private static final int CORPUS_SIZE = 4096;
+
+    private AisPositionMessage[] positions;
+    private AisStaticMessage[] statics;
+    private int positionIndex;
+    private int staticIndex;
+    private final AisEncoder encoder = new AisEncoder();
+    private final byte[] output = new byte[512];
+    private final AisBatchEncoder batchEncoder = new AisBatchEncoder();
+    private List<AisPositionMessage> fleet;
+    private byte[] batchOutput;
+
+    /**
+     * Builds the message corpora.
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(4);
+        positions = new AisPositionMessage[CORPUS_SIZE];
+        statics = new AisStaticMessage[CORPUS_SIZE];
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            positions[i] = AisCorpus.randomPosition(random);
+            statics[i] = AisCorpus.randomStatic(random);
+        }
+        fleet = Arrays.asList(positions);
+        batchOutput = new byte[CORPUS_SIZE * 64];
+    }
+
+    /**
+     * Position report (type 1) to a single sentence.
+     * @return encoded sentences
+     */
+    @Benchmark
+    public List<String> encodePositionMessage() {
+        AisPositionMessage msg = positions[positionIndex];
+        positionIndex = (positionIndex + 1) % positions.length;
+        return AisEncoder.encodePositionMessage(msg);
+    }
+
+    /**
+     * Static and voyage data (type 5) to two sentences.
+     * @return encoded sentences
+     */
+    @Benchmark
+    public List<String> encodeStaticMessage() {
+        AisStaticMessage msg = statics[staticIndex];
+        staticIndex = (staticIndex + 1) % statics.length;
+        return AisEncoder.encodeStaticMessage(msg);
+    }
+
+    /**
+     * Position report (type 1) written into a reused byte array.
+     * @return number of bytes written
+     */
+    @Benchmark
+    public int writePositionMessage() {
+        AisPositionMessage msg = positions[positionIndex];
+        positionIndex = (positionIndex + 1) % positions.length;
+        return encoder.writePositionMessage(msg, output, 0);
+    }
+
+    /**
+     * Static and voyage data (type 5) written into a reused byte array.
+     * @return number of bytes written
+     */
+    @Benchmark
+    public int writeStaticMessage() {
+        AisStaticMessage msg = statics[staticIndex];
+        staticIndex = (staticIndex + 1) % statics.length;
+        return encoder.writeStaticMessage(msg, output, 0);
+    }
+
+    /**
+     * Whole corpus of position reports written into one contiguous array;
+     * divide the score by the corpus size for messages per second.
+     * @return number of bytes written
+     */
+    @Benchmark
+    public int writePositionBatch() {
+        return batchEncoder.writePositionMessages(fleet, batchOutput, 0);
+    }
+}
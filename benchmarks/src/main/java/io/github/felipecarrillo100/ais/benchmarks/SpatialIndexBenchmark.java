@@ -0,0 +1,104 @@
+package io.github.felipecarrillo100.ais.benchmarks;
+
+import io.github.felipecarrillo100.ais.AisSpatialIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spatial index over 300k vessels spread along the world's coasts: cost of moving one vessel
+ * and latency of box and radius queries around busy areas.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpatialIndexBenchmark {
+
+    private static final int VESSELS = 300_000;
+
+    /**
+     * Centers of the dense areas vessels are drawn around, latitude and longitude.
+     */
+    private static final double[][] HOTSPOTS = {
+            {51.9, 4.1}, {1.25, 103.8}, {53.5, 9.9}, {22.3, 114.2}, {40.6, -74.0},
+            {31.2, 121.5}, {36.0, -5.6}, {29.9, 32.5}, {35.4, 139.7}, {33.7, -118.2}
+    };
+
+    private AisSpatialIndex index;
+    private double[] lat;
+    private double[] lon;
+    private int moveIndex;
+    private int queryIndex;
+
+    /**
+     * Fills the index, two thirds of the fleet around the hotspots and the rest anywhere at sea.
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        index = new AisSpatialIndex();
+        lat = new double[VESSELS];
+        lon = new double[VESSELS];
+        for (int i = 0; i < VESSELS; i++) {
+            if (i % 3 == 0) {
+                lat[i] = random.nextDouble() * 140 - 70;
+                lon[i] = random.nextDouble() * 360 - 180;
+            } else {
+                double[] hotspot = HOTSPOTS[i % HOTSPOTS.length];
+                lat[i] = hotspot[0] + random.nextGaussian() * 1.5;
+                lon[i] = hotspot[1] + random.nextGaussian() * 1.5;
+            }
+            index.update(200_000_000 + i, lat[i], lon[i]);
+        }
+    }
+
+    /**
+     * Moves one vessel by about 100 m, as one position report would.
+     */
+    @Benchmark
+    public void moveVessel() {
+        int i = moveIndex;
+        moveIndex = (i + 7919) % VESSELS;
+        lat[i] += 0.001;
+        if (lat[i] > 89) lat[i] = -89;
+        index.update(200_000_000 + i, lat[i], lon[i]);
+    }
+
+    /**
+     * Finds the vessels in a 0.5 by 0.5 degree box centered on a hotspot.
+     * @param blackhole JMH blackhole
+     * @return number of vessels found
+     */
+    @Benchmark
+    public int queryBox(Blackhole blackhole) {
+        double[] hotspot = HOTSPOTS[queryIndex++ % HOTSPOTS.length];
+        return index.queryBox(hotspot[0] - 0.25, hotspot[1] - 0.25, hotspot[0] + 0.25, hotspot[1] + 0.25,
+                blackhole::consume);
+    }
+
+    /**
+     * Finds the vessels within 10 nautical miles of a hotspot.
+     * @param blackhole JMH blackhole
+     * @return number of vessels found
+     */
+    @Benchmark
+    public int queryRadius(Blackhole blackhole) {
+        double[] hotspot = HOTSPOTS[queryIndex++ % HOTSPOTS.length];
+        return index.queryRadius(hotspot[0], hotspot[1], 10, blackhole::consume);
+    }
+}
@@ -0,0 +1,336 @@
+package io.github.felipecarrillo100.ais;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Front end shared by {@link AisDecoder} and {@link ConcurrentAisDecoder}: handler registration,
+ * filters, and the path from a scanned sentence to the dispatcher. Subclasses only decide which
+ * decode state a sentence uses and how multipart fragments are reassembled.
+ * <p>
+ * On a {@link ConcurrentAisDecoder}, callbacks and handlers may be invoked concurrently from every
+ * producer thread and must be thread-safe; reused instances and views are then owned by each thread.
+ */
+public abstract class AbstractAisDecoder {
+
+    /**
+     * Timeout in milliseconds after which incomplete multipart buffers are discarded.
+     */
+    private final long multipartTimeoutMs;
+
+    /**
+     * Decodes payload bits and invokes the registered callbacks.
+     */
+    final AisMessageDispatcher dispatcher = new AisMessageDispatcher();
+
+    /**
+     * Only the decoders of this package extend this class.
+     * @param multipartTimeoutMs time in milliseconds after the last fragment after which incomplete multipart messages are discarded
+     * @param maxPendingMultiparts maximum number of incomplete multipart messages buffered at once
+     * @throws IllegalArgumentException if the timeout or the capacity is not positive
+     */
+    AbstractAisDecoder(long multipartTimeoutMs, int maxPendingMultiparts) {
+        if (multipartTimeoutMs <= 0) {
+            throw new IllegalArgumentException("Multipart timeout must be positive: " + multipartTimeoutMs);
+        }
+        if (maxPendingMultiparts <= 0 || maxPendingMultiparts > (1 << 24)) {
+            throw new IllegalArgumentException("Max pending multiparts must be between 1 and 16777216: " + maxPendingMultiparts);
+        }
+        this.multipartTimeoutMs = multipartTimeoutMs;
+    }
+
+    /**
+     * Gets the time after which incomplete multipart messages are discarded.
+     * @return multipart timeout in milliseconds
+     */
+    public long getMultipartTimeoutMs() {
+        return multipartTimeoutMs;
+    }
+
+    /**
+     * Sets the filter that selects messages by type and MMSI before they are decoded.
+     * Single-part sentences are checked on their armored payload, multipart messages
+     * once reassembled; rejected messages reach no callback.
+     * @param filter message filter, or null to decode every message
+     */
+    public void setFilter(AisMessageFilter filter) {
+        dispatcher.setFilter(filter);
+    }
+
+    /**
+     * Sets the filter that drops copies of a message already received, e.g. from another
+     * receiver of a merged feed, before they are decoded. Single-part sentences are checked
+     * on their armored payload, multipart messages once reassembled, and only messages
+     * accepted by the {@link #setFilter message filter} are remembered.
+     * @param duplicates duplicate filter, or null to decode every copy
+     */
+    public void setDuplicateFilter(AisDuplicateFilter duplicates) {
+        dispatcher.setDuplicateFilter(duplicates);
+    }
+
+    /**
+     * Adds a handler of one kind of message. Several handlers may be added for the same kind;
+     * each message is decoded once per kind and passed to all of them in registration order.
+     * Message types with no handler are dropped before any field is decoded.
+     * Handlers installed through the {@code set...Callback} methods are kept alongside.
+     * Handlers may be added and removed while sentences are decoded.
+     * @param type kind of message to receive, e.g. {@link AisMessageType#POSITION}
+     * @param handler Consumer that accepts the decoded message
+     * @param <T> class of the delivered message
+     */
+    public <T> void addHandler(AisMessageType<T> type, Consumer<? super T> handler) {
+        dispatcher.addHandler(Objects.requireNonNull(type, "type"), Objects.requireNonNull(handler, "handler"));
+    }
+
+    /**
+     * Removes a handler added with {@link #addHandler} or installed through a {@code set...Callback} method.
+     * If the handler was added several times, one registration is removed.
+     * @param type kind of message the handler was added for
+     * @param handler handler to remove
+     * @param <T> class of the delivered message
+     * @return true if the handler was registered
+     */
+    public <T> boolean removeHandler(AisMessageType<T> type, Consumer<? super T> handler) {
+        return dispatcher.removeHandler(Objects.requireNonNull(type, "type"), handler);
+    }
+
+    /**
+     * Sets the callback to receive decoded AIS position messages.
+     * @param callback Consumer that accepts AisPositionMessage
+     */
+    public void setPositionCallback(Consumer<AisPositionMessage> callback) {
+        dispatcher.setCallback(AisMessageType.POSITION, callback);
+    }
+
+    /**
+     * Enables the zero-allocation mode for position messages (types 1-3).
+     * Every position message is decoded into the same decoder-owned instance, which is
+     * only valid until the callback returns. Once warmed up, decoding a single-part
+     * position report with only this callback set allocates nothing.
+     * @param callback Consumer that accepts the reused MutableAisPositionMessage, or null to disable
+     */
+    public void setReusablePositionCallback(Consumer<MutableAisPositionMessage> callback) {
+        dispatcher.setCallback(AisMessageType.REUSABLE_POSITION, callback);
+    }
+
+    /**
+     * Sets the callback to receive read-only views over position message (types 1-3) bits.
+     * Fields are decoded lazily by the view's accessors. The view wraps the decoder's own
+     * buffer and is only valid until the callback returns.
+     * @param callback Consumer that accepts AisPositionView, or null to disable
+     */
+    public void setPositionViewCallback(Consumer<AisPositionView> callback) {
+        dispatcher.setCallback(AisMessageType.POSITION_VIEW, callback);
+    }
+
+    /**
+     * Sets the callback to receive read-only views over static message (type 5) bits.
+     * The view is only valid until the callback returns.
+     * @param callback Consumer that accepts AisStaticView, or null to disable
+     */
+    public void setStaticViewCallback(Consumer<AisStaticView> callback) {
+        dispatcher.setCallback(AisMessageType.STATIC_VIEW, callback);
+    }
+
+    /**
+     * Sets the callback to receive decoded AIS Class B position messages (types 18 and 19).
+     * A Consumer of AisPositionMessage is accepted as well, so one callback can handle
+     * Class A and Class B position reports alike.
+     * @param callback Consumer that accepts AisClassBPositionMessage
+     */
+    public void setClassBPositionCallback(Consumer<? super AisClassBPositionMessage> callback) {
+        dispatcher.setCallback(AisMessageType.CLASS_B_POSITION, callback);
+    }
+
+    /**
+     * Sets the callback to receive decoded AIS static data reports (type 24), one per part.
+     * To receive complete records instead, pass an {@link AisStaticDataMerger}.
+     * @param callback Consumer that accepts AisStaticDataReport
+     */
+    public void setStaticDataReportCallback(Consumer<AisStaticDataReport> callback) {
+        dispatcher.setCallback(AisMessageType.STATIC_DATA_REPORT, callback);
+    }
+
+    /**
+     * Sets the callback to receive decoded AIS base station reports (type 4) and UTC/date responses (type 11).
+     * @param callback Consumer that accepts AisBaseStationMessage
+     */
+    public void setBaseStationCallback(Consumer<AisBaseStationMessage> callback) {
+        dispatcher.setCallback(AisMessageType.BASE_STATION, callback);
+    }
+
+    /**
+     * Sets the callback to receive decoded AIS aid-to-navigation reports (type 21).
+     * @param callback Consumer that accepts AisAidToNavigationMessage
+     */
+    public void setAidToNavigationCallback(Consumer<AisAidToNavigationMessage> callback) {
+        dispatcher.setCallback(AisMessageType.AID_TO_NAVIGATION, callback);
+    }
+
+    /**
+     * Sets the callback to receive decoded AIS safety messages (types 12 and 14).
+     * @param callback Consumer that accepts AisSafetyMessage
+     */
+    public void setSafetyMessageCallback(Consumer<AisSafetyMessage> callback) {
+        dispatcher.setCallback(AisMessageType.SAFETY, callback);
+    }
+
+    /**
+     * Registers the handler of binary messages (types 6 and 8) with the given application
+     * identifier, replacing any handler registered before. The handler receives a view over
+     * the decoder's bits that is only valid until it returns; the application data is not copied.
+     * @param dac designated area code (0-1023)
+     * @param fi function identifier (0-63)
+     * @param handler Consumer that accepts AisBinaryMessageView, or null to remove the handler
+     * @throws IllegalArgumentException if dac or fi is out of range
+     */
+    public void setBinaryMessageHandler(int dac, int fi, Consumer<AisBinaryMessageView> handler) {
+        dispatcher.setBinaryMessageHandler(dac, fi, handler);
+    }
+
+    /**
+     * Sets the callback to receive binary messages (types 6 and 8) whose application
+     * identifier has no handler registered with {@link #setBinaryMessageHandler}.
+     * @param callback Consumer that accepts AisBinaryMessageView
+     */
+    public void setBinaryMessageCallback(Consumer<AisBinaryMessageView> callback) {
+        dispatcher.setCallback(AisMessageType.BINARY, callback);
+    }
+
+    /**
+     * Sets the callback to receive decoded AIS static messages.
+     * @param callback Consumer that accepts AisStaticMessage
+     */
+    public void setStaticCallback(Consumer<AisStaticMessage> callback) {
+        dispatcher.setCallback(AisMessageType.STATIC, callback);
+    }
+
+    /**
+     * Processes a single AIS NMEA sentence.
+     * Handles single and multipart messages, verifies checksum, decodes bits,
+     * and calls appropriate callbacks.
+     * @param sentence AIS NMEA sentence string
+     */
+    public void onSentence(String sentence) {
+        onSentence(sentence, null);
+    }
+
+    /**
+     * Processes a single AIS NMEA sentence received from a given source, such as one
+     * receiver of a merged feed. Multipart fragments are only combined with fragments
+     * from the same source.
+     * @param sentence AIS NMEA sentence string
+     * @param source source of the sentence, or null to use the tag block source, if any
+     */
+    public void onSentence(String sentence, String source) {
+        DecodeContext context = beginSentence();
+        if (sentence != null && context.scanner.scan(sentence)) {
+            decodeScanned(context, source);
+        }
+    }
+
+    /**
+     * Processes a single AIS NMEA sentence held as ASCII bytes, for example a line
+     * in a network or file read buffer. The sentence is scanned in place, without
+     * first being turned into a String; trailing CR/LF bytes are ignored.
+     * The array is not retained after this method returns.
+     * @param buffer array holding the sentence
+     * @param offset index of the first byte of the sentence
+     * @param length number of bytes in the sentence
+     * @return true if the sentence was well formed and its checksum matched
+     * @throws IndexOutOfBoundsException if the range lies outside the array
+     */
+    public boolean onSentence(byte[] buffer, int offset, int length) {
+        return onSentence(buffer, offset, length, null);
+    }
+
+    /**
+     * Processes a single AIS NMEA sentence held as ASCII bytes, received from a given source.
+     * Multipart fragments are only combined with fragments from the same source.
+     * @param buffer array holding the sentence
+     * @param offset index of the first byte of the sentence
+     * @param length number of bytes in the sentence
+     * @param source source of the sentence, or null to use the tag block source, if any
+     * @return true if the sentence was well formed and its checksum matched
+     * @throws IndexOutOfBoundsException if the range lies outside the array
+     */
+    public boolean onSentence(byte[] buffer, int offset, int length, String source) {
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        DecodeContext context = beginSentence();
+        if (!context.scanner.scan(buffer, offset, length)) return false;
+        decodeScanned(context, source);
+        return true;
+    }
+
+    /**
+     * Processes a single AIS NMEA sentence held in the remaining bytes of a buffer.
+     * Heap buffers are scanned in place, direct buffers are copied into a reused scratch array.
+     * The buffer's position and limit are left unchanged.
+     * @param buffer buffer holding the sentence between its position and limit
+     * @return true if the sentence was well formed and its checksum matched
+     */
+    public boolean onSentence(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "buffer");
+        DecodeContext context = beginSentence();
+        if (!context.scanner.scan(buffer)) return false;
+        decodeScanned(context, null);
+        return true;
+    }
+
+    /**
+     * Discards incomplete multipart messages whose timeout has elapsed.
+     */
+    public abstract void purgeExpiredMultiparts();
+
+    /**
+     * Gets the decode state for the sentence about to be scanned on the calling thread.
+     * @return decode state
+     */
+    abstract DecodeContext beginSentence();
+
+    /**
+     * Adds a multipart fragment, just accepted by the context's scanner, to its message.
+     * When the message completes, its bits are left in the context's bit buffer and
+     * the context's source and receiver time are set from its fragments.
+     * @param context calling thread's decode state
+     * @param keySource source the message is keyed by, see {@link MultipartAssembler#add}
+     * @return true if the message is complete
+     */
+    abstract boolean assemble(DecodeContext context, String keySource);
+
+    /**
+     * Decodes the sentence just accepted by the context's scanner, reassembling multipart messages.
+     * @param context calling thread's decode state
+     * @param source source of the sentence, or null to use the tag block source, if any
+     */
+    private void decodeScanned(DecodeContext context, String source) {
+        NmeaSentenceScanner scanner = context.scanner;
+        byte[] sentence = scanner.source();
+        String channel = scanner.channel() == 'A' ? "A" : "B";
+        int fillBits = scanner.fillBits();
+        String callerSource = source;
+        if (source == null) source = scanner.tagSource();
+        context.source = source;
+        context.groupId = scanner.hasGroup() ? scanner.groupId() : -1;
+
+        AisBitBuffer bits = context.bits;
+        if (scanner.total() == 1) {
+            if (!dispatcher.acceptsArmored(sentence, scanner.payloadStart(), scanner.payloadEnd(), fillBits, source)) {
+                return;
+            }
+            bits.clear();
+            bits.appendArmored(sentence, scanner.payloadStart(), scanner.payloadEnd());
+            bits.trimFillBits(fillBits == 6 ? 0 : fillBits);
+            context.receiverTime = scanner.tagTime();
+            dispatcher.processBits(context, channel);
+            return;
+        }
+
+        // Grouped fragments are keyed by the caller's source only, as later ones often lack the tag source
+        String keySource = scanner.hasGroup() ? callerSource : source;
+        if (assemble(context, keySource) && dispatcher.acceptsBits(bits, context.source)) {
+            dispatcher.processBits(context, channel);
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package io.github.felipecarrillo100.ais;
+
+/**
+ * Represents an AIS Aid-to-Navigation Report (Type 21), sent by or on behalf of buoys,
+ * beacons and other aids to navigation.
+ */
+public class AisAidToNavigationMessage implements AisTagBlockFields {
+    private Integer messageType;
+    private Integer repeat;
+    private Integer mmsi;
+    private Integer aidType;
+    private String name;
+    private Boolean accuracy;
+    private Double lon;
+    private Double lat;
+    private Integer dimensionToBow;
+    private Integer dimensionToStern;
+    private Integer dimensionToPort;
+    private Integer dimensionToStarboard;
+    private Integer epfd;
+    private Integer second;
+    private Boolean offPosition;
+    private Integer regional;
+    private Boolean raim;
+    private Boolean virtualAid;
+    private Boolean assigned;
+    private String channel;
+    private String source;
+    private Long receiverTime;
+    private Integer groupId;
+
+    /**
+     * Gets the AIS message type number, 21 for aid-to-navigation reports.
+     * @return message type
+     */
+    public Integer getMessageType() { return messageType; }
+
+    /**
+     * Sets the AIS message type number.
+     * @param messageType message type
+     */
+    public void setMessageType(Integer messageType) { this.messageType = messageType; }
+
+    /**
+     * Gets the repeat indicator (0-3).
+     * @return repeat indicator
+     */
+    public Integer getRepeat() { return repeat; }
+
+    /**
+     * Sets the repeat indicator (0-3).
+     * @param repeat repeat indicator
+     */
+    public void setRepeat(Integer repeat) { this.repeat = repeat; }
+
+    /**
+     * Gets the MMSI (Maritime Mobile Service Identity) number of the aid.
+     * @return MMSI number
+     */
+    public Integer getMmsi() { return mmsi; }
+
+    /**
+     * Sets the MMSI number.
+     * @param mmsi MMSI number
+     */
+    public void setMmsi(Integer mmsi) { this.mmsi = mmsi; }
+
+    /**
+     * Gets the type of the aid to navigation (0-31), e.g. 1 for a reference point.
+     * @return aid type
+     */
+    public Integer getAidType() { return aidType; }
+
+    /**
+     * Sets the type of the aid to navigation.
+     * @param aidType aid type
+     */
+    public void setAidType(Integer aidType) { this.aidType = aidType; }
+
+    /**
+     * Gets the name of the aid, including the name extension if present.
+     * @return name
+     */
+    public String getName() { return name; }
+
+    /**
+     * Sets the name of the aid.
+     * @param name name
+     */
+    public void setName(String name) { this.name = name; }
+
+    /**
+     * Gets the position accuracy flag.
+     * True means high accuracy (better than 10 m).
+     * @return position accuracy
+     */
+    public Boolean getAccuracy() { return accuracy; }
+
+    /**
+     * Sets the position accuracy flag.
+     * @param accuracy position accuracy
+     */
+    public void setAccuracy(Boolean accuracy) { this.accuracy = accuracy; }
+
+    /**
+     * Gets the longitude in decimal degrees.
+     * 181 means not available.
+     * @return longitude
+     */
+    public Double getLon() { return lon; }
+
+    /**
+     * Sets the longitude in decimal degrees.
+     * @param lon longitude
+     */
+    public void setLon(Double lon) { this.lon = lon; }
+
+    /**
+     * Gets the latitude in decimal degrees.
+     * 91 means not available.
+     * @return latitude
+     */
+    public Double getLat() { return lat; }
+
+    /**
+     * Sets the latitude in decimal degrees.
+     * @param lat latitude
+     */
+    public void setLat(Double lat) { this.lat = lat; }
+
+    /**
+     * Gets the dimension from the reference point to the bow in meters.
+     * @return dimension to bow
+     */
+    public Integer getDimensionToBow() { return dimensionToBow; }
+
+    /**
+     * Sets the dimension to the bow.
+     * @param dimensionToBow dimension to bow in meters
+     */
+    public void setDimensionToBow(Integer dimensionToBow) { this.dimensionToBow = dimensionToBow; }
+
+    /**
+     * Gets the dimension from the reference point to the stern in meters.
+     * @return dimension to stern
+     */
+    public Integer getDimensionToStern() { return dimensionToStern; }
+
+    /**
+     * Sets the dimension to the stern.
+     * @param dimensionToStern dimension to stern in meters
+     */
+    public void setDimensionToStern(Integer dimensionToStern) { this.dimensionToStern = dimensionToStern; }
+
+    /**
+     * Gets the dimension from the reference point to port in meters.
+     * @return dimension to port
+     */
+    public Integer getDimensionToPort() { return dimensionToPort; }
+
+    /**
+     * Sets the dimension to port.
+     * @param dimensionToPort dimension to port in meters
+     */
+    public void setDimensionToPort(Integer dimensionToPort) { this.dimensionToPort = dimensionToPort; }
+
+    /**
+     * Gets the dimension from the reference point to starboard in meters.
+     * @return dimension to starboard
+     */
+    public Integer getDimensionToStarboard() { return dimensionToStarboard; }
+
+    /**
+     * Sets the dimension to starboard.
+     * @param dimensionToStarboard dimension to starboard in meters
+     */
+    public void setDimensionToStarboard(Integer dimensionToStarboard) { this.dimensionToStarboard = dimensionToStarboard; }
+
+    /**
+     * Gets the EPFD (Electronic Position Fixing Device) type.
+     * @return EPFD type code
+     */
+    public Integer getEpfd() { return epfd; }
+
+    /**
+     * Sets the EPFD type.
+     * @param epfd EPFD type code
+     */
+    public void setEpfd(Integer epfd) { this.epfd = epfd; }
+
+    /**
+     * Gets the UTC second of the report (0-59), 60 or above if not available.
+     * @return UTC second
+     */
+    public Integer getSecond() { return second; }
+
+    /**
+     * Sets the UTC second.
+     * @param second UTC second
+     */
+    public void setSecond(Integer second) { this.second = second; }
+
+    /**
+     * Gets the off-position indicator.
+     * True if a floating aid is off its assigned position.
+     * @return off-position indicator
+     */
+    public Boolean getOffPosition() { return offPosition; }
+
+    /**
+     * Sets the off-position indicator.
+     * @param offPosition off-position indicator
+     */
+    public void setOffPosition(Boolean offPosition) { this.offPosition = offPosition; }
+
+    /**
+     * Gets the regional reserved field.
+     * @return regional field
+     */
+    public Integer getRegional() { return regional; }
+
+    /**
+     * Sets the regional reserved field.
+     * @param regional regional field
+     */
+    public void setRegional(Integer regional) { this.regional = regional; }
+
+    /**
+     * Gets the RAIM (Receiver Autonomous Integrity Monitoring) flag.
+     * @return RAIM flag
+     */
+    public Boolean getRaim() { return raim; }
+
+    /**
+     * Sets the RAIM flag.
+     * @param raim RAIM flag
+     */
+    public void setRaim(Boolean raim) { this.raim = raim; }
+
+    /**
+     * Gets the virtual aid flag.
+     * True if the aid is virtual, i.e. does not physically exist.
+     * @return virtual aid flag
+     */
+    public Boolean getVirtualAid() { return virtualAid; }
+
+    /**
+     * Sets the virtual aid flag.
+     * @param virtualAid virtual aid flag
+     */
+    public void setVirtualAid(Boolean virtualAid) { this.virtualAid = virtualAid; }
+
+    /**
+     * Gets the assigned mode flag.
+     * @return assigned mode flag
+     */
+    public Boolean getAssigned() { return assigned; }
+
+    /**
+     * Sets the assigned mode flag.
+     * @param assigned assigned mode flag
+     */
+    public void setAssigned(Boolean assigned) { this.assigned = assigned; }
+
+    /**
+     * Gets the NMEA channel (e.g., "A" or "B").
+     * @return NMEA channel
+     */
+    public String getChannel() { return channel; }
+
+    /**
+     * Sets the NMEA channel. Must be a single character or null.
+     * @param channel NMEA channel
+     * @throws IllegalArgumentException if channel length is not 1 or null
+     */
+    public void setChannel(String channel) {
+        if (channel != null && channel.length() != 1) {
+            throw new IllegalArgumentException("Channel must be a single character (e.g., 'A' or 'B')");
+        }
+        this.channel = channel;
+    }
+
+    @Override
+    public String getSource() { return source; }
+
+    @Override
+    public void setSource(String source) { this.source = source; }
+
+    @Override
+    public Long getReceiverTime() { return receiverTime; }
+
+    @Override
+    public void setReceiverTime(Long receiverTime) { this.receiverTime = receiverTime; }
+
+    @Override
+    public Integer getGroupId() { return groupId; }
+
+    @Override
+    public void setGroupId(Integer groupId) { this.groupId = groupId; }
+
+    /**
+     * Returns a string representation of the AIS aid-to-navigation message.
+     * @return string representation
+     */
+    @Override
+    public String toString() {
+        return "AisAidToNavigationMessage{" +
+                "messageType=" + messageType +
+                ", repeat=" + repeat +
+                ", mmsi=" + mmsi +
+                ", aidType=" + aidType +
+                ", name='" + name + '\'' +
+                ", accuracy=" + accuracy +
+                ", lon=" + lon +
+                ", lat=" + lat +
+                ", dimensionToBow=" + dimensionToBow +
+                ", dimensionToStern=" + dimensionToStern +
+                ", dimensionToPort=" + dimensionToPort +
+                ", dimensionToStarboard=" + dimensionToStarboard +
+                ", epfd=" + epfd +
+                ", second=" + second +
+                ", offPosition=" + offPosition +
+                ", regional=" + regional +
+                ", raim=" + raim +
+                ", virtualAid=" + virtualAid +
+                ", assigned=" + assigned +
+                ", channel='" + channel + '\'' +
+                ", source='" + source + '\'' +
+                ", receiverTime=" + receiverTime +
+                ", groupId=" + groupId +
+                '}';
+    }
+}
@@ -0,0 +1,353 @@
+package io.github.felipecarrillo100.ais;
+
+import static io.github.felipecarrillo100.ais.AisArchiveFormat.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One block of an archive read by {@link AisArchiveReader}: the records of one kind, positions or
+ * static data, with their time range and bounding box. Check {@link #overlapsTime} and
+ * {@link #intersects} to skip whole blocks, then read only the columns a job needs: every column
+ * accessor returns a read-only view straight over the mapped file, so untouched columns are never
+ * paged in. Row {@code i} of every column belongs to the same record.
+ * <p>
+ * Positions are in AIS units of 1/600000 degree, speeds and courses in tenths, and times as
+ * written, normally epoch seconds. Blocks are immutable and may be read from several threads.
+ */
+public final class AisArchiveBlock {
+
+    private final ByteBuffer data;
+    private final int kind;
+    private final int count;
+    private final int[] offsets;
+
+    /**
+     * Wraps a block.
+     * @param data block bytes, from the block header to the end of the last column
+     */
+    AisArchiveBlock(ByteBuffer data) {
+        this.data = data.order(ByteOrder.LITTLE_ENDIAN);
+        this.kind = data.getInt(HEADER_KIND);
+        this.count = data.getInt(HEADER_COUNT);
+        this.offsets = columnOffsets(kind, count);
+    }
+
+    /**
+     * Checks whether the block holds position reports.
+     * @return true for a position block
+     */
+    public boolean isPositionBlock() {
+        return kind == KIND_POSITIONS;
+    }
+
+    /**
+     * Checks whether the block holds static and voyage data.
+     * @return true for a static data block
+     */
+    public boolean isStaticBlock() {
+        return kind == KIND_STATIC;
+    }
+
+    /**
+     * Gets the number of records in the block.
+     * @return record count
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Gets the earliest record time.
+     * @return minimum time
+     */
+    public long getMinTime() {
+        return data.getLong(HEADER_MIN_TIME);
+    }
+
+    /**
+     * Gets the latest record time.
+     * @return maximum time
+     */
+    public long getMaxTime() {
+        return data.getLong(HEADER_MAX_TIME);
+    }
+
+    /**
+     * Checks whether any record of the block may fall within a time range.
+     * @param fromTime start time (inclusive)
+     * @param toTime end time (inclusive)
+     * @return false if every record is outside the range
+     */
+    public boolean overlapsTime(long fromTime, long toTime) {
+        return getMinTime() <= toTime && getMaxTime() >= fromTime;
+    }
+
+    /**
+     * Checks whether the block has any valid position, i.e. whether its bounding box is not empty.
+     * Static data blocks have none.
+     * @return true if the bounding box is set
+     */
+    public boolean hasBoundingBox() {
+        return data.getInt(HEADER_MIN_LAT) <= data.getInt(HEADER_MAX_LAT);
+    }
+
+    /**
+     * Gets the southern edge of the bounding box.
+     * @return minimum latitude in AIS units, or Integer.MAX_VALUE if the box is empty
+     */
+    public int getMinLatRaw() {
+        return data.getInt(HEADER_MIN_LAT);
+    }
+
+    /**
+     * Gets the northern edge of the bounding box.
+     * @return maximum latitude in AIS units, or Integer.MIN_VALUE if the box is empty
+     */
+    public int getMaxLatRaw() {
+        return data.getInt(HEADER_MAX_LAT);
+    }
+
+    /**
+     * Gets the western edge of the bounding box.
+     * @return minimum longitude in AIS units, or Integer.MAX_VALUE if the box is empty
+     */
+    public int getMinLonRaw() {
+        return data.getInt(HEADER_MIN_LON);
+    }
+
+    /**
+     * Gets the eastern edge of the bounding box.
+     * @return maximum longitude in AIS units, or Integer.MIN_VALUE if the box is empty
+     */
+    public int getMaxLonRaw() {
+        return data.getInt(HEADER_MAX_LON);
+    }
+
+    /**
+     * Checks whether any valid position of the block may fall within a box. When minLon is greater
+     * than maxLon the box crosses the antimeridian and covers both sides.
+     * @param minLat southern edge in degrees
+     * @param minLon western edge in degrees
+     * @param maxLat northern edge in degrees
+     * @param maxLon eastern edge in degrees
+     * @return false if no position lies in the box
+     */
+    public boolean intersects(double minLat, double minLon, double maxLat, double maxLon) {
+        if (!hasBoundingBox()) return false;
+        if (Math.round(minLat * 600000) > getMaxLatRaw() || Math.round(maxLat * 600000) < getMinLatRaw()) {
+            return false;
+        }
+        long west = Math.round(minLon * 600000);
+        long east = Math.round(maxLon * 600000);
+        if (west <= east) return west <= getMaxLonRaw() && east >= getMinLonRaw();
+        return west <= getMaxLonRaw() || east >= getMinLonRaw();
+    }
+
+    /**
+     * Gets the record times.
+     * @return time column
+     */
+    public LongBuffer times() {
+        return column(0).asLongBuffer();
+    }
+
+    /**
+     * Gets the MMSI numbers.
+     * @return MMSI column
+     */
+    public IntBuffer mmsis() {
+        return column(1).asIntBuffer();
+    }
+
+    /**
+     * Gets the latitudes of a position block.
+     * @return latitude column in AIS units, 91 degrees when not available
+     * @throws IllegalStateException if this is not a position block
+     */
+    public IntBuffer latRaw() {
+        return positionColumn(POS_LAT).asIntBuffer();
+    }
+
+    /**
+     * Gets the longitudes of a position block.
+     * @return longitude column in AIS units, 181 degrees when not available
+     * @throws IllegalStateException if this is not a position block
+     */
+    public IntBuffer lonRaw() {
+        return positionColumn(POS_LON).asIntBuffer();
+    }
+
+    /**
+     * Gets the speeds over ground of a position block.
+     * @return speed column in tenths of a knot, 1023 when not available
+     * @throws IllegalStateException if this is not a position block
+     */
+    public ShortBuffer sogTenths() {
+        return positionColumn(POS_SOG).asShortBuffer();
+    }
+
+    /**
+     * Gets the courses over ground of a position block.
+     * @return course column in tenths of a degree, 3600 when not available
+     * @throws IllegalStateException if this is not a position block
+     */
+    public ShortBuffer cogTenths() {
+        return positionColumn(POS_COG).asShortBuffer();
+    }
+
+    /**
+     * Gets the true headings of a position block.
+     * @return heading column in degrees, 511 when not available
+     * @throws IllegalStateException if this is not a position block
+     */
+    public ShortBuffer headings() {
+        return positionColumn(POS_HEADING).asShortBuffer();
+    }
+
+    /**
+     * Gets the AIS message type numbers of a position block.
+     * @return message type column
+     * @throws IllegalStateException if this is not a position block
+     */
+    public ByteBuffer messageTypes() {
+        return positionColumn(POS_TYPE);
+    }
+
+    /**
+     * Gets the navigation statuses of a position block.
+     * @return navigation status column, 15 for Class B reports
+     * @throws IllegalStateException if this is not a position block
+     */
+    public ByteBuffer navStatus() {
+        return positionColumn(POS_NAV_STATUS);
+    }
+
+    /**
+     * Gets the ship types of a static data block.
+     * @return ship type column, unsigned
+     * @throws IllegalStateException if this is not a static data block
+     */
+    public ByteBuffer shipTypes() {
+        return staticColumn(STATIC_SHIP_TYPE);
+    }
+
+    /**
+     * Gets the IMO numbers of a static data block.
+     * @return IMO number column, 0 when not available
+     * @throws IllegalStateException if this is not a static data block
+     */
+    public IntBuffer imos() {
+        return staticColumn(STATIC_IMO).asIntBuffer();
+    }
+
+    /**
+     * Copies one position record into a reused instance. The receiver time is set to the record time;
+     * the source, group and radio status are not archived and are left unset.
+     * @param row record index
+     * @param target message to fill
+     * @throws IllegalStateException if this is not a position block
+     * @throws IndexOutOfBoundsException if the row is out of range
+     */
+    public void readPosition(int row, MutableAisPositionMessage target) {
+        if (kind != KIND_POSITIONS) throw new IllegalStateException("Not a position block");
+        if (row < 0 || row >= count) throw new IndexOutOfBoundsException("Row " + row + " of " + count);
+        ByteBuffer d = data;
+        int flags = d.get(offsets[POS_FLAGS] + row);
+        target.setMessageType(d.get(offsets[POS_TYPE] + row));
+        target.setRepeat(flags >> 5 & 3);
+        target.setMmsi(d.getInt(offsets[POS_MMSI] + row * 4));
+        target.setNavStatus(d.get(offsets[POS_NAV_STATUS] + row));
+        target.setRateOfTurn(d.get(offsets[POS_RATE_OF_TURN] + row));
+        target.setSog(d.getShort(offsets[POS_SOG] + row * 2) / 10.0);
+        target.setAccuracy((flags & 1) != 0);
+        target.setLon(d.getInt(offsets[POS_LON] + row * 4) / 600000.0);
+        target.setLat(d.getInt(offsets[POS_LAT] + row * 4) / 600000.0);
+        target.setCog(d.getShort(offsets[POS_COG] + row * 2) / 10.0);
+        target.setHeading(d.getShort(offsets[POS_HEADING] + row * 2));
+        target.setTimestamp(d.get(offsets[POS_SECOND] + row));
+        target.setSpecialManoeuvre(flags >> 2 & 3);
+        target.setRaim((flags & 2) != 0);
+        target.setRadio(0);
+        target.setChannel((flags & 16) != 0 ? 'B' : 'A');
+        target.setSource(null);
+        target.setReceiverTime(d.getLong(offsets[POS_TIME] + row * 8));
+        target.setGroupId(MutableAisPositionMessage.GROUP_ID_NOT_AVAILABLE);
+    }
+
+    /**
+     * Reads one static data record. The receiver time is set to the record time.
+     * @param row record index
+     * @return new static message
+     * @throws IllegalStateException if this is not a static data block
+     * @throws IndexOutOfBoundsException if the row is out of range
+     */
+    public AisStaticMessage readStatic(int row) {
+        if (kind != KIND_STATIC) throw new IllegalStateException("Not a static data block");
+        if (row < 0 || row >= count) throw new IndexOutOfBoundsException("Row " + row + " of " + count);
+        ByteBuffer d = data;
+        int flags = d.get(offsets[STATIC_FLAGS] + row);
+        int eta = d.getInt(offsets[STATIC_ETA] + row * 4);
+        AisStaticMessage msg = new AisStaticMessage();
+        msg.setMessageType((flags & 64) != 0 ? 24 : 5);
+        msg.setMmsi(d.getInt(offsets[STATIC_MMSI] + row * 4));
+        msg.setRepeat(flags >> 3 & 3);
+        msg.setAisVersion(flags >> 1 & 3);
+        msg.setImo(d.getInt(offsets[STATIC_IMO] + row * 4));
+        msg.setCallsign(readText(offsets[STATIC_CALLSIGN] + row * CALLSIGN_LENGTH, CALLSIGN_LENGTH));
+        msg.setName(readText(offsets[STATIC_NAME] + row * NAME_LENGTH, NAME_LENGTH));
+        msg.setShipType(d.get(offsets[STATIC_SHIP_TYPE] + row) & 0xFF);
+        msg.setDimensionToBow((int) d.getShort(offsets[STATIC_BOW] + row * 2));
+        msg.setDimensionToStern((int) d.getShort(offsets[STATIC_STERN] + row * 2));
+        msg.setDimensionToPort(d.get(offsets[STATIC_PORT] + row) & 0xFF);
+        msg.setDimensionToStarboard(d.get(offsets[STATIC_STARBOARD] + row) & 0xFF);
+        msg.setEpfd((int) d.get(offsets[STATIC_EPFD] + row));
+        msg.setEtaMonth(eta >>> 24);
+        msg.setEtaDay(eta >> 16 & 0xFF);
+        msg.setEtaHour(eta >> 8 & 0xFF);
+        msg.setEtaMinute(eta & 0xFF);
+        msg.setDraught(d.getShort(offsets[STATIC_DRAUGHT] + row * 2) / 10.0);
+        msg.setDestination(readText(offsets[STATIC_DESTINATION] + row * DESTINATION_LENGTH, DESTINATION_LENGTH));
+        msg.setDteAvailable((flags & 1) != 0);
+        msg.setChannel((flags & 32) != 0 ? "B" : "A");
+        msg.setReceiverTime(d.getLong(offsets[STATIC_TIME] + row * 8));
+        return msg;
+    }
+
+    /**
+     * Reads zero-padded ASCII text.
+     */
+    private String readText(int offset, int length) {
+        int n = 0;
+        while (n < length && data.get(offset + n) != 0) n++;
+        byte[] bytes = new byte[n];
+        for (int i = 0; i < n; i++) {
+            bytes[i] = data.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    private ByteBuffer positionColumn(int column) {
+        if (kind != KIND_POSITIONS) throw new IllegalStateException("Not a position block");
+        return column(column);
+    }
+
+    private ByteBuffer staticColumn(int column) {
+        if (kind != KIND_STATIC) throw new IllegalStateException("Not a static data block");
+        return column(column);
+    }
+
+    /**
+     * Gets a read-only little-endian view of one column.
+     */
+    private ByteBuffer column(int column) {
+        int width = widths(kind)[column];
+        ByteBuffer view = data.duplicate();
+        view.limit(offsets[column] + width * count).position(offsets[column]);
+        return view.slice().asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
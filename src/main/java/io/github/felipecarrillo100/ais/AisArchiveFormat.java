@@ -0,0 +1,122 @@
+package io.github.felipecarrillo100.ais;
+
+/**
+ * Layout of the archive files written by {@link AisArchiveWriter} and read by {@link AisArchiveReader}.
+ * <p>
+ * A file starts with a {@value #FILE_HEADER_SIZE}-byte header (magic number, version) followed by
+ * blocks. Every block holds the records of one kind, positions or static data, and starts with a
+ * {@value #BLOCK_HEADER_SIZE}-byte header: kind, record count, block length, minimum and maximum
+ * time, and the bounding box of the valid positions in AIS units (1/600000 degree). The columns
+ * follow, one after the other in the order of the column constants, each holding one fixed-width
+ * field of every record and starting on an 8-byte boundary. All values are little-endian.
+ */
+final class AisArchiveFormat {
+
+    static final int MAGIC = 0x41495341;
+    static final int VERSION = 1;
+    static final int FILE_HEADER_SIZE = 16;
+    static final int BLOCK_HEADER_SIZE = 64;
+
+    static final int KIND_POSITIONS = 1;
+    static final int KIND_STATIC = 2;
+
+    // Block header fields, byte offsets
+    static final int HEADER_KIND = 0;
+    static final int HEADER_COUNT = 4;
+    static final int HEADER_LENGTH = 8;
+    static final int HEADER_MIN_TIME = 16;
+    static final int HEADER_MAX_TIME = 24;
+    static final int HEADER_MIN_LAT = 32;
+    static final int HEADER_MAX_LAT = 36;
+    static final int HEADER_MIN_LON = 40;
+    static final int HEADER_MAX_LON = 44;
+
+    // Position columns
+    static final int POS_TIME = 0;
+    static final int POS_MMSI = 1;
+    static final int POS_LAT = 2;
+    static final int POS_LON = 3;
+    static final int POS_SOG = 4;
+    static final int POS_COG = 5;
+    static final int POS_HEADING = 6;
+    static final int POS_TYPE = 7;
+    static final int POS_NAV_STATUS = 8;
+    static final int POS_RATE_OF_TURN = 9;
+    static final int POS_SECOND = 10;
+    static final int POS_FLAGS = 11;
+
+    // Static columns
+    static final int STATIC_TIME = 0;
+    static final int STATIC_MMSI = 1;
+    static final int STATIC_IMO = 2;
+    static final int STATIC_ETA = 3;
+    static final int STATIC_BOW = 4;
+    static final int STATIC_STERN = 5;
+    static final int STATIC_DRAUGHT = 6;
+    static final int STATIC_PORT = 7;
+    static final int STATIC_STARBOARD = 8;
+    static final int STATIC_SHIP_TYPE = 9;
+    static final int STATIC_EPFD = 10;
+    // DTE, AIS version (2 bits), repeat (2 bits), channel B, merged type 24 (else type 5)
+    static final int STATIC_FLAGS = 11;
+    static final int STATIC_CALLSIGN = 12;
+    static final int STATIC_NAME = 13;
+    static final int STATIC_DESTINATION = 14;
+
+    static final int CALLSIGN_LENGTH = 7;
+    static final int NAME_LENGTH = 20;
+    static final int DESTINATION_LENGTH = 20;
+
+    /**
+     * Width in bytes of every position column.
+     */
+    private static final int[] POSITION_WIDTHS = {8, 4, 4, 4, 2, 2, 2, 1, 1, 1, 1, 1};
+
+    /**
+     * Width in bytes of every static column.
+     */
+    private static final int[] STATIC_WIDTHS = {8, 4, 4, 4, 2, 2, 2, 1, 1, 1, 1, 1,
+            CALLSIGN_LENGTH, NAME_LENGTH, DESTINATION_LENGTH};
+
+    /**
+     * Largest number of records in one block.
+     */
+    static final int MAX_BLOCK_RECORDS = 1 << 22;
+
+    private AisArchiveFormat() {
+    }
+
+    /**
+     * Gets the column widths of a kind of block.
+     * @param kind block kind
+     * @return width in bytes of every column
+     */
+    static int[] widths(int kind) {
+        return kind == KIND_POSITIONS ? POSITION_WIDTHS : STATIC_WIDTHS;
+    }
+
+    /**
+     * Computes where every column of a block starts.
+     * @param kind block kind
+     * @param count number of records
+     * @return offset of every column from the start of the block, followed by the block length
+     */
+    static int[] columnOffsets(int kind, int count) {
+        int[] widths = widths(kind);
+        int[] offsets = new int[widths.length + 1];
+        int offset = BLOCK_HEADER_SIZE;
+        for (int i = 0; i < widths.length; i++) {
+            offsets[i] = offset;
+            offset = align(offset + widths[i] * count);
+        }
+        offsets[widths.length] = offset;
+        return offsets;
+    }
+
+    /**
+     * Rounds an offset up to the next 8-byte boundary.
+     */
+    private static int align(int offset) {
+        return (offset + 7) & ~7;
+    }
+}
@@ -0,0 +1,209 @@
+package io.github.felipecarrillo100.ais;
+
+import static io.github.felipecarrillo100.ais.AisArchiveFormat.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads an archive written by {@link AisArchiveWriter}. The file is memory-mapped, and its blocks
+ * are exposed as {@link AisArchiveBlock}s whose columns are read in place, without copying or
+ * decoding NMEA. Analytics jobs check each block's time range and bounding box, skip the blocks
+ * they do not need, and scan only the columns they use; {@link #queryPositions} does exactly that
+ * for the common time-and-area query.
+ * <p>
+ * A block cut short at the end of the file, e.g. by a writer that did not close, is ignored.
+ * Mapped memory is released by the garbage collector once the reader and its blocks are unreachable;
+ * {@link #close()} only closes the file. Readers are immutable and may be shared across threads.
+ */
+public class AisArchiveReader implements Closeable {
+
+    /**
+     * Largest region mapped at once; every block lies entirely within one region.
+     */
+    private static final long MAX_REGION_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final List<AisArchiveBlock> blocks;
+
+    /**
+     * Opens an archive file and maps its blocks.
+     * @param path archive file
+     * @throws IOException if the file cannot be read or is not an archive
+     */
+    public AisArchiveReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            blocks = Collections.unmodifiableList(mapBlocks());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets every block of the archive, in file order.
+     * @return unmodifiable list of blocks
+     */
+    public List<AisArchiveBlock> getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * Passes every position report within a time range and a box to a consumer. Blocks outside
+     * the range or the box are skipped from their header; within the others only the time,
+     * latitude and longitude columns are scanned, and matching records are copied into one
+     * reused instance, so the consumer must copy whatever it keeps. When minLon is greater than
+     * maxLon the box crosses the antimeridian and covers both sides.
+     * @param fromTime start time (inclusive)
+     * @param toTime end time (inclusive)
+     * @param minLat southern edge in degrees
+     * @param minLon western edge in degrees
+     * @param maxLat northern edge in degrees
+     * @param maxLon eastern edge in degrees
+     * @param consumer receives the matching reports
+     * @return number of matching reports
+     */
+    public long queryPositions(long fromTime, long toTime, double minLat, double minLon,
+                               double maxLat, double maxLon, Consumer<MutableAisPositionMessage> consumer) {
+        int south = (int) Math.round(minLat * 600000);
+        int north = (int) Math.round(maxLat * 600000);
+        int west = (int) Math.round(minLon * 600000);
+        int east = (int) Math.round(maxLon * 600000);
+        boolean wraps = west > east;
+        MutableAisPositionMessage msg = new MutableAisPositionMessage();
+        long found = 0;
+        for (AisArchiveBlock block : blocks) {
+            if (!block.isPositionBlock() || !block.overlapsTime(fromTime, toTime)
+                    || !block.intersects(minLat, minLon, maxLat, maxLon)) {
+                continue;
+            }
+            LongBuffer times = block.times();
+            IntBuffer lat = block.latRaw();
+            IntBuffer lon = block.lonRaw();
+            for (int i = 0, n = block.size(); i < n; i++) {
+                long time = times.get(i);
+                if (time < fromTime || time > toTime) continue;
+                int la = lat.get(i);
+                if (la < south || la > north) continue;
+                int lo = lon.get(i);
+                if (wraps ? lo < west && lo > east : lo < west || lo > east) continue;
+                block.readPosition(i, msg);
+                consumer.accept(msg);
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Passes every static data record within a time range to a consumer.
+     * @param fromTime start time (inclusive)
+     * @param toTime end time (inclusive)
+     * @param consumer receives a new message per matching record
+     * @return number of matching records
+     */
+    public long queryStatic(long fromTime, long toTime, Consumer<AisStaticMessage> consumer) {
+        long found = 0;
+        for (AisArchiveBlock block : blocks) {
+            if (!block.isStaticBlock() || !block.overlapsTime(fromTime, toTime)) continue;
+            LongBuffer times = block.times();
+            for (int i = 0, n = block.size(); i < n; i++) {
+                long time = times.get(i);
+                if (time < fromTime || time > toTime) continue;
+                consumer.accept(block.readStatic(i));
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Closes the file. Blocks already obtained stay readable until they are garbage collected.
+     * @throws IOException if closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Walks the block headers, then maps runs of whole blocks up to {@link #MAX_REGION_SIZE} at a time.
+     */
+    private List<AisArchiveBlock> mapBlocks() throws IOException {
+        long size = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.limit(FILE_HEADER_SIZE);
+        if (size < FILE_HEADER_SIZE || readFully(header, 0) < FILE_HEADER_SIZE
+                || header.getInt(0) != MAGIC) {
+            throw new IOException("Not an AIS archive");
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException("Unsupported AIS archive version " + header.getInt(4));
+        }
+
+        List<long[]> extents = new ArrayList<>();
+        long offset = FILE_HEADER_SIZE;
+        while (offset + BLOCK_HEADER_SIZE <= size) {
+            header.clear();
+            readFully(header, offset);
+            int kind = header.getInt(HEADER_KIND);
+            int count = header.getInt(HEADER_COUNT);
+            int length = header.getInt(HEADER_LENGTH);
+            if (kind != KIND_POSITIONS && kind != KIND_STATIC || count < 0 || count > MAX_BLOCK_RECORDS
+                    || length != columnOffsets(kind, count)[widths(kind).length]) {
+                throw new IOException("Corrupt AIS archive block at offset " + offset);
+            }
+            if (offset + length > size) break;
+            extents.add(new long[]{offset, length});
+            offset += length;
+        }
+
+        List<AisArchiveBlock> result = new ArrayList<>(extents.size());
+        int first = 0;
+        while (first < extents.size()) {
+            long start = extents.get(first)[0];
+            int last = first;
+            while (last + 1 < extents.size()
+                    && extents.get(last + 1)[0] + extents.get(last + 1)[1] - start <= MAX_REGION_SIZE) {
+                last++;
+            }
+            long end = extents.get(last)[0] + extents.get(last)[1];
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            for (int i = first; i <= last; i++) {
+                ByteBuffer view = region.duplicate();
+                int from = (int) (extents.get(i)[0] - start);
+                view.limit(from + (int) extents.get(i)[1]).position(from);
+                result.add(new AisArchiveBlock(view.slice()));
+            }
+            first = last + 1;
+        }
+        return result;
+    }
+
+    /**
+     * Reads from the file until the buffer is full or the file ends.
+     * @return number of bytes read
+     */
+    private int readFully(ByteBuffer buffer, long position) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position + total);
+            if (n < 0) break;
+            total += n;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,360 @@
+package io.github.felipecarrillo100.ais;
+
+import static io.github.felipecarrillo100.ais.AisArchiveFormat.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Writes decoded position reports and static data to a compact binary archive, to be read back
+ * with {@link AisArchiveReader}. Records are buffered in blocks of one kind; a full block is written
+ * column by column, each field of every record side by side in fixed-width primitives, with the
+ * time range and bounding box of the block in its header so readers can skip whole blocks.
+ * <p>
+ * A position takes 31 bytes and a static record 78, against several hundred for their text form.
+ * Times are stored as given, normally epoch seconds; records are stamped with their tag block
+ * receiver time when available, otherwise with the clock. Register an instance as a
+ * {@link AisMessageType#REUSABLE_POSITION} handler, or call the {@code write} methods.
+ * Instances are thread-safe. Records are on disk once their block is full or after
+ * {@link #flush()} or {@link #close()}.
+ */
+public class AisArchiveWriter implements Consumer<MutableAisPositionMessage>, Closeable {
+
+    /**
+     * Default number of records per block.
+     */
+    public static final int DEFAULT_BLOCK_RECORDS = 65536;
+
+    private final FileChannel channel;
+    private final LongSupplier clock;
+    private final PendingBlock positions;
+    private final PendingBlock statics;
+    private final ByteBuffer out;
+    private long blockCount;
+
+    /**
+     * Creates or replaces an archive file with the default block size.
+     * @param path archive file
+     * @throws IOException if the file cannot be created
+     */
+    public AisArchiveWriter(Path path) throws IOException {
+        this(path, DEFAULT_BLOCK_RECORDS);
+    }
+
+    /**
+     * Creates or replaces an archive file.
+     * @param path archive file
+     * @param blockRecords maximum number of records per block; smaller blocks let readers
+     *        skip more precisely, larger ones scan faster
+     * @throws IOException if the file cannot be created
+     * @throws IllegalArgumentException if the block size is out of range
+     */
+    public AisArchiveWriter(Path path, int blockRecords) throws IOException {
+        this(path, blockRecords, () -> System.currentTimeMillis() / 1000);
+    }
+
+    /**
+     * Creates or replaces an archive file.
+     * @param path archive file
+     * @param blockRecords maximum number of records per block
+     * @param clock supplies the time of messages without a tag block receiver time
+     * @throws IOException if the file cannot be created
+     * @throws IllegalArgumentException if the block size is out of range
+     */
+    public AisArchiveWriter(Path path, int blockRecords, LongSupplier clock) throws IOException {
+        if (blockRecords <= 0 || blockRecords > MAX_BLOCK_RECORDS) {
+            throw new IllegalArgumentException("Block records must be between 1 and " + MAX_BLOCK_RECORDS
+                    + ": " + blockRecords);
+        }
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.positions = new PendingBlock(KIND_POSITIONS, blockRecords);
+        this.statics = new PendingBlock(KIND_STATIC, blockRecords);
+        int largest = Math.max(columnOffsets(KIND_POSITIONS, blockRecords)[POS_FLAGS + 1],
+                columnOffsets(KIND_STATIC, blockRecords)[STATIC_DESTINATION + 1]);
+        this.out = ByteBuffer.allocateDirect(largest).order(ByteOrder.LITTLE_ENDIAN);
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        out.putInt(MAGIC).putInt(VERSION).putLong(0).flip();
+        writeOut();
+    }
+
+    /**
+     * Writes a position report decoded into a reused instance.
+     * @param msg decoded position message
+     * @throws UncheckedIOException if writing a full block fails
+     */
+    @Override
+    public void accept(MutableAisPositionMessage msg) {
+        writePosition(msg, msg.isReceiverTimeAvailable() ? msg.getReceiverTime() : clock.getAsLong());
+    }
+
+    /**
+     * Writes a position report decoded into a reused instance.
+     * @param msg decoded position message
+     * @param time time of the report
+     * @throws UncheckedIOException if writing a full block fails
+     */
+    public synchronized void writePosition(MutableAisPositionMessage msg, long time) {
+        int flags = (msg.getAccuracy() ? 1 : 0) | (msg.getRaim() ? 2 : 0)
+                | (msg.getSpecialManoeuvre() & 3) << 2 | (msg.getChannel() == 'B' ? 16 : 0)
+                | (msg.getRepeat() & 3) << 5;
+        addPosition(time, msg.getMmsi(), msg.getLat(), msg.getLon(), msg.getSog(), msg.getCog(),
+                msg.getHeading(), msg.getMessageType(), msg.getNavStatus(), msg.getRateOfTurn(),
+                msg.getTimestamp(), flags);
+    }
+
+    /**
+     * Writes a position report, stamped with its receiver time when available, otherwise with the clock.
+     * Class B reports, which carry no navigation status, are written with status 15 (not defined).
+     * @param msg decoded position message, Class A or Class B
+     * @throws UncheckedIOException if writing a full block fails
+     */
+    public synchronized void writePosition(AisPositionMessage msg) {
+        if (msg.getMmsi() == null) return;
+        int flags = (Boolean.TRUE.equals(msg.getAccuracy()) ? 1 : 0) | (Boolean.TRUE.equals(msg.getRaim()) ? 2 : 0)
+                | (valueOf(msg.getSpecialManoeuvre(), 0) & 3) << 2 | ("B".equals(msg.getChannel()) ? 16 : 0)
+                | (valueOf(msg.getRepeat(), 0) & 3) << 5;
+        Long receiverTime = msg.getReceiverTime();
+        addPosition(receiverTime == null ? clock.getAsLong() : receiverTime, msg.getMmsi(),
+                msg.getLat() == null ? MutableAisPositionMessage.LAT_NOT_AVAILABLE : msg.getLat(),
+                msg.getLon() == null ? MutableAisPositionMessage.LON_NOT_AVAILABLE : msg.getLon(),
+                msg.getSog() == null ? MutableAisPositionMessage.SOG_NOT_AVAILABLE : msg.getSog(),
+                msg.getCog() == null ? MutableAisPositionMessage.COG_NOT_AVAILABLE : msg.getCog(),
+                valueOf(msg.getHeading(), MutableAisPositionMessage.HEADING_NOT_AVAILABLE),
+                valueOf(msg.getMessageType(), 0), valueOf(msg.getNavStatus(), 15),
+                valueOf(msg.getRateOfTurn(), MutableAisPositionMessage.RATE_OF_TURN_NOT_AVAILABLE),
+                valueOf(msg.getTimestamp(), MutableAisPositionMessage.TIMESTAMP_NOT_AVAILABLE), flags);
+    }
+
+    /**
+     * Writes static and voyage data, stamped with its receiver time when available, otherwise with
+     * the clock. Missing fields are written as their AIS "not available" values.
+     * @param msg decoded static message
+     * @throws UncheckedIOException if writing a full block fails
+     */
+    public void writeStatic(AisStaticMessage msg) {
+        Long receiverTime = msg.getReceiverTime();
+        writeStatic(msg, receiverTime == null ? clock.getAsLong() : receiverTime);
+    }
+
+    /**
+     * Writes static and voyage data. Missing fields are written as their AIS "not available" values.
+     * @param msg decoded static message
+     * @param time time of the message
+     * @throws UncheckedIOException if writing a full block fails
+     */
+    public synchronized void writeStatic(AisStaticMessage msg, long time) {
+        if (msg.getMmsi() == null) return;
+        PendingBlock b = statics;
+        b.add(time, 0, 0);
+        ByteBuffer[] c = b.columns;
+        c[STATIC_TIME].putLong(time);
+        c[STATIC_MMSI].putInt(msg.getMmsi());
+        c[STATIC_IMO].putInt(valueOf(msg.getImo(), 0));
+        c[STATIC_ETA].putInt(valueOf(msg.getEtaMonth(), 0) << 24 | valueOf(msg.getEtaDay(), 0) << 16
+                | valueOf(msg.getEtaHour(), 24) << 8 | valueOf(msg.getEtaMinute(), 60));
+        c[STATIC_BOW].putShort((short) valueOf(msg.getDimensionToBow(), 0));
+        c[STATIC_STERN].putShort((short) valueOf(msg.getDimensionToStern(), 0));
+        c[STATIC_DRAUGHT].putShort((short) (msg.getDraught() == null ? 0 : Math.round(msg.getDraught() * 10.0)));
+        c[STATIC_PORT].put((byte) valueOf(msg.getDimensionToPort(), 0));
+        c[STATIC_STARBOARD].put((byte) valueOf(msg.getDimensionToStarboard(), 0));
+        c[STATIC_SHIP_TYPE].put((byte) valueOf(msg.getShipType(), 0));
+        c[STATIC_EPFD].put((byte) valueOf(msg.getEpfd(), 0));
+        c[STATIC_FLAGS].put((byte) ((Boolean.FALSE.equals(msg.getDteAvailable()) ? 0 : 1)
+                | (valueOf(msg.getAisVersion(), 0) & 3) << 1 | (valueOf(msg.getRepeat(), 0) & 3) << 3
+                | ("B".equals(msg.getChannel()) ? 32 : 0) | (valueOf(msg.getMessageType(), 5) == 24 ? 64 : 0)));
+        putText(c[STATIC_CALLSIGN], msg.getCallsign(), CALLSIGN_LENGTH);
+        putText(c[STATIC_NAME], msg.getName(), NAME_LENGTH);
+        putText(c[STATIC_DESTINATION], msg.getDestination(), DESTINATION_LENGTH);
+        if (b.count == b.capacity) writeBlock(b);
+    }
+
+    /**
+     * Gets the number of blocks written so far.
+     * @return block count
+     */
+    public synchronized long getBlockCount() {
+        return blockCount;
+    }
+
+    /**
+     * Writes the records buffered so far as partial blocks. Later records start new blocks.
+     * @throws IOException if writing fails
+     */
+    public synchronized void flush() throws IOException {
+        try {
+            if (positions.count > 0) writeBlock(positions);
+            if (statics.count > 0) writeBlock(statics);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Writes the records buffered so far and closes the file.
+     * @throws IOException if writing or closing fails
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!channel.isOpen()) return;
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Adds one position record to the pending position block. Guarded by this.
+     */
+    private void addPosition(long time, int mmsi, double lat, double lon, double sog, double cog,
+                             int heading, int type, int navStatus, int rateOfTurn, int second, int flags) {
+        int latRaw = (int) Math.round(lat * 600000.0);
+        int lonRaw = (int) Math.round(lon * 600000.0);
+        PendingBlock b = positions;
+        b.add(time, latRaw, lonRaw);
+        ByteBuffer[] c = b.columns;
+        c[POS_TIME].putLong(time);
+        c[POS_MMSI].putInt(mmsi);
+        c[POS_LAT].putInt(latRaw);
+        c[POS_LON].putInt(lonRaw);
+        c[POS_SOG].putShort((short) Math.round(sog * 10.0));
+        c[POS_COG].putShort((short) Math.round(cog * 10.0));
+        c[POS_HEADING].putShort((short) heading);
+        c[POS_TYPE].put((byte) type);
+        c[POS_NAV_STATUS].put((byte) navStatus);
+        c[POS_RATE_OF_TURN].put((byte) rateOfTurn);
+        c[POS_SECOND].put((byte) second);
+        c[POS_FLAGS].put((byte) flags);
+        if (b.count == b.capacity) writeBlock(b);
+    }
+
+    /**
+     * Writes a pending block and empties it. Guarded by this.
+     * @throws UncheckedIOException if writing fails
+     */
+    private void writeBlock(PendingBlock b) {
+        int[] offsets = columnOffsets(b.kind, b.count);
+        int length = offsets[offsets.length - 1];
+        ByteBuffer o = out;
+        o.clear();
+        o.putInt(HEADER_KIND, b.kind);
+        o.putInt(HEADER_COUNT, b.count);
+        o.putInt(HEADER_LENGTH, length);
+        o.putInt(HEADER_LENGTH + 4, 0);
+        o.putLong(HEADER_MIN_TIME, b.minTime);
+        o.putLong(HEADER_MAX_TIME, b.maxTime);
+        o.putInt(HEADER_MIN_LAT, b.minLat);
+        o.putInt(HEADER_MAX_LAT, b.maxLat);
+        o.putInt(HEADER_MIN_LON, b.minLon);
+        o.putInt(HEADER_MAX_LON, b.maxLon);
+        for (int i = HEADER_MAX_LON + 4; i < BLOCK_HEADER_SIZE; i += 4) {
+            o.putInt(i, 0);
+        }
+        for (int i = 0; i < b.columns.length; i++) {
+            ByteBuffer column = b.columns[i];
+            column.flip();
+            o.position(offsets[i]);
+            o.put(column);
+            // Zero the alignment padding up to the next column
+            while (o.position() < offsets[i + 1]) o.put((byte) 0);
+            column.clear();
+        }
+        o.position(0).limit(length);
+        b.reset();
+        try {
+            writeOut();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        blockCount++;
+    }
+
+    /**
+     * Writes the output buffer to the end of the file.
+     */
+    private void writeOut() throws IOException {
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+    }
+
+    /**
+     * Writes text as a fixed number of ASCII bytes, padded with zeros.
+     */
+    private static void putText(ByteBuffer column, String text, int length) {
+        int n = text == null ? 0 : Math.min(text.length(), length);
+        for (int i = 0; i < n; i++) {
+            char ch = text.charAt(i);
+            column.put((byte) (ch < 128 ? ch : '?'));
+        }
+        for (int i = n; i < length; i++) {
+            column.put((byte) 0);
+        }
+    }
+
+    private static int valueOf(Integer value, int missing) {
+        return value == null ? missing : value;
+    }
+
+    /**
+     * Records of one kind buffered until their block is full, one buffer per column.
+     */
+    private static final class PendingBlock {
+        final int kind;
+        final int capacity;
+        final ByteBuffer[] columns;
+        int count;
+        long minTime;
+        long maxTime;
+        int minLat;
+        int maxLat;
+        int minLon;
+        int maxLon;
+
+        PendingBlock(int kind, int capacity) {
+            this.kind = kind;
+            this.capacity = capacity;
+            int[] widths = widths(kind);
+            columns = new ByteBuffer[widths.length];
+            for (int i = 0; i < widths.length; i++) {
+                columns[i] = ByteBuffer.allocate(widths[i] * capacity).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            reset();
+        }
+
+        /**
+         * Counts a record and widens the time range and, for valid positions, the bounding box.
+         */
+        void add(long time, int latRaw, int lonRaw) {
+            count++;
+            minTime = Math.min(minTime, time);
+            maxTime = Math.max(maxTime, time);
+            if (kind == KIND_POSITIONS && Math.abs(latRaw) <= 90 * 600000 && Math.abs(lonRaw) <= 180 * 600000) {
+                minLat = Math.min(minLat, latRaw);
+                maxLat = Math.max(maxLat, latRaw);
+                minLon = Math.min(minLon, lonRaw);
+                maxLon = Math.max(maxLon, lonRaw);
+            }
+        }
+
+        void reset() {
+            count = 0;
+            minTime = Long.MAX_VALUE;
+            maxTime = Long.MIN_VALUE;
+            minLat = Integer.MAX_VALUE;
+            maxLat = Integer.MIN_VALUE;
+            minLon = Integer.MAX_VALUE;
+            maxLon = Integer.MIN_VALUE;
+        }
+    }
+}
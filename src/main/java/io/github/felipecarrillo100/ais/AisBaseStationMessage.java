@@ -0,0 +1,275 @@
+package io.github.felipecarrillo100.ais;
+
+/**
+ * Represents an AIS Base Station Report (Type 4) or UTC/Date Response (Type 11).
+ * Both share one layout: the station's UTC date and time and its position.
+ */
+public class AisBaseStationMessage implements AisTagBlockFields {
+    private Integer messageType;
+    private Integer repeat;
+    private Integer mmsi;
+    private Integer year;
+    private Integer month;
+    private Integer day;
+    private Integer hour;
+    private Integer minute;
+    private Integer second;
+    private Boolean accuracy;
+    private Double lon;
+    private Double lat;
+    private Integer epfd;
+    private Boolean raim;
+    private Integer radio;
+    private String channel;
+    private String source;
+    private Long receiverTime;
+    private Integer groupId;
+
+    /**
+     * Gets the AIS message type number (4 or 11).
+     * @return message type
+     */
+    public Integer getMessageType() { return messageType; }
+
+    /**
+     * Sets the AIS message type number.
+     * @param messageType message type
+     */
+    public void setMessageType(Integer messageType) { this.messageType = messageType; }
+
+    /**
+     * Gets the repeat indicator (0-3).
+     * @return repeat indicator
+     */
+    public Integer getRepeat() { return repeat; }
+
+    /**
+     * Sets the repeat indicator (0-3).
+     * @param repeat repeat indicator
+     */
+    public void setRepeat(Integer repeat) { this.repeat = repeat; }
+
+    /**
+     * Gets the MMSI (Maritime Mobile Service Identity) number of the station.
+     * @return MMSI number
+     */
+    public Integer getMmsi() { return mmsi; }
+
+    /**
+     * Sets the MMSI number.
+     * @param mmsi MMSI number
+     */
+    public void setMmsi(Integer mmsi) { this.mmsi = mmsi; }
+
+    /**
+     * Gets the UTC year (1-9999), 0 if not available.
+     * @return UTC year
+     */
+    public Integer getYear() { return year; }
+
+    /**
+     * Sets the UTC year.
+     * @param year UTC year
+     */
+    public void setYear(Integer year) { this.year = year; }
+
+    /**
+     * Gets the UTC month (1-12), 0 if not available.
+     * @return UTC month
+     */
+    public Integer getMonth() { return month; }
+
+    /**
+     * Sets the UTC month.
+     * @param month UTC month
+     */
+    public void setMonth(Integer month) { this.month = month; }
+
+    /**
+     * Gets the UTC day (1-31), 0 if not available.
+     * @return UTC day
+     */
+    public Integer getDay() { return day; }
+
+    /**
+     * Sets the UTC day.
+     * @param day UTC day
+     */
+    public void setDay(Integer day) { this.day = day; }
+
+    /**
+     * Gets the UTC hour (0-23), 24 if not available.
+     * @return UTC hour
+     */
+    public Integer getHour() { return hour; }
+
+    /**
+     * Sets the UTC hour.
+     * @param hour UTC hour
+     */
+    public void setHour(Integer hour) { this.hour = hour; }
+
+    /**
+     * Gets the UTC minute (0-59), 60 if not available.
+     * @return UTC minute
+     */
+    public Integer getMinute() { return minute; }
+
+    /**
+     * Sets the UTC minute.
+     * @param minute UTC minute
+     */
+    public void setMinute(Integer minute) { this.minute = minute; }
+
+    /**
+     * Gets the UTC second (0-59), 60 if not available.
+     * @return UTC second
+     */
+    public Integer getSecond() { return second; }
+
+    /**
+     * Sets the UTC second.
+     * @param second UTC second
+     */
+    public void setSecond(Integer second) { this.second = second; }
+
+    /**
+     * Gets the position accuracy flag.
+     * True means high accuracy (better than 10 m).
+     * @return position accuracy
+     */
+    public Boolean getAccuracy() { return accuracy; }
+
+    /**
+     * Sets the position accuracy flag.
+     * @param accuracy position accuracy
+     */
+    public void setAccuracy(Boolean accuracy) { this.accuracy = accuracy; }
+
+    /**
+     * Gets the longitude in decimal degrees.
+     * 181 means not available.
+     * @return longitude
+     */
+    public Double getLon() { return lon; }
+
+    /**
+     * Sets the longitude in decimal degrees.
+     * @param lon longitude
+     */
+    public void setLon(Double lon) { this.lon = lon; }
+
+    /**
+     * Gets the latitude in decimal degrees.
+     * 91 means not available.
+     * @return latitude
+     */
+    public Double getLat() { return lat; }
+
+    /**
+     * Sets the latitude in decimal degrees.
+     * @param lat latitude
+     */
+    public void setLat(Double lat) { this.lat = lat; }
+
+    /**
+     * Gets the EPFD (Electronic Position Fixing Device) type.
+     * @return EPFD type code
+     */
+    public Integer getEpfd() { return epfd; }
+
+    /**
+     * Sets the EPFD type.
+     * @param epfd EPFD type code
+     */
+    public void setEpfd(Integer epfd) { this.epfd = epfd; }
+
+    /**
+     * Gets the RAIM (Receiver Autonomous Integrity Monitoring) flag.
+     * @return RAIM flag
+     */
+    public Boolean getRaim() { return raim; }
+
+    /**
+     * Sets the RAIM flag.
+     * @param raim RAIM flag
+     */
+    public void setRaim(Boolean raim) { this.raim = raim; }
+
+    /**
+     * Gets the radio status field.
+     * @return radio status
+     */
+    public Integer getRadio() { return radio; }
+
+    /**
+     * Sets the radio status field.
+     * @param radio radio status
+     */
+    public void setRadio(Integer radio) { this.radio = radio; }
+
+    /**
+     * Gets the NMEA channel (e.g., "A" or "B").
+     * @return NMEA channel
+     */
+    public String getChannel() { return channel; }
+
+    /**
+     * Sets the NMEA channel. Must be a single character or null.
+     * @param channel NMEA channel
+     * @throws IllegalArgumentException if channel length is not 1 or null
+     */
+    public void setChannel(String channel) {
+        if (channel != null && channel.length() != 1) {
+            throw new IllegalArgumentException("Channel must be a single character (e.g., 'A' or 'B')");
+        }
+        this.channel = channel;
+    }
+
+    @Override
+    public String getSource() { return source; }
+
+    @Override
+    public void setSource(String source) { this.source = source; }
+
+    @Override
+    public Long getReceiverTime() { return receiverTime; }
+
+    @Override
+    public void setReceiverTime(Long receiverTime) { this.receiverTime = receiverTime; }
+
+    @Override
+    public Integer getGroupId() { return groupId; }
+
+    @Override
+    public void setGroupId(Integer groupId) { this.groupId = groupId; }
+
+    /**
+     * Returns a string representation of the AIS base station message.
+     * @return string representation
+     */
+    @Override
+    public String toString() {
+        return "AisBaseStationMessage{" +
+                "messageType=" + messageType +
+                ", repeat=" + repeat +
+                ", mmsi=" + mmsi +
+                ", year=" + year +
+                ", month=" + month +
+                ", day=" + day +
+                ", hour=" + hour +
+                ", minute=" + minute +
+                ", second=" + second +
+                ", accuracy=" + accuracy +
+                ", lon=" + lon +
+                ", lat=" + lat +
+                ", epfd=" + epfd +
+                ", raim=" + raim +
+                ", radio=" + radio +
+                ", channel='" + channel + '\'' +
+                ", source='" + source + '\'' +
+                ", receiverTime=" + receiverTime +
+                ", groupId=" + groupId +
+                '}';
+    }
+}
@@ -0,0 +1,399 @@
+package io.github.felipecarrillo100.ais;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Encodes batches of messages into one contiguous output: a byte array, a ByteBuffer or an
+ * OutputStream. Sentences are terminated by CR LF and appear in the order of the input messages.
+ * Batches can optionally be encoded in parallel: the input is cut into slices that are encoded
+ * concurrently on a {@link ForkJoinPool} and then copied to the output in input order.
+ * Sequential message ids are allocated up front in input order, so the parallel output is
+ * byte for byte the one a sequential run would produce.
+ * Instances are reusable but not thread-safe.
+ */
+public class AisBatchEncoder {
+
+    /**
+     * Default number of messages per parallel slice.
+     */
+    public static final int DEFAULT_SLICE_SIZE = 1024;
+
+    /**
+     * Free space kept in a staging buffer before encoding another message,
+     * enough for every message type the encoder writes.
+     */
+    private static final int MAX_MESSAGE_LENGTH = 512;
+
+    /**
+     * Size of the staging buffer used for stream output.
+     */
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Writes one message with an encoder.
+     * @param <T> message type
+     */
+    private interface MessageWriter<T> {
+        /**
+         * @param msg message
+         * @return radio channel the message is sent on
+         */
+        char channel(T msg);
+
+        /**
+         * @param encoder encoder to use
+         * @param msg message to write
+         * @param seqId sequential message id
+         * @param dst destination array
+         * @param offset index at which to start writing
+         * @return number of bytes written
+         */
+        int write(AisEncoder encoder, T msg, int seqId, byte[] dst, int offset);
+    }
+
+    private static final MessageWriter<AisPositionMessage> POSITION_WRITER = new MessageWriter<AisPositionMessage>() {
+        @Override
+        public char channel(AisPositionMessage msg) {
+            return AisEncoder.channelOf(msg.getChannel());
+        }
+
+        @Override
+        public int write(AisEncoder encoder, AisPositionMessage msg, int seqId, byte[] dst, int offset) {
+            return encoder.writePositionMessage(msg, seqId, dst, offset);
+        }
+    };
+
+    private static final MessageWriter<AisStaticMessage> STATIC_WRITER = new MessageWriter<AisStaticMessage>() {
+        @Override
+        public char channel(AisStaticMessage msg) {
+            return AisEncoder.channelOf(msg.getChannel());
+        }
+
+        @Override
+        public int write(AisEncoder encoder, AisStaticMessage msg, int seqId, byte[] dst, int offset) {
+            return encoder.writeStaticMessage(msg, seqId, dst, offset);
+        }
+    };
+
+    private final ForkJoinPool pool;
+    private final int sliceSize;
+    private final SequenceIdAllocator sequenceIds;
+    private final AisEncoder encoder;
+    private byte[] staging = new byte[STREAM_BUFFER_SIZE];
+
+    /**
+     * Creates a batch encoder that encodes on the calling thread,
+     * with its own {@link CyclicSequenceIdAllocator}.
+     */
+    public AisBatchEncoder() {
+        this(new CyclicSequenceIdAllocator());
+    }
+
+    /**
+     * Creates a batch encoder that encodes on the calling thread.
+     * @param sequenceIds allocator of sequential message ids
+     */
+    public AisBatchEncoder(SequenceIdAllocator sequenceIds) {
+        this.pool = null;
+        this.sliceSize = DEFAULT_SLICE_SIZE;
+        this.sequenceIds = Objects.requireNonNull(sequenceIds, "sequenceIds");
+        this.encoder = new AisEncoder(sequenceIds);
+    }
+
+    /**
+     * Creates a batch encoder that encodes batches in parallel,
+     * with its own {@link CyclicSequenceIdAllocator}.
+     * @param pool pool running the slice encoding tasks
+     * @param sliceSize number of messages per slice
+     * @throws IllegalArgumentException if the slice size is not positive
+     */
+    public AisBatchEncoder(ForkJoinPool pool, int sliceSize) {
+        this(pool, sliceSize, new CyclicSequenceIdAllocator());
+    }
+
+    /**
+     * Creates a batch encoder that encodes batches in parallel.
+     * Sequential message ids are allocated in input order before the slices are encoded,
+     * so the output, ids included, is identical to a sequential run.
+     * @param pool pool running the slice encoding tasks
+     * @param sliceSize number of messages per slice
+     * @param sequenceIds allocator of sequential message ids
+     * @throws IllegalArgumentException if the slice size is not positive
+     */
+    public AisBatchEncoder(ForkJoinPool pool, int sliceSize, SequenceIdAllocator sequenceIds) {
+        if (sliceSize <= 0) {
+            throw new IllegalArgumentException("Slice size must be positive: " + sliceSize);
+        }
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.sliceSize = sliceSize;
+        this.sequenceIds = Objects.requireNonNull(sequenceIds, "sequenceIds");
+        this.encoder = new AisEncoder(sequenceIds);
+    }
+
+    /**
+     * Checks whether batches are encoded in parallel.
+     * @return true if a pool was given
+     */
+    public boolean isParallel() {
+        return pool != null;
+    }
+
+    /**
+     * Encodes position messages into a byte array.
+     * @param messages messages to encode
+     * @param dst destination array
+     * @param offset index at which to start writing
+     * @return number of bytes written
+     * @throws IndexOutOfBoundsException if the output does not fit; the messages before
+     *         the one that did not fit have been written
+     */
+    public int writePositionMessages(List<? extends AisPositionMessage> messages, byte[] dst, int offset) {
+        return write(messages, POSITION_WRITER, dst, offset);
+    }
+
+    /**
+     * Encodes position messages into a byte array.
+     * @param messages messages to encode
+     * @param dst destination array
+     * @param offset index at which to start writing
+     * @return number of bytes written
+     * @throws IndexOutOfBoundsException if the output does not fit
+     */
+    public int writePositionMessages(AisPositionMessage[] messages, byte[] dst, int offset) {
+        return write(Arrays.asList(messages), POSITION_WRITER, dst, offset);
+    }
+
+    /**
+     * Encodes position messages at a buffer's position, which is advanced past them.
+     * @param messages messages to encode
+     * @param dst destination buffer
+     * @return number of bytes written
+     * @throws BufferOverflowException if the output does not fit; the buffer then holds
+     *         the messages before the one that did not fit
+     */
+    public int writePositionMessages(List<? extends AisPositionMessage> messages, ByteBuffer dst) {
+        return write(messages, POSITION_WRITER, dst);
+    }
+
+    /**
+     * Encodes position messages to a stream. The stream is neither flushed nor closed.
+     * @param messages messages to encode
+     * @param out destination stream
+     * @return number of bytes written
+     * @throws IOException if writing fails
+     */
+    public long writePositionMessages(List<? extends AisPositionMessage> messages, OutputStream out) throws IOException {
+        return write(messages, POSITION_WRITER, out);
+    }
+
+    /**
+     * Encodes static messages into a byte array.
+     * @param messages messages to encode
+     * @param dst destination array
+     * @param offset index at which to start writing
+     * @return number of bytes written
+     * @throws IndexOutOfBoundsException if the output does not fit; the messages before
+     *         the one that did not fit have been written
+     */
+    public int writeStaticMessages(List<? extends AisStaticMessage> messages, byte[] dst, int offset) {
+        return write(messages, STATIC_WRITER, dst, offset);
+    }
+
+    /**
+     * Encodes static messages into a byte array.
+     * @param messages messages to encode
+     * @param dst destination array
+     * @param offset index at which to start writing
+     * @return number of bytes written
+     * @throws IndexOutOfBoundsException if the output does not fit
+     */
+    public int writeStaticMessages(AisStaticMessage[] messages, byte[] dst, int offset) {
+        return write(Arrays.asList(messages), STATIC_WRITER, dst, offset);
+    }
+
+    /**
+     * Encodes static messages at a buffer's position, which is advanced past them.
+     * @param messages messages to encode
+     * @param dst destination buffer
+     * @return number of bytes written
+     * @throws BufferOverflowException if the output does not fit; the buffer then holds
+     *         the messages before the one that did not fit
+     */
+    public int writeStaticMessages(List<? extends AisStaticMessage> messages, ByteBuffer dst) {
+        return write(messages, STATIC_WRITER, dst);
+    }
+
+    /**
+     * Encodes static messages to a stream. The stream is neither flushed nor closed.
+     * @param messages messages to encode
+     * @param out destination stream
+     * @return number of bytes written
+     * @throws IOException if writing fails
+     */
+    public long writeStaticMessages(List<? extends AisStaticMessage> messages, OutputStream out) throws IOException {
+        return write(messages, STATIC_WRITER, out);
+    }
+
+    /**
+     * Encodes a batch into a byte array.
+     * @param messages messages to encode
+     * @param writer message writer
+     * @param dst destination array
+     * @param offset index at which to start writing
+     * @param <T> message type
+     * @return number of bytes written
+     */
+    private <T> int write(List<? extends T> messages, MessageWriter<T> writer, byte[] dst, int offset) {
+        Objects.checkFromIndexSize(offset, 0, dst.length);
+        int pos = offset;
+        if (pool == null) {
+            for (T msg : messages) {
+                pos += writer.write(encoder, msg, nextSequenceId(writer, msg), dst, pos);
+            }
+            return pos - offset;
+        }
+        for (ForkJoinTask<Slice> task : submitSlices(messages, writer)) {
+            Slice slice = task.join();
+            Objects.checkFromIndexSize(pos, slice.length, dst.length);
+            System.arraycopy(slice.bytes, 0, dst, pos, slice.length);
+            pos += slice.length;
+        }
+        return pos - offset;
+    }
+
+    /**
+     * Encodes a batch at a buffer's position.
+     * @param messages messages to encode
+     * @param writer message writer
+     * @param dst destination buffer
+     * @param <T> message type
+     * @return number of bytes written
+     */
+    private <T> int write(List<? extends T> messages, MessageWriter<T> writer, ByteBuffer dst) {
+        int start = dst.position();
+        if (pool == null) {
+            for (T msg : messages) {
+                int n = writer.write(encoder, msg, nextSequenceId(writer, msg), staging, 0);
+                if (n > dst.remaining()) throw new BufferOverflowException();
+                dst.put(staging, 0, n);
+            }
+            return dst.position() - start;
+        }
+        for (ForkJoinTask<Slice> task : submitSlices(messages, writer)) {
+            Slice slice = task.join();
+            if (slice.length > dst.remaining()) throw new BufferOverflowException();
+            dst.put(slice.bytes, 0, slice.length);
+        }
+        return dst.position() - start;
+    }
+
+    /**
+     * Encodes a batch to a stream.
+     * @param messages messages to encode
+     * @param writer message writer
+     * @param out destination stream
+     * @param <T> message type
+     * @return number of bytes written
+     * @throws IOException if writing fails
+     */
+    private <T> long write(List<? extends T> messages, MessageWriter<T> writer, OutputStream out) throws IOException {
+        long total = 0;
+        if (pool == null) {
+            int pos = 0;
+            for (T msg : messages) {
+                if (staging.length - pos < MAX_MESSAGE_LENGTH) {
+                    out.write(staging, 0, pos);
+                    total += pos;
+                    pos = 0;
+                }
+                pos += writer.write(encoder, msg, nextSequenceId(writer, msg), staging, pos);
+            }
+            out.write(staging, 0, pos);
+            return total + pos;
+        }
+        for (ForkJoinTask<Slice> task : submitSlices(messages, writer)) {
+            Slice slice = task.join();
+            out.write(slice.bytes, 0, slice.length);
+            total += slice.length;
+        }
+        return total;
+    }
+
+    /**
+     * Allocates the sequential message id of a message.
+     * @param writer message writer
+     * @param msg message
+     * @param <T> message type
+     * @return sequential message id
+     */
+    private <T> int nextSequenceId(MessageWriter<T> writer, T msg) {
+        return AisEncoder.nextSequenceId(sequenceIds, writer.channel(msg));
+    }
+
+    /**
+     * Allocates sequential message ids in input order, then cuts the batch into slices
+     * and submits one encoding task per slice.
+     * @param messages messages to encode
+     * @param writer message writer
+     * @param <T> message type
+     * @return tasks in input order
+     */
+    private <T> List<ForkJoinTask<Slice>> submitSlices(List<? extends T> messages, MessageWriter<T> writer) {
+        int size = messages.size();
+        byte[] seqIds = new byte[size];
+        int index = 0;
+        for (T msg : messages) {
+            seqIds[index++] = (byte) nextSequenceId(writer, msg);
+        }
+        List<ForkJoinTask<Slice>> tasks = new ArrayList<>((size + sliceSize - 1) / sliceSize);
+        for (int from = 0; from < size; from += sliceSize) {
+            int start = from;
+            List<? extends T> slice = messages.subList(from, Math.min(size, from + sliceSize));
+            tasks.add(pool.submit(() -> encodeSlice(slice, writer, seqIds, start)));
+        }
+        return tasks;
+    }
+
+    /**
+     * Encodes one slice with its own encoder into a slice-sized array.
+     * @param messages messages of the slice
+     * @param writer message writer
+     * @param seqIds sequential message ids of the whole batch
+     * @param start index of the slice's first message in the batch
+     * @param <T> message type
+     * @return encoded slice
+     */
+    private static <T> Slice encodeSlice(List<? extends T> messages, MessageWriter<T> writer, byte[] seqIds, int start) {
+        AisEncoder sliceEncoder = new AisEncoder();
+        byte[] bytes = new byte[Math.max(MAX_MESSAGE_LENGTH, messages.size() * 128)];
+        int pos = 0;
+        int index = start;
+        for (T msg : messages) {
+            if (bytes.length - pos < MAX_MESSAGE_LENGTH) bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            pos += writer.write(sliceEncoder, msg, seqIds[index++], bytes, pos);
+        }
+        return new Slice(bytes, pos);
+    }
+
+    /**
+     * Encoded bytes of one slice.
+     */
+    private static final class Slice {
+        final byte[] bytes;
+        final int length;
+
+        Slice(byte[] bytes, int length) {
+            this.bytes = bytes;
+            this.length = length;
+        }
+    }
+}
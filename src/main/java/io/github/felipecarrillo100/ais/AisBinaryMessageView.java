@@ -0,0 +1,137 @@
+package io.github.felipecarrillo100.ais;
+
+/**
+ * Read-only flyweight over the payload bits of an AIS binary message: Addressed Binary
+ * Message (Type 6) or Binary Broadcast Message (Type 8). It exposes the header fields,
+ * including the application identifier (DAC and FI), and gives bit-level access to the
+ * application data without copying it: data bit 0 is the first bit after the header.
+ * <p>
+ * A view delivered by the decoder wraps the decoder's own buffer and is only valid until
+ * the handler returns. To keep a message, copy the bits into another buffer with
+ * {@link AisBitBuffer#copyFrom(AisBitBuffer)} and wrap that buffer with a new view.
+ */
+public final class AisBinaryMessageView {
+
+    /**
+     * Data offset of an addressed binary message (type 6).
+     */
+    private static final int ADDRESSED_DATA_OFFSET = 88;
+
+    /**
+     * Data offset of a binary broadcast message (type 8).
+     */
+    private static final int BROADCAST_DATA_OFFSET = 56;
+
+    private AisBitBuffer bits;
+
+    /**
+     * Points this view at the given payload bits.
+     * @param bits payload bits of a binary message
+     * @return this view
+     */
+    public AisBinaryMessageView wrap(AisBitBuffer bits) {
+        this.bits = bits;
+        return this;
+    }
+
+    /**
+     * Gets the wrapped payload bits.
+     * @return payload bits, or null if nothing is wrapped
+     */
+    public AisBitBuffer bits() { return bits; }
+
+    /**
+     * Checks whether the wrapped bits hold a complete binary message header.
+     * @return true if the message type is 6 or 8 and the header is complete
+     */
+    public boolean isValid() {
+        if (bits == null || bits.length() < 40) return false;
+        int type = messageType();
+        return (type == 6 || type == 8) && bits.length() >= dataOffset();
+    }
+
+    /**
+     * @return AIS message type number (6 or 8)
+     */
+    public int messageType() { return bits.readUInt(0, 6); }
+
+    /**
+     * @return repeat indicator (0-3)
+     */
+    public int repeat() { return bits.readUInt(6, 2); }
+
+    /**
+     * @return MMSI number of the sender
+     */
+    public int mmsi() { return bits.readUInt(8, 30); }
+
+    /**
+     * @return true for an addressed message (type 6), false for a broadcast (type 8)
+     */
+    public boolean isAddressed() { return messageType() == 6; }
+
+    /**
+     * @return sequence number of an addressed message (0-3), 0 for a broadcast
+     */
+    public int sequenceNumber() { return isAddressed() ? bits.readUInt(38, 2) : 0; }
+
+    /**
+     * @return MMSI number of the addressed station, 0 for a broadcast
+     */
+    public int destinationMmsi() { return isAddressed() ? bits.readUInt(40, 30) : 0; }
+
+    /**
+     * @return true if an addressed message was retransmitted, false for a broadcast
+     */
+    public boolean retransmit() { return isAddressed() && bits.readUInt(70, 1) == 1; }
+
+    /**
+     * @return designated area code (0-1023)
+     */
+    public int dac() { return isAddressed() ? bits.readUInt(72, 10) : bits.readUInt(40, 10); }
+
+    /**
+     * @return function identifier (0-63)
+     */
+    public int fi() { return isAddressed() ? bits.readUInt(82, 6) : bits.readUInt(50, 6); }
+
+    /**
+     * @return index of the first application data bit in the payload
+     */
+    public int dataOffset() { return isAddressed() ? ADDRESSED_DATA_OFFSET : BROADCAST_DATA_OFFSET; }
+
+    /**
+     * @return number of application data bits
+     */
+    public int dataLength() { return Math.max(0, bits.length() - dataOffset()); }
+
+    /**
+     * Reads an unsigned integer of up to 32 bits from the application data.
+     * @param start start bit index within the data (inclusive)
+     * @param len number of bits
+     * @return unsigned value, or 0 if the field lies outside the data
+     */
+    public int readUInt(int start, int len) {
+        return start < 0 ? 0 : bits.readUInt(dataOffset() + start, len);
+    }
+
+    /**
+     * Reads a signed two's complement integer of up to 32 bits from the application data.
+     * @param start start bit index within the data (inclusive)
+     * @param len number of bits
+     * @return signed value, or 0 if the field lies outside the data
+     */
+    public int readInt(int start, int len) {
+        return start < 0 ? 0 : bits.readInt(dataOffset() + start, len);
+    }
+
+    /**
+     * Decodes 6-bit ASCII text from the application data.
+     * @param start start bit index within the data (inclusive)
+     * @param lengthChars number of characters to decode
+     * @return decoded text with trailing '@' characters removed and trimmed
+     */
+    public String readText(int start, int lengthChars) {
+        return start < 0 ? "" : bits.readText(dataOffset() + start, lengthChars);
+    }
+}
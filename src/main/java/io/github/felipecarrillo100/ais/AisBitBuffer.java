@@ -0,0 +1,266 @@
+package io.github.felipecarrillo100.ais;
+
+import java.util.Arrays;
+
+/**
+ * Growable buffer of AIS payload bits packed most significant bit first into a long array.
+ * Armored 6-bit payload characters are de-armored straight into the buffer and
+ * fields of arbitrary width are read back with shifts and masks. For encoding, fields
+ * are appended the same way and the bits are armored back into payload characters.
+ * Instances are reusable but not thread-safe.
+ */
+public final class AisBitBuffer {
+
+    /**
+     * AIS 6-bit character table used for text fields.
+     */
+    private static final String SIXBIT_TABLE = "@ABCDEFGHIJKLMNOPQRSTUVWXYZ[\\]^_ !\"#$%&'()*+,-./0123456789:;<=>?";
+
+    private long[] words = new long[8];
+    private int length;
+    private int usedWords;
+    private char[] text = new char[20];
+
+    /**
+     * Clears the buffer so it can be reused for another payload.
+     */
+    public void clear() {
+        Arrays.fill(words, 0, usedWords, 0L);
+        usedWords = 0;
+        length = 0;
+    }
+
+    /**
+     * Gets the number of valid payload bits.
+     * @return number of valid bits in the buffer
+     */
+    public int length() { return length; }
+
+    /**
+     * Replaces the contents of this buffer with a copy of another buffer's bits.
+     * @param other buffer to copy
+     */
+    public void copyFrom(AisBitBuffer other) {
+        clear();
+        int used = (other.length + 63) >>> 6;
+        ensureCapacity(other.length);
+        System.arraycopy(other.words, 0, words, 0, used);
+        int tail = other.length & 63;
+        if (tail != 0) {
+            // Drop trimmed fill bits so that later appends start from zeroed bits
+            words[used - 1] &= -1L << (64 - tail);
+        }
+        usedWords = used;
+        length = other.length;
+    }
+
+    /**
+     * De-armors AIS 6-bit ASCII payload characters and appends their bits.
+     * @param payload sequence holding the armored payload
+     * @param start start index (inclusive)
+     * @param end end index (exclusive)
+     */
+    public void appendArmored(CharSequence payload, int start, int end) {
+        ensureCapacity(length + (end - start) * 6);
+        for (int i = start; i < end; i++) {
+            int val = payload.charAt(i) - 48;
+            if (val > 40) val -= 8;
+            append6(val & 0x3F);
+        }
+        int used = (length + 63) >>> 6;
+        if (used > usedWords) usedWords = used;
+    }
+
+    /**
+     * De-armors AIS 6-bit ASCII payload bytes and appends their bits.
+     * @param payload array holding the armored payload
+     * @param start start index (inclusive)
+     * @param end end index (exclusive)
+     */
+    public void appendArmored(byte[] payload, int start, int end) {
+        ensureCapacity(length + (end - start) * 6);
+        for (int i = start; i < end; i++) {
+            int val = (payload[i] & 0xFF) - 48;
+            if (val > 40) val -= 8;
+            append6(val & 0x3F);
+        }
+        int used = (length + 63) >>> 6;
+        if (used > usedWords) usedWords = used;
+    }
+
+    /**
+     * Appends the low bits of an integer, most significant first.
+     * Signed values are appended in two's complement.
+     * @param value value to append
+     * @param len number of bits, 1 to 32
+     * @throws IllegalArgumentException if len is out of range
+     */
+    public void appendUInt(int value, int len) {
+        if (len < 1 || len > 32) throw new IllegalArgumentException("Bit length must be between 1 and 32: " + len);
+        ensureCapacity(length + len);
+        long field = (value & (-1L >>> (64 - len))) << (64 - len);
+        int w = length >>> 6;
+        int off = length & 63;
+        words[w] |= field >>> off;
+        if (off + len > 64) {
+            words[w + 1] |= field << (64 - off);
+        }
+        length += len;
+        int used = (length + 63) >>> 6;
+        if (used > usedWords) usedWords = used;
+    }
+
+    /**
+     * Appends text as 6-bit ASCII characters, padded with '@' or truncated to the given length.
+     * Characters outside the AIS 6-bit character set are written as '@'.
+     * @param text text to append, null meaning empty
+     * @param chars number of characters to append
+     */
+    public void appendText(CharSequence text, int chars) {
+        int n = text == null ? 0 : Math.min(text.length(), chars);
+        for (int i = 0; i < chars; i++) {
+            int code = 0;
+            if (i < n) {
+                char c = text.charAt(i);
+                if (c >= 64 && c < 96) code = c - 64;
+                else if (c >= 32 && c < 64) code = c;
+            }
+            appendUInt(code, 6);
+        }
+    }
+
+    /**
+     * Gets the number of armored characters needed for the buffer's bits,
+     * the last one padded with zero bits.
+     * @return armored payload length
+     */
+    public int armoredLength() {
+        return (length + 5) / 6;
+    }
+
+    /**
+     * Armors six bits of the buffer as an AIS payload character.
+     * Bits beyond the end of the buffer are taken as zero.
+     * @param index character index, from 0 to {@link #armoredLength()} - 1
+     * @return armored ASCII character
+     */
+    public int armoredChar(int index) {
+        int start = index * 6;
+        int remaining = length - start;
+        int val = remaining >= 6 ? readUInt(start, 6) : readUInt(start, remaining) << (6 - remaining);
+        return val < 40 ? val + 48 : val + 56;
+    }
+
+    /**
+     * Removes the given number of fill bits from the end of the buffer.
+     * @param fillBits number of fill bits to remove
+     */
+    public void trimFillBits(int fillBits) {
+        if (fillBits > 0 && length >= fillBits) {
+            length -= fillBits;
+        }
+    }
+
+    /**
+     * Appends a 6-bit value, capacity must already be ensured.
+     * @param val 6-bit value
+     */
+    private void append6(int val) {
+        int w = length >>> 6;
+        int off = length & 63;
+        if (off <= 58) {
+            words[w] |= (long) val << (58 - off);
+        } else {
+            words[w] |= (long) val >>> (off - 58);
+            words[w + 1] |= (long) val << (122 - off);
+        }
+        length += 6;
+    }
+
+    /**
+     * Grows the word array so it can hold at least the given number of bits.
+     * @param bits required capacity in bits
+     */
+    private void ensureCapacity(int bits) {
+        int needed = (bits >>> 6) + 1;
+        if (needed > words.length) {
+            words = Arrays.copyOf(words, Math.max(needed, words.length * 2));
+        }
+    }
+
+    /**
+     * Reads an unsigned integer of up to 32 bits.
+     * @param start start bit index (inclusive)
+     * @param len number of bits
+     * @return unsigned value, or 0 if the field lies outside the buffer
+     */
+    public int readUInt(int start, int len) {
+        if (len <= 0 || start < 0 || start + len > length) return 0;
+        return (int) (topAligned(start, len) >>> (64 - len));
+    }
+
+    /**
+     * Reads a signed two's complement integer of up to 32 bits.
+     * @param start start bit index (inclusive)
+     * @param len number of bits
+     * @return signed value, or 0 if the field lies outside the buffer
+     */
+    public int readInt(int start, int len) {
+        if (len <= 0 || start < 0 || start + len > length) return 0;
+        return (int) (topAligned(start, len) >> (64 - len));
+    }
+
+    /**
+     * Hashes a range of bits, e.g. to detect whether a resent message changed
+     * without decoding its fields. Bits beyond the end of the buffer count as zero.
+     * @param start start bit index (inclusive)
+     * @param end end bit index (exclusive)
+     * @return 64-bit hash of the bits and the range length
+     */
+    long hash(int start, int end) {
+        long h = end - start;
+        for (int i = start; i < end; i += 32) {
+            h = (h ^ (readUInt(i, Math.min(32, end - i)) & 0xFFFFFFFFL)) * 0x9E3779B97F4A7C15L;
+            h ^= h >>> 29;
+        }
+        return h;
+    }
+
+    /**
+     * Returns a long whose most significant bits hold the requested field.
+     * @param start start bit index
+     * @param len number of bits (at most 32)
+     * @return field aligned to bit 63
+     */
+    private long topAligned(int start, int len) {
+        int w = start >>> 6;
+        int off = start & 63;
+        long v = words[w] << off;
+        if (off + len > 64) {
+            v |= words[w + 1] >>> (64 - off);
+        }
+        return v;
+    }
+
+    /**
+     * Decodes 6-bit ASCII text. Characters beyond the end of the buffer are ignored.
+     * @param start start bit index (inclusive)
+     * @param lengthChars number of characters to decode
+     * @return decoded text with trailing '@' characters removed and trimmed
+     */
+    public String readText(int start, int lengthChars) {
+        if (text.length < lengthChars) text = new char[lengthChars];
+        int n = 0;
+        for (int i = 0; i < lengthChars; i++) {
+            int bitIndex = start + i * 6;
+            if (bitIndex + 6 > length) break;
+            text[n++] = SIXBIT_TABLE.charAt(readUInt(bitIndex, 6));
+        }
+        int end = n;
+        while (end > 0 && text[end - 1] == '@') end--;
+        int begin = 0;
+        while (begin < end && text[begin] <= ' ') begin++;
+        while (end > begin && text[end - 1] <= ' ') end--;
+        return new String(text, begin, end - begin);
+    }
+}
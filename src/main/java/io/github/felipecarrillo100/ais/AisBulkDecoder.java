@@ -0,0 +1,383 @@
+package io.github.felipecarrillo100.ais;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Decodes large NMEA archive files in parallel.
+ * The file is split into line-aligned chunks that are memory-mapped and decoded concurrently
+ * on a {@link ForkJoinPool}, each chunk by its own {@link AisDecoder} obtained from a factory.
+ * Decoded messages are delivered through the callbacks the factory sets on its decoders,
+ * which act as the sink and must therefore be thread-safe. Messages from different chunks
+ * are delivered concurrently and in no particular order.
+ *
+ * <p>Chunk boundaries avoid splitting multipart messages: a boundary is moved forward past the
+ * remaining fragments of every message started shortly before it, so fragments interleaved
+ * with other sentences are still reassembled by a single decoder. Messages are told apart the
+ * way {@link AisDecoder} tells them apart, by tag block group or by tag block source, channel and
+ * sequential message id. This is a best-effort guarantee limited to 64 KB on each side of the
+ * boundary: a message whose first fragment lies further back, or whose last fragment lies further
+ * ahead, is split, and its fragments are dropped as incomplete by both decoders.</p>
+ *
+ * <p>If a chunk fails, the remaining chunks are cancelled and {@link #decode} waits for the running
+ * ones to stop, so no callback is invoked once it has thrown.</p>
+ */
+public class AisBulkDecoder {
+
+    /**
+     * Default chunk size in bytes.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 64 << 20;
+
+    /**
+     * Largest accepted chunk size, leaving room for boundary adjustment within the 2 GB mapping limit.
+     */
+    public static final int MAX_CHUNK_SIZE = 1 << 30;
+
+    /**
+     * Bytes examined on each side of a chunk boundary to find multipart messages open across it.
+     */
+    private static final int BOUNDARY_WINDOW = 64 * 1024;
+
+    /**
+     * Size of the blocks copied from a mapped chunk into the line framer.
+     */
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    private final Supplier<AisDecoder> decoderFactory;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    /**
+     * Creates a bulk decoder using the common pool and the default chunk size.
+     * See {@link #AisBulkDecoder(Supplier, ForkJoinPool, int)} for the thread-safety requirements.
+     * @param decoderFactory supplies a decoder, with its callbacks set, for every chunk
+     */
+    public AisBulkDecoder(Supplier<AisDecoder> decoderFactory) {
+        this(decoderFactory, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a bulk decoder.
+     * <p>
+     * The pool threads call the decoder factory concurrently, one call per chunk, and the decoders
+     * it returns run side by side, so the callbacks they invoke run concurrently too. Both the
+     * factory and the callbacks must therefore be thread-safe, e.g. by giving each decoder its own
+     * state or by writing to concurrent collections.
+     * @param decoderFactory supplies a decoder, with its callbacks set, for every chunk
+     * @param pool pool running the chunk decoding tasks
+     * @param chunkSize target chunk size in bytes; actual chunks end on line boundaries
+     * @throws IllegalArgumentException if the chunk size is not between 1 and {@link #MAX_CHUNK_SIZE}
+     */
+    public AisBulkDecoder(Supplier<AisDecoder> decoderFactory, ForkJoinPool pool, int chunkSize) {
+        if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Chunk size must be between 1 and " + MAX_CHUNK_SIZE + ": " + chunkSize);
+        }
+        this.decoderFactory = Objects.requireNonNull(decoderFactory, "decoderFactory");
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Decodes a whole file, returning once every chunk has been decoded.
+     * @param file NMEA file, one sentence per line
+     * @return counters summed over all chunks
+     * @throws IOException if the file cannot be read
+     */
+    public Summary decode(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] boundaries = chunkBoundaries(channel);
+            AtomicBoolean cancelled = new AtomicBoolean();
+            List<ForkJoinTask<Summary>> tasks = new ArrayList<>(boundaries.length - 1);
+            for (int i = 0; i + 1 < boundaries.length; i++) {
+                long start = boundaries[i];
+                long end = boundaries[i + 1];
+                tasks.add(pool.submit(() -> decodeChunk(channel, start, end, cancelled)));
+            }
+            Summary summary = new Summary();
+            for (ForkJoinTask<Summary> task : tasks) {
+                try {
+                    summary.add(task.join());
+                } catch (RuntimeException | Error e) {
+                    cancel(tasks, cancelled);
+                    // join() may rethrow a copy whose cause is the original exception
+                    Throwable cause = e;
+                    while (cause instanceof UncheckedIOException) cause = cause.getCause();
+                    if (cause instanceof IOException) throw (IOException) cause;
+                    throw e;
+                }
+            }
+            return summary;
+        }
+    }
+
+    /**
+     * Stops the chunk tasks after one has failed: tasks not yet started return at once, running
+     * ones stop at their next block, and this method returns once every task has finished.
+     * Tasks are not cancelled through {@link ForkJoinTask#cancel}, which would not wait for running ones.
+     * @param tasks chunk tasks
+     * @param cancelled flag polled by the tasks
+     */
+    private static void cancel(List<ForkJoinTask<Summary>> tasks, AtomicBoolean cancelled) {
+        cancelled.set(true);
+        for (ForkJoinTask<Summary> task : tasks) {
+            task.quietlyJoin();
+        }
+    }
+
+    /**
+     * Maps one chunk and feeds it through a line framer into a fresh decoder.
+     * @param channel open file
+     * @param start chunk start offset (inclusive)
+     * @param end chunk end offset (exclusive)
+     * @param cancelled set when another chunk failed, stopping this one at the next block
+     * @return counters of this chunk
+     */
+    private Summary decodeChunk(FileChannel channel, long start, long end, AtomicBoolean cancelled) {
+        if (cancelled.get()) return new Summary();
+        AisStreamDecoder stream = new AisStreamDecoder(decoderFactory.get());
+        try {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            byte[] block = new byte[(int) Math.min(BLOCK_SIZE, end - start)];
+            while (mapped.hasRemaining() && !cancelled.get()) {
+                int n = Math.min(block.length, mapped.remaining());
+                mapped.get(block, 0, n);
+                stream.feed(block, 0, n);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!cancelled.get()) stream.finish();
+        Summary summary = new Summary();
+        summary.chunks = 1;
+        summary.bytes = stream.getBytesRead();
+        summary.lines = stream.getLineCount();
+        summary.decoded = stream.getDecodedCount();
+        summary.rejected = stream.getRejectedCount();
+        return summary;
+    }
+
+    /**
+     * Computes chunk boundaries: roughly every chunk size bytes, at the start of a line,
+     * and past the end of any multipart message open at that point.
+     * @param channel open file
+     * @return increasing offsets, starting with 0 and ending with the file size
+     * @throws IOException if the file cannot be read
+     */
+    private long[] chunkBoundaries(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        long next = chunkSize;
+        while (next < size) {
+            long boundary = alignBoundary(channel, next, size);
+            if (boundary >= size) break;
+            boundaries.add(boundary);
+            next = boundary + chunkSize;
+        }
+        boundaries.add(size);
+        long[] result = new long[boundaries.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = boundaries.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Moves a tentative boundary to the start of the next line, then forward past the
+     * remaining fragments of multipart messages started before it.
+     * @param channel open file
+     * @param position tentative boundary
+     * @param size file size
+     * @return adjusted boundary
+     * @throws IOException if the file cannot be read
+     */
+    private long alignBoundary(FileChannel channel, long position, long size) throws IOException {
+        long windowStart = Math.max(0, position - BOUNDARY_WINDOW);
+        int length = (int) (Math.min(size, position + BOUNDARY_WINDOW) - windowStart);
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, windowStart + buffer.position()) < 0) break;
+        }
+        byte[] window = buffer.array();
+        int limit = buffer.position();
+        int boundary = (int) (position - windowStart);
+
+        // Start of the first line at or after the tentative boundary
+        if (!isLineStart(window, boundary)) {
+            while (boundary < limit && !isTerminator(window[boundary])) boundary++;
+        }
+        while (boundary < limit && isTerminator(window[boundary])) boundary++;
+        if (boundary >= limit) return windowStart + limit;
+
+        // Multipart messages with fragments in the lines before the boundary and not yet complete
+        NmeaSentenceScanner scanner = new NmeaSentenceScanner();
+        Map<Map.Entry<Long, String>, Integer> open = new HashMap<>();
+        int lineStart = windowStart == 0 ? 0 : nextLine(window, 0, limit);
+        while (lineStart < boundary) {
+            int lineEnd = lineEnd(window, lineStart, limit);
+            if (scanner.scan(window, lineStart, lineEnd - lineStart)) trackMultipart(scanner, open);
+            lineStart = nextLine(window, lineEnd, limit);
+        }
+
+        // Move past their remaining fragments, and past continuation fragments in any case
+        while (boundary < limit) {
+            int lineEnd = lineEnd(window, boundary, limit);
+            if (lineEnd >= limit) break;
+            boolean scanned = scanner.scan(window, boundary, lineEnd - boundary);
+            boolean continuation = scanned && scanner.part() > 1;
+            if (open.isEmpty() && !continuation) break;
+            if (scanned) trackMultipart(scanner, open);
+            boundary = nextLine(window, lineEnd, limit);
+        }
+        return windowStart + boundary;
+    }
+
+    /**
+     * Records a scanned fragment in the map of open multipart messages. Messages are keyed as
+     * {@link AisDecoder} keys them when fed without a caller source, opened by their first fragment
+     * and closed once all their fragments have been seen; continuations of messages whose first
+     * fragment lies outside the window are not tracked.
+     * @param scanner scanner holding the line
+     * @param open fragments seen so far of every open message, as a bit mask by message key
+     */
+    private static void trackMultipart(NmeaSentenceScanner scanner, Map<Map.Entry<Long, String>, Integer> open) {
+        int total = scanner.total();
+        int part = scanner.part();
+        if (total < 2 || total > MultipartAssembler.MAX_FRAGMENTS || part < 1 || part > total) return;
+        Map.Entry<Long, String> key = new AbstractMap.SimpleImmutableEntry<>(
+                MultipartAssembler.messageKey(scanner), scanner.hasGroup() ? null : scanner.tagSource());
+        Integer seen = open.get(key);
+        if (seen == null && part != 1) return;
+        int mask = (seen == null ? 0 : seen) | 1 << (part - 1);
+        if (mask == (1 << total) - 1) {
+            open.remove(key);
+        } else {
+            open.put(key, mask);
+        }
+    }
+
+    /**
+     * @param b byte to test
+     * @return true if the byte is CR or LF
+     */
+    private static boolean isTerminator(byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+    /**
+     * @param window bytes
+     * @param i index
+     * @return true if a line starts at the index
+     */
+    private static boolean isLineStart(byte[] window, int i) {
+        return i == 0 || isTerminator(window[i - 1]);
+    }
+
+    /**
+     * @param window bytes
+     * @param start index inside a line
+     * @param limit end of valid bytes
+     * @return index of the line's terminator, or limit
+     */
+    private static int lineEnd(byte[] window, int start, int limit) {
+        int i = start;
+        while (i < limit && !isTerminator(window[i])) i++;
+        return i;
+    }
+
+    /**
+     * @param window bytes
+     * @param start index inside a line or on its terminator
+     * @param limit end of valid bytes
+     * @return start of the next non-empty line, or limit
+     */
+    private static int nextLine(byte[] window, int start, int limit) {
+        int i = lineEnd(window, start, limit);
+        while (i < limit && isTerminator(window[i])) i++;
+        return i;
+    }
+
+    /**
+     * Counters of a bulk decode, summed over all chunks.
+     */
+    public static final class Summary {
+        private int chunks;
+        private long bytes;
+        private long lines;
+        private long decoded;
+        private long rejected;
+
+        /**
+         * Adds another summary's counters to this one.
+         * @param other summary to add
+         */
+        private void add(Summary other) {
+            chunks += other.chunks;
+            bytes += other.bytes;
+            lines += other.lines;
+            decoded += other.decoded;
+            rejected += other.rejected;
+        }
+
+        /**
+         * Gets the number of chunks the file was split into.
+         * @return chunk count
+         */
+        public int getChunkCount() { return chunks; }
+
+        /**
+         * Gets the number of bytes read.
+         * @return bytes read
+         */
+        public long getBytesRead() { return bytes; }
+
+        /**
+         * Gets the number of non-blank lines.
+         * @return line count
+         */
+        public long getLineCount() { return lines; }
+
+        /**
+         * Gets the number of lines accepted as well formed sentences with a valid checksum.
+         * @return decoded sentence count
+         */
+        public long getDecodedCount() { return decoded; }
+
+        /**
+         * Gets the number of lines rejected as malformed, failing the checksum or too long.
+         * @return rejected line count
+         */
+        public long getRejectedCount() { return rejected; }
+
+        /**
+         * Returns a string representation of the counters.
+         * @return string representation
+         */
+        @Override
+        public String toString() {
+            return "Summary{" +
+                    "chunks=" + chunks +
+                    ", bytes=" + bytes +
+                    ", lines=" + lines +
+                    ", decoded=" + decoded +
+                    ", rejected=" + rejected +
+                    '}';
+        }
+    }
+}
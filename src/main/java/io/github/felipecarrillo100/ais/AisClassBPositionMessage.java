@@ -0,0 +1,238 @@
+package io.github.felipecarrillo100.ais;
+
+/**
+ * Represents an AIS Class B Position Report (Type 18, or Type 19 extended).
+ * Shares the navigation fields of {@link AisPositionMessage}; Class B reports carry no
+ * navigational status or rate of turn, so those stay null. Type 19 reports additionally
+ * carry the vessel name, ship type and dimensions, which are null for type 18.
+ */
+public class AisClassBPositionMessage extends AisPositionMessage {
+    private Boolean csUnit;
+    private Boolean display;
+    private Boolean dsc;
+    private Boolean band;
+    private Boolean message22;
+    private Boolean assigned;
+    private String name;
+    private Integer shipType;
+    private Integer dimensionToBow;
+    private Integer dimensionToStern;
+    private Integer dimensionToPort;
+    private Integer dimensionToStarboard;
+    private Integer epfd;
+    private Boolean dteAvailable;
+
+    /**
+     * Gets the Class B unit flag (type 18 only).
+     * True for a carrier sense (CS) unit, false for a SOTDMA unit.
+     * @return CS unit flag
+     */
+    public Boolean getCsUnit() { return csUnit; }
+
+    /**
+     * Sets the Class B unit flag.
+     * @param csUnit CS unit flag
+     */
+    public void setCsUnit(Boolean csUnit) { this.csUnit = csUnit; }
+
+    /**
+     * Gets the display flag (type 18 only).
+     * True if the unit has a display for messages 12 and 14.
+     * @return display flag
+     */
+    public Boolean getDisplay() { return display; }
+
+    /**
+     * Sets the display flag.
+     * @param display display flag
+     */
+    public void setDisplay(Boolean display) { this.display = display; }
+
+    /**
+     * Gets the DSC flag (type 18 only).
+     * True if the unit is attached to a VHF voice radio with DSC capability.
+     * @return DSC flag
+     */
+    public Boolean getDsc() { return dsc; }
+
+    /**
+     * Sets the DSC flag.
+     * @param dsc DSC flag
+     */
+    public void setDsc(Boolean dsc) { this.dsc = dsc; }
+
+    /**
+     * Gets the band flag (type 18 only).
+     * True if the unit can use any part of the marine band.
+     * @return band flag
+     */
+    public Boolean getBand() { return band; }
+
+    /**
+     * Sets the band flag.
+     * @param band band flag
+     */
+    public void setBand(Boolean band) { this.band = band; }
+
+    /**
+     * Gets the message 22 flag (type 18 only).
+     * True if the unit accepts channel management by message 22.
+     * @return message 22 flag
+     */
+    public Boolean getMessage22() { return message22; }
+
+    /**
+     * Sets the message 22 flag.
+     * @param message22 message 22 flag
+     */
+    public void setMessage22(Boolean message22) { this.message22 = message22; }
+
+    /**
+     * Gets the assigned mode flag.
+     * True if the station operates in assigned mode.
+     * @return assigned mode flag
+     */
+    public Boolean getAssigned() { return assigned; }
+
+    /**
+     * Sets the assigned mode flag.
+     * @param assigned assigned mode flag
+     */
+    public void setAssigned(Boolean assigned) { this.assigned = assigned; }
+
+    /**
+     * Gets the vessel name (type 19 only).
+     * @return vessel name
+     */
+    public String getName() { return name; }
+
+    /**
+     * Sets the vessel name.
+     * @param name vessel name
+     */
+    public void setName(String name) { this.name = name; }
+
+    /**
+     * Gets the ship type code (type 19 only).
+     * @return ship type
+     */
+    public Integer getShipType() { return shipType; }
+
+    /**
+     * Sets the ship type code.
+     * @param shipType ship type
+     */
+    public void setShipType(Integer shipType) { this.shipType = shipType; }
+
+    /**
+     * Gets the dimension from the reference point to the bow in meters (type 19 only).
+     * @return dimension to bow
+     */
+    public Integer getDimensionToBow() { return dimensionToBow; }
+
+    /**
+     * Sets the dimension to the bow.
+     * @param dimensionToBow dimension to bow in meters
+     */
+    public void setDimensionToBow(Integer dimensionToBow) { this.dimensionToBow = dimensionToBow; }
+
+    /**
+     * Gets the dimension from the reference point to the stern in meters (type 19 only).
+     * @return dimension to stern
+     */
+    public Integer getDimensionToStern() { return dimensionToStern; }
+
+    /**
+     * Sets the dimension to the stern.
+     * @param dimensionToStern dimension to stern in meters
+     */
+    public void setDimensionToStern(Integer dimensionToStern) { this.dimensionToStern = dimensionToStern; }
+
+    /**
+     * Gets the dimension from the reference point to port in meters (type 19 only).
+     * @return dimension to port
+     */
+    public Integer getDimensionToPort() { return dimensionToPort; }
+
+    /**
+     * Sets the dimension to port.
+     * @param dimensionToPort dimension to port in meters
+     */
+    public void setDimensionToPort(Integer dimensionToPort) { this.dimensionToPort = dimensionToPort; }
+
+    /**
+     * Gets the dimension from the reference point to starboard in meters (type 19 only).
+     * @return dimension to starboard
+     */
+    public Integer getDimensionToStarboard() { return dimensionToStarboard; }
+
+    /**
+     * Sets the dimension to starboard.
+     * @param dimensionToStarboard dimension to starboard in meters
+     */
+    public void setDimensionToStarboard(Integer dimensionToStarboard) { this.dimensionToStarboard = dimensionToStarboard; }
+
+    /**
+     * Gets the EPFD (Electronic Position Fixing Device) type (type 19 only).
+     * @return EPFD type code
+     */
+    public Integer getEpfd() { return epfd; }
+
+    /**
+     * Sets the EPFD type.
+     * @param epfd EPFD type code
+     */
+    public void setEpfd(Integer epfd) { this.epfd = epfd; }
+
+    /**
+     * Gets the DTE (Data Terminal Equipment) availability flag (type 19 only).
+     * @return DTE availability
+     */
+    public Boolean getDteAvailable() { return dteAvailable; }
+
+    /**
+     * Sets the DTE availability.
+     * @param dteAvailable DTE availability
+     */
+    public void setDteAvailable(Boolean dteAvailable) { this.dteAvailable = dteAvailable; }
+
+    /**
+     * Returns a string representation of the AIS Class B position message.
+     * @return string representation
+     */
+    @Override
+    public String toString() {
+        return "AisClassBPositionMessage{" +
+                "messageType=" + getMessageType() +
+                ", repeat=" + getRepeat() +
+                ", mmsi=" + getMmsi() +
+                ", sog=" + getSog() +
+                ", accuracy=" + getAccuracy() +
+                ", lon=" + getLon() +
+                ", lat=" + getLat() +
+                ", cog=" + getCog() +
+                ", heading=" + getHeading() +
+                ", timestamp=" + getTimestamp() +
+                ", csUnit=" + csUnit +
+                ", display=" + display +
+                ", dsc=" + dsc +
+                ", band=" + band +
+                ", message22=" + message22 +
+                ", assigned=" + assigned +
+                ", raim=" + getRaim() +
+                ", radio=" + getRadio() +
+                ", name='" + name + '\'' +
+                ", shipType=" + shipType +
+                ", dimensionToBow=" + dimensionToBow +
+                ", dimensionToStern=" + dimensionToStern +
+                ", dimensionToPort=" + dimensionToPort +
+                ", dimensionToStarboard=" + dimensionToStarboard +
+                ", epfd=" + epfd +
+                ", dteAvailable=" + dteAvailable +
+                ", channel='" + getChannel() + '\'' +
+                ", source='" + getSource() + '\'' +
+                ", receiverTime=" + getReceiverTime() +
+                ", groupId=" + getGroupId() +
+                '}';
+    }
+}
@@ -1,316 +1,147 @@
 package io.github.felipecarrillo100.ais;
 
-import java.util.*;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * AIS Decoder that processes AIS NMEA sentences,
- * supports multipart messages, and decodes AIS types 1-3 and 5.
- * Uses callbacks to deliver decoded AIS position and static messages.
+ * supports multipart messages, and decodes AIS types 1-6, 8, 11, 12, 14, 18, 19, 21 and 24.
+ * Delivers decoded messages to handlers registered per kind of message, see {@link AisMessageType}.
+ * Sentences may be preceded by an NMEA 4 tag block, whose source, time and group fields
+ * are passed on to the decoded messages.
+ * Multipart fragments are grouped by source, radio channel and sequential message id,
+ * or by tag block group and the source given by the caller, in a bounded number of reassembly slots.
+ * Instances are not thread-safe; see {@link ConcurrentAisDecoder} for multi-producer ingest.
  */
-public class AisDecoder {
+public class AisDecoder extends AbstractAisDecoder {
 
     /**
-     * Timeout in milliseconds after which incomplete multipart buffers are discarded.
+     * Default timeout in milliseconds after which incomplete multipart buffers are discarded.
      */
-    private static final long MULTIPART_TIMEOUT_MS = 30000;
+    public static final long DEFAULT_MULTIPART_TIMEOUT_MS = 30000;
 
     /**
-     * Map storing multipart message buffers keyed by sequence ID.
+     * Default maximum number of incomplete multipart messages buffered at once.
      */
-    private final Map<String, MultipartBufferEntry> multipartBuffers = new HashMap<>();
+    public static final int DEFAULT_MAX_PENDING_MULTIPARTS = 1024;
 
     /**
-     * Callback consumer invoked on decoded AIS position messages (types 1-3).
+     * Buffers holding the fragments of incomplete multipart messages.
      */
-    private Consumer<AisPositionMessage> positionCallback;
+    private final MultipartAssembler multipartBuffers;
 
     /**
-     * Callback consumer invoked on decoded AIS static messages (type 5).
+     * Reusable scanner, payload bit buffer and callback instances.
      */
-    private Consumer<AisStaticMessage> staticCallback;
+    private final DecodeContext context = new DecodeContext();
 
     /**
-     * Sets the callback to receive decoded AIS position messages.
-     * @param callback Consumer that accepts AisPositionMessage
+     * Creates a decoder that discards incomplete multipart messages
+     * after {@link #DEFAULT_MULTIPART_TIMEOUT_MS}.
      */
-    public void setPositionCallback(Consumer<AisPositionMessage> callback) {
-        this.positionCallback = callback;
+    public AisDecoder() {
+        this(DEFAULT_MULTIPART_TIMEOUT_MS);
     }
 
     /**
-     * Sets the callback to receive decoded AIS static messages.
-     * @param callback Consumer that accepts AisStaticMessage
+     * Creates a decoder with a custom multipart timeout.
+     * @param multipartTimeoutMs time in milliseconds after which incomplete multipart messages are discarded
+     * @throws IllegalArgumentException if the timeout is not positive
      */
-    public void setStaticCallback(Consumer<AisStaticMessage> callback) {
-        this.staticCallback = callback;
+    public AisDecoder(long multipartTimeoutMs) {
+        this(multipartTimeoutMs, DEFAULT_MAX_PENDING_MULTIPARTS);
     }
 
     /**
-     * Processes a single AIS NMEA sentence.
-     * Handles single and multipart messages, verifies checksum, decodes bits,
-     * and calls appropriate callbacks.
-     * @param sentence AIS NMEA sentence string
+     * Creates a decoder with a custom multipart timeout and reassembly capacity.
+     * When the capacity is reached, the incomplete message that received a fragment
+     * least recently is evicted to make room for a new one.
+     * @param multipartTimeoutMs time in milliseconds after the last fragment after which incomplete multipart messages are discarded
+     * @param maxPendingMultiparts maximum number of incomplete multipart messages buffered at once
+     * @throws IllegalArgumentException if the timeout or the capacity is not positive
      */
-    public void onSentence(String sentence) {
-        if (sentence == null) return;
-
-        Pattern pattern = Pattern.compile("^!(AIVDM|AIVDO),(\\d+),(\\d+),([^,]*),([AB]),([^,]*),(\\d+)\\*([0-9A-Fa-f]{2})");
-        Matcher matcher = pattern.matcher(sentence.trim());
-        if (!matcher.find()) return;
-
-        if (!verifyChecksum(sentence)) return;
-
-        int total = Integer.parseInt(matcher.group(2));
-        int part = Integer.parseInt(matcher.group(3));
-        String seqId = matcher.group(4);
-        String channel = matcher.group(5);
-        String payload = matcher.group(6);
-        int fillBits = Integer.parseInt(matcher.group(7));
-
-        String key = (seqId == null || seqId.isEmpty()) ? "noprefix" : seqId;
-
-        if (total == 1) {
-            String bits = payloadToBits(payload, fillBits == 6 ? 0 : fillBits);
-            processBits(bits, channel);
-            return;
-        }
-
-        MultipartBufferEntry entry = multipartBuffers.get(key);
-        if (entry == null) {
-            entry = new MultipartBufferEntry(total);
-            multipartBuffers.put(key, entry);
-
-            Timer timer = new Timer(true);
-            timer.schedule(new TimerTask() {
-                @Override
-                public void run() {
-                    multipartBuffers.remove(key);
-                }
-            }, MULTIPART_TIMEOUT_MS);
-            entry.timer = timer;
-        }
-
-        entry.receivedParts.put(part, payload);
-
-        if (part == total) {
-            entry.fillBits = fillBits;
-        }
-
-        if (entry.receivedParts.size() == total) {
-            StringBuilder fullPayload = new StringBuilder();
-            for (int i = 1; i <= total; i++) {
-                String p = entry.receivedParts.get(i);
-                if (p == null) return;
-                fullPayload.append(p);
-            }
-            multipartBuffers.remove(key);
-            if (entry.timer != null) {
-                entry.timer.cancel();
-            }
-            int effectiveFillBits = (entry.fillBits == 6) ? 0 : entry.fillBits;
-            String bits = payloadToBits(fullPayload.toString(), effectiveFillBits);
-            processBits(bits, channel);
-        }
+    public AisDecoder(long multipartTimeoutMs, int maxPendingMultiparts) {
+        super(multipartTimeoutMs, maxPendingMultiparts);
+        this.multipartBuffers = new MultipartAssembler(TimeUnit.MILLISECONDS.toNanos(multipartTimeoutMs), maxPendingMultiparts);
     }
 
     /**
-     * Internal buffer structure to hold multipart message pieces.
+     * Gets the number of incomplete multipart messages currently buffered.
+     * @return number of pending multipart messages
      */
-    private static class MultipartBufferEntry {
-        int total;
-        Map<Integer, String> receivedParts = new HashMap<>();
-        int fillBits;
-        Timer timer;
-
-        MultipartBufferEntry(int total) {
-            this.total = total;
-        }
+    public int getPendingMultipartCount() {
+        return multipartBuffers.pendingCount();
     }
 
     /**
-     * Verifies the checksum of an AIS NMEA sentence.
-     * @param sentence AIS sentence string
-     * @return true if checksum matches, false otherwise
+     * Gets the maximum number of incomplete multipart messages buffered at once.
+     * @return multipart reassembly capacity
      */
-    private boolean verifyChecksum(String sentence) {
-        int starIndex = sentence.indexOf('*');
-        if (starIndex == -1 || starIndex + 3 > sentence.length()) return false;
-        String toCheck = sentence.substring(1, starIndex);
-        int checksum = 0;
-        for (char c : toCheck.toCharArray()) {
-            checksum ^= c;
-        }
-        String expected = sentence.substring(starIndex + 1, starIndex + 3).toUpperCase();
-        String calculated = String.format("%02X", checksum);
-        return calculated.equals(expected);
+    public int getMaxPendingMultiparts() {
+        return multipartBuffers.capacity();
     }
 
     /**
-     * Converts AIS 6-bit ASCII payload to a bit string,
-     * removing specified number of fill bits at the end.
-     * @param payload AIS 6-bit ASCII encoded payload
-     * @param fillBits number of fill bits to remove from the end
-     * @return bit string representation of the payload
+     * Gets the number of incomplete multipart messages evicted because the reassembly capacity was reached.
+     * @return evicted multipart message count
      */
-    private String payloadToBits(String payload, int fillBits) {
-        StringBuilder bits = new StringBuilder();
-        for (char c : payload.toCharArray()) {
-            int val = c - 48;
-            if (val > 40) val -= 8;
-            bits.append(String.format("%6s", Integer.toBinaryString(val)).replace(' ', '0'));
-        }
-        if (fillBits > 0 && bits.length() >= fillBits) {
-            return bits.substring(0, bits.length() - fillBits);
-        }
-        return bits.toString();
+    public long getEvictedMultipartCount() {
+        return multipartBuffers.evictedCount();
     }
 
     /**
-     * Processes decoded bits string by determining message type,
-     * decoding into the appropriate message object,
-     * and invoking the registered callbacks.
-     * @param bits decoded AIS bit string
-     * @param channel NMEA channel ("A" or "B")
+     * Gets the number of incomplete multipart messages discarded because their timeout elapsed.
+     * @return expired multipart message count
      */
-    private void processBits(String bits, String channel) {
-        if (bits.length() < 40) return;
-
-        int type = readUInt(bits, 0, 6);
-        int mmsi = readUInt(bits, 8, 30);
-
-        if (type == 5) {
-            AisStaticMessage msg = decodeType5(bits, mmsi, channel);
-            if (msg != null && staticCallback != null) staticCallback.accept(msg);
-        } else if (type >= 1 && type <= 3) {
-            AisPositionMessage msg = decodePosition(bits, type, mmsi, channel);
-            if (msg != null && positionCallback != null) positionCallback.accept(msg);
-        }
+    public long getExpiredMultipartCount() {
+        return multipartBuffers.expiredCount();
     }
 
     /**
-     * Decodes AIS position message (types 1-3) from bit string.
-     * @param bits AIS bit string
-     * @param type AIS message type (1-3)
-     * @param mmsi MMSI number
-     * @param channel NMEA channel
-     * @return decoded AisPositionMessage or null if bits insufficient
+     * Gets the number of fragments dropped because their fragment number or count was invalid
+     * (beyond {@value MultipartAssembler#MAX_FRAGMENTS} fragments, or a number outside the count).
+     * @return dropped fragment count
      */
-    private AisPositionMessage decodePosition(String bits, int type, int mmsi, String channel) {
-        if (bits.length() < 168) return null;
-        AisPositionMessage msg = new AisPositionMessage();
-
-        msg.setMessageType(type);
-        msg.setChannel(channel);
-        msg.setRepeat(readUInt(bits, 6, 2));
-        msg.setMmsi(mmsi);
-        msg.setNavStatus(readUInt(bits, 38, 4));
-        msg.setRateOfTurn(readInt(bits, 42, 8));
-        msg.setSog(readUInt(bits, 50, 10) / 10.0);
-        msg.setAccuracy(readUInt(bits, 60, 1) == 1);
-        msg.setLon(readInt(bits, 61, 28) / 600000.0);
-        msg.setLat(readInt(bits, 89, 27) / 600000.0);
-        msg.setCog(readUInt(bits, 116, 12) / 10.0);
-        msg.setHeading(readUInt(bits, 128, 9));
-        msg.setTimestamp(readUInt(bits, 137, 6));
-        msg.setSpecialManoeuvre(readUInt(bits, 143, 2));
-        msg.setRaim(readUInt(bits, 145, 1) == 1);
-        msg.setRadio(readUInt(bits, 146, 19));
-
-        return msg;
+    public long getDroppedFragmentCount() {
+        return multipartBuffers.droppedCount();
     }
 
     /**
-     * Decodes AIS static message (type 5) from bit string.
-     * @param bits AIS bit string
-     * @param mmsi MMSI number
-     * @param channel NMEA channel
-     * @return decoded AisStaticMessage or null if bits insufficient
+     * Enables the zero-allocation mode for position messages (types 1-3),
+     * decoding every message into a caller-owned instance.
+     * @param target instance refilled for every position message
+     * @param callback Consumer that accepts the refilled target, or null to disable
      */
-    private AisStaticMessage decodeType5(String bits, int mmsi, String channel) {
-        if (bits.length() < 424) return null;
-        AisStaticMessage msg = new AisStaticMessage();
-
-        msg.setMessageType(5);
-        msg.setMmsi(mmsi);
-        msg.setRepeat(readUInt(bits, 6, 2));
-        msg.setAisVersion(readUInt(bits, 38, 2));
-        msg.setImo(readUInt(bits, 40, 30));
-        msg.setCallsign(decodeText(bits, 70, 7));
-        msg.setName(decodeText(bits, 112, 20));
-        msg.setShipType(readUInt(bits, 232, 8));
-        msg.setDimensionToBow(readUInt(bits, 240, 9));
-        msg.setDimensionToStern(readUInt(bits, 249, 9));
-        msg.setDimensionToPort(readUInt(bits, 258, 6));
-        msg.setDimensionToStarboard(readUInt(bits, 264, 6));
-        // epfd is set after ship type per original POJO order
-        msg.setEpfd(readUInt(bits, 230, 4));
-        msg.setEtaMonth(readUInt(bits, 274, 4));
-        msg.setEtaDay(readUInt(bits, 278, 5));
-        msg.setEtaHour(readUInt(bits, 283, 5));
-        msg.setEtaMinute(readUInt(bits, 288, 6));
-        msg.setDraught(readUInt(bits, 294, 8) / 10.0);
-        msg.setDestination(decodeText(bits, 302, 20));
-        msg.setDteAvailable(readUInt(bits, 422, 1) == 0);
-        msg.setChannel(channel);
-
-        return msg;
+    public void setReusablePositionCallback(MutableAisPositionMessage target, Consumer<MutableAisPositionMessage> callback) {
+        context.position = Objects.requireNonNull(target, "target");
+        dispatcher.setCallback(AisMessageType.REUSABLE_POSITION, callback);
     }
 
     /**
-     * Reads an unsigned integer from bits substring.
-     * @param bits bit string
-     * @param start start index (inclusive)
-     * @param length number of bits
-     * @return unsigned integer value
+     * Discards incomplete multipart messages whose timeout has elapsed.
+     * Expiry also happens lazily on every call to one of the {@code onSentence} methods;
+     * this method lets callers reclaim fragments while the feed is idle.
      */
-    private int readUInt(String bits, int start, int length) {
-        if (start + length > bits.length()) return 0;
-        return Integer.parseInt(bits.substring(start, start + length), 2);
+    @Override
+    public void purgeExpiredMultiparts() {
+        multipartBuffers.purgeExpired(System.nanoTime());
     }
 
     /**
-     * Reads a signed integer from bits substring using two's complement.
-     * @param bits bit string
-     * @param start start index (inclusive)
-     * @param length number of bits
-     * @return signed integer value
+     * Sweeps expired multipart fragments on the calling thread, no timer threads are used.
      */
-    private int readInt(String bits, int start, int length) {
-        if (start + length > bits.length()) return 0;
-        String segment = bits.substring(start, start + length);
-        if (segment.charAt(0) == '0') {
-            return Integer.parseInt(segment, 2);
-        } else {
-            StringBuilder inverted = new StringBuilder();
-            for (char c : segment.toCharArray()) {
-                inverted.append(c == '0' ? '1' : '0');
-            }
-            int val = Integer.parseInt(inverted.toString(), 2) + 1;
-            return -val;
-        }
+    @Override
+    DecodeContext beginSentence() {
+        if (multipartBuffers.hasPending()) multipartBuffers.purgeExpired(System.nanoTime());
+        return context;
     }
 
-    /**
-     * Decodes 6-bit ASCII encoded text from bits.
-     * Uses the AIS character table.
-     * @param bits bit string
-     * @param start start index (inclusive)
-     * @param lengthChars number of characters to decode
-     * @return decoded text string with trailing '@' characters removed and trimmed
-     */
-    private String decodeText(String bits, int start, int lengthChars) {
-        final String table = "@ABCDEFGHIJKLMNOPQRSTUVWXYZ[\\]^_ !\"#$%&'()*+,-./0123456789:;<=>?";
-
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < lengthChars; i++) {
-            int bitIndex = start + i * 6;
-            if (bitIndex + 6 > bits.length()) break;
-            int val = Integer.parseInt(bits.substring(bitIndex, bitIndex + 6), 2);
-            sb.append(val >= 0 && val < table.length() ? table.charAt(val) : ' ');
-        }
-        return sb.toString().replaceAll("@+$", "").trim();
+    @Override
+    boolean assemble(DecodeContext context, String keySource) {
+        if (!multipartBuffers.add(keySource, context.scanner, context.bits, System.nanoTime())) return false;
+        context.source = multipartBuffers.completedSource();
+        context.receiverTime = multipartBuffers.completedTagTime();
+        return true;
     }
 }
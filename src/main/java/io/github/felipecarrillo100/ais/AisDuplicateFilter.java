@@ -0,0 +1,273 @@
+package io.github.felipecarrillo100.ais;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Drops copies of the same message received more than once within a time window, as happens
+ * when feeds from overlapping receivers are merged. Decoders hash the armored payload of
+ * single-part sentences, or the reassembled bits of multipart messages, and look the hash up
+ * before de-armoring or decoding anything; only the first copy reaches the handlers.
+ * <p>
+ * Hashes are kept in a ring of {@value #GENERATIONS} fixed-size primitive hash sets. New hashes
+ * go into the current set, and every {@code window / 3} the ring advances and the oldest set is
+ * emptied, so a copy arriving up to one window after the first one is always dropped and memory
+ * never grows. If more distinct messages arrive within one step than a set holds, the ring
+ * advances early, shortening the window instead of growing.
+ * <p>
+ * Counters of first copies and duplicates are kept per source, to show how much each receiver
+ * adds to the merged feed. Instances are thread-safe and may be shared by several decoders.
+ */
+public final class AisDuplicateFilter {
+
+    /**
+     * Default time window in milliseconds within which copies are dropped.
+     */
+    public static final long DEFAULT_WINDOW_MS = 10000;
+
+    /**
+     * Default number of distinct messages each set of the ring holds.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /**
+     * Number of hash sets in the ring.
+     */
+    private static final int GENERATIONS = 4;
+
+    private final long windowNanos;
+    private final long stepNanos;
+    private final int capacity;
+    private final LongSupplier nanoClock;
+    private final long[][] sets;
+    private final int mask;
+    private int current;
+    private int currentSize;
+    private long stepStart;
+
+    private long uniqueCount;
+    private long duplicateCount;
+    private final Map<String, long[]> countsBySource = new HashMap<>();
+
+    /**
+     * Creates a filter with the default window and capacity.
+     */
+    public AisDuplicateFilter() {
+        this(DEFAULT_WINDOW_MS, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a filter.
+     * @param windowMs time in milliseconds within which copies of a message are dropped
+     * @param capacity number of distinct messages expected within a third of the window;
+     *        the filter takes about {@code 64 * capacity} bytes
+     * @throws IllegalArgumentException if the window or the capacity is out of range
+     */
+    public AisDuplicateFilter(long windowMs, int capacity) {
+        this(windowMs, capacity, System::nanoTime);
+    }
+
+    /**
+     * Creates a filter with a custom clock.
+     * @param windowMs time in milliseconds within which copies of a message are dropped
+     * @param capacity number of distinct messages expected within a third of the window
+     * @param nanoClock supplies the current time in nanoseconds
+     * @throws IllegalArgumentException if the window or the capacity is out of range
+     */
+    AisDuplicateFilter(long windowMs, int capacity, LongSupplier nanoClock) {
+        if (windowMs <= 0) {
+            throw new IllegalArgumentException("Window must be positive: " + windowMs);
+        }
+        if (capacity <= 0 || capacity > (1 << 26)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 67108864: " + capacity);
+        }
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.stepNanos = windowNanos / (GENERATIONS - 1);
+        this.capacity = capacity;
+        this.nanoClock = nanoClock;
+        int tableSize = Integer.highestOneBit(Math.max(8, capacity * 2 - 1)) << 1;
+        this.sets = new long[GENERATIONS][tableSize];
+        this.mask = tableSize - 1;
+        this.stepStart = nanoClock.getAsLong();
+    }
+
+    /**
+     * Gets the time window within which copies are dropped.
+     * @return window in milliseconds
+     */
+    public long getWindowMs() {
+        return TimeUnit.NANOSECONDS.toMillis(windowNanos);
+    }
+
+    /**
+     * Gets the number of messages let through as first copies.
+     * @return first copy count
+     */
+    public synchronized long getUniqueCount() {
+        return uniqueCount;
+    }
+
+    /**
+     * Gets the number of messages dropped as duplicates.
+     * @return duplicate count
+     */
+    public synchronized long getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    /**
+     * Gets, per source, the number of messages that source delivered first.
+     * Messages without a source are counted under the null key.
+     * @return new map from source to first copy count
+     */
+    public synchronized Map<String, Long> getUniqueCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        countsBySource.forEach((source, c) -> counts.put(source, c[0]));
+        return counts;
+    }
+
+    /**
+     * Gets, per source, the number of messages dropped because another source, or the same
+     * one, delivered them first. Messages without a source are counted under the null key.
+     * @return new map from source to duplicate count
+     */
+    public synchronized Map<String, Long> getDuplicateCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        countsBySource.forEach((source, c) -> counts.put(source, c[1]));
+        return counts;
+    }
+
+    /**
+     * Resets every counter, keeping the remembered messages.
+     */
+    public synchronized void resetCounts() {
+        uniqueCount = 0;
+        duplicateCount = 0;
+        countsBySource.clear();
+    }
+
+    /**
+     * Forgets every remembered message, so the next copy of each is let through.
+     */
+    public synchronized void clear() {
+        for (long[] set : sets) {
+            Arrays.fill(set, 0);
+        }
+        currentSize = 0;
+        stepStart = nanoClock.getAsLong();
+    }
+
+    /**
+     * Checks whether the armored payload of a single-part sentence is the first copy
+     * of its message, and remembers it.
+     * @param payload array holding the armored payload
+     * @param start start index (inclusive)
+     * @param end end index (exclusive)
+     * @param fillBits number of fill bits
+     * @param source source of the sentence, or null if unknown
+     * @return true if the message was not seen within the window
+     */
+    boolean firstArmored(byte[] payload, int start, int end, int fillBits, String source) {
+        long h = 0x2545F4914F6CDD1DL ^ fillBits;
+        for (int i = start; i < end; i++) {
+            h = (h ^ (payload[i] & 0xFF)) * 0x100000001B3L;
+        }
+        return first(mix(h), source);
+    }
+
+    /**
+     * Checks whether reassembled payload bits are the first copy of their message,
+     * and remembers them.
+     * @param bits payload bits
+     * @param source source of the message, or null if unknown
+     * @return true if the message was not seen within the window
+     */
+    boolean firstBits(AisBitBuffer bits, String source) {
+        // Flip the top bit so multipart hashes never collide with single-part ones by construction
+        return first(bits.hash(0, bits.length()) | Long.MIN_VALUE, source);
+    }
+
+    /**
+     * Looks a message hash up in every set of the ring, adding it to the current set if absent.
+     * @param hash message hash
+     * @param source source of the message, or null if unknown
+     * @return true if the hash was absent
+     */
+    private synchronized boolean first(long hash, String source) {
+        if (hash == 0) hash = 1;
+        long now = nanoClock.getAsLong();
+        if (now - stepStart >= stepNanos) {
+            // Skip as many steps as elapsed, emptying at most every set once
+            long steps = Math.min(GENERATIONS, (now - stepStart) / stepNanos);
+            for (long s = 0; s < steps; s++) {
+                advance();
+            }
+            stepStart = now;
+        }
+        int home = (int) (hash ^ hash >>> 32) & mask;
+        boolean duplicate = false;
+        for (long[] set : sets) {
+            if (contains(set, hash, home)) {
+                duplicate = true;
+                break;
+            }
+        }
+        long[] counts = countsBySource.get(source);
+        if (counts == null) {
+            counts = new long[2];
+            countsBySource.put(source, counts);
+        }
+        if (duplicate) {
+            duplicateCount++;
+            counts[1]++;
+            return false;
+        }
+        if (currentSize >= capacity) {
+            advance();
+            stepStart = now;
+        }
+        long[] set = sets[current];
+        int i = home;
+        while (set[i] != 0) i = (i + 1) & mask;
+        set[i] = hash;
+        currentSize++;
+        uniqueCount++;
+        counts[0]++;
+        return true;
+    }
+
+    /**
+     * Moves the ring to its next set, emptying it.
+     */
+    private void advance() {
+        current = (current + 1) % GENERATIONS;
+        Arrays.fill(sets[current], 0);
+        currentSize = 0;
+    }
+
+    /**
+     * @return true if the set holds the hash
+     */
+    private boolean contains(long[] set, long hash, int home) {
+        int i = home;
+        long v;
+        while ((v = set[i]) != 0) {
+            if (v == hash) return true;
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Finalizes a payload hash so its low bits select table slots evenly.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return h & Long.MAX_VALUE;
+    }
+}
@@ -1,90 +1,144 @@
 package io.github.felipecarrillo100.ais;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Random;
+import java.util.Objects;
 
 /**
  * AIS Encoder in Java - encodes data to AIS sentences types 1-3 and 5.
  * supports multipart messages.
+ * The static methods return sentences as Strings. Encoder instances additionally write
+ * sentences straight into byte arrays and ByteBuffers through a reused bit accumulator,
+ * producing no garbage per message.
+ * Sequential message ids cycle from 0 to 9 per radio channel, see {@link SequenceIdAllocator};
+ * the static methods draw them from one allocator shared by all threads.
  */
 public class AisEncoder {
 
-    private static final Random RANDOM = new Random();
+    /**
+     * Allocator used by the static encode methods, shared by all threads.
+     */
+    private static final SequenceIdAllocator SHARED_SEQUENCE_IDS = new CyclicSequenceIdAllocator();
 
-    // AIS 6-bit char codes map (char -> 6-bit int)
-    private static final Map<Character, Integer> AIS_6BIT_CHAR_CODES = new HashMap<>();
-    static {
-        String chars = "@ABCDEFGHIJKLMNOPQRSTUVWXYZ[\\]^_ !\"#$%&'()*+,-./0123456789:;<=>?";
-        for (int i = 0; i < chars.length(); i++) {
-            AIS_6BIT_CHAR_CODES.put(chars.charAt(i), i);
-        }
+    /**
+     * Maximum number of armored payload characters per sentence.
+     */
+    private static final int MAX_PAYLOAD_LENGTH = 60;
+
+    /**
+     * Talker and formatter written at the start of every sentence.
+     */
+    private static final byte[] SENTENCE_START = {'!', 'A', 'I', 'V', 'D', 'M', ','};
+
+    private static final byte[] HEX_DIGITS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
+
+    /**
+     * Allocator of the sequential message ids written by this instance.
+     */
+    private final SequenceIdAllocator sequenceIds;
+
+    /**
+     * Bit accumulator reused by the write methods.
+     */
+    private final AisBitBuffer bits = new AisBitBuffer();
+
+    /**
+     * Staging array for ByteBuffers without an accessible backing array.
+     */
+    private byte[] scratch = new byte[256];
+
+    /**
+     * Creates an encoder instance for the allocation-free write methods, with its own
+     * {@link CyclicSequenceIdAllocator}. The static encode methods do not need an instance.
+     * Instances are reusable but not thread-safe.
+     */
+    public AisEncoder() {
+        this(new CyclicSequenceIdAllocator());
     }
 
     /**
-     * Write an unsigned integer as a bit string of length bits.
-     * @param value unsigned integer to encode
-     * @param bits number of bits for the output bit string
-     * @return bit string representing the unsigned integer
+     * Creates an encoder instance drawing sequential message ids from the given allocator,
+     * which may be shared with other encoders feeding the same radio channel.
+     * @param sequenceIds allocator of sequential message ids
      */
-    private static String writeInt(int value, int bits) {
-        StringBuilder sb = new StringBuilder(bits);
-        for (int i = bits - 1; i >= 0; i--) {
-            sb.append(((value >> i) & 1) == 1 ? '1' : '0');
-        }
-        return sb.toString();
+    public AisEncoder(SequenceIdAllocator sequenceIds) {
+        this.sequenceIds = Objects.requireNonNull(sequenceIds, "sequenceIds");
+    }
+
+    /**
+     * Gets the allocator of the sequential message ids written by this instance.
+     * @return sequence id allocator
+     */
+    public SequenceIdAllocator getSequenceIdAllocator() {
+        return sequenceIds;
     }
 
     /**
-     * Write a signed integer as two's complement bit string of length bits.
+     * Checks that a signed value fits in a two's complement field.
      * @param value signed integer to encode
-     * @param bits number of bits for the output bit string
-     * @return bit string representing the signed integer
-     * @throws IllegalArgumentException if bits < 1 or value out of range
+     * @param bits number of bits of the field
+     * @return the value
+     * @throws IllegalArgumentException if value out of range
      */
-    private static String writeSignedInt(int value, int bits) {
-        if (bits < 1) throw new IllegalArgumentException("Bits must be >= 1");
+    private static int checkSigned(int value, int bits) {
         int maxPos = (1 << (bits - 1)) - 1;
         int minNeg = -(1 << (bits - 1));
         if (value > maxPos || value < minNeg) {
             throw new IllegalArgumentException("Value " + value + " does not fit in " + bits + " bits");
         }
-        if (value >= 0) {
-            return writeInt(value, bits);
-        } else {
-            int twosComplement = (1 << bits) + value;
-            return writeInt(twosComplement, bits);
-        }
+        return value;
     }
 
     /**
-     * Encode a string to AIS 6-bit bit string, padded/truncated to maxBits length.
-     * @param str input string to encode
-     * @param maxBits maximum number of bits in output bit string
-     * @return AIS 6-bit encoded bit string
+     * Packs the fields of a position message (types 1-3) into a bit buffer.
+     * Values are scaled already, e.g. speed in tenths of knots and positions in 1/10000 minute.
+     * @param bits buffer to clear and fill
+     * @param messageType message type
+     * @param repeat repeat indicator
+     * @param mmsi MMSI number
+     * @param navStatus navigation status
+     * @param rateOfTurn rate of turn
+     * @param sog speed over ground in tenths of knots
+     * @param accuracy position accuracy, 0 or 1
+     * @param lon longitude in 1/10000 minute
+     * @param lat latitude in 1/10000 minute
+     * @param cog course over ground in tenths of degrees
+     * @param heading true heading
+     * @param timestamp UTC second
+     * @param specialManoeuvre special manoeuvre indicator
+     * @param raim RAIM flag, 0 or 1
+     * @param radio radio status
      */
-    private static String encodeStringTo6Bit(String str, int maxBits) {
-        int maxChars = maxBits / 6;
-        StringBuilder bits = new StringBuilder(maxBits);
-        for (int i = 0; i < maxChars; i++) {
-            char c = i < str.length() ? str.charAt(i) : '@'; // '@' = 0
-            Integer val = AIS_6BIT_CHAR_CODES.get(c);
-            if (val == null) {
-                val = 0; // treat unknown char as '@'
-            }
-            bits.append(writeInt(val, 6));
-        }
-        return bits.toString();
+    private static void packPosition(AisBitBuffer bits, int messageType, int repeat, int mmsi, int navStatus,
+                                     int rateOfTurn, int sog, int accuracy, int lon, int lat, int cog,
+                                     int heading, int timestamp, int specialManoeuvre, int raim, int radio) {
+        bits.clear();
+        bits.appendUInt(messageType, 6);
+        bits.appendUInt(repeat, 2);
+        bits.appendUInt(mmsi, 30);
+        bits.appendUInt(navStatus, 4);
+        bits.appendUInt(checkSigned(rateOfTurn, 8), 8);
+        bits.appendUInt(sog, 10);
+        bits.appendUInt(accuracy, 1);
+        bits.appendUInt(checkSigned(lon, 28), 28);
+        bits.appendUInt(checkSigned(lat, 27), 27);
+        bits.appendUInt(cog, 12);
+        bits.appendUInt(heading, 9);
+        bits.appendUInt(timestamp, 6);
+        bits.appendUInt(specialManoeuvre, 2);
+        bits.appendUInt(raim, 1);
+        bits.appendUInt(radio, 19);
     }
 
     /**
-     * Encode AIS Position Message (Type 1) into bit string.
+     * Packs a position message into a bit buffer as a type 1 message.
      * @param msg AIS position message object
-     * @return bit string representing encoded position message
+     * @param bits buffer to clear and fill
      */
-    public static String encodePositionMessageToBitString(AisPositionMessage msg) {
+    private static void packPosition(AisPositionMessage msg, AisBitBuffer bits) {
         int repeat = msg.getRepeat() != null ? msg.getRepeat() : 0;
         int navStatus = msg.getNavStatus() != null ? msg.getNavStatus() : 0;
         int rateOfTurn = msg.getRateOfTurn() != null ? msg.getRateOfTurn() : -128;
@@ -98,42 +152,35 @@ public class AisEncoder {
         int specialManoeuvre = msg.getSpecialManoeuvre() != null ? msg.getSpecialManoeuvre() : 0;
         int raim = (msg.getRaim() != null && msg.getRaim()) ? 1 : 0;
         int radio = msg.getRadio() != null ? msg.getRadio() : 0;
+        packPosition(bits, 1, repeat, msg.getMmsi(), navStatus, rateOfTurn, sog, accuracy, lon, lat, cog,
+                heading, timestamp, specialManoeuvre, raim, radio);
+    }
 
-        StringBuilder bits = new StringBuilder(168);
-        bits.append(writeInt(1, 6)); // message type
-        bits.append(writeInt(repeat, 2));
-        bits.append(writeInt(msg.getMmsi(), 30));
-        bits.append(writeInt(navStatus, 4));
-        bits.append(writeSignedInt(rateOfTurn, 8));
-        bits.append(writeInt(sog, 10));
-        bits.append(writeInt(accuracy, 1));
-        bits.append(writeSignedInt(lon, 28));
-        bits.append(writeSignedInt(lat, 27));
-        bits.append(writeInt(cog, 12));
-        bits.append(writeInt(heading, 9));
-        bits.append(writeInt(timestamp, 6));
-        bits.append(writeInt(specialManoeuvre, 2));
-        bits.append(writeInt(raim, 1));
-        bits.append(writeInt(radio, 19));
-
-        return bits.toString();
+    /**
+     * Packs a mutable position message into a bit buffer, keeping its type if it is 1, 2 or 3.
+     * @param msg AIS position message object
+     * @param bits buffer to clear and fill
+     */
+    private static void packPosition(MutableAisPositionMessage msg, AisBitBuffer bits) {
+        int type = msg.getMessageType() >= 1 && msg.getMessageType() <= 3 ? msg.getMessageType() : 1;
+        packPosition(bits, type, msg.getRepeat(), msg.getMmsi(), msg.getNavStatus(), msg.getRateOfTurn(),
+                (int) Math.floor(msg.getSog() * 10), msg.getAccuracy() ? 1 : 0,
+                (int) Math.floor(msg.getLon() * 600000), (int) Math.floor(msg.getLat() * 600000),
+                (int) Math.floor(msg.getCog() * 10), msg.getHeading(), msg.getTimestamp(),
+                msg.getSpecialManoeuvre(), msg.getRaim() ? 1 : 0, msg.getRadio());
     }
 
     /**
-     * Encode AIS Static Message (Type 5) into bit string.
+     * Packs a static message into a bit buffer as a type 5 message.
      * @param msg AIS static message object
-     * @return bit string representing encoded static message
+     * @param bits buffer to clear and fill
      */
-    public static String encodeStaticMessageToBitString(AisStaticMessage msg) {
+    private static void packStatic(AisStaticMessage msg, AisBitBuffer bits) {
         int repeat = msg.getRepeat() != null ? msg.getRepeat() : 0;
         int aisVersion = msg.getAisVersion() != null ? msg.getAisVersion() : 0;
         int epfd = msg.getEpfd() != null ? msg.getEpfd() : 0;
         int dteAvailable = (msg.getDteAvailable() != null && !msg.getDteAvailable()) ? 1 : 0; // inverted per spec
 
-        String callsign = msg.getCallsign() != null ? msg.getCallsign() : "";
-        String name = msg.getName() != null ? msg.getName() : "";
-        String destination = msg.getDestination() != null ? msg.getDestination() : "";
-
         int imo = msg.getImo() != null ? msg.getImo() : 0;
         int shipType = msg.getShipType() != null ? msg.getShipType() : 0;
         int dimToBow = msg.getDimensionToBow() != null ? msg.getDimensionToBow() : 0;
@@ -146,30 +193,63 @@ public class AisEncoder {
         int etaMinute = msg.getEtaMinute() != null ? msg.getEtaMinute() : 60; // 60 = not available
         double draughtVal = msg.getDraught() != null ? msg.getDraught() : 0.0;
 
-        StringBuilder bits = new StringBuilder(424);
-        bits.append(writeInt(5, 6));
-        bits.append(writeInt(repeat, 2));
-        bits.append(writeInt(msg.getMmsi(), 30));
-        bits.append(writeInt(aisVersion, 2));
-        bits.append(writeInt(imo, 30));
-        bits.append(encodeStringTo6Bit(callsign, 42));
-        bits.append(encodeStringTo6Bit(name, 120));
-        bits.append(writeInt(shipType, 8));
-        bits.append(writeInt(dimToBow, 9));
-        bits.append(writeInt(dimToStern, 9));
-        bits.append(writeInt(dimToPort, 6));
-        bits.append(writeInt(dimToStarboard, 6));
-        bits.append(writeInt(epfd, 4));
-        bits.append(writeInt(etaMonth, 4));
-        bits.append(writeInt(etaDay, 5));
-        bits.append(writeInt(etaHour, 5));
-        bits.append(writeInt(etaMinute, 6));
-        bits.append(writeInt((int) Math.floor(draughtVal * 10), 8));
-        bits.append(encodeStringTo6Bit(destination, 120));
-        bits.append(writeInt(dteAvailable, 1));
-        bits.append(writeInt(0, 1)); // spare
-
-        return bits.toString();
+        bits.clear();
+        bits.appendUInt(5, 6);
+        bits.appendUInt(repeat, 2);
+        bits.appendUInt(msg.getMmsi(), 30);
+        bits.appendUInt(aisVersion, 2);
+        bits.appendUInt(imo, 30);
+        bits.appendText(msg.getCallsign(), 7);
+        bits.appendText(msg.getName(), 20);
+        bits.appendUInt(shipType, 8);
+        bits.appendUInt(dimToBow, 9);
+        bits.appendUInt(dimToStern, 9);
+        bits.appendUInt(dimToPort, 6);
+        bits.appendUInt(dimToStarboard, 6);
+        bits.appendUInt(epfd, 4);
+        bits.appendUInt(etaMonth, 4);
+        bits.appendUInt(etaDay, 5);
+        bits.appendUInt(etaHour, 5);
+        bits.appendUInt(etaMinute, 6);
+        bits.appendUInt((int) Math.floor(draughtVal * 10), 8);
+        bits.appendText(msg.getDestination(), 20);
+        bits.appendUInt(dteAvailable, 1);
+        bits.appendUInt(0, 1); // spare
+    }
+
+    /**
+     * Renders bits as a '0'/'1' string.
+     * @param bits buffer to render
+     * @return bit string
+     */
+    private static String toBitString(AisBitBuffer bits) {
+        StringBuilder sb = new StringBuilder(bits.length());
+        for (int i = 0; i < bits.length(); i++) {
+            sb.append(bits.readUInt(i, 1) == 1 ? '1' : '0');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Encode AIS Position Message (Type 1) into bit string.
+     * @param msg AIS position message object
+     * @return bit string representing encoded position message
+     */
+    public static String encodePositionMessageToBitString(AisPositionMessage msg) {
+        AisBitBuffer bits = new AisBitBuffer();
+        packPosition(msg, bits);
+        return toBitString(bits);
+    }
+
+    /**
+     * Encode AIS Static Message (Type 5) into bit string.
+     * @param msg AIS static message object
+     * @return bit string representing encoded static message
+     */
+    public static String encodeStaticMessageToBitString(AisStaticMessage msg) {
+        AisBitBuffer bits = new AisBitBuffer();
+        packStatic(msg, bits);
+        return toBitString(bits);
     }
 
     /**
@@ -178,12 +258,9 @@ public class AisEncoder {
      * @return list of AIS NMEA sentences encoding the position message
      */
     public static List<String> encodePositionMessage(AisPositionMessage msg) {
-        String bits = encodePositionMessageToBitString(msg);
-        char channel = 'A';
-        if (msg.getChannel() != null && !msg.getChannel().isEmpty()) {
-            channel = msg.getChannel().charAt(0);
-        }
-        return encodePayload(bits, 1, channel);
+        AisBitBuffer bits = new AisBitBuffer();
+        packPosition(msg, bits);
+        return encodePayload(bits, channelOf(msg.getChannel()));
     }
 
     /**
@@ -192,99 +269,349 @@ public class AisEncoder {
      * @return list of AIS NMEA sentences encoding the static message
      */
     public static List<String> encodeStaticMessage(AisStaticMessage msg) {
-        String bits = encodeStaticMessageToBitString(msg);
-        char channel = 'A';
-        if (msg.getChannel() != null && !msg.getChannel().isEmpty()) {
-            channel = msg.getChannel().charAt(0);
+        AisBitBuffer bits = new AisBitBuffer();
+        packStatic(msg, bits);
+        return encodePayload(bits, channelOf(msg.getChannel()));
+    }
+
+    /**
+     * Encodes a position message as type 1 NMEA sentences, each terminated by CR LF,
+     * written straight into a byte array. Nothing is allocated once the encoder is warmed up
+     * and nothing is written if the sentences do not fit.
+     * @param msg AIS position message to encode
+     * @param dst destination array
+     * @param offset index at which to start writing
+     * @return number of bytes written
+     * @throws IndexOutOfBoundsException if the sentences do not fit in the array
+     */
+    public int writePositionMessage(AisPositionMessage msg, byte[] dst, int offset) {
+        packPosition(msg, bits);
+        return writeSentences(channelOf(msg.getChannel()), dst, offset);
+    }
+
+    /**
+     * Encodes a position message with a given sequential message id.
+     * @param msg AIS position message to encode
+     * @param seqId sequential message id, 0 to 9
+     * @param dst destination array
+     * @param offset index at which to start writing
+     * @return number of bytes written
+     */
+    int writePositionMessage(AisPositionMessage msg, int seqId, byte[] dst, int offset) {
+        packPosition(msg, bits);
+        return writeSentences(channelOf(msg.getChannel()), seqId, dst, offset);
+    }
+
+    /**
+     * Encodes a position message as NMEA sentences, each terminated by CR LF, written at the
+     * buffer's position, which is advanced past them. Nothing is written if they do not fit.
+     * @param msg AIS position message to encode
+     * @param dst destination buffer
+     * @return number of bytes written
+     * @throws BufferOverflowException if the sentences do not fit in the remaining space
+     */
+    public int writePositionMessage(AisPositionMessage msg, ByteBuffer dst) {
+        packPosition(msg, bits);
+        return writeSentences(channelOf(msg.getChannel()), dst);
+    }
+
+    /**
+     * Encodes a mutable position message as NMEA sentences, each terminated by CR LF,
+     * written straight into a byte array. The message type is kept if it is 1, 2 or 3,
+     * otherwise type 1 is written. This path allocates nothing at all.
+     * @param msg AIS position message to encode
+     * @param dst destination array
+     * @param offset index at which to start writing
+     * @return number of bytes written
+     * @throws IndexOutOfBoundsException if the sentences do not fit in the array
+     */
+    public int writePositionMessage(MutableAisPositionMessage msg, byte[] dst, int offset) {
+        packPosition(msg, bits);
+        return writeSentences(msg.getChannel() == 0 ? 'A' : msg.getChannel(), dst, offset);
+    }
+
+    /**
+     * Encodes a mutable position message as NMEA sentences, each terminated by CR LF,
+     * written at the buffer's position, which is advanced past them.
+     * @param msg AIS position message to encode
+     * @param dst destination buffer
+     * @return number of bytes written
+     * @throws BufferOverflowException if the sentences do not fit in the remaining space
+     */
+    public int writePositionMessage(MutableAisPositionMessage msg, ByteBuffer dst) {
+        packPosition(msg, bits);
+        return writeSentences(msg.getChannel() == 0 ? 'A' : msg.getChannel(), dst);
+    }
+
+    /**
+     * Encodes a static message as type 5 NMEA sentences, each terminated by CR LF,
+     * written straight into a byte array. Nothing is written if the sentences do not fit.
+     * @param msg AIS static message to encode
+     * @param dst destination array
+     * @param offset index at which to start writing
+     * @return number of bytes written
+     * @throws IndexOutOfBoundsException if the sentences do not fit in the array
+     */
+    public int writeStaticMessage(AisStaticMessage msg, byte[] dst, int offset) {
+        packStatic(msg, bits);
+        return writeSentences(channelOf(msg.getChannel()), dst, offset);
+    }
+
+    /**
+     * Encodes a static message with a given sequential message id.
+     * @param msg AIS static message to encode
+     * @param seqId sequential message id, 0 to 9
+     * @param dst destination array
+     * @param offset index at which to start writing
+     * @return number of bytes written
+     */
+    int writeStaticMessage(AisStaticMessage msg, int seqId, byte[] dst, int offset) {
+        packStatic(msg, bits);
+        return writeSentences(channelOf(msg.getChannel()), seqId, dst, offset);
+    }
+
+    /**
+     * Encodes a static message as type 5 NMEA sentences, each terminated by CR LF, written
+     * at the buffer's position, which is advanced past them. Nothing is written if they do not fit.
+     * @param msg AIS static message to encode
+     * @param dst destination buffer
+     * @return number of bytes written
+     * @throws BufferOverflowException if the sentences do not fit in the remaining space
+     */
+    public int writeStaticMessage(AisStaticMessage msg, ByteBuffer dst) {
+        packStatic(msg, bits);
+        return writeSentences(channelOf(msg.getChannel()), dst);
+    }
+
+    /**
+     * Allocates a sequential message id, checking its range.
+     * @param allocator allocator to draw from
+     * @param channel AIS radio channel
+     * @return sequential message id, 0 to 9
+     * @throws IllegalStateException if the allocator returns an id out of range
+     */
+    static int nextSequenceId(SequenceIdAllocator allocator, char channel) {
+        int seqId = allocator.nextSequenceId(channel);
+        if (seqId < 0 || seqId > 9) {
+            throw new IllegalStateException("Sequence id allocator returned " + seqId + ", expected 0-9");
         }
-        return encodePayload(bits, 5, channel);
+        return seqId;
     }
 
     /**
-     * Encode a bit string payload into one or multiple AIS NMEA sentences.
-     * @param bits bit string payload to encode
-     * @param messageType AIS message type number
+     * Gets the radio channel to write for a message.
+     * @param channel channel set on the message, may be null
+     * @return first character of the channel, or 'A' if none is set
+     */
+    static char channelOf(String channel) {
+        return channel != null && !channel.isEmpty() ? channel.charAt(0) : 'A';
+    }
+
+    /**
+     * Encode packed payload bits into one or multiple AIS NMEA sentences.
+     * @param bits packed payload
      * @param channel AIS radio channel (usually 'A' or 'B')
      * @return list of NMEA AIS sentences encoding the payload
      */
-    private static List<String> encodePayload(String bits, int messageType, char channel) {
-        bits = padBitsToMultipleOf6(bits);
-        String payload = bitsTo6BitAscii(bits);
+    private static List<String> encodePayload(AisBitBuffer bits, char channel) {
+        int totalSentences = sentenceCount(bits);
+        int seqId = nextSequenceId(SHARED_SEQUENCE_IDS, channel);
+        List<String> sentences = new ArrayList<>(totalSentences);
+        int maxLength = 0;
+        for (int i = 1; i <= totalSentences; i++) {
+            maxLength = Math.max(maxLength, sentenceLength(bits, totalSentences, i, seqId));
+        }
+        byte[] line = new byte[maxLength];
+        for (int i = 1; i <= totalSentences; i++) {
+            int n = writeSentence(bits, totalSentences, i, seqId, channel, line, 0, false);
+            sentences.add(new String(line, 0, n, StandardCharsets.ISO_8859_1));
+        }
+        return sentences;
+    }
 
-        List<String> sentences = new ArrayList<>();
+    /**
+     * Writes the sentences for the packed bits into a byte array, allocating a sequence id
+     * only once they are known to fit.
+     * @param channel AIS radio channel
+     * @param dst destination array
+     * @param offset index at which to start writing
+     * @return number of bytes written
+     */
+    private int writeSentences(char channel, byte[] dst, int offset) {
+        Objects.checkFromIndexSize(offset, sentencesLength(), dst.length);
+        return writeSentences(channel, nextSequenceId(sequenceIds, channel), dst, offset);
+    }
 
-        int maxPayloadLength = 60;
-        int totalSentences = (int) Math.ceil((double) payload.length() / maxPayloadLength);
-        int seqId = RANDOM.nextInt(9) + 1; // 1-9
+    /**
+     * Writes the sentences for the packed bits into a byte array.
+     * @param channel AIS radio channel
+     * @param seqId sequential message id
+     * @param dst destination array
+     * @param offset index at which to start writing
+     * @return number of bytes written
+     */
+    private int writeSentences(char channel, int seqId, byte[] dst, int offset) {
+        int totalSentences = sentenceCount(bits);
+        Objects.checkFromIndexSize(offset, sentencesLength(), dst.length);
+        int pos = offset;
+        for (int i = 1; i <= totalSentences; i++) {
+            pos += writeSentence(bits, totalSentences, i, seqId, channel, dst, pos, true);
+        }
+        return pos - offset;
+    }
 
-        for (int i = 0; i < totalSentences; i++) {
-            String part = payload.substring(i * maxPayloadLength, Math.min(payload.length(), (i + 1) * maxPayloadLength));
-            int totalBits = part.length() * 6;
-            int fillBits = (8 - (totalBits % 8)) % 8;
+    /**
+     * Writes the sentences for the packed bits at a buffer's position, allocating a sequence id
+     * only once they are known to fit.
+     * @param channel AIS radio channel
+     * @param dst destination buffer
+     * @return number of bytes written
+     */
+    private int writeSentences(char channel, ByteBuffer dst) {
+        int length = sentencesLength();
+        if (length > dst.remaining()) throw new BufferOverflowException();
+        int seqId = nextSequenceId(sequenceIds, channel);
+        int n;
+        if (dst.hasArray()) {
+            n = writeSentences(channel, seqId, dst.array(), dst.arrayOffset() + dst.position());
+            dst.position(dst.position() + n);
+        } else {
+            if (scratch.length < length) scratch = new byte[Math.max(length, scratch.length * 2)];
+            n = writeSentences(channel, seqId, scratch, 0);
+            dst.put(scratch, 0, n);
+        }
+        return n;
+    }
 
-            String line = String.format("!AIVDM,%d,%d,%d,%c,%s,%d",
-                    totalSentences, i + 1, seqId, channel, part, fillBits);
-            String checksum = calculateChecksum(line);
-            sentences.add(line + "*" + checksum);
+    /**
+     * Computes the length of the sentences for the packed bits. Sequence ids are single digits,
+     * so the length does not depend on the id written.
+     * @return total length in bytes, including the CR LF terminators
+     */
+    private int sentencesLength() {
+        int totalSentences = sentenceCount(bits);
+        int length = 0;
+        for (int i = 1; i <= totalSentences; i++) {
+            length += sentenceLength(bits, totalSentences, i, 0);
         }
+        return length;
+    }
 
-        return sentences;
+    /**
+     * @param bits packed payload
+     * @return number of sentences needed for the payload
+     */
+    private static int sentenceCount(AisBitBuffer bits) {
+        return Math.max(1, (bits.armoredLength() + MAX_PAYLOAD_LENGTH - 1) / MAX_PAYLOAD_LENGTH);
     }
 
     /**
-     * Pad bits with '0' to multiple of 6 length.
-     * @param bits input bit string
-     * @return bit string padded to multiple of 6 bits
+     * @param bits packed payload
+     * @param part sentence number (1-based)
+     * @return number of payload characters carried by the sentence
      */
-    private static String padBitsToMultipleOf6(String bits) {
-        int remainder = bits.length() % 6;
-        if (remainder == 0) return bits;
-        int padLen = 6 - remainder;
-        StringBuilder sb = new StringBuilder(bits);
-        for (int i = 0; i < padLen; i++) sb.append('0');
-        return sb.toString();
+    private static int partLength(AisBitBuffer bits, int part) {
+        return Math.min(bits.armoredLength() - (part - 1) * MAX_PAYLOAD_LENGTH, MAX_PAYLOAD_LENGTH);
     }
 
     /**
-     * Convert bit string to AIS 6-bit ASCII payload string.
-     * @param bits input bit string
-     * @return AIS 6-bit ASCII encoded string
+     * Computes the fill bits field written for a sentence.
+     * @param partLength number of payload characters carried by the sentence
+     * @return fill bits value
      */
-    private static String bitsTo6BitAscii(String bits) {
-        StringBuilder sb = new StringBuilder(bits.length() / 6);
-        for (int i = 0; i < bits.length(); i += 6) {
-            String chunk = bits.substring(i, i + 6);
-            int val = Integer.parseInt(chunk, 2);
-            sb.append(sixBitToChar(val));
-        }
-        return sb.toString();
+    private static int fillBits(int partLength) {
+        int totalBits = partLength * 6;
+        return (8 - (totalBits % 8)) % 8;
     }
 
     /**
-     * Map 6-bit value to AIS 6-bit ASCII char per ITU-R M.1371.
-     * @param val 6-bit integer value (0-63)
-     * @return AIS 6-bit ASCII character
-     * @throws IllegalArgumentException if val out of range
+     * Computes the length of a sentence including its CR LF terminator.
+     * @param bits packed payload
+     * @param totalSentences total number of sentences
+     * @param part sentence number (1-based)
+     * @param seqId sequential message id
+     * @return sentence length in bytes
      */
-    private static char sixBitToChar(int val) {
-        if (val < 0 || val > 63) throw new IllegalArgumentException("6-bit value out of range: " + val);
-        if (val < 40) return (char) (val + 48);
-        else return (char) (val + 56);
+    private static int sentenceLength(AisBitBuffer bits, int totalSentences, int part, int seqId) {
+        int partLength = partLength(bits, part);
+        return SENTENCE_START.length + decimalLength(totalSentences) + 1 + decimalLength(part) + 1
+                + decimalLength(seqId) + 1 + 2 + partLength + 1 + decimalLength(fillBits(partLength)) + 3 + 2;
     }
 
     /**
-     * Calculate XOR checksum for NMEA sentence excluding leading '!' and trailing checksum.
-     * @param sentence NMEA sentence without checksum part
-     * @return two-hex-digit checksum string
+     * Writes one sentence byte by byte, computing its checksum on the way.
+     * @param bits packed payload
+     * @param totalSentences total number of sentences
+     * @param part sentence number (1-based)
+     * @param seqId sequential message id
+     * @param channel AIS radio channel
+     * @param dst destination array, large enough for the sentence
+     * @param offset index at which to start writing
+     * @param terminate whether to append CR LF
+     * @return number of bytes written
      */
-    private static String calculateChecksum(String sentence) {
+    private static int writeSentence(AisBitBuffer bits, int totalSentences, int part, int seqId, char channel,
+                                     byte[] dst, int offset, boolean terminate) {
+        int pos = offset;
+        System.arraycopy(SENTENCE_START, 0, dst, pos, SENTENCE_START.length);
+        pos += SENTENCE_START.length;
+        pos = writeDecimal(totalSentences, dst, pos);
+        dst[pos++] = ',';
+        pos = writeDecimal(part, dst, pos);
+        dst[pos++] = ',';
+        pos = writeDecimal(seqId, dst, pos);
+        dst[pos++] = ',';
+        dst[pos++] = (byte) channel;
+        dst[pos++] = ',';
+        int first = (part - 1) * MAX_PAYLOAD_LENGTH;
+        int partLength = partLength(bits, part);
+        for (int i = 0; i < partLength; i++) {
+            dst[pos++] = (byte) bits.armoredChar(first + i);
+        }
+        dst[pos++] = ',';
+        pos = writeDecimal(fillBits(partLength), dst, pos);
+
+        // XOR checksum over everything between '!' and '*'
         int checksum = 0;
-        // start after '!' (index 1), stop before '*'
-        for (int i = 1; i < sentence.length(); i++) {
-            char c = sentence.charAt(i);
-            if (c == '*') break;
-            checksum ^= c;
+        for (int i = offset + 1; i < pos; i++) {
+            checksum ^= dst[i] & 0xFF;
+        }
+        dst[pos++] = '*';
+        dst[pos++] = HEX_DIGITS[checksum >>> 4];
+        dst[pos++] = HEX_DIGITS[checksum & 0xF];
+        if (terminate) {
+            dst[pos++] = '\r';
+            dst[pos++] = '\n';
+        }
+        return pos - offset;
+    }
+
+    /**
+     * @param value non-negative value
+     * @return number of decimal digits of the value
+     */
+    private static int decimalLength(int value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    /**
+     * Writes a non-negative value in decimal.
+     * @param value non-negative value
+     * @param dst destination array
+     * @param pos index at which to start writing
+     * @return index after the last digit written
+     */
+    private static int writeDecimal(int value, byte[] dst, int pos) {
+        int end = pos + decimalLength(value);
+        for (int i = end - 1; i >= pos; i--) {
+            dst[i] = (byte) ('0' + value % 10);
+            value /= 10;
         }
-        return String.format("%02X", checksum);
+        return end;
     }
 }
@@ -0,0 +1,759 @@
+package io.github.felipecarrillo100.ais;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Decodes reassembled AIS payload bits into message objects and delivers them
+ * to the registered handlers. Handlers are kept in a registry indexed by message type,
+ * so a message is dispatched with one array lookup and types nobody listens to are
+ * dropped before any field is decoded. Holds no per-message state, so a single instance
+ * can be shared by decoders running on several threads.
+ */
+final class AisMessageDispatcher {
+
+    /**
+     * Handlers by message kind and message type, replaced as a whole on registration.
+     */
+    private volatile HandlerRegistry handlers = HandlerRegistry.EMPTY;
+
+    /**
+     * Handler installed through {@link #setCallback} for each message kind, guarded by this.
+     */
+    private final Consumer<?>[] callbacks = new Consumer<?>[AisMessageType.COUNT];
+
+    /**
+     * Handlers of binary messages by application identifier, replaced as a whole on registration.
+     */
+    private volatile BinaryHandlerTable binaryHandlers = BinaryHandlerTable.EMPTY;
+
+    /**
+     * Filter applied before decoding, or null to decode every message.
+     */
+    private volatile AisMessageFilter filter;
+
+    /**
+     * Filter dropping repeated copies of a message before decoding, or null to keep them.
+     */
+    private volatile AisDuplicateFilter duplicates;
+
+    /**
+     * Adds a handler of one kind of message. A handler added twice is invoked twice.
+     * @param kind kind of message to receive
+     * @param handler Consumer that accepts the decoded message
+     * @param <T> class of the delivered message
+     */
+    synchronized <T> void addHandler(AisMessageType<T> kind, Consumer<? super T> handler) {
+        handlers = handlers.with(kind, handler);
+    }
+
+    /**
+     * Removes one registration of a handler of one kind of message.
+     * @param kind kind of message the handler was added for
+     * @param handler handler to remove
+     * @param <T> class of the delivered message
+     * @return true if the handler was registered
+     */
+    synchronized <T> boolean removeHandler(AisMessageType<T> kind, Consumer<? super T> handler) {
+        HandlerRegistry registry = handlers.without(kind, handler);
+        if (registry == handlers) return false;
+        if (callbacks[kind.index()] == handler) callbacks[kind.index()] = null;
+        handlers = registry;
+        return true;
+    }
+
+    /**
+     * Replaces the handler installed by the previous call for the same kind of message,
+     * leaving handlers added with {@link #addHandler} in place.
+     * @param kind kind of message to receive
+     * @param callback Consumer that accepts the decoded message, or null to only remove the previous one
+     * @param <T> class of the delivered message
+     */
+    synchronized <T> void setCallback(AisMessageType<T> kind, Consumer<? super T> callback) {
+        HandlerRegistry registry = handlers;
+        Consumer<?> previous = callbacks[kind.index()];
+        if (previous != null) registry = registry.without(kind, previous);
+        if (callback != null) registry = registry.with(kind, callback);
+        callbacks[kind.index()] = callback;
+        handlers = registry;
+    }
+
+    /**
+     * Registers the handler of binary messages with the given application identifier,
+     * replacing any handler registered before.
+     * @param dac designated area code (0-1023)
+     * @param fi function identifier (0-63)
+     * @param handler Consumer that accepts AisBinaryMessageView, or null to remove the handler
+     * @throws IllegalArgumentException if dac or fi is out of range
+     */
+    synchronized void setBinaryMessageHandler(int dac, int fi, Consumer<AisBinaryMessageView> handler) {
+        if (dac < 0 || dac > 1023) throw new IllegalArgumentException("DAC must be 0-1023: " + dac);
+        if (fi < 0 || fi > 63) throw new IllegalArgumentException("FI must be 0-63: " + fi);
+        binaryHandlers = binaryHandlers.with(dac << 6 | fi, handler);
+    }
+
+    /**
+     * Sets the filter applied before decoding.
+     * @param filter message filter, or null to decode every message
+     */
+    void setFilter(AisMessageFilter filter) {
+        this.filter = filter;
+    }
+
+    /**
+     * Sets the filter dropping repeated copies of a message before decoding.
+     * @param duplicates duplicate filter, or null to keep every copy
+     */
+    void setDuplicateFilter(AisDuplicateFilter duplicates) {
+        this.duplicates = duplicates;
+    }
+
+    /**
+     * Checks whether any handler receives messages of a type.
+     * @param type AIS message type number (0-63)
+     * @return true if messages of the type are decoded
+     */
+    boolean handles(int type) {
+        return handlers.byType[type] != null
+                || (type == 6 || type == 8) && binaryHandlers != BinaryHandlerTable.EMPTY;
+    }
+
+    /**
+     * Checks the handlers, the filter and the duplicate filter against the armored payload
+     * of a single-part sentence. Only messages passing the first two are remembered as seen.
+     * @param payload array holding the armored payload
+     * @param start start index (inclusive)
+     * @param end end index (exclusive)
+     * @param fillBits number of fill bits
+     * @param source source of the sentence, or null if unknown
+     * @return true if the message should be de-armored and decoded
+     */
+    boolean acceptsArmored(byte[] payload, int start, int end, int fillBits, String source) {
+        if (end > start && !handles(AisMessageFilter.dearmor(payload[start]))) return false;
+        AisMessageFilter f = filter;
+        if (f != null && !f.acceptsArmored(payload, start, end)) return false;
+        AisDuplicateFilter d = duplicates;
+        return d == null || d.firstArmored(payload, start, end, fillBits, source);
+    }
+
+    /**
+     * Checks the handlers, the filter and the duplicate filter against reassembled payload bits.
+     * @param bits payload bits
+     * @param source source of the message, or null if unknown
+     * @return true if the message should be decoded
+     */
+    boolean acceptsBits(AisBitBuffer bits, String source) {
+        if (bits.length() >= 6 && !handles(bits.readUInt(0, 6))) return false;
+        AisMessageFilter f = filter;
+        if (f != null && !f.acceptsBits(bits)) return false;
+        AisDuplicateFilter d = duplicates;
+        return d == null || d.firstBits(bits, source);
+    }
+
+    /**
+     * Processes decoded payload bits by looking up the kinds of message registered
+     * for their type, decoding each kind once and passing it to all its handlers.
+     * Binary messages claimed by a DAC/FI handler are passed to that handler only.
+     * @param context decoding state holding the payload bits and reused instances
+     * @param channel NMEA channel ("A" or "B")
+     */
+    void processBits(DecodeContext context, String channel) {
+        AisBitBuffer bits = context.bits;
+        if (bits.length() < 40) return;
+
+        int type = bits.readUInt(0, 6);
+        if ((type == 6 || type == 8) && dispatchBinary(context.binaryView)) return;
+        HandlerRegistry registry = handlers;
+        AisMessageType<?>[] kinds = registry.byType[type];
+        if (kinds == null) return;
+
+        int mmsi = bits.readUInt(8, 30);
+        for (AisMessageType<?> kind : kinds) {
+            Object msg = kind.decoder().decode(context, type, mmsi, channel);
+            if (msg == null) continue;
+            for (Consumer<Object> handler : registry.byKind[kind.index()]) {
+                handler.accept(msg);
+            }
+        }
+    }
+
+    /**
+     * Passes a binary message to the handler registered for its application identifier.
+     * @param view view over the binary message bits
+     * @return true if a handler claimed the message
+     */
+    private boolean dispatchBinary(AisBinaryMessageView view) {
+        BinaryHandlerTable table = binaryHandlers;
+        if (table == BinaryHandlerTable.EMPTY || !view.isValid()) return false;
+        Consumer<AisBinaryMessageView> handler = table.get(view.dac() << 6 | view.fi());
+        if (handler == null) return false;
+        handler.accept(view);
+        return true;
+    }
+
+    /**
+     * @return view over position message bits, or null if bits insufficient
+     */
+    static AisPositionView positionView(DecodeContext context, int type, int mmsi, String channel) {
+        return context.bits.length() >= 168 ? context.positionView : null;
+    }
+
+    /**
+     * @return position message decoded into the context's reused instance, or null if bits insufficient
+     */
+    static MutableAisPositionMessage reusablePosition(DecodeContext context, int type, int mmsi, String channel) {
+        MutableAisPositionMessage reused = context.position;
+        if (!decodePosition(context.bits, type, mmsi, channel, reused)) return null;
+        reused.setSource(context.source);
+        // The context marks missing tag fields with -1, like the message's NOT_AVAILABLE constants
+        reused.setReceiverTime(context.receiverTime);
+        reused.setGroupId(context.groupId);
+        return reused;
+    }
+
+    /**
+     * @return decoded position message, or null if bits insufficient
+     */
+    static AisPositionMessage position(DecodeContext context, int type, int mmsi, String channel) {
+        AisPositionMessage msg = decodePosition(context.bits, type, mmsi, channel);
+        if (msg != null) setTagFields(msg, context);
+        return msg;
+    }
+
+    /**
+     * @return view over static message bits, or null if bits insufficient
+     */
+    static AisStaticView staticView(DecodeContext context, int type, int mmsi, String channel) {
+        if (context.bits.length() < 424) return null;
+        AisStaticView view = context.staticView;
+        view.setSentenceFields(channel, context.source, context.receiverTime, context.groupId);
+        return view;
+    }
+
+    /**
+     * @return decoded static message, or null if bits insufficient
+     */
+    static AisStaticMessage staticVoyage(DecodeContext context, int type, int mmsi, String channel) {
+        AisStaticMessage msg = decodeType5(context.bits, mmsi, channel);
+        if (msg != null) setTagFields(msg, context);
+        return msg;
+    }
+
+    /**
+     * @return decoded base station report, or null if bits insufficient
+     */
+    static AisBaseStationMessage baseStation(DecodeContext context, int type, int mmsi, String channel) {
+        AisBaseStationMessage msg = decodeBaseStation(context.bits, type, mmsi, channel);
+        if (msg != null) setTagFields(msg, context);
+        return msg;
+    }
+
+    /**
+     * @return view over binary message bits, or null if too short to hold the application identifier
+     */
+    static AisBinaryMessageView binary(DecodeContext context, int type, int mmsi, String channel) {
+        return context.binaryView.isValid() ? context.binaryView : null;
+    }
+
+    /**
+     * @return decoded safety message, or null if bits insufficient
+     */
+    static AisSafetyMessage safety(DecodeContext context, int type, int mmsi, String channel) {
+        AisSafetyMessage msg = decodeSafety(context.bits, type, mmsi, channel);
+        if (msg != null) setTagFields(msg, context);
+        return msg;
+    }
+
+    /**
+     * @return decoded Class B position message, or null if bits insufficient
+     */
+    static AisClassBPositionMessage classBPosition(DecodeContext context, int type, int mmsi, String channel) {
+        AisClassBPositionMessage msg = decodeClassBPosition(context.bits, type, mmsi, channel);
+        if (msg != null) setTagFields(msg, context);
+        return msg;
+    }
+
+    /**
+     * @return decoded aid-to-navigation report, or null if bits insufficient
+     */
+    static AisAidToNavigationMessage aidToNavigation(DecodeContext context, int type, int mmsi, String channel) {
+        AisAidToNavigationMessage msg = decodeType21(context.bits, mmsi, channel);
+        if (msg != null) setTagFields(msg, context);
+        return msg;
+    }
+
+    /**
+     * @return decoded static data report, or null if bits insufficient or the part number is invalid
+     */
+    static AisStaticDataReport staticDataReport(DecodeContext context, int type, int mmsi, String channel) {
+        AisStaticDataReport msg = decodeType24(context.bits, mmsi, channel);
+        if (msg != null) setTagFields(msg, context);
+        return msg;
+    }
+
+    /**
+     * Copies the tag block metadata of the message being decoded onto a decoded message.
+     * @param msg decoded message
+     * @param context decoding state holding the metadata
+     */
+    private static void setTagFields(AisTagBlockFields msg, DecodeContext context) {
+        setTagFields(msg, context.source, context.receiverTime, context.groupId);
+    }
+
+    /**
+     * Copies tag block metadata onto a decoded message.
+     * @param msg decoded message
+     * @param source source station, or null if none
+     * @param receiverTime receiver timestamp, or -1 if none
+     * @param groupId sentence group id, or -1 if none
+     */
+    static void setTagFields(AisTagBlockFields msg, String source, long receiverTime, int groupId) {
+        msg.setSource(source);
+        msg.setReceiverTime(receiverTime < 0 ? null : receiverTime);
+        msg.setGroupId(groupId < 0 ? null : groupId);
+    }
+
+    /**
+     * Decodes AIS position message (types 1-3) from payload bits.
+     * @param bits AIS payload bits
+     * @param type AIS message type (1-3)
+     * @param mmsi MMSI number
+     * @param channel NMEA channel
+     * @return decoded AisPositionMessage or null if bits insufficient
+     */
+    private static AisPositionMessage decodePosition(AisBitBuffer bits, int type, int mmsi, String channel) {
+        if (bits.length() < 168) return null;
+        AisPositionMessage msg = new AisPositionMessage();
+
+        msg.setMessageType(type);
+        msg.setChannel(channel);
+        msg.setRepeat(bits.readUInt(6, 2));
+        msg.setMmsi(mmsi);
+        msg.setNavStatus(bits.readUInt(38, 4));
+        msg.setRateOfTurn(bits.readInt(42, 8));
+        msg.setSog(bits.readUInt(50, 10) / 10.0);
+        msg.setAccuracy(bits.readUInt(60, 1) == 1);
+        msg.setLon(bits.readInt(61, 28) / 600000.0);
+        msg.setLat(bits.readInt(89, 27) / 600000.0);
+        msg.setCog(bits.readUInt(116, 12) / 10.0);
+        msg.setHeading(bits.readUInt(128, 9));
+        msg.setTimestamp(bits.readUInt(137, 6));
+        msg.setSpecialManoeuvre(bits.readUInt(143, 2));
+        msg.setRaim(bits.readUInt(145, 1) == 1);
+        msg.setRadio(bits.readUInt(146, 19));
+
+        return msg;
+    }
+
+    /**
+     * Decodes AIS position message (types 1-3) from payload bits into a reused instance.
+     * @param bits AIS payload bits
+     * @param type AIS message type (1-3)
+     * @param mmsi MMSI number
+     * @param channel NMEA channel
+     * @param msg instance to fill
+     * @return true if decoded, false if bits insufficient
+     */
+    private static boolean decodePosition(AisBitBuffer bits, int type, int mmsi, String channel, MutableAisPositionMessage msg) {
+        if (bits.length() < 168) return false;
+
+        msg.setMessageType(type);
+        msg.setChannel(channel.charAt(0));
+        msg.setRepeat(bits.readUInt(6, 2));
+        msg.setMmsi(mmsi);
+        msg.setNavStatus(bits.readUInt(38, 4));
+        msg.setRateOfTurn(bits.readInt(42, 8));
+        msg.setSog(bits.readUInt(50, 10) / 10.0);
+        msg.setAccuracy(bits.readUInt(60, 1) == 1);
+        msg.setLon(bits.readInt(61, 28) / 600000.0);
+        msg.setLat(bits.readInt(89, 27) / 600000.0);
+        msg.setCog(bits.readUInt(116, 12) / 10.0);
+        msg.setHeading(bits.readUInt(128, 9));
+        msg.setTimestamp(bits.readUInt(137, 6));
+        msg.setSpecialManoeuvre(bits.readUInt(143, 2));
+        msg.setRaim(bits.readUInt(145, 1) == 1);
+        msg.setRadio(bits.readUInt(146, 19));
+
+        return true;
+    }
+
+    /**
+     * Decodes AIS Class B position message (type 18, or extended type 19) from payload bits.
+     * @param bits AIS payload bits
+     * @param type AIS message type (18 or 19)
+     * @param mmsi MMSI number
+     * @param channel NMEA channel
+     * @return decoded AisClassBPositionMessage or null if bits insufficient
+     */
+    private static AisClassBPositionMessage decodeClassBPosition(AisBitBuffer bits, int type, int mmsi, String channel) {
+        if (bits.length() < (type == 18 ? 168 : 312)) return null;
+        AisClassBPositionMessage msg = new AisClassBPositionMessage();
+
+        msg.setMessageType(type);
+        msg.setChannel(channel);
+        msg.setRepeat(bits.readUInt(6, 2));
+        msg.setMmsi(mmsi);
+        msg.setSog(bits.readUInt(46, 10) / 10.0);
+        msg.setAccuracy(bits.readUInt(56, 1) == 1);
+        msg.setLon(bits.readInt(57, 28) / 600000.0);
+        msg.setLat(bits.readInt(85, 27) / 600000.0);
+        msg.setCog(bits.readUInt(112, 12) / 10.0);
+        msg.setHeading(bits.readUInt(124, 9));
+        msg.setTimestamp(bits.readUInt(133, 6));
+
+        if (type == 18) {
+            msg.setCsUnit(bits.readUInt(141, 1) == 1);
+            msg.setDisplay(bits.readUInt(142, 1) == 1);
+            msg.setDsc(bits.readUInt(143, 1) == 1);
+            msg.setBand(bits.readUInt(144, 1) == 1);
+            msg.setMessage22(bits.readUInt(145, 1) == 1);
+            msg.setAssigned(bits.readUInt(146, 1) == 1);
+            msg.setRaim(bits.readUInt(147, 1) == 1);
+            msg.setRadio(bits.readUInt(148, 20));
+        } else {
+            msg.setName(bits.readText(143, 20));
+            msg.setShipType(bits.readUInt(263, 8));
+            msg.setDimensionToBow(bits.readUInt(271, 9));
+            msg.setDimensionToStern(bits.readUInt(280, 9));
+            msg.setDimensionToPort(bits.readUInt(289, 6));
+            msg.setDimensionToStarboard(bits.readUInt(295, 6));
+            msg.setEpfd(bits.readUInt(301, 4));
+            msg.setRaim(bits.readUInt(305, 1) == 1);
+            msg.setDteAvailable(bits.readUInt(306, 1) == 0);
+            msg.setAssigned(bits.readUInt(307, 1) == 1);
+        }
+
+        return msg;
+    }
+
+    /**
+     * Decodes AIS static data report (type 24, part A or B) from payload bits.
+     * @param bits AIS payload bits
+     * @param mmsi MMSI number
+     * @param channel NMEA channel
+     * @return decoded AisStaticDataReport or null if bits insufficient or the part number is invalid
+     */
+    private static AisStaticDataReport decodeType24(AisBitBuffer bits, int mmsi, String channel) {
+        int partNumber = bits.readUInt(38, 2);
+        // Part A is 160 bits (some units pad it to 168), part B is 168 bits ending in 6 spare bits
+        if (partNumber > AisStaticDataReport.PART_B || bits.length() < (partNumber == AisStaticDataReport.PART_A ? 160 : 162)) {
+            return null;
+        }
+        AisStaticDataReport msg = new AisStaticDataReport();
+
+        msg.setMessageType(24);
+        msg.setRepeat(bits.readUInt(6, 2));
+        msg.setMmsi(mmsi);
+        msg.setPartNumber(partNumber);
+        msg.setChannel(channel);
+        if (partNumber == AisStaticDataReport.PART_A) {
+            msg.setName(bits.readText(40, 20));
+            return msg;
+        }
+        msg.setShipType(bits.readUInt(40, 8));
+        msg.setVendorId(bits.readText(48, 3));
+        msg.setUnitModelCode(bits.readUInt(66, 4));
+        msg.setSerialNumber(bits.readUInt(70, 20));
+        msg.setCallsign(bits.readText(90, 7));
+        if (mmsi / 10000000 == 98) {
+            // Auxiliary craft report their mother ship instead of their dimensions
+            msg.setMothershipMmsi(bits.readUInt(132, 30));
+        } else {
+            msg.setDimensionToBow(bits.readUInt(132, 9));
+            msg.setDimensionToStern(bits.readUInt(141, 9));
+            msg.setDimensionToPort(bits.readUInt(150, 6));
+            msg.setDimensionToStarboard(bits.readUInt(156, 6));
+        }
+        return msg;
+    }
+
+    /**
+     * Decodes AIS base station report (type 4) or UTC/date response (type 11) from payload bits.
+     * @param bits AIS payload bits
+     * @param type AIS message type (4 or 11)
+     * @param mmsi MMSI number
+     * @param channel NMEA channel
+     * @return decoded AisBaseStationMessage or null if bits insufficient
+     */
+    private static AisBaseStationMessage decodeBaseStation(AisBitBuffer bits, int type, int mmsi, String channel) {
+        if (bits.length() < 168) return null;
+        AisBaseStationMessage msg = new AisBaseStationMessage();
+
+        msg.setMessageType(type);
+        msg.setChannel(channel);
+        msg.setRepeat(bits.readUInt(6, 2));
+        msg.setMmsi(mmsi);
+        msg.setYear(bits.readUInt(38, 14));
+        msg.setMonth(bits.readUInt(52, 4));
+        msg.setDay(bits.readUInt(56, 5));
+        msg.setHour(bits.readUInt(61, 5));
+        msg.setMinute(bits.readUInt(66, 6));
+        msg.setSecond(bits.readUInt(72, 6));
+        msg.setAccuracy(bits.readUInt(78, 1) == 1);
+        msg.setLon(bits.readInt(79, 28) / 600000.0);
+        msg.setLat(bits.readInt(107, 27) / 600000.0);
+        msg.setEpfd(bits.readUInt(134, 4));
+        msg.setRaim(bits.readUInt(148, 1) == 1);
+        msg.setRadio(bits.readUInt(149, 19));
+
+        return msg;
+    }
+
+    /**
+     * Decodes AIS aid-to-navigation report (type 21) from payload bits.
+     * @param bits AIS payload bits
+     * @param mmsi MMSI number
+     * @param channel NMEA channel
+     * @return decoded AisAidToNavigationMessage or null if bits insufficient
+     */
+    private static AisAidToNavigationMessage decodeType21(AisBitBuffer bits, int mmsi, String channel) {
+        if (bits.length() < 272) return null;
+        AisAidToNavigationMessage msg = new AisAidToNavigationMessage();
+
+        msg.setMessageType(21);
+        msg.setChannel(channel);
+        msg.setRepeat(bits.readUInt(6, 2));
+        msg.setMmsi(mmsi);
+        msg.setAidType(bits.readUInt(38, 5));
+        msg.setAccuracy(bits.readUInt(163, 1) == 1);
+        msg.setLon(bits.readInt(164, 28) / 600000.0);
+        msg.setLat(bits.readInt(192, 27) / 600000.0);
+        msg.setDimensionToBow(bits.readUInt(219, 9));
+        msg.setDimensionToStern(bits.readUInt(228, 9));
+        msg.setDimensionToPort(bits.readUInt(237, 6));
+        msg.setDimensionToStarboard(bits.readUInt(243, 6));
+        msg.setEpfd(bits.readUInt(249, 4));
+        msg.setSecond(bits.readUInt(253, 6));
+        msg.setOffPosition(bits.readUInt(259, 1) == 1);
+        msg.setRegional(bits.readUInt(260, 8));
+        msg.setRaim(bits.readUInt(268, 1) == 1);
+        msg.setVirtualAid(bits.readUInt(269, 1) == 1);
+        msg.setAssigned(bits.readUInt(270, 1) == 1);
+        // Names longer than 20 characters continue in an extension of up to 14 characters after the fixed fields
+        String name = bits.readText(43, 20);
+        int extensionChars = Math.min(14, (bits.length() - 272) / 6);
+        msg.setName(extensionChars > 0 ? name + bits.readText(272, extensionChars) : name);
+
+        return msg;
+    }
+
+    /**
+     * Decodes AIS addressed (type 12) or broadcast (type 14) safety message from payload bits.
+     * @param bits AIS payload bits
+     * @param type AIS message type (12 or 14)
+     * @param mmsi MMSI number
+     * @param channel NMEA channel
+     * @return decoded AisSafetyMessage or null if bits insufficient
+     */
+    private static AisSafetyMessage decodeSafety(AisBitBuffer bits, int type, int mmsi, String channel) {
+        int textStart = type == 12 ? 72 : 40;
+        if (bits.length() < textStart) return null;
+        AisSafetyMessage msg = new AisSafetyMessage();
+
+        msg.setMessageType(type);
+        msg.setChannel(channel);
+        msg.setRepeat(bits.readUInt(6, 2));
+        msg.setMmsi(mmsi);
+        if (type == 12) {
+            msg.setSequenceNumber(bits.readUInt(38, 2));
+            msg.setDestinationMmsi(bits.readUInt(40, 30));
+            msg.setRetransmit(bits.readUInt(70, 1) == 1);
+        }
+        msg.setText(bits.readText(textStart, (bits.length() - textStart) / 6));
+
+        return msg;
+    }
+
+    /**
+     * Decodes AIS static message (type 5) from payload bits.
+     * @param bits AIS payload bits
+     * @param mmsi MMSI number
+     * @param channel NMEA channel
+     * @return decoded AisStaticMessage or null if bits insufficient
+     */
+    static AisStaticMessage decodeType5(AisBitBuffer bits, int mmsi, String channel) {
+        if (bits.length() < 424) return null;
+        AisStaticMessage msg = new AisStaticMessage();
+
+        msg.setMessageType(5);
+        msg.setMmsi(mmsi);
+        msg.setRepeat(bits.readUInt(6, 2));
+        msg.setAisVersion(bits.readUInt(38, 2));
+        msg.setImo(bits.readUInt(40, 30));
+        msg.setCallsign(bits.readText(70, 7));
+        msg.setName(bits.readText(112, 20));
+        msg.setShipType(bits.readUInt(232, 8));
+        msg.setDimensionToBow(bits.readUInt(240, 9));
+        msg.setDimensionToStern(bits.readUInt(249, 9));
+        msg.setDimensionToPort(bits.readUInt(258, 6));
+        msg.setDimensionToStarboard(bits.readUInt(264, 6));
+        msg.setEpfd(bits.readUInt(270, 4));
+        msg.setEtaMonth(bits.readUInt(274, 4));
+        msg.setEtaDay(bits.readUInt(278, 5));
+        msg.setEtaHour(bits.readUInt(283, 5));
+        msg.setEtaMinute(bits.readUInt(288, 6));
+        msg.setDraught(bits.readUInt(294, 8) / 10.0);
+        msg.setDestination(bits.readText(302, 20));
+        msg.setDteAvailable(bits.readUInt(422, 1) == 0);
+        msg.setChannel(channel);
+
+        return msg;
+    }
+
+    /**
+     * Immutable registry of handlers, held in arrays indexed by message kind and by
+     * AIS message type number so that dispatch needs no map lookup.
+     */
+    private static final class HandlerRegistry {
+
+        static final HandlerRegistry EMPTY = new HandlerRegistry(emptyHandlers());
+
+        /**
+         * Handlers by message kind index, empty arrays for kinds without handlers.
+         */
+        final Consumer<Object>[][] byKind;
+
+        /**
+         * Kinds with handlers by message type number (0-63), in dispatch order, or null if none.
+         */
+        final AisMessageType<?>[][] byType = new AisMessageType<?>[64][];
+
+        /**
+         * @param byKind handlers by message kind index
+         */
+        private HandlerRegistry(Consumer<Object>[][] byKind) {
+            this.byKind = byKind;
+            for (AisMessageType<?> kind : AisMessageType.VALUES) {
+                if (byKind[kind.index()].length == 0) continue;
+                for (int type : kind.messageTypes()) {
+                    AisMessageType<?>[] kinds = byType[type];
+                    if (kinds == null) {
+                        byType[type] = new AisMessageType<?>[] {kind};
+                    } else {
+                        kinds = Arrays.copyOf(kinds, kinds.length + 1);
+                        kinds[kinds.length - 1] = kind;
+                        byType[type] = kinds;
+                    }
+                }
+            }
+        }
+
+        /**
+         * @param kind kind of message
+         * @param handler handler to add
+         * @return copy of this registry with the handler appended to the kind's handlers
+         */
+        @SuppressWarnings("unchecked")
+        HandlerRegistry with(AisMessageType<?> kind, Consumer<?> handler) {
+            Consumer<Object>[][] k = byKind.clone();
+            Consumer<Object>[] h = Arrays.copyOf(k[kind.index()], k[kind.index()].length + 1);
+            h[h.length - 1] = (Consumer<Object>) handler;
+            k[kind.index()] = h;
+            return new HandlerRegistry(k);
+        }
+
+        /**
+         * @param kind kind of message
+         * @param handler handler to remove
+         * @return copy of this registry without the last registration of the handler, or this registry if it has none
+         */
+        HandlerRegistry without(AisMessageType<?> kind, Consumer<?> handler) {
+            Consumer<Object>[] handlers = byKind[kind.index()];
+            for (int i = handlers.length - 1; i >= 0; i--) {
+                if (handlers[i] != handler) continue;
+                Consumer<Object>[] h = newHandlers(handlers.length - 1);
+                System.arraycopy(handlers, 0, h, 0, i);
+                System.arraycopy(handlers, i + 1, h, i, h.length - i);
+                Consumer<Object>[][] k = byKind.clone();
+                k[kind.index()] = h;
+                return new HandlerRegistry(k);
+            }
+            return this;
+        }
+
+        /**
+         * @return handler arrays for every kind, all empty
+         */
+        @SuppressWarnings("unchecked")
+        private static Consumer<Object>[][] emptyHandlers() {
+            Consumer<Object>[][] byKind = (Consumer<Object>[][]) new Consumer<?>[AisMessageType.COUNT][];
+            Arrays.fill(byKind, newHandlers(0));
+            return byKind;
+        }
+    }
+
+    /**
+     * Creates an array of handlers; arrays of a generic type cannot be created directly.
+     * @param length array length
+     * @param <T> class of the handled message
+     * @return new array of nulls
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Consumer<T>[] newHandlers(int length) {
+        return (Consumer<T>[]) new Consumer<?>[length];
+    }
+
+    /**
+     * Immutable table of binary message handlers keyed by {@code dac << 6 | fi},
+     * held in sorted arrays and searched without boxing the key.
+     */
+    private static final class BinaryHandlerTable {
+
+        static final BinaryHandlerTable EMPTY = new BinaryHandlerTable(new int[0], newHandlers(0));
+
+        private final int[] keys;
+        private final Consumer<AisBinaryMessageView>[] handlers;
+
+        /**
+         * @param keys sorted application identifier keys
+         * @param handlers handlers in key order
+         */
+        private BinaryHandlerTable(int[] keys, Consumer<AisBinaryMessageView>[] handlers) {
+            this.keys = keys;
+            this.handlers = handlers;
+        }
+
+        /**
+         * @param key application identifier key
+         * @return handler registered for the key, or null if none
+         */
+        Consumer<AisBinaryMessageView> get(int key) {
+            int i = Arrays.binarySearch(keys, key);
+            return i < 0 ? null : handlers[i];
+        }
+
+        /**
+         * @param key application identifier key
+         * @param handler handler to register, or null to remove the key
+         * @return copy of this table with the key set or removed
+         */
+        BinaryHandlerTable with(int key, Consumer<AisBinaryMessageView> handler) {
+            int i = Arrays.binarySearch(keys, key);
+            if (i >= 0) {
+                if (handler != null) {
+                    Consumer<AisBinaryMessageView>[] replaced = handlers.clone();
+                    replaced[i] = handler;
+                    return new BinaryHandlerTable(keys, replaced);
+                }
+                int[] k = new int[keys.length - 1];
+                Consumer<AisBinaryMessageView>[] h = newHandlers(keys.length - 1);
+                System.arraycopy(keys, 0, k, 0, i);
+                System.arraycopy(keys, i + 1, k, i, k.length - i);
+                System.arraycopy(handlers, 0, h, 0, i);
+                System.arraycopy(handlers, i + 1, h, i, h.length - i);
+                return new BinaryHandlerTable(k, h);
+            }
+            if (handler == null) return this;
+            int at = -i - 1;
+            int[] k = new int[keys.length + 1];
+            Consumer<AisBinaryMessageView>[] h = newHandlers(keys.length + 1);
+            System.arraycopy(keys, 0, k, 0, at);
+            System.arraycopy(keys, at, k, at + 1, keys.length - at);
+            System.arraycopy(handlers, 0, h, 0, at);
+            System.arraycopy(handlers, at, h, at + 1, handlers.length - at);
+            k[at] = key;
+            h[at] = handler;
+            return new BinaryHandlerTable(k, h);
+        }
+    }
+}
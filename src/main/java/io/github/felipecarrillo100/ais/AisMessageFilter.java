@@ -0,0 +1,142 @@
+package io.github.felipecarrillo100.ais;
+
+/**
+ * Selects messages by type and MMSI before they are decoded. Decoders read the 6-bit type
+ * and the 30-bit MMSI straight from the armored payload of single-part sentences and drop
+ * rejected messages before de-armoring them; multipart messages are checked once reassembled,
+ * before any field is extracted. Rejected messages reach no callback.
+ * <p>
+ * A new filter accepts everything. Restrict it with {@link #setAcceptedTypes(int...)} and
+ * a watch-list of MMSIs, held in a primitive hash set. Configure a filter before installing
+ * it on a decoder; to change the selection while decoding, install a new filter.
+ */
+public final class AisMessageFilter {
+
+    /**
+     * Bit i set means message type i is accepted.
+     */
+    private long typeMask = -1L;
+
+    /**
+     * Watched MMSIs, or null to accept every MMSI.
+     */
+    private IntHashSet mmsis;
+
+    /**
+     * Restricts the filter to the given message types.
+     * @param types accepted message types (0-63)
+     * @throws IllegalArgumentException if a type is out of range
+     */
+    public void setAcceptedTypes(int... types) {
+        long mask = 0;
+        for (int type : types) {
+            if (type < 0 || type > 63) throw new IllegalArgumentException("Message type must be 0-63: " + type);
+            mask |= 1L << type;
+        }
+        typeMask = mask;
+    }
+
+    /**
+     * Accepts every message type again.
+     */
+    public void acceptAllTypes() {
+        typeMask = -1L;
+    }
+
+    /**
+     * Adds MMSIs to the watch-list. Once the watch-list holds an MMSI,
+     * only messages from watched MMSIs are accepted.
+     * @param watched MMSI numbers to watch
+     */
+    public void addWatchedMmsis(int... watched) {
+        if (mmsis == null) mmsis = new IntHashSet(watched.length);
+        for (int mmsi : watched) {
+            mmsis.add(mmsi);
+        }
+    }
+
+    /**
+     * Empties the watch-list, so messages from every MMSI are accepted again.
+     */
+    public void clearWatchedMmsis() {
+        mmsis = null;
+    }
+
+    /**
+     * Gets the number of watched MMSIs.
+     * @return watch-list size, 0 if every MMSI is accepted
+     */
+    public int getWatchedMmsiCount() {
+        return mmsis == null ? 0 : mmsis.size();
+    }
+
+    /**
+     * Checks whether a message type is accepted.
+     * @param type message type
+     * @return true if the type is accepted
+     */
+    public boolean acceptsType(int type) {
+        return type >= 0 && type <= 63 && (typeMask >>> type & 1L) != 0;
+    }
+
+    /**
+     * Checks whether messages from an MMSI are accepted.
+     * @param mmsi MMSI number
+     * @return true if there is no watch-list or the MMSI is on it
+     */
+    public boolean acceptsMmsi(int mmsi) {
+        IntHashSet watched = mmsis;
+        return watched == null || watched.contains(mmsi);
+    }
+
+    /**
+     * Checks whether a message is accepted.
+     * @param type message type
+     * @param mmsi MMSI number
+     * @return true if both the type and the MMSI are accepted
+     */
+    public boolean accepts(int type, int mmsi) {
+        return acceptsType(type) && acceptsMmsi(mmsi);
+    }
+
+    /**
+     * Checks whether the message in an armored payload is accepted, reading only its first
+     * seven characters. Payloads too short to hold an MMSI are accepted, to be rejected
+     * by the decoder itself.
+     * @param payload array holding the armored payload
+     * @param start start index (inclusive)
+     * @param end end index (exclusive)
+     * @return true if the message is accepted
+     */
+    boolean acceptsArmored(byte[] payload, int start, int end) {
+        if (end - start < 7) return true;
+        if ((typeMask >>> dearmor(payload[start]) & 1L) == 0) return false;
+        if (mmsis == null) return true;
+        // Characters 1-6 hold bits 6-41; the MMSI is bits 8-37
+        long v = 0;
+        for (int i = start + 1; i < start + 7; i++) {
+            v = v << 6 | dearmor(payload[i]);
+        }
+        return mmsis.contains((int) (v >>> 4) & 0x3FFFFFFF);
+    }
+
+    /**
+     * Checks whether the message in de-armored payload bits is accepted.
+     * @param bits payload bits
+     * @return true if the message is accepted or too short to hold an MMSI
+     */
+    boolean acceptsBits(AisBitBuffer bits) {
+        return bits.length() < 38 || accepts(bits.readUInt(0, 6), bits.readUInt(8, 30));
+    }
+
+    /**
+     * De-armors one AIS 6-bit ASCII payload character.
+     * @param c armored character
+     * @return 6-bit value
+     */
+    static int dearmor(byte c) {
+        int val = (c & 0xFF) - 48;
+        if (val > 40) val -= 8;
+        return val & 0x3F;
+    }
+}
@@ -0,0 +1,173 @@
+package io.github.felipecarrillo100.ais;
+
+/**
+ * Key under which message handlers are registered with a decoder: one kind of delivered
+ * message, the AIS message type numbers it is decoded from and the way it is decoded.
+ * Several kinds can share a message type number, e.g. {@link #POSITION} and
+ * {@link #POSITION_VIEW}; each kind is decoded once per message and passed to all its handlers.
+ *
+ * @param <T> class of the delivered message
+ */
+public final class AisMessageType<T> {
+
+    /**
+     * Decodes the payload bits held by a decode context into the delivered message.
+     * @param <T> class of the delivered message
+     */
+    @FunctionalInterface
+    interface MessageDecoder<T> {
+        /**
+         * @param context decoding state holding the payload bits, tag fields and reused instances
+         * @param type AIS message type number
+         * @param mmsi MMSI number
+         * @param channel NMEA channel
+         * @return decoded message, or null if the payload is too short
+         */
+        T decode(DecodeContext context, int type, int mmsi, String channel);
+    }
+
+    /**
+     * Lazily decoding views over position reports (types 1-3), only valid while the handler runs.
+     */
+    public static final AisMessageType<AisPositionView> POSITION_VIEW =
+            new AisMessageType<>(0, "POSITION_VIEW", AisMessageDispatcher::positionView, 1, 2, 3);
+
+    /**
+     * Position reports (types 1-3) decoded into the decoder's reused instance,
+     * only valid while the handler runs.
+     */
+    public static final AisMessageType<MutableAisPositionMessage> REUSABLE_POSITION =
+            new AisMessageType<>(1, "REUSABLE_POSITION", AisMessageDispatcher::reusablePosition, 1, 2, 3);
+
+    /**
+     * Position reports (types 1-3).
+     */
+    public static final AisMessageType<AisPositionMessage> POSITION =
+            new AisMessageType<>(2, "POSITION", AisMessageDispatcher::position, 1, 2, 3);
+
+    /**
+     * Lazily decoding views over static and voyage data (type 5), only valid while the handler runs.
+     */
+    public static final AisMessageType<AisStaticView> STATIC_VIEW =
+            new AisMessageType<>(3, "STATIC_VIEW", AisMessageDispatcher::staticView, 5);
+
+    /**
+     * Static and voyage data (type 5).
+     */
+    public static final AisMessageType<AisStaticMessage> STATIC =
+            new AisMessageType<>(4, "STATIC", AisMessageDispatcher::staticVoyage, 5);
+
+    /**
+     * Base station reports (type 4) and UTC/date responses (type 11).
+     */
+    public static final AisMessageType<AisBaseStationMessage> BASE_STATION =
+            new AisMessageType<>(5, "BASE_STATION", AisMessageDispatcher::baseStation, 4, 11);
+
+    /**
+     * Views over binary messages (types 6 and 8) not claimed by a DAC/FI handler,
+     * only valid while the handler runs.
+     */
+    public static final AisMessageType<AisBinaryMessageView> BINARY =
+            new AisMessageType<>(6, "BINARY", AisMessageDispatcher::binary, 6, 8);
+
+    /**
+     * Addressed (type 12) and broadcast (type 14) safety messages.
+     */
+    public static final AisMessageType<AisSafetyMessage> SAFETY =
+            new AisMessageType<>(7, "SAFETY", AisMessageDispatcher::safety, 12, 14);
+
+    /**
+     * Class B position reports (types 18 and 19).
+     */
+    public static final AisMessageType<AisClassBPositionMessage> CLASS_B_POSITION =
+            new AisMessageType<>(8, "CLASS_B_POSITION", AisMessageDispatcher::classBPosition, 18, 19);
+
+    /**
+     * Aid-to-navigation reports (type 21).
+     */
+    public static final AisMessageType<AisAidToNavigationMessage> AID_TO_NAVIGATION =
+            new AisMessageType<>(9, "AID_TO_NAVIGATION", AisMessageDispatcher::aidToNavigation, 21);
+
+    /**
+     * Static data reports (type 24), one per part.
+     */
+    public static final AisMessageType<AisStaticDataReport> STATIC_DATA_REPORT =
+            new AisMessageType<>(10, "STATIC_DATA_REPORT", AisMessageDispatcher::staticDataReport, 24);
+
+    /**
+     * Number of message kinds.
+     */
+    static final int COUNT = 11;
+
+    /**
+     * Every message kind, in dispatch order.
+     */
+    static final AisMessageType<?>[] VALUES = {
+            POSITION_VIEW, REUSABLE_POSITION, POSITION, STATIC_VIEW, STATIC, BASE_STATION,
+            BINARY, SAFETY, CLASS_B_POSITION, AID_TO_NAVIGATION, STATIC_DATA_REPORT
+    };
+
+    private final int index;
+    private final String name;
+    private final MessageDecoder<T> decoder;
+    private final int[] messageTypes;
+
+    /**
+     * @param index position of this kind in the dispatch order
+     * @param name constant name
+     * @param decoder decodes payload bits into the delivered message
+     * @param messageTypes AIS message type numbers this kind is decoded from
+     */
+    private AisMessageType(int index, String name, MessageDecoder<T> decoder, int... messageTypes) {
+        this.index = index;
+        this.name = name;
+        this.decoder = decoder;
+        this.messageTypes = messageTypes;
+    }
+
+    /**
+     * Gets every message kind, in dispatch order.
+     * @return new array of the message kinds
+     */
+    public static AisMessageType<?>[] values() {
+        return VALUES.clone();
+    }
+
+    /**
+     * Gets the AIS message type numbers this kind is decoded from.
+     * @return copy of the message type numbers
+     */
+    public int[] getMessageTypes() {
+        return messageTypes.clone();
+    }
+
+    /**
+     * @return position of this kind in the dispatch order, 0 to {@link #COUNT} - 1
+     */
+    int index() {
+        return index;
+    }
+
+    /**
+     * @return decoder of the delivered message
+     */
+    MessageDecoder<T> decoder() {
+        return decoder;
+    }
+
+    /**
+     * @return AIS message type numbers, not copied
+     */
+    int[] messageTypes() {
+        return messageTypes;
+    }
+
+    /**
+     * Returns the constant name.
+     * @return name
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+}
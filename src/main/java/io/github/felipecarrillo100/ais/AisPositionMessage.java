@@ -4,7 +4,7 @@ package io.github.felipecarrillo100.ais;
  * Represents an AIS Position Message (Type 1, 2, or 3).
  * Contains dynamic navigation and positional information of a vessel.
  */
-public class AisPositionMessage {
+public class AisPositionMessage implements AisTagBlockFields {
     private Integer messageType;
     private Integer repeat;
     private Integer mmsi;
@@ -21,6 +21,9 @@ public class AisPositionMessage {
     private Boolean raim;
     private Integer radio;
     private String channel;
+    private String source;
+    private Long receiverTime;
+    private Integer groupId;
 
     /**
      * Gets the AIS message type number.
@@ -235,6 +238,24 @@ public class AisPositionMessage {
         this.channel = channel;
     }
 
+    @Override
+    public String getSource() { return source; }
+
+    @Override
+    public void setSource(String source) { this.source = source; }
+
+    @Override
+    public Long getReceiverTime() { return receiverTime; }
+
+    @Override
+    public void setReceiverTime(Long receiverTime) { this.receiverTime = receiverTime; }
+
+    @Override
+    public Integer getGroupId() { return groupId; }
+
+    @Override
+    public void setGroupId(Integer groupId) { this.groupId = groupId; }
+
     /**
      * Returns a string representation of the AIS position message.
      * @return string representation
@@ -258,6 +279,9 @@ public class AisPositionMessage {
                 ", raim=" + raim +
                 ", radio=" + radio +
                 ", channel='" + channel + '\'' +
+                ", source='" + source + '\'' +
+                ", receiverTime=" + receiverTime +
+                ", groupId=" + groupId +
                 '}';
     }
 }
@@ -0,0 +1,138 @@
+package io.github.felipecarrillo100.ais;
+
+/**
+ * Read-only flyweight over the payload bits of an AIS Position Message (Type 1, 2, or 3).
+ * Nothing is decoded up front: every accessor extracts its field from the bits on demand,
+ * so consumers only pay for the fields they read. Values are returned as primitives in
+ * their AIS units (e.g. tenths of a knot), plus a few convenience conversions.
+ * <p>
+ * A view delivered by the decoder wraps the decoder's own buffer and is only valid until
+ * the callback returns. To hand messages to another thread, e.g. through a ring buffer,
+ * copy the bits into a slot-owned buffer with {@link AisBitBuffer#copyFrom(AisBitBuffer)}
+ * and wrap that buffer with a slot-owned view.
+ */
+public final class AisPositionView {
+
+    private AisBitBuffer bits;
+
+    /**
+     * Points this view at the given payload bits.
+     * @param bits payload bits of a position message
+     * @return this view
+     */
+    public AisPositionView wrap(AisBitBuffer bits) {
+        this.bits = bits;
+        return this;
+    }
+
+    /**
+     * Gets the wrapped payload bits.
+     * @return payload bits, or null if nothing is wrapped
+     */
+    public AisBitBuffer bits() { return bits; }
+
+    /**
+     * Checks whether the wrapped bits hold a complete position message.
+     * @return true if the message type is 1-3 and the payload is long enough
+     */
+    public boolean isValid() {
+        if (bits == null || bits.length() < 168) return false;
+        int type = messageType();
+        return type >= 1 && type <= 3;
+    }
+
+    /**
+     * @return AIS message type number (1-3)
+     */
+    public int messageType() { return bits.readUInt(0, 6); }
+
+    /**
+     * @return repeat indicator (0-3)
+     */
+    public int repeat() { return bits.readUInt(6, 2); }
+
+    /**
+     * @return MMSI number
+     */
+    public int mmsi() { return bits.readUInt(8, 30); }
+
+    /**
+     * @return navigation status (0-15)
+     */
+    public int navStatus() { return bits.readUInt(38, 4); }
+
+    /**
+     * @return rate of turn in AIS encoding (-128 to 127), -128 if not available
+     */
+    public int rateOfTurn() { return bits.readInt(42, 8); }
+
+    /**
+     * @return speed over ground in tenths of a knot, 1023 if not available
+     */
+    public int sogTenths() { return bits.readUInt(50, 10); }
+
+    /**
+     * @return true if position accuracy is high
+     */
+    public boolean accuracy() { return bits.readUInt(60, 1) == 1; }
+
+    /**
+     * @return longitude in 1/10000 minutes, 181 degrees (108600000) if not available
+     */
+    public int lonRaw() { return bits.readInt(61, 28); }
+
+    /**
+     * @return latitude in 1/10000 minutes, 91 degrees (54600000) if not available
+     */
+    public int latRaw() { return bits.readInt(89, 27); }
+
+    /**
+     * @return longitude in millionths of a degree, 181000000 if not available
+     */
+    public int lonMicroDeg() { return (int) (lonRaw() * 5L / 3L); }
+
+    /**
+     * @return latitude in millionths of a degree, 91000000 if not available
+     */
+    public int latMicroDeg() { return (int) (latRaw() * 5L / 3L); }
+
+    /**
+     * @return longitude in decimal degrees, 181 if not available
+     */
+    public double lon() { return lonRaw() / 600000.0; }
+
+    /**
+     * @return latitude in decimal degrees, 91 if not available
+     */
+    public double lat() { return latRaw() / 600000.0; }
+
+    /**
+     * @return course over ground in tenths of a degree, 3600 if not available
+     */
+    public int cogTenths() { return bits.readUInt(116, 12); }
+
+    /**
+     * @return true heading in degrees (0-359), 511 if not available
+     */
+    public int heading() { return bits.readUInt(128, 9); }
+
+    /**
+     * @return UTC second timestamp (0-59), 60 or above if not available
+     */
+    public int timestamp() { return bits.readUInt(137, 6); }
+
+    /**
+     * @return special manoeuvre indicator (0-3)
+     */
+    public int specialManoeuvre() { return bits.readUInt(143, 2); }
+
+    /**
+     * @return true if RAIM is in use
+     */
+    public boolean raim() { return bits.readUInt(145, 1) == 1; }
+
+    /**
+     * @return radio status field
+     */
+    public int radio() { return bits.readUInt(146, 19); }
+}
@@ -0,0 +1,160 @@
+package io.github.felipecarrillo100.ais;
+
+/**
+ * Represents an AIS Safety Related Broadcast Message (Type 14) or an
+ * Addressed Safety Related Message (Type 12), carrying free text.
+ */
+public class AisSafetyMessage implements AisTagBlockFields {
+    private Integer messageType;
+    private Integer repeat;
+    private Integer mmsi;
+    private Integer destinationMmsi;
+    private Integer sequenceNumber;
+    private Boolean retransmit;
+    private String text;
+    private String channel;
+    private String source;
+    private Long receiverTime;
+    private Integer groupId;
+
+    /**
+     * Gets the AIS message type number (12 or 14).
+     * @return message type
+     */
+    public Integer getMessageType() { return messageType; }
+
+    /**
+     * Sets the AIS message type number.
+     * @param messageType message type
+     */
+    public void setMessageType(Integer messageType) { this.messageType = messageType; }
+
+    /**
+     * Gets the repeat indicator (0-3).
+     * @return repeat indicator
+     */
+    public Integer getRepeat() { return repeat; }
+
+    /**
+     * Sets the repeat indicator (0-3).
+     * @param repeat repeat indicator
+     */
+    public void setRepeat(Integer repeat) { this.repeat = repeat; }
+
+    /**
+     * Gets the MMSI (Maritime Mobile Service Identity) number of the sender.
+     * @return MMSI number
+     */
+    public Integer getMmsi() { return mmsi; }
+
+    /**
+     * Sets the MMSI number.
+     * @param mmsi MMSI number
+     */
+    public void setMmsi(Integer mmsi) { this.mmsi = mmsi; }
+
+    /**
+     * Gets the MMSI of the addressed station (type 12 only).
+     * @return destination MMSI, or null if broadcast
+     */
+    public Integer getDestinationMmsi() { return destinationMmsi; }
+
+    /**
+     * Sets the MMSI of the addressed station.
+     * @param destinationMmsi destination MMSI
+     */
+    public void setDestinationMmsi(Integer destinationMmsi) { this.destinationMmsi = destinationMmsi; }
+
+    /**
+     * Gets the sequence number of an addressed message (type 12 only, 0-3).
+     * @return sequence number, or null if broadcast
+     */
+    public Integer getSequenceNumber() { return sequenceNumber; }
+
+    /**
+     * Sets the sequence number.
+     * @param sequenceNumber sequence number
+     */
+    public void setSequenceNumber(Integer sequenceNumber) { this.sequenceNumber = sequenceNumber; }
+
+    /**
+     * Gets the retransmit flag (type 12 only).
+     * @return retransmit flag, or null if broadcast
+     */
+    public Boolean getRetransmit() { return retransmit; }
+
+    /**
+     * Sets the retransmit flag.
+     * @param retransmit retransmit flag
+     */
+    public void setRetransmit(Boolean retransmit) { this.retransmit = retransmit; }
+
+    /**
+     * Gets the safety related text.
+     * @return text
+     */
+    public String getText() { return text; }
+
+    /**
+     * Sets the safety related text.
+     * @param text text
+     */
+    public void setText(String text) { this.text = text; }
+
+    /**
+     * Gets the NMEA channel (e.g., "A" or "B").
+     * @return NMEA channel
+     */
+    public String getChannel() { return channel; }
+
+    /**
+     * Sets the NMEA channel. Must be a single character or null.
+     * @param channel NMEA channel
+     * @throws IllegalArgumentException if channel length is not 1 or null
+     */
+    public void setChannel(String channel) {
+        if (channel != null && channel.length() != 1) {
+            throw new IllegalArgumentException("Channel must be a single character (e.g., 'A' or 'B')");
+        }
+        this.channel = channel;
+    }
+
+    @Override
+    public String getSource() { return source; }
+
+    @Override
+    public void setSource(String source) { this.source = source; }
+
+    @Override
+    public Long getReceiverTime() { return receiverTime; }
+
+    @Override
+    public void setReceiverTime(Long receiverTime) { this.receiverTime = receiverTime; }
+
+    @Override
+    public Integer getGroupId() { return groupId; }
+
+    @Override
+    public void setGroupId(Integer groupId) { this.groupId = groupId; }
+
+    /**
+     * Returns a string representation of the AIS safety message.
+     * @return string representation
+     */
+    @Override
+    public String toString() {
+        return "AisSafetyMessage{" +
+                "messageType=" + messageType +
+                ", repeat=" + repeat +
+                ", mmsi=" + mmsi +
+                ", destinationMmsi=" + destinationMmsi +
+                ", sequenceNumber=" + sequenceNumber +
+                ", retransmit=" + retransmit +
+                ", text='" + text + '\'' +
+                ", channel='" + channel + '\'' +
+                ", source='" + source + '\'' +
+                ", receiverTime=" + receiverTime +
+                ", groupId=" + groupId +
+                '}';
+    }
+}
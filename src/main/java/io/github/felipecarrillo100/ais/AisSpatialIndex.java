@@ -0,0 +1,464 @@
+package io.github.felipecarrillo100.ais;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Grid index over the live positions of vessels, answering bounding-box and radius queries.
+ * The globe is divided into square latitude/longitude cells; every vessel is listed in the
+ * cell holding its latest position. A report that keeps a vessel in the same cell, by far the
+ * most common case, only overwrites its coordinates; moving to another cell copies the small
+ * member arrays of the two cells. Queries visit the cells overlapping the searched area and
+ * test the coordinates of their members.
+ * <p>
+ * Register an instance with a decoder as a {@link AisMessageType#REUSABLE_POSITION} handler,
+ * and its {@link #update(AisPositionMessage)} method as a {@link AisMessageType#CLASS_B_POSITION}
+ * handler to include Class B vessels. Reports without a position remove the vessel. Updates are
+ * serialized on the index. Queries take no lock and never block ingest: member arrays are
+ * replaced copy-on-write and coordinates are read under a per-vessel sequence counter. A vessel
+ * crossing into another cell while a query runs may be missed, or reported twice, by that query.
+ */
+public class AisSpatialIndex implements Consumer<MutableAisPositionMessage> {
+
+    /**
+     * Default cell size in degrees.
+     */
+    public static final double DEFAULT_CELL_DEGREES = 0.25;
+
+    /**
+     * Mean Earth radius in nautical miles.
+     */
+    private static final double EARTH_RADIUS_NM = 3440.065;
+
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final double cellDegrees;
+    private final int rows;
+    private final int cols;
+
+    /**
+     * Slots of the vessels in each cell, or null for empty cells.
+     */
+    private final AtomicReferenceArray<int[]> cells;
+
+    /**
+     * Per-vessel rows, replaced as a whole when they grow.
+     */
+    private volatile Slots slots = new Slots(1024);
+
+    /**
+     * Slot of each indexed MMSI, guarded by this.
+     */
+    private final IntIntHashMap slotByMmsi = new IntIntHashMap(1024);
+
+    /**
+     * Slots released by removed vessels, guarded by this.
+     */
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    /**
+     * Number of slots ever used, guarded by this.
+     */
+    private int usedSlots;
+
+    /**
+     * Creates an index with cells of {@link #DEFAULT_CELL_DEGREES}.
+     */
+    public AisSpatialIndex() {
+        this(DEFAULT_CELL_DEGREES);
+    }
+
+    /**
+     * Creates an index. Smaller cells make queries over small areas visit fewer vessels,
+     * at the cost of one reference per cell: 0.25 degree cells take about 4 MB.
+     * @param cellDegrees cell size in degrees
+     * @throws IllegalArgumentException if the size is not between 0.05 and 90 degrees
+     */
+    public AisSpatialIndex(double cellDegrees) {
+        if (!(cellDegrees >= 0.05 && cellDegrees <= 90)) {
+            throw new IllegalArgumentException("Cell size must be between 0.05 and 90 degrees: " + cellDegrees);
+        }
+        this.cellDegrees = cellDegrees;
+        this.rows = (int) Math.ceil(180 / cellDegrees);
+        this.cols = (int) Math.ceil(360 / cellDegrees);
+        this.cells = new AtomicReferenceArray<>(rows * cols);
+    }
+
+    /**
+     * Gets the cell size.
+     * @return cell size in degrees
+     */
+    public double getCellDegrees() {
+        return cellDegrees;
+    }
+
+    /**
+     * Gets the number of indexed vessels.
+     * @return vessel count
+     */
+    public synchronized int size() {
+        return slotByMmsi.size();
+    }
+
+    /**
+     * Indexes a Class A position report decoded into a reused instance.
+     * @param msg decoded position message
+     */
+    @Override
+    public void accept(MutableAisPositionMessage msg) {
+        update(msg.getMmsi(), msg.getLat(), msg.getLon());
+    }
+
+    /**
+     * Indexes a position report.
+     * @param msg decoded position message, Class A or Class B
+     */
+    public void update(AisPositionMessage msg) {
+        if (msg.getMmsi() == null) return;
+        if (msg.getLat() == null || msg.getLon() == null) {
+            remove(msg.getMmsi());
+        } else {
+            update(msg.getMmsi(), msg.getLat(), msg.getLon());
+        }
+    }
+
+    /**
+     * Moves a vessel to a new position, adding it if not indexed yet. Positions outside
+     * the valid range, such as the not-available values 91 and 181, remove the vessel.
+     * @param mmsi MMSI number
+     * @param lat latitude in degrees
+     * @param lon longitude in degrees
+     */
+    public synchronized void update(int mmsi, double lat, double lon) {
+        if (mmsi == 0) return;
+        if (!(lat >= -90 && lat <= 90 && lon >= -180 && lon <= 180)) {
+            remove(mmsi);
+            return;
+        }
+        int cell = cellOf(lat, lon);
+        int latRaw = (int) Math.round(lat * 600000.0);
+        int lonRaw = (int) Math.round(lon * 600000.0);
+        int slot = slotByMmsi.get(mmsi, -1);
+        if (slot < 0) {
+            slot = allocateSlot();
+            slotByMmsi.put(mmsi, slot);
+            slots.write(slot, mmsi, latRaw, lonRaw, cell);
+            addMember(cell, slot);
+            return;
+        }
+        Slots s = slots;
+        int previous = s.cell[slot];
+        if (previous == cell) {
+            s.write(slot, mmsi, latRaw, lonRaw, cell);
+            return;
+        }
+        // List the vessel in its new cell before unlisting it from the old one
+        addMember(cell, slot);
+        s.write(slot, mmsi, latRaw, lonRaw, cell);
+        removeMember(previous, slot);
+    }
+
+    /**
+     * Removes a vessel from the index.
+     * @param mmsi MMSI number
+     * @return true if the vessel was indexed
+     */
+    public synchronized boolean remove(int mmsi) {
+        if (mmsi == 0) return false;
+        int slot = slotByMmsi.remove(mmsi, -1);
+        if (slot < 0) return false;
+        Slots s = slots;
+        removeMember(s.cell[slot], slot);
+        s.write(slot, 0, 0, 0, -1);
+        if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        freeSlots[freeCount++] = slot;
+        return true;
+    }
+
+    /**
+     * Removes every vessel.
+     */
+    public synchronized void clear() {
+        for (int i = 0; i < cells.length(); i++) {
+            if (cells.get(i) != null) cells.set(i, null);
+        }
+        slotByMmsi.clear();
+        slots = new Slots(1024);
+        freeCount = 0;
+        usedSlots = 0;
+    }
+
+    /**
+     * Finds the vessels inside a bounding box. Boxes whose west edge lies east of their
+     * east edge wrap across the antimeridian. Never blocks.
+     * @param minLat south edge in degrees
+     * @param minLon west edge in degrees
+     * @param maxLat north edge in degrees
+     * @param maxLon east edge in degrees
+     * @param sink receives the MMSI of every vessel inside the box
+     * @return number of vessels found
+     */
+    public int queryBox(double minLat, double minLon, double maxLat, double maxLon, IntConsumer sink) {
+        if (minLat > maxLat) return 0;
+        int minLatRaw = (int) Math.round(Math.max(-90, minLat) * 600000.0);
+        int maxLatRaw = (int) Math.round(Math.min(90, maxLat) * 600000.0);
+        int minRow = row(Math.max(-90, minLat));
+        int maxRow = row(Math.min(90, maxLat));
+        if (minLon <= maxLon) {
+            return scanBox(minRow, maxRow, minLatRaw, maxLatRaw, minLon, maxLon, sink);
+        }
+        return scanBox(minRow, maxRow, minLatRaw, maxLatRaw, minLon, 180, sink)
+                + scanBox(minRow, maxRow, minLatRaw, maxLatRaw, -180, maxLon, sink);
+    }
+
+    /**
+     * Finds the vessels within a great-circle distance of a point. Never blocks.
+     * @param lat latitude of the center in degrees
+     * @param lon longitude of the center in degrees
+     * @param radiusNm radius in nautical miles
+     * @param sink receives the MMSI of every vessel within the radius
+     * @return number of vessels found
+     */
+    public int queryRadius(double lat, double lon, double radiusNm, IntConsumer sink) {
+        if (!(radiusNm >= 0)) return 0;
+        double dLat = Math.toDegrees(radiusNm / EARTH_RADIUS_NM);
+        double minLat = Math.max(-90, lat - dLat);
+        double maxLat = Math.min(90, lat + dLat);
+        // Widest longitude span is reached at the latitude closest to a pole
+        double cosLat = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+        double dLon = cosLat <= 0 ? 180 : Math.toDegrees(radiusNm / EARTH_RADIUS_NM) / cosLat;
+        int minRow = row(minLat);
+        int maxRow = row(maxLat);
+        double lat0 = Math.toRadians(lat);
+        double lon0 = Math.toRadians(lon);
+        double cosLat0 = Math.cos(lat0);
+        double maxHav = hav(radiusNm / EARTH_RADIUS_NM);
+
+        int minCol;
+        int colCount;
+        if (2 * dLon + cellDegrees >= 360) {
+            minCol = 0;
+            colCount = cols;
+        } else {
+            minCol = col(normalizeLon(lon - dLon));
+            int maxCol = col(normalizeLon(lon + dLon));
+            colCount = ((maxCol - minCol + cols) % cols) + 1;
+        }
+
+        int[] row = new int[3];
+        int found = 0;
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int k = 0; k < colCount; k++) {
+                int cell = r * cols + (minCol + k) % cols;
+                int[] members = cells.get(cell);
+                if (members == null) continue;
+                Slots s = slots;
+                for (int slot : members) {
+                    if (!s.read(slot, cell, row)) continue;
+                    double vLat = Math.toRadians(row[1] / 600000.0);
+                    double vLon = Math.toRadians(row[2] / 600000.0);
+                    double h = hav(vLat - lat0) + cosLat0 * Math.cos(vLat) * hav(vLon - lon0);
+                    if (h <= maxHav) {
+                        sink.accept(row[0]);
+                        found++;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Scans the cells of a box that does not cross the antimeridian.
+     * @return number of vessels found
+     */
+    private int scanBox(int minRow, int maxRow, int minLatRaw, int maxLatRaw,
+                        double minLon, double maxLon, IntConsumer sink) {
+        if (minLon > 180 || maxLon < -180) return 0;
+        minLon = Math.max(-180, minLon);
+        maxLon = Math.min(180, maxLon);
+        int minLonRaw = (int) Math.round(minLon * 600000.0);
+        int maxLonRaw = (int) Math.round(maxLon * 600000.0);
+        int minCol = col(minLon);
+        int maxCol = col(maxLon);
+        int[] row = new int[3];
+        int found = 0;
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minCol; c <= maxCol; c++) {
+                int cell = r * cols + c;
+                int[] members = cells.get(cell);
+                if (members == null) continue;
+                Slots s = slots;
+                for (int slot : members) {
+                    if (!s.read(slot, cell, row)) continue;
+                    if (row[1] >= minLatRaw && row[1] <= maxLatRaw && row[2] >= minLonRaw && row[2] <= maxLonRaw) {
+                        sink.accept(row[0]);
+                        found++;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return cell index of a valid position
+     */
+    private int cellOf(double lat, double lon) {
+        return row(lat) * cols + col(lon);
+    }
+
+    /**
+     * @return cell row of a latitude in [-90, 90]
+     */
+    private int row(double lat) {
+        return Math.min(rows - 1, (int) ((lat + 90) / cellDegrees));
+    }
+
+    /**
+     * @return cell column of a longitude in [-180, 180]
+     */
+    private int col(double lon) {
+        return Math.min(cols - 1, (int) ((lon + 180) / cellDegrees));
+    }
+
+    /**
+     * @return longitude wrapped into [-180, 180]
+     */
+    private static double normalizeLon(double lon) {
+        if (lon < -180) return lon + 360;
+        if (lon > 180) return lon - 360;
+        return lon;
+    }
+
+    /**
+     * @return haversine of an angle in radians
+     */
+    private static double hav(double angle) {
+        double s = Math.sin(angle / 2);
+        return s * s;
+    }
+
+    /**
+     * @return a free slot, growing the slot arrays if needed
+     */
+    private int allocateSlot() {
+        if (freeCount > 0) return freeSlots[--freeCount];
+        Slots s = slots;
+        if (usedSlots == s.mmsi.length) {
+            // Publish the grown rows before any cell lists a slot beyond the old ones
+            slots = s.grow();
+        }
+        return usedSlots++;
+    }
+
+    /**
+     * Lists a slot in a cell.
+     */
+    private void addMember(int cell, int slot) {
+        int[] members = cells.get(cell);
+        if (members == null) {
+            cells.set(cell, new int[] {slot});
+            return;
+        }
+        int[] grown = Arrays.copyOf(members, members.length + 1);
+        grown[members.length] = slot;
+        cells.set(cell, grown);
+    }
+
+    /**
+     * Unlists a slot from a cell.
+     */
+    private void removeMember(int cell, int slot) {
+        int[] members = cells.get(cell);
+        if (members == null) return;
+        for (int i = 0; i < members.length; i++) {
+            if (members[i] != slot) continue;
+            if (members.length == 1) {
+                cells.set(cell, null);
+                return;
+            }
+            int[] shrunk = new int[members.length - 1];
+            System.arraycopy(members, 0, shrunk, 0, i);
+            System.arraycopy(members, i + 1, shrunk, i, shrunk.length - i);
+            cells.set(cell, shrunk);
+            return;
+        }
+    }
+
+    /**
+     * Per-vessel rows: MMSI, raw coordinates and cell, guarded by a sequence counter
+     * that is odd while the row is being written.
+     */
+    private static final class Slots {
+
+        final int[] seqs;
+        final int[] mmsi;
+        final int[] latRaw;
+        final int[] lonRaw;
+        final int[] cell;
+
+        Slots(int capacity) {
+            seqs = new int[capacity];
+            mmsi = new int[capacity];
+            latRaw = new int[capacity];
+            lonRaw = new int[capacity];
+            cell = new int[capacity];
+        }
+
+        /**
+         * Overwrites a row. Only called by the index's writer.
+         */
+        void write(int slot, int vesselMmsi, int lat, int lon, int vesselCell) {
+            int seq = seqs[slot];
+            INTS.setOpaque(seqs, slot, seq + 1);
+            VarHandle.storeStoreFence();
+            mmsi[slot] = vesselMmsi;
+            latRaw[slot] = lat;
+            lonRaw[slot] = lon;
+            cell[slot] = vesselCell;
+            INTS.setRelease(seqs, slot, seq + 2);
+        }
+
+        /**
+         * Reads a row consistently, retrying while it is being written.
+         * @param slot slot index
+         * @param scannedCell cell being scanned
+         * @param out receives the MMSI, raw latitude and raw longitude
+         * @return false if the vessel is no longer in the scanned cell
+         */
+        boolean read(int slot, int scannedCell, int[] out) {
+            while (true) {
+                int seq = (int) INTS.getAcquire(seqs, slot);
+                if ((seq & 1) != 0) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                int c = cell[slot];
+                out[0] = mmsi[slot];
+                out[1] = latRaw[slot];
+                out[2] = lonRaw[slot];
+                VarHandle.loadLoadFence();
+                if ((int) INTS.getOpaque(seqs, slot) == seq) return c == scannedCell;
+            }
+        }
+
+        /**
+         * @return rows with twice the slots and the same content
+         */
+        Slots grow() {
+            Slots grown = new Slots(mmsi.length * 2);
+            System.arraycopy(seqs, 0, grown.seqs, 0, seqs.length);
+            System.arraycopy(mmsi, 0, grown.mmsi, 0, mmsi.length);
+            System.arraycopy(latRaw, 0, grown.latRaw, 0, latRaw.length);
+            System.arraycopy(lonRaw, 0, grown.lonRaw, 0, lonRaw.length);
+            System.arraycopy(cell, 0, grown.cell, 0, cell.length);
+            return grown;
+        }
+    }
+}
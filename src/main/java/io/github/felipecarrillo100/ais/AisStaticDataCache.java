@@ -0,0 +1,168 @@
+package io.github.felipecarrillo100.ais;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Optional deduplication stage for static and voyage data (type 5). Vessels resend type 5
+ * every few minutes, almost always unchanged; this cache keeps a 64-bit hash of the static
+ * fields of the last message of every MMSI and only decodes, and passes on, messages whose
+ * fields changed. The repeat indicator is not part of the hash, so repeated copies of a
+ * message are dropped too.
+ * <p>
+ * Register an instance with a decoder as a {@link AisMessageType#STATIC_VIEW} handler;
+ * it reads the hash straight from the payload bits. Call signs, names and destinations
+ * of the decoded messages are pooled, so vessels sharing a value share one String.
+ * Instances are thread-safe, and the sink is never called while holding the lock.
+ */
+public class AisStaticDataCache implements Consumer<AisStaticView> {
+
+    /**
+     * Default number of vessels held before the cache grows.
+     */
+    public static final int DEFAULT_EXPECTED_VESSELS = 4096;
+
+    /**
+     * Number of pooled strings above which the pool is emptied and refilled.
+     */
+    private static final int MAX_POOLED_STRINGS = 1 << 20;
+
+    private final Consumer<AisStaticMessage> sink;
+    private final IntIntHashMap slotByMmsi;
+    private long[] hashes;
+    private AisStaticMessage[] messages;
+    private final Map<String, String> pool = new HashMap<>();
+    private long changed;
+    private long unchanged;
+
+    /**
+     * Creates a cache with the default initial capacity.
+     * @param sink receives the static messages that changed
+     */
+    public AisStaticDataCache(Consumer<AisStaticMessage> sink) {
+        this(DEFAULT_EXPECTED_VESSELS, sink);
+    }
+
+    /**
+     * Creates a cache sized for the given number of vessels.
+     * @param expectedVessels number of vessels held without growing
+     * @param sink receives the static messages that changed
+     * @throws IllegalArgumentException if the number is not positive
+     */
+    public AisStaticDataCache(int expectedVessels, Consumer<AisStaticMessage> sink) {
+        if (expectedVessels <= 0) {
+            throw new IllegalArgumentException("Expected vessels must be positive: " + expectedVessels);
+        }
+        this.sink = Objects.requireNonNull(sink, "sink");
+        this.slotByMmsi = new IntIntHashMap(expectedVessels);
+        this.hashes = new long[expectedVessels];
+        this.messages = new AisStaticMessage[expectedVessels];
+    }
+
+    /**
+     * Passes the message on to the sink if its static fields differ from the last message
+     * of the same MMSI; otherwise drops it without decoding.
+     * @param view view over a type 5 message
+     */
+    @Override
+    public void accept(AisStaticView view) {
+        if (!view.isValid()) return;
+        int mmsi = view.mmsi();
+        AisBitBuffer bits = view.bits();
+        // Bits 38-423 hold every static field after the MMSI
+        long hash = bits.hash(38, 424);
+        int slot = -1;
+        if (mmsi != 0) {
+            synchronized (this) {
+                slot = slotByMmsi.get(mmsi, -1);
+                if (slot >= 0 && hashes[slot] == hash) {
+                    unchanged++;
+                    return;
+                }
+                if (slot < 0) {
+                    slot = slotByMmsi.size();
+                    if (slot == hashes.length) {
+                        hashes = Arrays.copyOf(hashes, slot * 2);
+                        messages = Arrays.copyOf(messages, slot * 2);
+                    }
+                    slotByMmsi.put(mmsi, slot);
+                }
+                // Claim the change now, so concurrent copies of the same message are dropped
+                hashes[slot] = hash;
+                changed++;
+            }
+        }
+
+        AisStaticMessage msg = AisMessageDispatcher.decodeType5(bits, mmsi, view.channel());
+        AisMessageDispatcher.setTagFields(msg, view.source(), view.receiverTime(), view.groupId());
+        synchronized (this) {
+            msg.setCallsign(pooled(msg.getCallsign()));
+            msg.setName(pooled(msg.getName()));
+            msg.setDestination(pooled(msg.getDestination()));
+            if (slot >= 0 && hashes[slot] == hash) messages[slot] = msg;
+        }
+        sink.accept(msg);
+    }
+
+    /**
+     * Gets the last static message passed on for a vessel.
+     * @param mmsi MMSI number
+     * @return last changed static message, or null if none was received
+     */
+    public synchronized AisStaticMessage get(int mmsi) {
+        if (mmsi == 0) return null;
+        int slot = slotByMmsi.get(mmsi, -1);
+        return slot < 0 ? null : messages[slot];
+    }
+
+    /**
+     * Gets the number of vessels in the cache.
+     * @return vessel count
+     */
+    public synchronized int size() {
+        return slotByMmsi.size();
+    }
+
+    /**
+     * Gets the number of messages passed on because their static fields changed,
+     * including the first message of every vessel.
+     * @return changed message count
+     */
+    public synchronized long getChangedCount() {
+        return changed;
+    }
+
+    /**
+     * Gets the number of messages dropped because their static fields were unchanged.
+     * @return unchanged message count
+     */
+    public synchronized long getUnchangedCount() {
+        return unchanged;
+    }
+
+    /**
+     * Removes every vessel and pooled string, so the next message of every vessel is passed on.
+     */
+    public synchronized void clear() {
+        slotByMmsi.clear();
+        Arrays.fill(messages, null);
+        pool.clear();
+    }
+
+    /**
+     * Returns the pooled instance of a string, pooling it if new. Guarded by this.
+     * @param value string to pool
+     * @return equal pooled string, or null if the value is null
+     */
+    private String pooled(String value) {
+        if (value == null) return null;
+        String existing = pool.get(value);
+        if (existing != null) return existing;
+        if (pool.size() >= MAX_POOLED_STRINGS) pool.clear();
+        pool.put(value, value);
+        return value;
+    }
+}
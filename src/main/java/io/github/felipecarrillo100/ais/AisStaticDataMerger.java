@@ -0,0 +1,141 @@
+package io.github.felipecarrillo100.ais;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Optional merge stage for Class B static data: combines part A and part B of
+ * {@link AisStaticDataReport} (type 24) from the same MMSI into one {@link AisStaticMessage},
+ * so downstream code receives complete static records instead of joining parts itself.
+ * <p>
+ * Register an instance as the decoder's static data report callback. A part waits in a
+ * bounded cache until the other part of the same vessel arrives; when the cache is full,
+ * the least recently updated vessel is evicted. A newer part replaces a waiting part of the
+ * same kind. Instances are thread-safe, and the sink is never called while holding the lock.
+ */
+public class AisStaticDataMerger implements Consumer<AisStaticDataReport> {
+
+    /**
+     * Default maximum number of vessels waiting for their other part.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private final int capacity;
+    private final Consumer<AisStaticMessage> sink;
+    private final Map<Integer, AisStaticDataReport> pending;
+    private long evicted;
+    private long merged;
+
+    /**
+     * Creates a merger with the default capacity.
+     * @param sink receives the merged static messages
+     */
+    public AisStaticDataMerger(Consumer<AisStaticMessage> sink) {
+        this(DEFAULT_CAPACITY, sink);
+    }
+
+    /**
+     * Creates a merger.
+     * @param capacity maximum number of vessels waiting for their other part
+     * @param sink receives the merged static messages
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public AisStaticDataMerger(int capacity, Consumer<AisStaticMessage> sink) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.sink = Objects.requireNonNull(sink, "sink");
+        this.pending = new LinkedHashMap<Integer, AisStaticDataReport>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, AisStaticDataReport> eldest) {
+                if (size() <= AisStaticDataMerger.this.capacity) return false;
+                evicted++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Accepts one part. If the other part of the same vessel is waiting, both are merged
+     * and passed to the sink; otherwise this part waits. Reports without an MMSI or with
+     * a part number other than A or B are ignored.
+     * @param report decoded type 24 part
+     */
+    @Override
+    public void accept(AisStaticDataReport report) {
+        if (report == null || report.getMmsi() == null || !(report.isPartA() || report.isPartB())) return;
+        AisStaticDataReport other;
+        synchronized (this) {
+            other = pending.get(report.getMmsi());
+            if (other == null || other.isPartA() == report.isPartA()) {
+                pending.put(report.getMmsi(), report);
+                return;
+            }
+            pending.remove(report.getMmsi());
+            merged++;
+        }
+        sink.accept(report.isPartA() ? merge(report, other, report) : merge(other, report, report));
+    }
+
+    /**
+     * Merges part A and part B of a vessel into a static message of type 24.
+     * Fields only carried by type 5 messages, such as IMO number and voyage data, are null.
+     * @param partA part A, carrying the name
+     * @param partB part B, carrying ship type, call sign and dimensions
+     * @param latest part that completed the record, providing repeat indicator, channel and tag block fields
+     * @return merged static message
+     */
+    private static AisStaticMessage merge(AisStaticDataReport partA, AisStaticDataReport partB, AisStaticDataReport latest) {
+        AisStaticMessage msg = new AisStaticMessage();
+        msg.setMessageType(24);
+        msg.setMmsi(partA.getMmsi());
+        msg.setName(partA.getName());
+        msg.setShipType(partB.getShipType());
+        msg.setCallsign(partB.getCallsign());
+        msg.setDimensionToBow(partB.getDimensionToBow());
+        msg.setDimensionToStern(partB.getDimensionToStern());
+        msg.setDimensionToPort(partB.getDimensionToPort());
+        msg.setDimensionToStarboard(partB.getDimensionToStarboard());
+        msg.setRepeat(latest.getRepeat());
+        msg.setChannel(latest.getChannel());
+        msg.setSource(latest.getSource());
+        msg.setReceiverTime(latest.getReceiverTime());
+        msg.setGroupId(latest.getGroupId());
+        return msg;
+    }
+
+    /**
+     * Gets the maximum number of vessels waiting for their other part.
+     * @return capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the number of vessels currently waiting for their other part.
+     * @return pending vessel count
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Gets the number of waiting parts evicted because the capacity was reached.
+     * @return evicted part count
+     */
+    public synchronized long getEvictedCount() {
+        return evicted;
+    }
+
+    /**
+     * Gets the number of merged static messages passed to the sink.
+     * @return merged message count
+     */
+    public synchronized long getMergedCount() {
+        return merged;
+    }
+}
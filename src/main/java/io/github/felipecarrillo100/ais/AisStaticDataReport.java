@@ -0,0 +1,298 @@
+package io.github.felipecarrillo100.ais;
+
+/**
+ * Represents one part of an AIS Static Data Report (Type 24), sent by Class B units.
+ * Part A (part number 0) carries the vessel name; part B (part number 1) carries the
+ * ship type, vendor id, call sign and dimensions, or for auxiliary craft the MMSI of
+ * the mother ship. Fields of the other part are null. Use {@link AisStaticDataMerger}
+ * to combine both parts into one {@link AisStaticMessage}.
+ */
+public class AisStaticDataReport implements AisTagBlockFields {
+
+    /**
+     * Part number of part A.
+     */
+    public static final int PART_A = 0;
+
+    /**
+     * Part number of part B.
+     */
+    public static final int PART_B = 1;
+
+    private Integer messageType;
+    private Integer repeat;
+    private Integer mmsi;
+    private Integer partNumber;
+    private String name;
+    private Integer shipType;
+    private String vendorId;
+    private Integer unitModelCode;
+    private Integer serialNumber;
+    private String callsign;
+    private Integer dimensionToBow;
+    private Integer dimensionToStern;
+    private Integer dimensionToPort;
+    private Integer dimensionToStarboard;
+    private Integer mothershipMmsi;
+    private String channel;
+    private String source;
+    private Long receiverTime;
+    private Integer groupId;
+
+    /**
+     * Gets the AIS message type number, 24 for static data reports.
+     * @return message type
+     */
+    public Integer getMessageType() { return messageType; }
+
+    /**
+     * Sets the AIS message type number.
+     * @param messageType message type
+     */
+    public void setMessageType(Integer messageType) { this.messageType = messageType; }
+
+    /**
+     * Gets the repeat indicator (0-3).
+     * @return repeat indicator
+     */
+    public Integer getRepeat() { return repeat; }
+
+    /**
+     * Sets the repeat indicator (0-3).
+     * @param repeat repeat indicator
+     */
+    public void setRepeat(Integer repeat) { this.repeat = repeat; }
+
+    /**
+     * Gets the MMSI (Maritime Mobile Service Identity) number.
+     * @return MMSI number
+     */
+    public Integer getMmsi() { return mmsi; }
+
+    /**
+     * Sets the MMSI number.
+     * @param mmsi MMSI number
+     */
+    public void setMmsi(Integer mmsi) { this.mmsi = mmsi; }
+
+    /**
+     * Gets the part number: {@link #PART_A} or {@link #PART_B}.
+     * @return part number
+     */
+    public Integer getPartNumber() { return partNumber; }
+
+    /**
+     * Sets the part number.
+     * @param partNumber part number
+     */
+    public void setPartNumber(Integer partNumber) { this.partNumber = partNumber; }
+
+    /**
+     * Checks whether this is part A.
+     * @return true if the part number is {@link #PART_A}
+     */
+    public boolean isPartA() { return partNumber != null && partNumber == PART_A; }
+
+    /**
+     * Checks whether this is part B.
+     * @return true if the part number is {@link #PART_B}
+     */
+    public boolean isPartB() { return partNumber != null && partNumber == PART_B; }
+
+    /**
+     * Gets the vessel name (part A).
+     * @return vessel name
+     */
+    public String getName() { return name; }
+
+    /**
+     * Sets the vessel name.
+     * @param name vessel name
+     */
+    public void setName(String name) { this.name = name; }
+
+    /**
+     * Gets the ship type code (part B).
+     * @return ship type
+     */
+    public Integer getShipType() { return shipType; }
+
+    /**
+     * Sets the ship type code.
+     * @param shipType ship type
+     */
+    public void setShipType(Integer shipType) { this.shipType = shipType; }
+
+    /**
+     * Gets the manufacturer's vendor id (part B).
+     * @return three character vendor id
+     */
+    public String getVendorId() { return vendorId; }
+
+    /**
+     * Sets the vendor id.
+     * @param vendorId vendor id
+     */
+    public void setVendorId(String vendorId) { this.vendorId = vendorId; }
+
+    /**
+     * Gets the unit model code (part B).
+     * @return unit model code
+     */
+    public Integer getUnitModelCode() { return unitModelCode; }
+
+    /**
+     * Sets the unit model code.
+     * @param unitModelCode unit model code
+     */
+    public void setUnitModelCode(Integer unitModelCode) { this.unitModelCode = unitModelCode; }
+
+    /**
+     * Gets the unit serial number (part B).
+     * @return serial number
+     */
+    public Integer getSerialNumber() { return serialNumber; }
+
+    /**
+     * Sets the unit serial number.
+     * @param serialNumber serial number
+     */
+    public void setSerialNumber(Integer serialNumber) { this.serialNumber = serialNumber; }
+
+    /**
+     * Gets the vessel call sign (part B).
+     * @return call sign
+     */
+    public String getCallsign() { return callsign; }
+
+    /**
+     * Sets the vessel call sign.
+     * @param callsign call sign
+     */
+    public void setCallsign(String callsign) { this.callsign = callsign; }
+
+    /**
+     * Gets the dimension to the bow in meters (part B, not for auxiliary craft).
+     * @return dimension to bow
+     */
+    public Integer getDimensionToBow() { return dimensionToBow; }
+
+    /**
+     * Sets the dimension to the bow.
+     * @param dimensionToBow dimension to bow in meters
+     */
+    public void setDimensionToBow(Integer dimensionToBow) { this.dimensionToBow = dimensionToBow; }
+
+    /**
+     * Gets the dimension to the stern in meters (part B, not for auxiliary craft).
+     * @return dimension to stern
+     */
+    public Integer getDimensionToStern() { return dimensionToStern; }
+
+    /**
+     * Sets the dimension to the stern.
+     * @param dimensionToStern dimension to stern in meters
+     */
+    public void setDimensionToStern(Integer dimensionToStern) { this.dimensionToStern = dimensionToStern; }
+
+    /**
+     * Gets the dimension to port in meters (part B, not for auxiliary craft).
+     * @return dimension to port
+     */
+    public Integer getDimensionToPort() { return dimensionToPort; }
+
+    /**
+     * Sets the dimension to port.
+     * @param dimensionToPort dimension to port in meters
+     */
+    public void setDimensionToPort(Integer dimensionToPort) { this.dimensionToPort = dimensionToPort; }
+
+    /**
+     * Gets the dimension to starboard in meters (part B, not for auxiliary craft).
+     * @return dimension to starboard
+     */
+    public Integer getDimensionToStarboard() { return dimensionToStarboard; }
+
+    /**
+     * Sets the dimension to starboard.
+     * @param dimensionToStarboard dimension to starboard in meters
+     */
+    public void setDimensionToStarboard(Integer dimensionToStarboard) { this.dimensionToStarboard = dimensionToStarboard; }
+
+    /**
+     * Gets the MMSI of the mother ship (part B of auxiliary craft, MMSI 98XXXXXXX).
+     * @return mother ship MMSI
+     */
+    public Integer getMothershipMmsi() { return mothershipMmsi; }
+
+    /**
+     * Sets the MMSI of the mother ship.
+     * @param mothershipMmsi mother ship MMSI
+     */
+    public void setMothershipMmsi(Integer mothershipMmsi) { this.mothershipMmsi = mothershipMmsi; }
+
+    /**
+     * Gets the NMEA channel (e.g., "A" or "B").
+     * @return NMEA channel
+     */
+    public String getChannel() { return channel; }
+
+    /**
+     * Sets the NMEA channel. Must be a single character or null.
+     * @param channel NMEA channel
+     * @throws IllegalArgumentException if channel length is not 1 or null
+     */
+    public void setChannel(String channel) {
+        if (channel != null && channel.length() != 1) {
+            throw new IllegalArgumentException("Channel must be a single character (e.g., 'A' or 'B')");
+        }
+        this.channel = channel;
+    }
+
+    @Override
+    public String getSource() { return source; }
+
+    @Override
+    public void setSource(String source) { this.source = source; }
+
+    @Override
+    public Long getReceiverTime() { return receiverTime; }
+
+    @Override
+    public void setReceiverTime(Long receiverTime) { this.receiverTime = receiverTime; }
+
+    @Override
+    public Integer getGroupId() { return groupId; }
+
+    @Override
+    public void setGroupId(Integer groupId) { this.groupId = groupId; }
+
+    /**
+     * Returns a string representation of the static data report.
+     * @return string representation
+     */
+    @Override
+    public String toString() {
+        return "AisStaticDataReport{" +
+                "messageType=" + messageType +
+                ", repeat=" + repeat +
+                ", mmsi=" + mmsi +
+                ", partNumber=" + partNumber +
+                ", name='" + name + '\'' +
+                ", shipType=" + shipType +
+                ", vendorId='" + vendorId + '\'' +
+                ", unitModelCode=" + unitModelCode +
+                ", serialNumber=" + serialNumber +
+                ", callsign='" + callsign + '\'' +
+                ", dimensionToBow=" + dimensionToBow +
+                ", dimensionToStern=" + dimensionToStern +
+                ", dimensionToPort=" + dimensionToPort +
+                ", dimensionToStarboard=" + dimensionToStarboard +
+                ", mothershipMmsi=" + mothershipMmsi +
+                ", channel='" + channel + '\'' +
+                ", source='" + source + '\'' +
+                ", receiverTime=" + receiverTime +
+                ", groupId=" + groupId +
+                '}';
+    }
+}
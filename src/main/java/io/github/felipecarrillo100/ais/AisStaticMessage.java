@@ -4,7 +4,7 @@ package io.github.felipecarrillo100.ais;
  * Represents AIS message type 5 (Static and Voyage Related Data).
  * Contains static vessel information and voyage details.
  */
-public class AisStaticMessage {
+public class AisStaticMessage implements AisTagBlockFields {
     private Integer messageType;
     private Integer repeat;
     private Integer mmsi;
@@ -30,6 +30,9 @@ public class AisStaticMessage {
      * NMEA channel (A, B, etc.). Must be a single character or null.
      */
     private String channel;
+    private String source;
+    private Long receiverTime;
+    private Integer groupId;
 
     /**
      * Gets the AIS message type number.
@@ -297,4 +300,22 @@ public class AisStaticMessage {
         }
         this.channel = channel;
     }
+
+    @Override
+    public String getSource() { return source; }
+
+    @Override
+    public void setSource(String source) { this.source = source; }
+
+    @Override
+    public Long getReceiverTime() { return receiverTime; }
+
+    @Override
+    public void setReceiverTime(Long receiverTime) { this.receiverTime = receiverTime; }
+
+    @Override
+    public Integer getGroupId() { return groupId; }
+
+    @Override
+    public void setGroupId(Integer groupId) { this.groupId = groupId; }
 }
@@ -0,0 +1,177 @@
+package io.github.felipecarrillo100.ais;
+
+/**
+ * Read-only flyweight over the payload bits of an AIS Static and Voyage Related Data
+ * message (Type 5). Every accessor extracts its field from the bits on demand; only the
+ * text accessors allocate, and only when called.
+ * <p>
+ * A view delivered by the decoder wraps the decoder's own buffer and is only valid until
+ * the callback returns; see {@link AisPositionView} for keeping messages longer.
+ */
+public final class AisStaticView {
+
+    private AisBitBuffer bits;
+    private String channel;
+    private String source;
+    private long receiverTime = -1;
+    private int groupId = -1;
+
+    /**
+     * Points this view at the given payload bits, clearing the sentence fields.
+     * @param bits payload bits of a type 5 message
+     * @return this view
+     */
+    public AisStaticView wrap(AisBitBuffer bits) {
+        this.bits = bits;
+        setSentenceFields(null, null, -1, -1);
+        return this;
+    }
+
+    /**
+     * Sets the fields of the sentence the wrapped bits were received in.
+     * @param channel NMEA channel
+     * @param source source of the sentence, or null if unknown
+     * @param receiverTime tag block receiver time, or -1 if none
+     * @param groupId tag block group id, or -1 if none
+     */
+    void setSentenceFields(String channel, String source, long receiverTime, int groupId) {
+        this.channel = channel;
+        this.source = source;
+        this.receiverTime = receiverTime;
+        this.groupId = groupId;
+    }
+
+    /**
+     * @return NMEA channel of the sentence, or null if the view was not delivered by a decoder
+     */
+    public String channel() { return channel; }
+
+    /**
+     * @return source of the sentence, or null if unknown
+     */
+    public String source() { return source; }
+
+    /**
+     * @return tag block receiver time of the sentence, or -1 if none
+     */
+    public long receiverTime() { return receiverTime; }
+
+    /**
+     * @return tag block group id of the sentence, or -1 if none
+     */
+    public int groupId() { return groupId; }
+
+    /**
+     * Gets the wrapped payload bits.
+     * @return payload bits, or null if nothing is wrapped
+     */
+    public AisBitBuffer bits() { return bits; }
+
+    /**
+     * Checks whether the wrapped bits hold a complete type 5 message.
+     * @return true if the message type is 5 and the payload is long enough
+     */
+    public boolean isValid() {
+        return bits != null && bits.length() >= 424 && messageType() == 5;
+    }
+
+    /**
+     * @return AIS message type number (5)
+     */
+    public int messageType() { return bits.readUInt(0, 6); }
+
+    /**
+     * @return repeat indicator (0-3)
+     */
+    public int repeat() { return bits.readUInt(6, 2); }
+
+    /**
+     * @return MMSI number
+     */
+    public int mmsi() { return bits.readUInt(8, 30); }
+
+    /**
+     * @return AIS version number
+     */
+    public int aisVersion() { return bits.readUInt(38, 2); }
+
+    /**
+     * @return IMO number, 0 if not available
+     */
+    public int imo() { return bits.readUInt(40, 30); }
+
+    /**
+     * @return call sign, trailing '@' padding and spaces removed
+     */
+    public String callsign() { return bits.readText(70, 7); }
+
+    /**
+     * @return vessel name, trailing '@' padding and spaces removed
+     */
+    public String name() { return bits.readText(112, 20); }
+
+    /**
+     * @return ship and cargo type code
+     */
+    public int shipType() { return bits.readUInt(232, 8); }
+
+    /**
+     * @return dimension to bow in meters
+     */
+    public int dimensionToBow() { return bits.readUInt(240, 9); }
+
+    /**
+     * @return dimension to stern in meters
+     */
+    public int dimensionToStern() { return bits.readUInt(249, 9); }
+
+    /**
+     * @return dimension to port in meters
+     */
+    public int dimensionToPort() { return bits.readUInt(258, 6); }
+
+    /**
+     * @return dimension to starboard in meters
+     */
+    public int dimensionToStarboard() { return bits.readUInt(264, 6); }
+
+    /**
+     * @return type of electronic position fixing device
+     */
+    public int epfd() { return bits.readUInt(270, 4); }
+
+    /**
+     * @return ETA month (1-12), 0 if not available
+     */
+    public int etaMonth() { return bits.readUInt(274, 4); }
+
+    /**
+     * @return ETA day (1-31), 0 if not available
+     */
+    public int etaDay() { return bits.readUInt(278, 5); }
+
+    /**
+     * @return ETA hour (0-23), 24 if not available
+     */
+    public int etaHour() { return bits.readUInt(283, 5); }
+
+    /**
+     * @return ETA minute (0-59), 60 if not available
+     */
+    public int etaMinute() { return bits.readUInt(288, 6); }
+
+    /**
+     * @return draught in tenths of a meter
+     */
+    public int draughtTenths() { return bits.readUInt(294, 8); }
+
+    /**
+     * @return destination, trailing '@' padding and spaces removed
+     */
+    public String destination() { return bits.readText(302, 20); }
+
+    /**
+     * @return true if the data terminal is available
+     */
+    public boolean dteAvailable() { return bits.readUInt(422, 1) == 0; }
+}
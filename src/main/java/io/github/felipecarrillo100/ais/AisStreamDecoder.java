@@ -0,0 +1,248 @@
+package io.github.felipecarrillo100.ais;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.util.Objects;
+
+/**
+ * Streaming front end for {@link AisDecoder} that splits raw bytes into lines and feeds
+ * each line to {@link AisDecoder#onSentence(byte[], int, int)}.
+ * Lines are terminated by CR, LF or CR LF and are decoded in place in the read buffer;
+ * only a line split across two reads is copied, into a reused carry buffer.
+ * Blank lines are skipped and lines longer than the maximum line length are discarded
+ * and counted as rejected. Progress counters report bytes, lines, decoded and rejected sentences.
+ * Instances are not thread-safe.
+ */
+public class AisStreamDecoder {
+
+    /**
+     * Default size in bytes of the read buffer.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Default maximum line length in bytes, far above the 82 characters allowed by NMEA 0183
+     * so that lines with tag blocks or vendor prefixes still fit.
+     */
+    public static final int DEFAULT_MAX_LINE_LENGTH = 1024;
+
+    private final AisDecoder decoder;
+    private final int maxLineLength;
+    private final byte[] readBuffer;
+    private ByteBuffer channelBuffer;
+
+    /**
+     * Beginning of a line that did not end in the previous chunk.
+     */
+    private final byte[] carry;
+    private int carryLength;
+
+    /**
+     * True while skipping the rest of a line that exceeded the maximum length.
+     */
+    private boolean skipping;
+
+    private long bytes;
+    private long lines;
+    private long decoded;
+    private long rejected;
+
+    /**
+     * Creates a stream decoder with the default buffer size and maximum line length.
+     * @param decoder decoder receiving the sentences
+     */
+    public AisStreamDecoder(AisDecoder decoder) {
+        this(decoder, DEFAULT_BUFFER_SIZE, DEFAULT_MAX_LINE_LENGTH);
+    }
+
+    /**
+     * Creates a stream decoder.
+     * @param decoder decoder receiving the sentences
+     * @param bufferSize size in bytes of the read buffer used by the decode methods
+     * @param maxLineLength maximum line length in bytes, excluding the line terminator
+     * @throws IllegalArgumentException if a size is not positive
+     */
+    public AisStreamDecoder(AisDecoder decoder, int bufferSize, int maxLineLength) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+        }
+        if (maxLineLength <= 0) {
+            throw new IllegalArgumentException("Maximum line length must be positive: " + maxLineLength);
+        }
+        this.decoder = Objects.requireNonNull(decoder, "decoder");
+        this.maxLineLength = maxLineLength;
+        this.readBuffer = new byte[bufferSize];
+        this.carry = new byte[maxLineLength];
+    }
+
+    /**
+     * Gets the decoder receiving the sentences.
+     * @return decoder
+     */
+    public AisDecoder getDecoder() {
+        return decoder;
+    }
+
+    /**
+     * Reads the stream to its end, decoding every line, then calls {@link #finish()}.
+     * The stream is not closed.
+     * @param in stream of NMEA lines
+     * @throws IOException if reading fails
+     */
+    public void decode(InputStream in) throws IOException {
+        int n;
+        while ((n = in.read(readBuffer, 0, readBuffer.length)) != -1) {
+            feed(readBuffer, 0, n);
+        }
+        finish();
+    }
+
+    /**
+     * Reads the channel to its end, decoding every line, then calls {@link #finish()}.
+     * The channel is not closed. Non-blocking channels are rejected, as reading them would spin;
+     * read those from a selector loop and pass the bytes to {@link #feed(byte[], int, int)} instead.
+     * @param channel blocking channel of NMEA lines
+     * @throws IOException if reading fails
+     * @throws IllegalArgumentException if the channel is a selectable channel in non-blocking mode
+     */
+    public void decode(ReadableByteChannel channel) throws IOException {
+        if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+            throw new IllegalArgumentException("Channel is in non-blocking mode, use feed() from a selector loop");
+        }
+        if (channelBuffer == null) channelBuffer = ByteBuffer.wrap(readBuffer);
+        ByteBuffer buffer = channelBuffer;
+        int n;
+        while ((n = channel.read(buffer.clear())) != -1) {
+            if (n > 0) feed(readBuffer, 0, n);
+        }
+        finish();
+    }
+
+    /**
+     * Feeds a chunk of raw bytes. Complete lines are decoded immediately; a trailing
+     * partial line is kept until the chunk completing it arrives, or until {@link #finish()}.
+     * The array is not retained after this method returns.
+     * @param buffer array holding the bytes
+     * @param offset index of the first byte
+     * @param length number of bytes
+     * @throws IndexOutOfBoundsException if the range lies outside the array
+     */
+    public void feed(byte[] buffer, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        bytes += length;
+        int end = offset + length;
+        int lineStart = offset;
+        for (int i = offset; i < end; i++) {
+            byte b = buffer[i];
+            if (b != '\n' && b != '\r') continue;
+            if (carryLength > 0 || skipping) {
+                appendCarry(buffer, lineStart, i);
+                endCarriedLine();
+            } else if (i > lineStart) {
+                line(buffer, lineStart, i - lineStart);
+            }
+            lineStart = i + 1;
+        }
+        if (lineStart < end) appendCarry(buffer, lineStart, end);
+    }
+
+    /**
+     * Decodes a final line that was not terminated by a line break.
+     * Call at the end of the input when feeding chunks directly.
+     */
+    public void finish() {
+        endCarriedLine();
+    }
+
+    /**
+     * Appends a partial line to the carry buffer, switching to skip mode once it becomes too long.
+     * @param buffer array holding the bytes
+     * @param start start index (inclusive)
+     * @param end end index (exclusive)
+     */
+    private void appendCarry(byte[] buffer, int start, int end) {
+        if (skipping) return;
+        int n = end - start;
+        if (carryLength + n > maxLineLength) {
+            skipping = true;
+            carryLength = 0;
+            return;
+        }
+        System.arraycopy(buffer, start, carry, carryLength, n);
+        carryLength += n;
+    }
+
+    /**
+     * Decodes or rejects the line accumulated in the carry buffer and resets it.
+     */
+    private void endCarriedLine() {
+        if (skipping) {
+            skipping = false;
+            lines++;
+            rejected++;
+        } else if (carryLength > 0) {
+            line(carry, 0, carryLength);
+        }
+        carryLength = 0;
+    }
+
+    /**
+     * Decodes one complete, non-empty line.
+     * @param buffer array holding the line
+     * @param offset index of the first byte
+     * @param length number of bytes, excluding the line terminator
+     */
+    private void line(byte[] buffer, int offset, int length) {
+        lines++;
+        if (length <= maxLineLength && decoder.onSentence(buffer, offset, length)) {
+            decoded++;
+        } else {
+            rejected++;
+        }
+    }
+
+    /**
+     * Gets the number of bytes fed so far.
+     * @return bytes read
+     */
+    public long getBytesRead() {
+        return bytes;
+    }
+
+    /**
+     * Gets the number of non-blank lines seen so far.
+     * @return line count
+     */
+    public long getLineCount() {
+        return lines;
+    }
+
+    /**
+     * Gets the number of lines accepted by the decoder as well formed sentences with a valid checksum.
+     * @return decoded sentence count
+     */
+    public long getDecodedCount() {
+        return decoded;
+    }
+
+    /**
+     * Gets the number of lines rejected as malformed, failing the checksum or too long.
+     * @return rejected line count
+     */
+    public long getRejectedCount() {
+        return rejected;
+    }
+
+    /**
+     * Resets all progress counters to zero. A partial line still buffered is kept.
+     */
+    public void resetCounters() {
+        bytes = 0;
+        lines = 0;
+        decoded = 0;
+        rejected = 0;
+    }
+}
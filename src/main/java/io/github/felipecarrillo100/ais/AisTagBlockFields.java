@@ -0,0 +1,47 @@
+package io.github.felipecarrillo100.ais;
+
+/**
+ * NMEA 4 tag block metadata carried by decoded messages: the source they were received from,
+ * the receiver time and the sentence group. Implemented by every decoded message class,
+ * so the decoder fills these fields in one place.
+ */
+public interface AisTagBlockFields {
+
+    /**
+     * Gets the source the message was received from: the source given to the decoder,
+     * or else the {@code s:} field of the sentence's NMEA 4 tag block.
+     * @return source, e.g. a receiving station name, or null if unknown
+     */
+    String getSource();
+
+    /**
+     * Sets the source the message was received from.
+     * @param source source, or null if unknown
+     */
+    void setSource(String source);
+
+    /**
+     * Gets the receiver time from the {@code c:} field of the sentence's NMEA 4 tag block,
+     * as sent by the receiver: UNIX time, usually in seconds.
+     * @return receiver time, or null if the sentence had none
+     */
+    Long getReceiverTime();
+
+    /**
+     * Sets the receiver time.
+     * @param receiverTime UNIX time, or null if unknown
+     */
+    void setReceiverTime(Long receiverTime);
+
+    /**
+     * Gets the sentence group id from the {@code g:} field of the NMEA 4 tag block.
+     * @return group id, or null if the sentence had none
+     */
+    Integer getGroupId();
+
+    /**
+     * Sets the sentence group id.
+     * @param groupId group id, or null if none
+     */
+    void setGroupId(Integer groupId);
+}
@@ -0,0 +1,120 @@
+package io.github.felipecarrillo100.ais;
+
+/**
+ * Latest known position of one vessel, copied out of an {@link AisVesselTable}.
+ * Instances are mutable holders, refilled by {@link AisVesselTable#get(int, AisVesselState)}
+ * and by table scans, so reading the table allocates nothing. Values use the same units
+ * and not-available markers as {@link MutableAisPositionMessage}.
+ */
+public final class AisVesselState {
+
+    private int mmsi;
+    private int navStatus;
+    private int latRaw;
+    private int lonRaw;
+    private int sogTenths;
+    private int cogTenths;
+    private int heading;
+    private long updateTime;
+
+    /**
+     * Fills this holder with one table row.
+     * @param mmsi MMSI number
+     * @param navStatus navigation status
+     * @param latRaw latitude in 1/10000 minutes
+     * @param lonRaw longitude in 1/10000 minutes
+     * @param sogTenths speed over ground in tenths of a knot
+     * @param cogTenths course over ground in tenths of a degree
+     * @param heading true heading in degrees
+     * @param updateTime time of the last update
+     */
+    void set(int mmsi, int navStatus, int latRaw, int lonRaw, int sogTenths, int cogTenths, int heading, long updateTime) {
+        this.mmsi = mmsi;
+        this.navStatus = navStatus;
+        this.latRaw = latRaw;
+        this.lonRaw = lonRaw;
+        this.sogTenths = sogTenths;
+        this.cogTenths = cogTenths;
+        this.heading = heading;
+        this.updateTime = updateTime;
+    }
+
+    /**
+     * Gets the MMSI number.
+     * @return MMSI number
+     */
+    public int getMmsi() { return mmsi; }
+
+    /**
+     * Gets the navigation status (0-15).
+     * @return navigation status, 15 if not defined
+     */
+    public int getNavStatus() { return navStatus; }
+
+    /**
+     * Gets the latitude.
+     * @return latitude in degrees, 91 if not available
+     */
+    public double getLat() { return latRaw / 600000.0; }
+
+    /**
+     * Gets the longitude.
+     * @return longitude in degrees, 181 if not available
+     */
+    public double getLon() { return lonRaw / 600000.0; }
+
+    /**
+     * Gets the latitude in AIS units.
+     * @return latitude in 1/10000 minutes
+     */
+    public int getLatRaw() { return latRaw; }
+
+    /**
+     * Gets the longitude in AIS units.
+     * @return longitude in 1/10000 minutes
+     */
+    public int getLonRaw() { return lonRaw; }
+
+    /**
+     * Gets the speed over ground.
+     * @return speed in knots, 102.3 if not available
+     */
+    public double getSog() { return sogTenths / 10.0; }
+
+    /**
+     * Gets the course over ground.
+     * @return course in degrees, 360 if not available
+     */
+    public double getCog() { return cogTenths / 10.0; }
+
+    /**
+     * Gets the true heading.
+     * @return heading in degrees, 511 if not available
+     */
+    public int getHeading() { return heading; }
+
+    /**
+     * Gets the time of the last update: the tag block receiver time of the last report,
+     * or the table's clock if the report had none.
+     * @return update time
+     */
+    public long getUpdateTime() { return updateTime; }
+
+    /**
+     * Returns a string representation of the vessel state.
+     * @return string describing the state
+     */
+    @Override
+    public String toString() {
+        return "AisVesselState{" +
+                "mmsi=" + mmsi +
+                ", navStatus=" + navStatus +
+                ", lat=" + getLat() +
+                ", lon=" + getLon() +
+                ", sog=" + getSog() +
+                ", cog=" + getCog() +
+                ", heading=" + heading +
+                ", updateTime=" + updateTime +
+                '}';
+    }
+}
@@ -0,0 +1,350 @@
+package io.github.felipecarrillo100.ais;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Latest position of every vessel, keyed by MMSI. Rows live in an open-addressing int-keyed
+ * table whose fields are held in columnar primitive arrays (latitude, longitude, speed, course,
+ * heading, navigation status and update time), so no object is kept per vessel.
+ * <p>
+ * Register an instance with a decoder as a {@link AisMessageType#REUSABLE_POSITION} handler,
+ * and its {@link #update(AisPositionMessage)} method as a {@link AisMessageType#CLASS_B_POSITION}
+ * handler to include Class B vessels. Updates are serialized on the table, so one table can be
+ * fed by several decoders or by a {@link ConcurrentAisDecoder}. Reads take no lock: every row is
+ * guarded by a sequence counter, and readers retry a row that was being written while they read it,
+ * so query threads can scan the table while ingest writes. MMSI 0 is not a vessel identity and
+ * is not stored.
+ */
+public class AisVesselTable implements Consumer<MutableAisPositionMessage> {
+
+    /**
+     * Default number of vessels the table holds before it grows.
+     */
+    public static final int DEFAULT_EXPECTED_VESSELS = 4096;
+
+    /**
+     * Navigation status stored for reports without one, such as Class B reports.
+     */
+    private static final int NAV_STATUS_NOT_DEFINED = 15;
+
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    /**
+     * Current rows, replaced as a whole when the table grows or is cleared.
+     */
+    private volatile Columns columns;
+
+    /**
+     * Supplies the update time of reports without a tag block receiver time.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * Creates a table with the default initial capacity, stamping reports without
+     * a receiver time with the current UNIX time in seconds.
+     */
+    public AisVesselTable() {
+        this(DEFAULT_EXPECTED_VESSELS);
+    }
+
+    /**
+     * Creates a table sized for the given number of vessels, stamping reports without
+     * a receiver time with the current UNIX time in seconds.
+     * @param expectedVessels number of vessels held without growing
+     * @throws IllegalArgumentException if the number is not positive
+     */
+    public AisVesselTable(int expectedVessels) {
+        this(expectedVessels, () -> System.currentTimeMillis() / 1000);
+    }
+
+    /**
+     * Creates a table sized for the given number of vessels.
+     * @param expectedVessels number of vessels held without growing
+     * @param clock supplies the update time of reports without a tag block receiver time
+     * @throws IllegalArgumentException if the number is not positive
+     */
+    public AisVesselTable(int expectedVessels, LongSupplier clock) {
+        if (expectedVessels <= 0 || expectedVessels > (1 << 28)) {
+            throw new IllegalArgumentException("Expected vessels must be between 1 and 268435456: " + expectedVessels);
+        }
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.columns = new Columns(capacityFor(expectedVessels));
+    }
+
+    /**
+     * Stores a Class A position report decoded into a reused instance.
+     * @param msg decoded position message
+     */
+    @Override
+    public void accept(MutableAisPositionMessage msg) {
+        long time = msg.isReceiverTimeAvailable() ? msg.getReceiverTime() : clock.getAsLong();
+        update(msg.getMmsi(), msg.getNavStatus(), msg.getLat(), msg.getLon(),
+                msg.getSog(), msg.getCog(), msg.getHeading(), time);
+    }
+
+    /**
+     * Stores a position report. Class B reports, which carry no navigation status,
+     * are stored with status 15 (not defined).
+     * @param msg decoded position message, Class A or Class B
+     */
+    public void update(AisPositionMessage msg) {
+        if (msg.getMmsi() == null || msg.getLat() == null || msg.getLon() == null) return;
+        Long receiverTime = msg.getReceiverTime();
+        update(msg.getMmsi(),
+                msg.getNavStatus() == null ? NAV_STATUS_NOT_DEFINED : msg.getNavStatus(),
+                msg.getLat(), msg.getLon(),
+                msg.getSog() == null ? MutableAisPositionMessage.SOG_NOT_AVAILABLE : msg.getSog(),
+                msg.getCog() == null ? MutableAisPositionMessage.COG_NOT_AVAILABLE : msg.getCog(),
+                msg.getHeading() == null ? MutableAisPositionMessage.HEADING_NOT_AVAILABLE : msg.getHeading(),
+                receiverTime == null ? clock.getAsLong() : receiverTime);
+    }
+
+    /**
+     * Stores the latest position of a vessel, replacing the previous one.
+     * @param mmsi MMSI number
+     * @param navStatus navigation status (0-15)
+     * @param lat latitude in degrees
+     * @param lon longitude in degrees
+     * @param sog speed over ground in knots
+     * @param cog course over ground in degrees
+     * @param heading true heading in degrees
+     * @param updateTime time of the report
+     */
+    public synchronized void update(int mmsi, int navStatus, double lat, double lon,
+                                    double sog, double cog, int heading, long updateTime) {
+        if (mmsi == 0) return;
+        Columns c = columns;
+        int i = c.find(mmsi);
+        boolean added = c.keys[i] == 0;
+        if (added && (c.size + 1) * 4L > c.keys.length * 3L) {
+            c = c.grow();
+            columns = c;
+            i = c.find(mmsi);
+        }
+        // Odd sequence numbers mark a row being written; readers retry until it is even again
+        int seq = c.seqs[i];
+        INTS.setOpaque(c.seqs, i, seq + 1);
+        VarHandle.storeStoreFence();
+        c.navStatus[i] = (byte) navStatus;
+        c.latRaw[i] = (int) Math.round(lat * 600000.0);
+        c.lonRaw[i] = (int) Math.round(lon * 600000.0);
+        c.sogTenths[i] = (short) Math.round(sog * 10.0);
+        c.cogTenths[i] = (short) Math.round(cog * 10.0);
+        c.heading[i] = (short) heading;
+        c.updateTime[i] = updateTime;
+        INTS.setRelease(c.seqs, i, seq + 2);
+        if (added) {
+            INTS.setRelease(c.keys, i, mmsi);
+            c.size++;
+        }
+    }
+
+    /**
+     * Copies the latest position of a vessel into a holder. Never blocks.
+     * @param mmsi MMSI number
+     * @param target holder to fill
+     * @return true if the vessel is in the table, false if the holder was left unchanged
+     */
+    public boolean get(int mmsi, AisVesselState target) {
+        if (mmsi == 0) return false;
+        Columns c = columns;
+        int i = c.find(mmsi);
+        if ((int) INTS.getAcquire(c.keys, i) != mmsi) return false;
+        c.read(i, mmsi, target);
+        return true;
+    }
+
+    /**
+     * Checks whether a vessel is in the table.
+     * @param mmsi MMSI number
+     * @return true if a position of the vessel is stored
+     */
+    public boolean contains(int mmsi) {
+        if (mmsi == 0) return false;
+        Columns c = columns;
+        return (int) INTS.getAcquire(c.keys, c.find(mmsi)) == mmsi;
+    }
+
+    /**
+     * Passes every stored vessel to a visitor. Never blocks; vessels added while the scan
+     * runs may or may not be visited. The holder passed to the visitor is reused for every
+     * vessel and only valid until the visitor returns.
+     * @param visitor receives the state of each vessel
+     */
+    public void forEach(Consumer<AisVesselState> visitor) {
+        Columns c = columns;
+        AisVesselState state = new AisVesselState();
+        int[] keys = c.keys;
+        for (int i = 0; i < keys.length; i++) {
+            int mmsi = (int) INTS.getAcquire(keys, i);
+            if (mmsi == 0) continue;
+            c.read(i, mmsi, state);
+            visitor.accept(state);
+        }
+    }
+
+    /**
+     * Gets the number of vessels in the table.
+     * @return vessel count
+     */
+    public int size() {
+        synchronized (this) {
+            return columns.size;
+        }
+    }
+
+    /**
+     * Removes every vessel whose last update is older than the given time. The remaining rows
+     * are copied into a new table, which replaces the current one once complete, so readers are
+     * never blocked.
+     * @param time oldest update time kept
+     * @return number of vessels removed
+     */
+    public synchronized int removeOlderThan(long time) {
+        Columns c = columns;
+        int kept = 0;
+        for (int i = 0; i < c.keys.length; i++) {
+            if (c.keys[i] != 0 && c.updateTime[i] >= time) kept++;
+        }
+        int removed = c.size - kept;
+        if (removed == 0) return 0;
+        Columns fresh = new Columns(Math.max(c.keys.length / 4, capacityFor(kept)));
+        for (int i = 0; i < c.keys.length; i++) {
+            if (c.keys[i] != 0 && c.updateTime[i] >= time) fresh.copyRow(c, i);
+        }
+        columns = fresh;
+        return removed;
+    }
+
+    /**
+     * Removes every vessel.
+     */
+    public synchronized void clear() {
+        columns = new Columns(Math.min(columns.keys.length, capacityFor(DEFAULT_EXPECTED_VESSELS)));
+    }
+
+    /**
+     * @param vessels number of vessels
+     * @return power-of-two slot count holding the vessels at a load factor of at most 3/4
+     */
+    private static int capacityFor(int vessels) {
+        return Integer.highestOneBit(Math.max(8, (int) (vessels * 4L / 3) - 1)) << 1;
+    }
+
+    /**
+     * Rows of the table: one slot per array index in every column.
+     * Keys and sequence numbers are accessed through {@link #INTS} to order them
+     * against the plain writes and reads of the other columns.
+     */
+    private static final class Columns {
+
+        final int[] keys;
+        final int[] seqs;
+        final byte[] navStatus;
+        final int[] latRaw;
+        final int[] lonRaw;
+        final short[] sogTenths;
+        final short[] cogTenths;
+        final short[] heading;
+        final long[] updateTime;
+        final int mask;
+
+        /**
+         * Number of occupied slots, guarded by the table.
+         */
+        int size;
+
+        /**
+         * @param capacity power-of-two slot count
+         */
+        Columns(int capacity) {
+            keys = new int[capacity];
+            seqs = new int[capacity];
+            navStatus = new byte[capacity];
+            latRaw = new int[capacity];
+            lonRaw = new int[capacity];
+            sogTenths = new short[capacity];
+            cogTenths = new short[capacity];
+            heading = new short[capacity];
+            updateTime = new long[capacity];
+            mask = capacity - 1;
+        }
+
+        /**
+         * Finds the slot holding a key, or the empty slot where it would be inserted.
+         * @param mmsi non-zero key
+         * @return slot index
+         */
+        int find(int mmsi) {
+            int h = mmsi * 0x9E3779B9;
+            int i = (h >>> 16 ^ h) & mask;
+            int k;
+            while ((k = (int) INTS.getAcquire(keys, i)) != 0 && k != mmsi) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        /**
+         * Copies a consistent snapshot of a row into a holder, retrying while it is being written.
+         * @param i slot index
+         * @param mmsi key of the slot
+         * @param target holder to fill
+         */
+        void read(int i, int mmsi, AisVesselState target) {
+            while (true) {
+                int seq = (int) INTS.getAcquire(seqs, i);
+                if ((seq & 1) != 0) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                int nav = navStatus[i];
+                int lat = latRaw[i];
+                int lon = lonRaw[i];
+                int sog = sogTenths[i];
+                int cog = cogTenths[i];
+                int hdg = heading[i];
+                long time = updateTime[i];
+                VarHandle.loadLoadFence();
+                if ((int) INTS.getOpaque(seqs, i) == seq) {
+                    target.set(mmsi, nav, lat, lon, sog, cog, hdg, time);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Inserts a row of another table, which must not be in this one yet.
+         * Only used before this instance is published.
+         * @param from table holding the row
+         * @param j slot index in that table
+         */
+        void copyRow(Columns from, int j) {
+            int i = find(from.keys[j]);
+            keys[i] = from.keys[j];
+            navStatus[i] = from.navStatus[j];
+            latRaw[i] = from.latRaw[j];
+            lonRaw[i] = from.lonRaw[j];
+            sogTenths[i] = from.sogTenths[j];
+            cogTenths[i] = from.cogTenths[j];
+            heading[i] = from.heading[j];
+            updateTime[i] = from.updateTime[j];
+            size++;
+        }
+
+        /**
+         * @return table with twice the slots and the same rows
+         */
+        Columns grow() {
+            Columns grown = new Columns(keys.length * 2);
+            for (int j = 0; j < keys.length; j++) {
+                if (keys[j] != 0) grown.copyRow(this, j);
+            }
+            return grown;
+        }
+    }
+}
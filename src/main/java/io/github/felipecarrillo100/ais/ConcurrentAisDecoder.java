@@ -0,0 +1,191 @@
+package io.github.felipecarrillo100.ais;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread-safe AIS decoder that can be fed from several receiver threads at once.
+ * Single-part sentences are decoded without any locking, using per-thread scanners and
+ * bit buffers. Multipart reassembly state is split into independently locked stripes
+ * selected by source, radio channel and sequential message id, or by caller source and tag block
+ * group, so producers only contend when they deliver fragments of messages that hash to
+ * the same stripe. The reassembly
+ * capacity is divided evenly among the stripes, each evicting its own least recently
+ * updated message when full.
+ * Callbacks may be invoked concurrently from every producer thread and must be thread-safe;
+ * they are registered through the methods shared with {@link AisDecoder}.
+ */
+public class ConcurrentAisDecoder extends AbstractAisDecoder {
+
+    /**
+     * Lock stripes, each one guarding its own multipart assembler.
+     */
+    private final MultipartAssembler[] stripes;
+
+    /**
+     * Per-thread scanner, bit buffer and callback instances.
+     */
+    private final ThreadLocal<DecodeContext> contexts = ThreadLocal.withInitial(DecodeContext::new);
+
+    /**
+     * Creates a decoder with the default multipart timeout and a stripe count
+     * derived from the number of available processors.
+     */
+    public ConcurrentAisDecoder() {
+        this(AisDecoder.DEFAULT_MULTIPART_TIMEOUT_MS, 4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a decoder.
+     * @param multipartTimeoutMs time in milliseconds after which incomplete multipart messages are discarded
+     * @param stripeCount number of multipart lock stripes, rounded up to a power of two
+     * @throws IllegalArgumentException if the timeout is not positive or the stripe count is out of range
+     */
+    public ConcurrentAisDecoder(long multipartTimeoutMs, int stripeCount) {
+        this(multipartTimeoutMs, stripeCount, AisDecoder.DEFAULT_MAX_PENDING_MULTIPARTS);
+    }
+
+    /**
+     * Creates a decoder with a custom reassembly capacity.
+     * @param multipartTimeoutMs time in milliseconds after the last fragment after which incomplete multipart messages are discarded
+     * @param stripeCount number of multipart lock stripes, rounded up to a power of two
+     * @param maxPendingMultiparts maximum number of incomplete multipart messages buffered at once,
+     *        rounded up to a multiple of the stripe count
+     * @throws IllegalArgumentException if the timeout, the stripe count or the capacity is out of range
+     */
+    public ConcurrentAisDecoder(long multipartTimeoutMs, int stripeCount, int maxPendingMultiparts) {
+        super(multipartTimeoutMs, maxPendingMultiparts);
+        if (stripeCount <= 0 || stripeCount > (1 << 16)) {
+            throw new IllegalArgumentException("Stripe count must be between 1 and 65536: " + stripeCount);
+        }
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(multipartTimeoutMs);
+        int n = stripeCount == 1 ? 1 : Integer.highestOneBit((stripeCount - 1) << 1);
+        int perStripe = (maxPendingMultiparts + n - 1) / n;
+        this.stripes = new MultipartAssembler[n];
+        for (int i = 0; i < n; i++) {
+            stripes[i] = new MultipartAssembler(timeoutNanos, perStripe);
+        }
+    }
+
+    /**
+     * Gets the number of multipart lock stripes.
+     * @return stripe count
+     */
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * Gets the number of incomplete multipart messages currently buffered.
+     * @return number of pending multipart messages
+     */
+    public int getPendingMultipartCount() {
+        int count = 0;
+        for (MultipartAssembler stripe : stripes) {
+            synchronized (stripe) {
+                count += stripe.pendingCount();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the maximum number of incomplete multipart messages buffered at once, over all stripes.
+     * @return multipart reassembly capacity
+     */
+    public int getMaxPendingMultiparts() {
+        return stripes.length * stripes[0].capacity();
+    }
+
+    /**
+     * Gets the number of incomplete multipart messages evicted because a stripe's capacity was reached.
+     * @return evicted multipart message count
+     */
+    public long getEvictedMultipartCount() {
+        long count = 0;
+        for (MultipartAssembler stripe : stripes) {
+            synchronized (stripe) {
+                count += stripe.evictedCount();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of incomplete multipart messages discarded because their timeout elapsed.
+     * @return expired multipart message count
+     */
+    public long getExpiredMultipartCount() {
+        long count = 0;
+        for (MultipartAssembler stripe : stripes) {
+            synchronized (stripe) {
+                count += stripe.expiredCount();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of fragments dropped because their fragment number or count was invalid.
+     * @return dropped fragment count
+     */
+    public long getDroppedFragmentCount() {
+        long count = 0;
+        for (MultipartAssembler stripe : stripes) {
+            synchronized (stripe) {
+                count += stripe.droppedCount();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    DecodeContext beginSentence() {
+        return contexts.get();
+    }
+
+    /**
+     * Adds the fragment to the stripe selected by its message key, sweeping the stripe's expired fragments first.
+     */
+    @Override
+    boolean assemble(DecodeContext context, String keySource) {
+        NmeaSentenceScanner scanner = context.scanner;
+        byte[] sentence = scanner.source();
+        int hash = 31 * Objects.hashCode(keySource);
+        if (scanner.hasGroup()) {
+            hash += scanner.groupId();
+        } else {
+            hash += scanner.channel();
+            for (int i = scanner.seqIdStart(); i < scanner.seqIdEnd(); i++) {
+                hash = 31 * hash + (sentence[i] & 0xFF);
+            }
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+
+        MultipartAssembler stripe = stripes[hash & (stripes.length - 1)];
+        synchronized (stripe) {
+            long now = System.nanoTime();
+            if (stripe.hasPending()) stripe.purgeExpired(now);
+            if (!stripe.add(keySource, scanner, context.bits, now)) return false;
+            context.source = stripe.completedSource();
+            context.receiverTime = stripe.completedTagTime();
+            return true;
+        }
+    }
+
+    /**
+     * Discards incomplete multipart messages whose timeout has elapsed, in every stripe.
+     * Each stripe also expires its fragments lazily whenever it receives a new one.
+     */
+    @Override
+    public void purgeExpiredMultiparts() {
+        long now = System.nanoTime();
+        for (MultipartAssembler stripe : stripes) {
+            synchronized (stripe) {
+                stripe.purgeExpired(now);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.felipecarrillo100.ais;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Default {@link SequenceIdAllocator}: hands out ids 0, 1, ..., 9, 0, ... independently
+ * per radio channel, so ten consecutive messages on a channel never share an id.
+ * Channels 'A' and 'B' have their own counters, any other channel shares a third one.
+ * Lock-free and thread-safe; each counter is a single atomic compare-and-set.
+ */
+public final class CyclicSequenceIdAllocator implements SequenceIdAllocator {
+
+    /**
+     * Number of distinct sequential message ids.
+     */
+    public static final int SEQUENCE_ID_COUNT = 10;
+
+    /**
+     * Next id per channel, padded so the counters sit on different cache lines.
+     */
+    private final AtomicIntegerArray next = new AtomicIntegerArray(3 * 16);
+
+    /**
+     * Allocates the next id of the channel's cycle.
+     * @param channel radio channel the message is sent on
+     * @return sequential message id, 0 to 9
+     */
+    @Override
+    public int nextSequenceId(char channel) {
+        int slot = channel == 'A' ? 0 : channel == 'B' ? 16 : 32;
+        return next.getAndUpdate(slot, id -> id == SEQUENCE_ID_COUNT - 1 ? 0 : id + 1);
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.felipecarrillo100.ais;
+
+/**
+ * Reusable per-thread state needed to decode one sentence: the scanner, the payload
+ * bit buffer, the tag block metadata of the message and the reused message instances
+ * and views handed to callbacks.
+ */
+final class DecodeContext {
+
+    /**
+     * Scanner used to tokenize incoming sentences.
+     */
+    final NmeaSentenceScanner scanner = new NmeaSentenceScanner();
+
+    /**
+     * Buffer holding the de-armored payload bits of the message being decoded.
+     */
+    final AisBitBuffer bits = new AisBitBuffer();
+
+    /**
+     * Source of the message being decoded, or null if unknown.
+     */
+    String source;
+
+    /**
+     * Tag block receiver time of the message being decoded, or -1 if none.
+     */
+    long receiverTime = -1;
+
+    /**
+     * Tag block group id of the message being decoded, or -1 if none.
+     */
+    int groupId = -1;
+
+    /**
+     * Instance refilled for every position message in zero-allocation mode.
+     */
+    MutableAisPositionMessage position = new MutableAisPositionMessage();
+
+    /**
+     * View over {@link #bits} handed to position view callbacks.
+     */
+    final AisPositionView positionView = new AisPositionView().wrap(bits);
+
+    /**
+     * View over {@link #bits} handed to static view callbacks.
+     */
+    final AisStaticView staticView = new AisStaticView().wrap(bits);
+
+    /**
+     * View over {@link #bits} handed to binary message handlers.
+     */
+    final AisBinaryMessageView binaryView = new AisBinaryMessageView().wrap(bits);
+}
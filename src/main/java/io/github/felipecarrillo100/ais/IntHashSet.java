@@ -0,0 +1,107 @@
+package io.github.felipecarrillo100.ais;
+
+import java.util.Arrays;
+
+/**
+ * Set of primitive ints held in an open-addressing table with linear probing.
+ * Lookups neither box nor allocate, which keeps membership tests on the decode path cheap.
+ * Zero marks an empty slot, so whether zero itself is a member is tracked separately.
+ * Not thread-safe.
+ */
+final class IntHashSet {
+
+    private int[] table;
+    private int mask;
+    private int size;
+    private boolean containsZero;
+
+    /**
+     * Creates a set sized for the given number of members without resizing.
+     * @param expectedSize expected number of members
+     */
+    IntHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(8, expectedSize * 2 - 1)) << 1;
+        table = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Adds a value.
+     * @param value value to add
+     * @return true if the value was not a member before
+     */
+    boolean add(int value) {
+        if (value == 0) {
+            if (containsZero) return false;
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int i = slot(value);
+        while (table[i] != 0) {
+            if (table[i] == value) return false;
+            i = (i + 1) & mask;
+        }
+        table[i] = value;
+        if (++size * 2 > table.length) resize();
+        return true;
+    }
+
+    /**
+     * Checks whether a value is a member.
+     * @param value value to look up
+     * @return true if the value is a member
+     */
+    boolean contains(int value) {
+        if (value == 0) return containsZero;
+        int i = slot(value);
+        int v;
+        while ((v = table[i]) != 0) {
+            if (v == value) return true;
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of members.
+     * @return member count
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes every member, keeping the table's capacity.
+     */
+    void clear() {
+        Arrays.fill(table, 0);
+        containsZero = false;
+        size = 0;
+    }
+
+    /**
+     * Finds the home slot of a non-zero value.
+     * @param value value
+     * @return index of the first slot to probe
+     */
+    private int slot(int value) {
+        int h = value * 0x9E3779B9;
+        return (h >>> 16 ^ h) & mask;
+    }
+
+    /**
+     * Doubles the table and reinserts every member.
+     */
+    private void resize() {
+        int[] old = table;
+        table = new int[old.length * 2];
+        mask = table.length - 1;
+        for (int value : old) {
+            if (value == 0) continue;
+            int i = slot(value);
+            while (table[i] != 0) i = (i + 1) & mask;
+            table[i] = value;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package io.github.felipecarrillo100.ais;
+
+import java.util.Arrays;
+
+/**
+ * Map from non-zero primitive int keys to int values, held in an open-addressing table
+ * with linear probing. Neither lookups nor updates box or allocate, except when the table grows.
+ * Zero marks an empty slot and cannot be used as a key. Not thread-safe.
+ */
+final class IntIntHashMap {
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * Creates a map sized for the given number of entries without resizing.
+     * @param expectedSize expected number of entries
+     */
+    IntIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(8, expectedSize * 2 - 1)) << 1;
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Gets the value of a key.
+     * @param key non-zero key
+     * @param missing value returned if the key is absent
+     * @return value of the key, or {@code missing}
+     */
+    int get(int key, int missing) {
+        int i = slot(key);
+        int k;
+        while ((k = keys[i]) != 0) {
+            if (k == key) return values[i];
+            i = (i + 1) & mask;
+        }
+        return missing;
+    }
+
+    /**
+     * Sets the value of a key.
+     * @param key non-zero key
+     * @param value value
+     */
+    void put(int key, int value) {
+        int i = slot(key);
+        int k;
+        while ((k = keys[i]) != 0) {
+            if (k == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 2 > keys.length) resize();
+    }
+
+    /**
+     * Removes a key, shifting the entries probed after it back so no tombstone is left.
+     * @param key non-zero key
+     * @param missing value returned if the key is absent
+     * @return value the key had, or {@code missing}
+     */
+    int remove(int key, int missing) {
+        int i = slot(key);
+        int k;
+        while ((k = keys[i]) != key) {
+            if (k == 0) return missing;
+            i = (i + 1) & mask;
+        }
+        int removed = values[i];
+        int gap = i;
+        while (true) {
+            i = (i + 1) & mask;
+            k = keys[i];
+            if (k == 0) break;
+            // Move the entry into the gap unless its home slot lies cyclically after the gap
+            int home = slot(k);
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = k;
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = 0;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Gets the number of entries.
+     * @return entry count
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes every entry, keeping the table's capacity.
+     */
+    void clear() {
+        Arrays.fill(keys, 0);
+        size = 0;
+    }
+
+    /**
+     * Finds the home slot of a key.
+     * @param key non-zero key
+     * @return index of the first slot to probe
+     */
+    private int slot(int key) {
+        int h = key * 0x9E3779B9;
+        return (h >>> 16 ^ h) & mask;
+    }
+
+    /**
+     * Doubles the table and reinserts every entry.
+     */
+    private void resize() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[keys.length];
+        mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            int key = oldKeys[j];
+            if (key == 0) continue;
+            int i = slot(key);
+            while (keys[i] != 0) i = (i + 1) & mask;
+            keys[i] = key;
+            values[i] = oldValues[j];
+        }
+    }
+}
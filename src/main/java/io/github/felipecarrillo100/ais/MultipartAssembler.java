@@ -0,0 +1,454 @@
+package io.github.felipecarrillo100.ais;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Reassembles multipart AIS messages from their fragments.
+ * Messages are keyed by source, radio channel, sequential message id and fragment count,
+ * so interleaved messages from different channels or receivers do not mix. Sentences
+ * carrying an NMEA 4 tag block group are keyed by group id instead, which unlike the ten
+ * sequential message ids are not reused within a short time, and by the source given by the
+ * caller only: feeds usually put the tag block source on the first fragment of a group alone.
+ * The first tag block source and time among a message's fragments are kept for the completed message.
+ * Incomplete messages live in a fixed number of slots whose arrays are allocated once and
+ * reused. When every slot is taken, the least recently updated message is evicted.
+ * A message is discarded once the timeout has elapsed since its last fragment; expiry is
+ * done lazily by the caller, so no timer threads are involved. Not thread-safe.
+ */
+final class MultipartAssembler {
+
+    /**
+     * Largest fragment count accepted, a single digit as in NMEA 0183.
+     */
+    static final int MAX_FRAGMENTS = 9;
+
+    /**
+     * Initial bytes reserved per fragment in a slot, enough for a standard sentence payload.
+     */
+    private static final int INITIAL_FRAGMENT_CAPACITY = 64;
+
+    /**
+     * Marks an empty hash table entry or the end of a slot list.
+     */
+    private static final int NONE = -1;
+
+    /**
+     * Timeout in nanoseconds after which incomplete multipart buffers are discarded.
+     */
+    private final long timeoutNanos;
+
+    /**
+     * Packed channel, fragment count and sequence id of each slot's message.
+     */
+    private final long[] keys;
+
+    /**
+     * Source of each slot's message, may be null.
+     */
+    private final String[] sources;
+
+    /**
+     * Fragment payloads of each slot, one region per fragment number.
+     */
+    private final byte[][] data;
+
+    /**
+     * Bytes reserved per fragment region in each slot's data array.
+     */
+    private final int[] regionSizes;
+
+    /**
+     * Payload length of each fragment, indexed by slot * MAX_FRAGMENTS + part - 1.
+     */
+    private final int[] fragmentLengths;
+
+    /**
+     * Bit set of the fragment numbers received per slot.
+     */
+    private final int[] receivedMasks;
+
+    /**
+     * Fill bits declared by the last fragment of each slot's message.
+     */
+    private final int[] fillBits;
+
+    /**
+     * First tag block source received for each slot's message, or null.
+     */
+    private final String[] tagSources;
+
+    /**
+     * First tag block time received for each slot's message, or -1.
+     */
+    private final long[] tagTimes;
+
+    /**
+     * Time, from {@link System#nanoTime()}, at which each slot's message expires.
+     */
+    private final long[] deadlines;
+
+    /**
+     * Links of the recency list of used slots, and of the free list through {@link #next}.
+     */
+    private final int[] prev;
+    private final int[] next;
+
+    /**
+     * Open addressing hash table of slot indices, linear probing.
+     */
+    private final int[] table;
+
+    /**
+     * Most and least recently updated used slots.
+     */
+    private int head = NONE;
+    private int tail = NONE;
+
+    /**
+     * First free slot.
+     */
+    private int free;
+
+    private int pending;
+    private long evicted;
+    private long expired;
+    private long dropped;
+    private long completedTagTime = -1;
+    private String completedSource;
+
+    /**
+     * Creates an assembler.
+     * @param timeoutNanos time in nanoseconds after the last fragment after which incomplete messages are discarded
+     * @param capacity maximum number of incomplete messages held at once
+     */
+    MultipartAssembler(long timeoutNanos, int capacity) {
+        this.timeoutNanos = timeoutNanos;
+        keys = new long[capacity];
+        sources = new String[capacity];
+        data = new byte[capacity][];
+        regionSizes = new int[capacity];
+        fragmentLengths = new int[capacity * MAX_FRAGMENTS];
+        receivedMasks = new int[capacity];
+        fillBits = new int[capacity];
+        tagSources = new String[capacity];
+        tagTimes = new long[capacity];
+        deadlines = new long[capacity];
+        prev = new int[capacity];
+        next = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            next[i] = i + 1 < capacity ? i + 1 : NONE;
+        }
+        table = new int[Integer.highestOneBit(capacity * 2 - 1) << 1];
+        Arrays.fill(table, NONE);
+    }
+
+    /**
+     * Adds the fragment just accepted by a scanner. When it completes its message, the
+     * reassembled payload is de-armored into the given bit buffer and the slot is released.
+     * Fragments numbered outside 1 to the fragment count, or of messages with more than
+     * {@link #MAX_FRAGMENTS} fragments, are dropped.
+     * @param source source the message is keyed by, may be null: for fragments with a tag block
+     *        group, the source given by the caller only; otherwise the source of the sentence
+     * @param scanner scanner holding the fragment
+     * @param bits buffer receiving the reassembled payload bits
+     * @param now current time from {@link System#nanoTime()}
+     * @return true if the message is complete and its bits were written
+     */
+    boolean add(String source, NmeaSentenceScanner scanner, AisBitBuffer bits, long now) {
+        int total = scanner.total();
+        int part = scanner.part();
+        if (total < 2 || total > MAX_FRAGMENTS || part < 1 || part > total) {
+            dropped++;
+            return false;
+        }
+        long key = messageKey(scanner);
+        int hash = hash(key, source);
+        int slot = find(key, source, hash);
+        if (slot == NONE) {
+            slot = allocate(key, source, hash);
+        } else {
+            unlink(slot);
+        }
+        linkFirst(slot);
+        deadlines[slot] = now + timeoutNanos;
+
+        byte[] sentence = scanner.source();
+        int length = scanner.payloadEnd() - scanner.payloadStart();
+        if (length > regionSizes[slot]) growRegions(slot, length);
+        System.arraycopy(sentence, scanner.payloadStart(), data[slot], (part - 1) * regionSizes[slot], length);
+        fragmentLengths[slot * MAX_FRAGMENTS + part - 1] = length;
+        receivedMasks[slot] |= 1 << (part - 1);
+        if (part == total) {
+            fillBits[slot] = scanner.fillBits();
+        }
+        if (tagTimes[slot] < 0) {
+            tagTimes[slot] = scanner.tagTime();
+        }
+        if (tagSources[slot] == null) {
+            tagSources[slot] = scanner.tagSource();
+        }
+
+        if (receivedMasks[slot] != (1 << total) - 1) return false;
+        bits.clear();
+        int region = regionSizes[slot];
+        for (int i = 0; i < total; i++) {
+            int start = i * region;
+            bits.appendArmored(data[slot], start, start + fragmentLengths[slot * MAX_FRAGMENTS + i]);
+        }
+        bits.trimFillBits(fillBits[slot] == 6 ? 0 : fillBits[slot]);
+        completedTagTime = tagTimes[slot];
+        completedSource = sources[slot] != null ? sources[slot] : tagSources[slot];
+        release(slot, hash);
+        return true;
+    }
+
+    /**
+     * @return true if incomplete messages are buffered
+     */
+    boolean hasPending() {
+        return pending > 0;
+    }
+
+    /**
+     * @return first tag block time among the fragments of the last completed message, or -1 if none had one
+     */
+    long completedTagTime() {
+        return completedTagTime;
+    }
+
+    /**
+     * @return source of the last completed message: the source it was keyed by, or else the
+     *         first tag block source among its fragments, or null if there is none
+     */
+    String completedSource() {
+        return completedSource;
+    }
+
+    /**
+     * @return number of incomplete multipart messages currently buffered
+     */
+    int pendingCount() {
+        return pending;
+    }
+
+    /**
+     * @return maximum number of incomplete messages held at once
+     */
+    int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * @return number of incomplete messages evicted to make room for new ones
+     */
+    long evictedCount() {
+        return evicted;
+    }
+
+    /**
+     * @return number of incomplete messages discarded because their timeout elapsed
+     */
+    long expiredCount() {
+        return expired;
+    }
+
+    /**
+     * @return number of fragments dropped because of invalid fragment numbers
+     */
+    long droppedCount() {
+        return dropped;
+    }
+
+    /**
+     * Discards the messages whose timeout has elapsed. Since every fragment moves its
+     * message to the front of the recency list, expired messages are found at its end
+     * and only those are visited.
+     * @param now current time from {@link System#nanoTime()}
+     */
+    void purgeExpired(long now) {
+        while (tail != NONE && deadlines[tail] - now <= 0) {
+            int slot = tail;
+            release(slot, hash(keys[slot], sources[slot]));
+            expired++;
+        }
+    }
+
+    /**
+     * Gets the key a scanned fragment is buffered under, alongside the source given to {@link #add}:
+     * its tag block group if it has one, else its channel and sequential message id.
+     * @param scanner scanner holding the fragment
+     * @return packed key
+     */
+    static long messageKey(NmeaSentenceScanner scanner) {
+        return scanner.hasGroup() ? groupKey(scanner) : key(scanner);
+    }
+
+    /**
+     * Packs the channel, fragment count and sequence id of a scanned fragment into a key.
+     * Sequence ids of up to six bytes are packed exactly, longer ones are folded into a hash.
+     * @param scanner scanner holding the fragment
+     * @return packed key
+     */
+    private static long key(NmeaSentenceScanner scanner) {
+        byte[] sentence = scanner.source();
+        int start = scanner.seqIdStart();
+        int length = scanner.seqIdEnd() - start;
+        long seq = 0;
+        if (length <= 6) {
+            for (int i = 0; i < length; i++) {
+                seq = seq << 8 | (sentence[start + i] & 0xFF);
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                seq = seq * 31 + (sentence[start + i] & 0xFF);
+            }
+            seq &= 0xFFFFFFFFFFFFL;
+            length = 7;
+        }
+        return (long) scanner.channel() << 56 | (long) scanner.total() << 52 | (long) length << 48 | seq;
+    }
+
+    /**
+     * Packs the fragment count and tag block group id of a scanned fragment into a key.
+     * The top byte can never be a channel, so group keys do not collide with sequence id keys.
+     * @param scanner scanner holding the fragment
+     * @return packed key
+     */
+    private static long groupKey(NmeaSentenceScanner scanner) {
+        return 0xFFL << 56 | (long) scanner.total() << 52 | scanner.groupId();
+    }
+
+    /**
+     * @param key packed key
+     * @param source source, may be null
+     * @return well mixed hash of the full key
+     */
+    private static int hash(long key, String source) {
+        long h = key * 0x9E3779B97F4A7C15L + Objects.hashCode(source);
+        h ^= h >>> 31;
+        h *= 0xBF58476D1CE4E5B9L;
+        return (int) (h ^ h >>> 32);
+    }
+
+    /**
+     * Looks up the slot of a message.
+     * @param key packed key
+     * @param source source, may be null
+     * @param hash hash of the key
+     * @return slot index, or NONE if the message is not buffered
+     */
+    private int find(long key, String source, int hash) {
+        int mask = table.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            int slot = table[i];
+            if (slot == NONE) return NONE;
+            if (keys[slot] == key && Objects.equals(sources[slot], source)) return slot;
+        }
+    }
+
+    /**
+     * Takes a free slot for a new message, evicting the least recently updated one if none is free.
+     * @param key packed key
+     * @param source source, may be null
+     * @param hash hash of the key
+     * @return slot index, not linked into the recency list
+     */
+    private int allocate(long key, String source, int hash) {
+        if (free == NONE) {
+            int victim = tail;
+            release(victim, hash(keys[victim], sources[victim]));
+            evicted++;
+        }
+        int slot = free;
+        free = next[slot];
+        keys[slot] = key;
+        sources[slot] = source;
+        receivedMasks[slot] = 0;
+        fillBits[slot] = 0;
+        tagSources[slot] = null;
+        tagTimes[slot] = -1;
+        if (data[slot] == null) {
+            regionSizes[slot] = INITIAL_FRAGMENT_CAPACITY;
+            data[slot] = new byte[INITIAL_FRAGMENT_CAPACITY * MAX_FRAGMENTS];
+        }
+        int mask = table.length - 1;
+        int i = hash & mask;
+        while (table[i] != NONE) i = (i + 1) & mask;
+        table[i] = slot;
+        pending++;
+        return slot;
+    }
+
+    /**
+     * Removes a message from the hash table and the recency list and returns its slot to the free list.
+     * @param slot slot index
+     * @param hash hash of the slot's key
+     */
+    private void release(int slot, int hash) {
+        int mask = table.length - 1;
+        int i = hash & mask;
+        while (table[i] != slot) i = (i + 1) & mask;
+        // Backward shift deletion keeps every probe sequence unbroken
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            int moved = table[j];
+            if (moved == NONE) break;
+            int home = hash(keys[moved], sources[moved]) & mask;
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                table[i] = moved;
+                i = j;
+            }
+        }
+        table[i] = NONE;
+        unlink(slot);
+        sources[slot] = null;
+        tagSources[slot] = null;
+        next[slot] = free;
+        free = slot;
+        pending--;
+    }
+
+    /**
+     * Doubles the fragment regions of a slot until they hold the given length, keeping received fragments.
+     * @param slot slot index
+     * @param length required region size
+     */
+    private void growRegions(int slot, int length) {
+        int old = regionSizes[slot];
+        int size = old;
+        while (size < length) size *= 2;
+        byte[] grown = new byte[size * MAX_FRAGMENTS];
+        for (int i = 0; i < MAX_FRAGMENTS; i++) {
+            if ((receivedMasks[slot] & (1 << i)) != 0) {
+                System.arraycopy(data[slot], i * old, grown, i * size, fragmentLengths[slot * MAX_FRAGMENTS + i]);
+            }
+        }
+        data[slot] = grown;
+        regionSizes[slot] = size;
+    }
+
+    /**
+     * Inserts a slot at the front of the recency list.
+     * @param slot slot index
+     */
+    private void linkFirst(int slot) {
+        prev[slot] = NONE;
+        next[slot] = head;
+        if (head != NONE) prev[head] = slot;
+        head = slot;
+        if (tail == NONE) tail = slot;
+    }
+
+    /**
+     * Removes a slot from the recency list.
+     * @param slot slot index
+     */
+    private void unlink(int slot) {
+        int p = prev[slot];
+        int n = next[slot];
+        if (p != NONE) next[p] = n; else head = n;
+        if (n != NONE) prev[n] = p; else tail = p;
+    }
+}
@@ -0,0 +1,398 @@
+package io.github.felipecarrillo100.ais;
+
+/**
+ * Reusable, mutable AIS Position Message (Type 1, 2, or 3) with primitive fields.
+ * Used by the zero-allocation decode mode: the decoder refills the same instance for
+ * every message, so callbacks must copy whatever they need before returning.
+ * Fields that are not available hold the AIS "not available" values, exposed as
+ * constants and checked by the {@code isXxxAvailable()} methods.
+ */
+public class MutableAisPositionMessage {
+
+    /**
+     * Rate of turn value meaning no turn information available.
+     */
+    public static final int RATE_OF_TURN_NOT_AVAILABLE = -128;
+
+    /**
+     * Speed over ground value (knots) meaning not available.
+     */
+    public static final double SOG_NOT_AVAILABLE = 102.3;
+
+    /**
+     * Longitude value (degrees) meaning not available.
+     */
+    public static final double LON_NOT_AVAILABLE = 181.0;
+
+    /**
+     * Latitude value (degrees) meaning not available.
+     */
+    public static final double LAT_NOT_AVAILABLE = 91.0;
+
+    /**
+     * Course over ground value (degrees) meaning not available.
+     */
+    public static final double COG_NOT_AVAILABLE = 360.0;
+
+    /**
+     * True heading value meaning not available.
+     */
+    public static final int HEADING_NOT_AVAILABLE = 511;
+
+    /**
+     * UTC second timestamp value meaning not available.
+     */
+    public static final int TIMESTAMP_NOT_AVAILABLE = 60;
+
+    /**
+     * Receiver time value meaning the sentence had no tag block time.
+     */
+    public static final long RECEIVER_TIME_NOT_AVAILABLE = -1;
+
+    /**
+     * Group id value meaning the sentence had no tag block group.
+     */
+    public static final int GROUP_ID_NOT_AVAILABLE = -1;
+
+    private int messageType;
+    private int repeat;
+    private int mmsi;
+    private int navStatus;
+    private int rateOfTurn = RATE_OF_TURN_NOT_AVAILABLE;
+    private double sog = SOG_NOT_AVAILABLE;
+    private boolean accuracy;
+    private double lon = LON_NOT_AVAILABLE;
+    private double lat = LAT_NOT_AVAILABLE;
+    private double cog = COG_NOT_AVAILABLE;
+    private int heading = HEADING_NOT_AVAILABLE;
+    private int timestamp = TIMESTAMP_NOT_AVAILABLE;
+    private int specialManoeuvre;
+    private boolean raim;
+    private int radio;
+    private char channel;
+    private String source;
+    private long receiverTime = RECEIVER_TIME_NOT_AVAILABLE;
+    private int groupId = GROUP_ID_NOT_AVAILABLE;
+
+    /**
+     * Gets the AIS message type number (1, 2 or 3).
+     * @return message type
+     */
+    public int getMessageType() { return messageType; }
+
+    /**
+     * Sets the AIS message type number.
+     * @param messageType message type
+     */
+    public void setMessageType(int messageType) { this.messageType = messageType; }
+
+    /**
+     * Gets the repeat indicator (0-3).
+     * @return repeat indicator
+     */
+    public int getRepeat() { return repeat; }
+
+    /**
+     * Sets the repeat indicator (0-3).
+     * @param repeat repeat indicator
+     */
+    public void setRepeat(int repeat) { this.repeat = repeat; }
+
+    /**
+     * Gets the MMSI (Maritime Mobile Service Identity) number.
+     * @return MMSI number
+     */
+    public int getMmsi() { return mmsi; }
+
+    /**
+     * Sets the MMSI (Maritime Mobile Service Identity) number.
+     * @param mmsi MMSI number
+     */
+    public void setMmsi(int mmsi) { this.mmsi = mmsi; }
+
+    /**
+     * Gets navigation status (0-15), 15 meaning not defined.
+     * @return navigation status
+     */
+    public int getNavStatus() { return navStatus; }
+
+    /**
+     * Sets navigation status (0-15).
+     * @param navStatus navigation status
+     */
+    public void setNavStatus(int navStatus) { this.navStatus = navStatus; }
+
+    /**
+     * Gets rate of turn (ROT) in AIS encoding (-128 to 127).
+     * @return rate of turn, {@link #RATE_OF_TURN_NOT_AVAILABLE} if not available
+     */
+    public int getRateOfTurn() { return rateOfTurn; }
+
+    /**
+     * Sets rate of turn (ROT).
+     * @param rateOfTurn rate of turn
+     */
+    public void setRateOfTurn(int rateOfTurn) { this.rateOfTurn = rateOfTurn; }
+
+    /**
+     * Checks whether rate of turn information is available.
+     * @return true if rate of turn is available
+     */
+    public boolean isRateOfTurnAvailable() { return rateOfTurn != RATE_OF_TURN_NOT_AVAILABLE; }
+
+    /**
+     * Gets speed over ground (SOG) in knots.
+     * @return speed over ground, {@link #SOG_NOT_AVAILABLE} if not available
+     */
+    public double getSog() { return sog; }
+
+    /**
+     * Sets speed over ground (SOG) in knots.
+     * @param sog speed over ground
+     */
+    public void setSog(double sog) { this.sog = sog; }
+
+    /**
+     * Checks whether speed over ground is available.
+     * @return true if speed over ground is available
+     */
+    public boolean isSogAvailable() { return sog < SOG_NOT_AVAILABLE; }
+
+    /**
+     * Gets position accuracy flag.
+     * @return true if accuracy is high
+     */
+    public boolean getAccuracy() { return accuracy; }
+
+    /**
+     * Sets position accuracy flag.
+     * @param accuracy position accuracy
+     */
+    public void setAccuracy(boolean accuracy) { this.accuracy = accuracy; }
+
+    /**
+     * Gets longitude in decimal degrees.
+     * @return longitude, {@link #LON_NOT_AVAILABLE} if not available
+     */
+    public double getLon() { return lon; }
+
+    /**
+     * Sets longitude in decimal degrees.
+     * @param lon longitude
+     */
+    public void setLon(double lon) { this.lon = lon; }
+
+    /**
+     * Gets latitude in decimal degrees.
+     * @return latitude, {@link #LAT_NOT_AVAILABLE} if not available
+     */
+    public double getLat() { return lat; }
+
+    /**
+     * Sets latitude in decimal degrees.
+     * @param lat latitude
+     */
+    public void setLat(double lat) { this.lat = lat; }
+
+    /**
+     * Checks whether both longitude and latitude are available.
+     * @return true if the position is available
+     */
+    public boolean isPositionAvailable() { return lon < LON_NOT_AVAILABLE && lat < LAT_NOT_AVAILABLE; }
+
+    /**
+     * Gets course over ground (COG) in degrees.
+     * @return course over ground, {@link #COG_NOT_AVAILABLE} if not available
+     */
+    public double getCog() { return cog; }
+
+    /**
+     * Sets course over ground (COG) in degrees.
+     * @param cog course over ground
+     */
+    public void setCog(double cog) { this.cog = cog; }
+
+    /**
+     * Checks whether course over ground is available.
+     * @return true if course over ground is available
+     */
+    public boolean isCogAvailable() { return cog < COG_NOT_AVAILABLE; }
+
+    /**
+     * Gets true heading in degrees (0-359).
+     * @return heading, {@link #HEADING_NOT_AVAILABLE} if not available
+     */
+    public int getHeading() { return heading; }
+
+    /**
+     * Sets true heading in degrees.
+     * @param heading heading
+     */
+    public void setHeading(int heading) { this.heading = heading; }
+
+    /**
+     * Checks whether true heading is available.
+     * @return true if heading is available
+     */
+    public boolean isHeadingAvailable() { return heading != HEADING_NOT_AVAILABLE; }
+
+    /**
+     * Gets UTC second timestamp (0-59).
+     * @return timestamp seconds, 60 or above if not available
+     */
+    public int getTimestamp() { return timestamp; }
+
+    /**
+     * Sets UTC second timestamp.
+     * @param timestamp timestamp seconds
+     */
+    public void setTimestamp(int timestamp) { this.timestamp = timestamp; }
+
+    /**
+     * Gets special manoeuvre indicator (0-3).
+     * @return special manoeuvre
+     */
+    public int getSpecialManoeuvre() { return specialManoeuvre; }
+
+    /**
+     * Sets special manoeuvre indicator.
+     * @param specialManoeuvre special manoeuvre
+     */
+    public void setSpecialManoeuvre(int specialManoeuvre) { this.specialManoeuvre = specialManoeuvre; }
+
+    /**
+     * Gets RAIM flag.
+     * @return true if RAIM is in use
+     */
+    public boolean getRaim() { return raim; }
+
+    /**
+     * Sets RAIM flag.
+     * @param raim RAIM usage flag
+     */
+    public void setRaim(boolean raim) { this.raim = raim; }
+
+    /**
+     * Gets radio status field.
+     * @return radio status
+     */
+    public int getRadio() { return radio; }
+
+    /**
+     * Sets radio status field.
+     * @param radio radio status
+     */
+    public void setRadio(int radio) { this.radio = radio; }
+
+    /**
+     * Gets the VHF channel used to send this message.
+     * @return 'A' or 'B', or 0 if unknown
+     */
+    public char getChannel() { return channel; }
+
+    /**
+     * Sets the VHF channel used to send this message.
+     * @param channel 'A' or 'B', or 0 if unknown
+     */
+    public void setChannel(char channel) { this.channel = channel; }
+
+    /**
+     * Gets the source the message was received from, see {@link AisTagBlockFields#getSource()}.
+     * @return source, or null if unknown
+     */
+    public String getSource() { return source; }
+
+    /**
+     * Sets the source the message was received from.
+     * @param source source, or null if unknown
+     */
+    public void setSource(String source) { this.source = source; }
+
+    /**
+     * Gets the receiver time from the {@code c:} tag block field: UNIX time, usually in seconds.
+     * @return receiver time, or {@link #RECEIVER_TIME_NOT_AVAILABLE}
+     */
+    public long getReceiverTime() { return receiverTime; }
+
+    /**
+     * Sets the receiver time.
+     * @param receiverTime UNIX time, or {@link #RECEIVER_TIME_NOT_AVAILABLE}
+     */
+    public void setReceiverTime(long receiverTime) { this.receiverTime = receiverTime; }
+
+    /**
+     * Checks if a receiver time is available.
+     * @return true if the sentence had a tag block time
+     */
+    public boolean isReceiverTimeAvailable() { return receiverTime != RECEIVER_TIME_NOT_AVAILABLE; }
+
+    /**
+     * Gets the sentence group id from the {@code g:} tag block field.
+     * @return group id, or {@link #GROUP_ID_NOT_AVAILABLE}
+     */
+    public int getGroupId() { return groupId; }
+
+    /**
+     * Sets the sentence group id.
+     * @param groupId group id, or {@link #GROUP_ID_NOT_AVAILABLE}
+     */
+    public void setGroupId(int groupId) { this.groupId = groupId; }
+
+    /**
+     * Copies this message into a new boxed {@link AisPositionMessage}, for callers that
+     * need to keep a message beyond the callback.
+     * @return new position message with the same values
+     */
+    public AisPositionMessage toAisPositionMessage() {
+        AisPositionMessage msg = new AisPositionMessage();
+        msg.setMessageType(messageType);
+        msg.setRepeat(repeat);
+        msg.setMmsi(mmsi);
+        msg.setNavStatus(navStatus);
+        msg.setRateOfTurn(rateOfTurn);
+        msg.setSog(sog);
+        msg.setAccuracy(accuracy);
+        msg.setLon(lon);
+        msg.setLat(lat);
+        msg.setCog(cog);
+        msg.setHeading(heading);
+        msg.setTimestamp(timestamp);
+        msg.setSpecialManoeuvre(specialManoeuvre);
+        msg.setRaim(raim);
+        msg.setRadio(radio);
+        msg.setChannel(channel == 0 ? null : String.valueOf(channel));
+        msg.setSource(source);
+        msg.setReceiverTime(isReceiverTimeAvailable() ? receiverTime : null);
+        msg.setGroupId(groupId == GROUP_ID_NOT_AVAILABLE ? null : groupId);
+        return msg;
+    }
+
+    /**
+     * Returns a string representation of the AIS position message.
+     * @return string representation
+     */
+    @Override
+    public String toString() {
+        return "MutableAisPositionMessage{" +
+                "messageType=" + messageType +
+                ", repeat=" + repeat +
+                ", mmsi=" + mmsi +
+                ", navStatus=" + navStatus +
+                ", rateOfTurn=" + rateOfTurn +
+                ", sog=" + sog +
+                ", accuracy=" + accuracy +
+                ", lon=" + lon +
+                ", lat=" + lat +
+                ", cog=" + cog +
+                ", heading=" + heading +
+                ", timestamp=" + timestamp +
+                ", specialManoeuvre=" + specialManoeuvre +
+                ", raim=" + raim +
+                ", radio=" + radio +
+                ", channel='" + channel + '\'' +
+                ", source='" + source + '\'' +
+                ", receiverTime=" + receiverTime +
+                ", groupId=" + groupId +
+                '}';
+    }
+}
@@ -0,0 +1,454 @@
+package io.github.felipecarrillo100.ais;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Single-pass scanner for AIS NMEA sentences (!AIVDM / !AIVDO).
+ * Locates the comma separated fields, parses the numeric fields in place
+ * and computes the XOR checksum while scanning, without allocating.
+ * Accepts exactly the sentences matched by the pattern
+ * {@code ^!(AIVDM|AIVDO),(\d+),(\d+),([^,]*),([AB]),([^,]*),(\d+)\*([0-9A-Fa-f]{2})}
+ * whose checksum is valid, optionally preceded by an NMEA 4 tag block such as
+ * {@code \s:station,c:1700000000,g:1-2-1234*hh\} whose own checksum is valid.
+ * The source ({@code s:}), UNIX time ({@code c:}) and sentence group ({@code g:}) tag fields
+ * are parsed in the same pass; other tag fields are skipped.
+ * Sentences are scanned as ASCII bytes; field positions are absolute indices into the
+ * scanned array. Instances are reusable but not thread-safe.
+ */
+final class NmeaSentenceScanner {
+
+    /**
+     * Maximum number of digits accepted in a numeric field, keeps values within int range.
+     */
+    private static final int MAX_DIGITS = 9;
+
+    /**
+     * Maximum number of digits accepted in a tag block time, keeps values within long range.
+     */
+    private static final int MAX_TIME_DIGITS = 18;
+
+    /**
+     * Number of entries in the tag source cache, a power of two.
+     */
+    private static final int SOURCE_CACHE_SIZE = 64;
+
+    /**
+     * Scratch copy of sentences that are not scanned in place.
+     */
+    private byte[] line = new byte[96];
+
+    /**
+     * Array holding the last scanned sentence, field indices refer to it.
+     */
+    private byte[] source = line;
+
+    private int total;
+    private int part;
+    private int seqIdStart;
+    private int seqIdEnd;
+    private char channel;
+    private int payloadStart;
+    private int payloadEnd;
+    private int fillBits;
+    private int tagSourceStart;
+    private int tagSourceEnd;
+    private long tagTime;
+    private int groupPart;
+    private int groupTotal;
+    private int groupId;
+
+    /**
+     * Recently seen tag sources, so that a feed's few station names are not turned into
+     * a new String for every sentence.
+     */
+    private final String[] sourceCache = new String[SOURCE_CACHE_SIZE];
+
+    /**
+     * Scans a character sentence. The characters are copied into a reused scratch array,
+     * so field indices are the same as indices into the sequence.
+     * @param s sentence to scan
+     * @return true if the sentence is well formed and its checksum matches
+     */
+    boolean scan(CharSequence s) {
+        int n = s.length();
+        byte[] dst = scratch(n);
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            // Not a valid NMEA character and not representable as a byte
+            if (c > 0xFF) return false;
+            dst[i] = (byte) c;
+        }
+        return scan(dst, 0, n);
+    }
+
+    /**
+     * Scans the remaining bytes of a buffer without changing its position.
+     * Array backed buffers are scanned in place, others are copied into a reused scratch array,
+     * in both cases field indices refer to {@link #source()}.
+     * @param buffer buffer holding the sentence between its position and limit
+     * @return true if the sentence is well formed and its checksum matches
+     */
+    boolean scan(ByteBuffer buffer) {
+        int position = buffer.position();
+        int n = buffer.remaining();
+        if (buffer.hasArray()) {
+            return scan(buffer.array(), buffer.arrayOffset() + position, n);
+        }
+        byte[] dst = scratch(n);
+        buffer.get(dst, 0, n);
+        buffer.position(position);
+        return scan(dst, 0, n);
+    }
+
+    /**
+     * Returns the scratch array, grown to hold at least the given number of bytes.
+     * @param n required capacity
+     * @return scratch array
+     */
+    private byte[] scratch(int n) {
+        if (line.length < n) line = Arrays.copyOf(line, Math.max(n, line.length * 2));
+        return line;
+    }
+
+    /**
+     * Scans a sentence, filling this scanner's fields on success.
+     * Trailing characters after the checksum are ignored.
+     * @param s array holding the sentence bytes
+     * @param offset index of the first byte of the sentence
+     * @param length number of bytes in the sentence
+     * @return true if the sentence is well formed and its checksum matches
+     */
+    boolean scan(byte[] s, int offset, int length) {
+        source = s;
+        int end = offset + length;
+        while (end > offset && (s[end - 1] & 0xFF) <= ' ') end--;
+        tagSourceStart = -1;
+        tagSourceEnd = -1;
+        tagTime = -1;
+        groupTotal = 0;
+        if (end > offset && s[offset] == '\\') {
+            offset = scanTagBlock(s, offset + 1, end);
+            if (offset < 0) return false;
+        }
+        if (end - offset < 7 || s[offset] != '!') return false;
+
+        int checksum = 0;
+        // The checksum always covers the characters up to the first '*'
+        int firstStar = -1;
+        int checksumAtStar = 0;
+        int i = offset + 1;
+
+        // Talker and formatter: AIVDM or AIVDO
+        if (s[i] != 'A' || s[i + 1] != 'I' || s[i + 2] != 'V' || s[i + 3] != 'D') return false;
+        int formatter = s[i + 4];
+        if (formatter != 'M' && formatter != 'O') return false;
+        checksum ^= 'A' ^ 'I' ^ 'V' ^ 'D' ^ formatter;
+        i += 5;
+
+        // Fragment count
+        if (i >= end || s[i] != ',') return false;
+        checksum ^= ',';
+        i++;
+        int value = 0;
+        int digits = 0;
+        int c;
+        while (i < end && (c = s[i] & 0xFF) >= '0' && c <= '9') {
+            value = value * 10 + (c - '0');
+            checksum ^= c;
+            i++;
+            if (++digits > MAX_DIGITS) return false;
+        }
+        if (digits == 0) return false;
+        total = value;
+
+        // Fragment number
+        if (i >= end || s[i] != ',') return false;
+        checksum ^= ',';
+        i++;
+        value = 0;
+        digits = 0;
+        while (i < end && (c = s[i] & 0xFF) >= '0' && c <= '9') {
+            value = value * 10 + (c - '0');
+            checksum ^= c;
+            i++;
+            if (++digits > MAX_DIGITS) return false;
+        }
+        if (digits == 0) return false;
+        part = value;
+
+        // Sequential message id (may be empty)
+        if (i >= end || s[i] != ',') return false;
+        checksum ^= ',';
+        i++;
+        seqIdStart = i;
+        while (i < end && (c = s[i] & 0xFF) != ',') {
+            if (c == '*' && firstStar < 0) {
+                firstStar = i;
+                checksumAtStar = checksum;
+            }
+            checksum ^= c;
+            i++;
+        }
+        seqIdEnd = i;
+
+        // Radio channel
+        if (i + 2 >= end) return false;
+        checksum ^= ',';
+        c = s[i + 1];
+        if (c != 'A' && c != 'B') return false;
+        channel = (char) c;
+        checksum ^= c;
+        if (s[i + 2] != ',') return false;
+        checksum ^= ',';
+        i += 3;
+
+        // Armored payload (may be empty)
+        payloadStart = i;
+        while (i < end && (c = s[i] & 0xFF) != ',') {
+            if (c == '*' && firstStar < 0) {
+                firstStar = i;
+                checksumAtStar = checksum;
+            }
+            checksum ^= c;
+            i++;
+        }
+        payloadEnd = i;
+
+        // Fill bits
+        if (i >= end) return false;
+        checksum ^= ',';
+        i++;
+        value = 0;
+        digits = 0;
+        while (i < end && (c = s[i] & 0xFF) >= '0' && c <= '9') {
+            value = value * 10 + (c - '0');
+            checksum ^= c;
+            i++;
+            if (++digits > MAX_DIGITS) return false;
+        }
+        if (digits == 0) return false;
+        fillBits = value;
+
+        // Checksum
+        if (i + 2 >= end || s[i] != '*') return false;
+        if (hexValue(s[i + 1]) < 0 || hexValue(s[i + 2]) < 0) return false;
+        if (firstStar < 0) {
+            firstStar = i;
+            checksumAtStar = checksum;
+        }
+        int hi = hexValue(s[firstStar + 1]);
+        int lo = hexValue(s[firstStar + 2]);
+        if (hi < 0 || lo < 0) return false;
+        return ((hi << 4) | lo) == checksumAtStar;
+    }
+
+    /**
+     * Scans a tag block and its checksum, recording the source, time and group fields.
+     * @param s array holding the sentence bytes
+     * @param start index just after the opening backslash
+     * @param end end of the sentence (exclusive)
+     * @return index just after the closing backslash, or -1 if the tag block is malformed
+     */
+    private int scanTagBlock(byte[] s, int start, int end) {
+        int checksum = 0;
+        int i = start;
+        int c;
+        while (i < end && (c = s[i] & 0xFF) != '*') {
+            if (c == '\\') return -1;
+            checksum ^= c;
+            i++;
+        }
+        if (i + 3 >= end || s[i + 3] != '\\') return -1;
+        int hi = hexValue(s[i + 1]);
+        int lo = hexValue(s[i + 2]);
+        if (hi < 0 || lo < 0 || ((hi << 4) | lo) != checksum) return -1;
+
+        int fieldsEnd = i;
+        int field = start;
+        while (field < fieldsEnd) {
+            int fieldEnd = field;
+            while (fieldEnd < fieldsEnd && s[fieldEnd] != ',') fieldEnd++;
+            if (fieldEnd - field >= 2 && s[field + 1] == ':') {
+                int value = field + 2;
+                switch (s[field]) {
+                    case 's':
+                        tagSourceStart = value;
+                        tagSourceEnd = fieldEnd;
+                        break;
+                    case 'c':
+                        tagTime = parseTime(s, value, fieldEnd);
+                        break;
+                    case 'g':
+                        parseGroup(s, value, fieldEnd);
+                        break;
+                    default:
+                        break;
+                }
+            }
+            field = fieldEnd + 1;
+        }
+        return i + 4;
+    }
+
+    /**
+     * Parses the value of a {@code c:} tag field.
+     * @param s array holding the sentence bytes
+     * @param start start of the value (inclusive)
+     * @param end end of the value (exclusive)
+     * @return the time, or -1 if the value is not a number
+     */
+    private static long parseTime(byte[] s, int start, int end) {
+        if (start == end || end - start > MAX_TIME_DIGITS) return -1;
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int c = s[i] & 0xFF;
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Parses the value of a {@code g:} tag field, {@code part-total-id}.
+     * The group is left unset if the value is malformed.
+     * @param s array holding the sentence bytes
+     * @param start start of the value (inclusive)
+     * @param end end of the value (exclusive)
+     */
+    private void parseGroup(byte[] s, int start, int end) {
+        int i = start;
+        int part = 0;
+        int total = 0;
+        int id = 0;
+        for (int field = 0; field < 3; field++) {
+            if (field > 0) {
+                if (i >= end || s[i] != '-') return;
+                i++;
+            }
+            int value = 0;
+            int digits = 0;
+            int c;
+            while (i < end && (c = s[i] & 0xFF) >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                i++;
+                if (++digits > MAX_DIGITS) return;
+            }
+            if (digits == 0) return;
+            if (field == 0) part = value;
+            else if (field == 1) total = value;
+            else id = value;
+        }
+        if (i != end || total == 0) return;
+        groupPart = part;
+        groupTotal = total;
+        groupId = id;
+    }
+
+    /**
+     * Converts a hexadecimal digit to its value.
+     * @param c character to convert
+     * @return value 0-15, or -1 if c is not a hexadecimal digit
+     */
+    private static int hexValue(byte c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        return -1;
+    }
+
+    /**
+     * @return array holding the last scanned sentence
+     */
+    byte[] source() { return source; }
+
+    /**
+     * @return total number of fragments of the message
+     */
+    int total() { return total; }
+
+    /**
+     * @return fragment number of this sentence (1-based)
+     */
+    int part() { return part; }
+
+    /**
+     * @return start index (inclusive) of the sequential message id field
+     */
+    int seqIdStart() { return seqIdStart; }
+
+    /**
+     * @return end index (exclusive) of the sequential message id field
+     */
+    int seqIdEnd() { return seqIdEnd; }
+
+    /**
+     * @return radio channel, 'A' or 'B'
+     */
+    char channel() { return channel; }
+
+    /**
+     * @return start index (inclusive) of the armored payload
+     */
+    int payloadStart() { return payloadStart; }
+
+    /**
+     * @return end index (exclusive) of the armored payload
+     */
+    int payloadEnd() { return payloadEnd; }
+
+    /**
+     * @return number of fill bits declared by the sentence
+     */
+    int fillBits() { return fillBits; }
+
+    /**
+     * Gets the tag block source of the sentence. Recently seen sources are returned
+     * as the same String instance without allocating.
+     * @return value of the {@code s:} tag field, or null if there is none
+     */
+    String tagSource() {
+        if (tagSourceStart < 0) return null;
+        int length = tagSourceEnd - tagSourceStart;
+        int hash = length;
+        for (int i = tagSourceStart; i < tagSourceEnd; i++) {
+            hash = 31 * hash + (source[i] & 0xFF);
+        }
+        int index = (hash ^ (hash >>> 16)) & (SOURCE_CACHE_SIZE - 1);
+        String cached = sourceCache[index];
+        if (cached != null && cached.length() == length) {
+            int i = 0;
+            while (i < length && cached.charAt(i) == (source[tagSourceStart + i] & 0xFF)) i++;
+            if (i == length) return cached;
+        }
+        String value = new String(source, tagSourceStart, length, StandardCharsets.ISO_8859_1);
+        sourceCache[index] = value;
+        return value;
+    }
+
+    /**
+     * @return value of the {@code c:} tag field, or -1 if there is none
+     */
+    long tagTime() { return tagTime; }
+
+    /**
+     * @return true if the sentence carries a {@code g:} tag field
+     */
+    boolean hasGroup() { return groupTotal > 0; }
+
+    /**
+     * @return sentence number within the tag block group (1-based)
+     */
+    int groupPart() { return groupPart; }
+
+    /**
+     * @return number of sentences in the tag block group
+     */
+    int groupTotal() { return groupTotal; }
+
+    /**
+     * @return tag block group id
+     */
+    int groupId() { return groupId; }
+}
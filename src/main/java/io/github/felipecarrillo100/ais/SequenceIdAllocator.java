@@ -0,0 +1,19 @@
+package io.github.felipecarrillo100.ais;
+
+/**
+ * Supplies the sequential message ids written into encoded sentences.
+ * Fragments of one multipart message share an id, and receivers tell interleaved
+ * multipart messages apart by it, so messages sent close together on the same
+ * radio channel should get different ids.
+ * Implementations used by several encoders at once must be thread-safe.
+ */
+@FunctionalInterface
+public interface SequenceIdAllocator {
+
+    /**
+     * Allocates the sequential message id for the next message on a channel.
+     * @param channel radio channel the message is sent on, usually 'A' or 'B'
+     * @return sequential message id, 0 to 9
+     */
+    int nextSequenceId(char channel);
+}
@@ -0,0 +1,230 @@
+package io.github.felipecarrillo100.ais;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AisArchiveTest {
+
+    @TempDir
+    Path dir;
+
+    // Helper: builds a position report
+    private AisPositionMessage position(int mmsi, double lat, double lon, long time) {
+        AisPositionMessage msg = new AisPositionMessage();
+        msg.setMessageType(1);
+        msg.setMmsi(mmsi);
+        msg.setNavStatus(5);
+        msg.setRateOfTurn(-12);
+        msg.setSog(12.3);
+        msg.setAccuracy(true);
+        msg.setLat(lat);
+        msg.setLon(lon);
+        msg.setCog(85.5);
+        msg.setHeading(90);
+        msg.setTimestamp(50);
+        msg.setChannel("B");
+        msg.setReceiverTime(time);
+        return msg;
+    }
+
+    @Test
+    public void testDecodedMessagesRoundTrip() throws IOException {
+        Path file = dir.resolve("roundtrip.ais");
+        List<MutableAisPositionMessage> decoded = new ArrayList<>();
+        List<AisStaticMessage> statics = new ArrayList<>();
+        AisStaticMessage staticMessage = new AisStaticMessage();
+        staticMessage.setMmsi(244660000);
+        staticMessage.setImo(9074729);
+        staticMessage.setCallsign("PDXB");
+        staticMessage.setName("NORDIC STAR");
+        staticMessage.setShipType(70);
+        staticMessage.setDimensionToBow(120);
+        staticMessage.setDimensionToStern(30);
+        staticMessage.setDimensionToPort(10);
+        staticMessage.setDimensionToStarboard(12);
+        staticMessage.setEtaMonth(6);
+        staticMessage.setEtaDay(15);
+        staticMessage.setEtaHour(14);
+        staticMessage.setEtaMinute(30);
+        staticMessage.setDraught(7.5);
+        staticMessage.setDestination("ROTTERDAM");
+        staticMessage.setChannel("A");
+
+        try (AisArchiveWriter writer = new AisArchiveWriter(file, 16, () -> 1700000000L)) {
+            AisDecoder decoder = new AisDecoder();
+            decoder.addHandler(AisMessageType.REUSABLE_POSITION, writer);
+            decoder.addHandler(AisMessageType.REUSABLE_POSITION, msg -> {
+                MutableAisPositionMessage copy = new MutableAisPositionMessage();
+                copy.setMmsi(msg.getMmsi());
+                copy.setLat(msg.getLat());
+                copy.setLon(msg.getLon());
+                copy.setSog(msg.getSog());
+                copy.setCog(msg.getCog());
+                copy.setRateOfTurn(msg.getRateOfTurn());
+                decoded.add(copy);
+            });
+            decoder.addHandler(AisMessageType.STATIC, writer::writeStatic);
+            decoder.addHandler(AisMessageType.STATIC, statics::add);
+            AisEncoder.encodePositionMessage(position(211331640, 53.5, 9.9, 0)).forEach(decoder::onSentence);
+            AisEncoder.encodeStaticMessage(staticMessage).forEach(decoder::onSentence);
+        }
+
+        try (AisArchiveReader reader = new AisArchiveReader(file)) {
+            assertEquals(2, reader.getBlocks().size());
+            List<MutableAisPositionMessage> read = new ArrayList<>();
+            reader.queryPositions(Long.MIN_VALUE, Long.MAX_VALUE, -90, -180, 90, 180, msg -> {
+                assertEquals(1700000000L, msg.getReceiverTime());
+                assertEquals(1, msg.getMessageType());
+                assertEquals(5, msg.getNavStatus());
+                assertEquals(90, msg.getHeading());
+                assertEquals(50, msg.getTimestamp());
+                assertTrue(msg.getAccuracy());
+                assertEquals('B', msg.getChannel());
+                assertEquals(211331640, msg.getMmsi());
+                read.add(msg);
+                assertEquals(decoded.get(0).getLat(), msg.getLat());
+                assertEquals(decoded.get(0).getLon(), msg.getLon());
+                assertEquals(decoded.get(0).getSog(), msg.getSog());
+                assertEquals(decoded.get(0).getCog(), msg.getCog());
+                assertEquals(decoded.get(0).getRateOfTurn(), msg.getRateOfTurn());
+            });
+            assertEquals(1, read.size());
+
+            List<AisStaticMessage> readStatics = new ArrayList<>();
+            assertEquals(1, reader.queryStatic(1700000000L, 1700000000L, readStatics::add));
+            AisStaticMessage expected = statics.get(0);
+            AisStaticMessage actual = readStatics.get(0);
+            assertEquals(expected.getMmsi(), actual.getMmsi());
+            assertEquals(expected.getImo(), actual.getImo());
+            assertEquals(expected.getCallsign(), actual.getCallsign());
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getShipType(), actual.getShipType());
+            assertEquals(expected.getDimensionToBow(), actual.getDimensionToBow());
+            assertEquals(expected.getDimensionToStern(), actual.getDimensionToStern());
+            assertEquals(expected.getDimensionToPort(), actual.getDimensionToPort());
+            assertEquals(expected.getDimensionToStarboard(), actual.getDimensionToStarboard());
+            assertEquals(expected.getEpfd(), actual.getEpfd());
+            assertEquals(expected.getEtaMonth(), actual.getEtaMonth());
+            assertEquals(expected.getEtaDay(), actual.getEtaDay());
+            assertEquals(expected.getEtaHour(), actual.getEtaHour());
+            assertEquals(expected.getEtaMinute(), actual.getEtaMinute());
+            assertEquals(expected.getDraught(), actual.getDraught());
+            assertEquals(expected.getDestination(), actual.getDestination());
+            assertEquals(expected.getDteAvailable(), actual.getDteAvailable());
+            assertEquals(expected.getChannel(), actual.getChannel());
+        }
+    }
+
+    @Test
+    public void testBlocksAreSkippedByTimeAndArea() throws IOException {
+        Path file = dir.resolve("blocks.ais");
+        // Ten blocks of 100 reports, each an hour long and a degree further east
+        try (AisArchiveWriter writer = new AisArchiveWriter(file, 100)) {
+            for (int block = 0; block < 10; block++) {
+                for (int i = 0; i < 100; i++) {
+                    writer.writePosition(position(200000000 + i, 50 + i / 100.0, block + i / 100.0,
+                            block * 3600L + i * 36));
+                }
+            }
+            AisPositionMessage unknown = position(300000000, 91, 181, 100);
+            writer.writePosition(unknown);
+        }
+
+        try (AisArchiveReader reader = new AisArchiveReader(file)) {
+            List<AisArchiveBlock> blocks = reader.getBlocks();
+            assertEquals(11, blocks.size());
+            AisArchiveBlock third = blocks.get(2);
+            assertTrue(third.isPositionBlock());
+            assertEquals(100, third.size());
+            assertEquals(7200, third.getMinTime());
+            assertEquals(7200 + 99 * 36, third.getMaxTime());
+            assertEquals(30000000, third.getMinLatRaw());
+            assertEquals(1200000, third.getMinLonRaw());
+            assertTrue(third.intersects(50.5, 2.5, 51, 3));
+            assertFalse(third.intersects(50.5, 3.5, 51, 4));
+            assertTrue(third.intersects(50.5, 179, 51, 2.1));
+            assertFalse(blocks.get(10).hasBoundingBox());
+            assertFalse(blocks.get(10).intersects(-90, -180, 90, 180));
+            assertEquals(300000000, blocks.get(10).mmsis().get(0));
+
+            // Columns can be scanned directly
+            int fast = 0;
+            for (AisArchiveBlock block : blocks) {
+                ShortBuffer sog = block.sogTenths();
+                for (int i = 0; i < block.size(); i++) {
+                    if (sog.get(i) > 100) fast++;
+                }
+            }
+            assertEquals(1001, fast);
+
+            List<Integer> found = new ArrayList<>();
+            long count = reader.queryPositions(3 * 3600, 4 * 3600 - 1, 50.2, 3.1, 50.4, 3.3,
+                    msg -> found.add(msg.getMmsi()));
+            assertEquals(found.size(), count);
+            assertEquals(List.of(200000020, 200000021, 200000022, 200000023, 200000024, 200000025,
+                    200000026, 200000027, 200000028, 200000029, 200000030), found);
+            assertEquals(0, reader.queryPositions(10 * 3600, Long.MAX_VALUE, -90, -180, 90, 180, msg -> { }));
+            assertThrows(IllegalStateException.class, () -> third.readStatic(0));
+            assertThrows(IndexOutOfBoundsException.class, () -> third.readPosition(100, new MutableAisPositionMessage()));
+        }
+    }
+
+    @Test
+    public void testStaticMessageTypeRoundTrips() throws IOException {
+        Path file = dir.resolve("static.ais");
+        try (AisArchiveWriter writer = new AisArchiveWriter(file, 16)) {
+            for (int type : new int[]{5, 24}) {
+                AisStaticMessage msg = new AisStaticMessage();
+                msg.setMessageType(type);
+                msg.setMmsi(244000000 + type);
+                msg.setName("TYPE " + type);
+                msg.setChannel("B");
+                writer.writeStatic(msg, 1700000000L + type);
+            }
+        }
+
+        try (AisArchiveReader reader = new AisArchiveReader(file)) {
+            List<AisStaticMessage> read = new ArrayList<>();
+            assertEquals(2, reader.queryStatic(Long.MIN_VALUE, Long.MAX_VALUE, read::add));
+            assertEquals(5, read.get(0).getMessageType());
+            assertEquals("TYPE 5", read.get(0).getName());
+            assertEquals(24, read.get(1).getMessageType());
+            assertEquals("TYPE 24", read.get(1).getName());
+            assertEquals("B", read.get(1).getChannel());
+        }
+    }
+
+    @Test
+    public void testTruncatedAndForeignFiles() throws IOException {
+        Path file = dir.resolve("truncated.ais");
+        try (AisArchiveWriter writer = new AisArchiveWriter(file, 10)) {
+            for (int i = 0; i < 25; i++) {
+                writer.writePosition(position(200000000 + i, 50, 4, i));
+            }
+            writer.flush();
+            assertEquals(3, writer.getBlockCount());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 8);
+        }
+        try (AisArchiveReader reader = new AisArchiveReader(file)) {
+            assertEquals(2, reader.getBlocks().size());
+            assertEquals(20, reader.queryPositions(0, 100, -90, -180, 90, 180, msg -> { }));
+        }
+
+        Path foreign = dir.resolve("foreign.txt");
+        Files.writeString(foreign, "!AIVDM,1,1,,A,13u?etPv2;0n:dDPwUM1U1Cb069D,0*24\n");
+        assertThrows(IOException.class, () -> new AisArchiveReader(foreign));
+    }
+}
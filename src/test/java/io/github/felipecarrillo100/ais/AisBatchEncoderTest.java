@@ -0,0 +1,123 @@
+package io.github.felipecarrillo100.ais;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+public class AisBatchEncoderTest {
+
+    // Helper: CR LF separated output as sentences without the sequence id and checksum
+    private List<String> normalized(byte[] bytes, int offset, int length) {
+        List<String> lines = new ArrayList<>();
+        for (String line : new String(bytes, offset, length, StandardCharsets.US_ASCII).split("\r\n")) {
+            lines.add(line.substring(0, line.indexOf('*')).replaceFirst("^(!AIVDM,\\d+,\\d+,)\\d*", "$1"));
+        }
+        return lines;
+    }
+
+    private List<AisPositionMessage> fleet(int size) {
+        List<AisPositionMessage> fleet = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            AisPositionMessage msg = new AisPositionMessage();
+            msg.setMmsi(230000000 + i);
+            msg.setSog((i % 200) / 10.0);
+            msg.setLon(-10 + (i % 2000) * 0.01);
+            msg.setLat(35 + (i % 1500) * 0.01);
+            msg.setCog((double) (i % 360));
+            msg.setChannel(i % 2 == 0 ? "A" : "B");
+            fleet.add(msg);
+        }
+        return fleet;
+    }
+
+    private List<AisStaticMessage> statics(int size) {
+        List<AisStaticMessage> statics = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            AisStaticMessage msg = new AisStaticMessage();
+            msg.setMmsi(230000000 + i);
+            msg.setName("VESSEL " + i);
+            msg.setCallsign("OH" + i);
+            msg.setDestination("HELSINKI");
+            statics.add(msg);
+        }
+        return statics;
+    }
+
+    @Test
+    public void testParallelOutputMatchesSequentialOrder() {
+        List<AisPositionMessage> fleet = fleet(5000);
+        byte[] sequential = new byte[fleet.size() * 64];
+        int n = new AisBatchEncoder().writePositionMessages(fleet, sequential, 0);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            byte[] parallel = new byte[fleet.size() * 64 + 10];
+            int m = new AisBatchEncoder(pool, 97).writePositionMessages(fleet, parallel, 10);
+            assertEquals(n, m);
+            // Ids are allocated in input order, so the bytes are identical
+            assertArrayEquals(Arrays.copyOf(sequential, n), Arrays.copyOfRange(parallel, 10, 10 + m));
+            List<String> expected = normalized(sequential, 0, n);
+            assertEquals(5000, expected.size());
+            assertEquals(expected, normalized(parallel, 10, m));
+
+            // Each message matches the single message String API
+            for (int i = 0; i < fleet.size(); i += 499) {
+                String single = AisEncoder.encodePositionMessage(fleet.get(i)).get(0);
+                assertEquals(normalized(single.getBytes(StandardCharsets.US_ASCII), 0, single.length()).get(0),
+                        expected.get(i));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testStreamAndByteBufferOutputDecode() throws Exception {
+        List<AisStaticMessage> statics = statics(300);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (AisBatchEncoder batch : new AisBatchEncoder[] {new AisBatchEncoder(), new AisBatchEncoder(pool, 16)}) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                long written = batch.writeStaticMessages(statics, out);
+                assertEquals(out.size(), written);
+
+                ByteBuffer buffer = ByteBuffer.allocateDirect((int) written);
+                assertEquals(written, batch.writeStaticMessages(statics, buffer));
+                assertFalse(buffer.hasRemaining());
+
+                byte[] bytes = out.toByteArray();
+                List<String> names = new ArrayList<>();
+                AisDecoder decoder = new AisDecoder();
+                decoder.setStaticCallback(msg -> names.add(msg.getName()));
+                new AisStreamDecoder(decoder).feed(bytes, 0, bytes.length);
+                assertEquals(300, names.size());
+                assertEquals("VESSEL 0", names.get(0));
+                assertEquals("VESSEL 299", names.get(299));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testOverflowAndInvalidArguments() {
+        List<AisPositionMessage> fleet = fleet(10);
+        ByteBuffer small = ByteBuffer.allocate(120);
+        assertThrows(BufferOverflowException.class, () -> new AisBatchEncoder().writePositionMessages(fleet, small));
+        // Complete sentences only
+        assertEquals(100, small.position());
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> new AisBatchEncoder().writePositionMessages(fleet.toArray(new AisPositionMessage[0]), new byte[120], 0));
+        assertThrows(IllegalArgumentException.class, () -> new AisBatchEncoder(ForkJoinPool.commonPool(), 0));
+        assertEquals(0, new AisBatchEncoder().writeStaticMessages(new ArrayList<>(), new byte[0], 0));
+    }
+}
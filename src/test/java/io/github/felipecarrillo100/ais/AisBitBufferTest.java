@@ -0,0 +1,98 @@
+package io.github.felipecarrillo100.ais;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class AisBitBufferTest {
+
+    // Helper: previous '0'/'1' String representation of an armored payload, used as reference
+    private String referenceBits(String payload, int fillBits) {
+        StringBuilder bits = new StringBuilder();
+        for (char c : payload.toCharArray()) {
+            int val = c - 48;
+            if (val > 40) val -= 8;
+            bits.append(String.format("%6s", Integer.toBinaryString(val)).replace(' ', '0'));
+        }
+        if (fillBits > 0 && bits.length() >= fillBits) {
+            return bits.substring(0, bits.length() - fillBits);
+        }
+        return bits.toString();
+    }
+
+    // Helper: random armored payload of the given length
+    private String randomPayload(Random random, int chars) {
+        StringBuilder sb = new StringBuilder(chars);
+        for (int i = 0; i < chars; i++) {
+            int val = random.nextInt(64);
+            sb.append((char) (val < 40 ? val + 48 : val + 56));
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testReadFieldsMatchesReference() {
+        Random random = new Random(7);
+        AisBitBuffer buffer = new AisBitBuffer();
+        for (int n = 0; n < 200; n++) {
+            String payload = randomPayload(random, 1 + random.nextInt(90));
+            int fillBits = random.nextInt(6);
+            String reference = referenceBits(payload, fillBits);
+
+            buffer.clear();
+            buffer.appendArmored(payload, 0, payload.length());
+            buffer.trimFillBits(fillBits);
+            assertEquals(reference.length(), buffer.length());
+
+            for (int k = 0; k < 50; k++) {
+                int len = 1 + random.nextInt(31);
+                int start = random.nextInt(reference.length());
+                if (start + len > reference.length()) {
+                    assertEquals(0, buffer.readUInt(start, len));
+                    continue;
+                }
+                String segment = reference.substring(start, start + len);
+                int unsigned = Integer.parseInt(segment, 2);
+                int signed = segment.charAt(0) == '1' ? unsigned - (1 << len) : unsigned;
+                assertEquals(unsigned, buffer.readUInt(start, len), segment);
+                assertEquals(signed, buffer.readInt(start, len), segment);
+            }
+        }
+    }
+
+    @Test
+    public void testAppendAcrossPartsAndClear() {
+        String first = "51mg=5@2Fe3t<4hk7;=@E=B1<PU00000000000161@D577?os@D3lU83i`0h";
+        String second = "C3000000000";
+        String reference = referenceBits(first + second, 2);
+
+        AisBitBuffer buffer = new AisBitBuffer();
+        buffer.appendArmored("!!" + first, 2, first.length() + 2);
+        buffer.appendArmored(second, 0, second.length());
+        buffer.trimFillBits(2);
+        assertEquals(reference.length(), buffer.length());
+        assertEquals(Integer.parseInt(reference.substring(8, 38), 2), buffer.readUInt(8, 30));
+
+        // A shorter payload after clear must not see leftover bits
+        buffer.clear();
+        buffer.appendArmored("w", 0, 1);
+        assertEquals(6, buffer.length());
+        assertEquals(63, buffer.readUInt(0, 6));
+        buffer.clear();
+        buffer.appendArmored("00", 0, 2);
+        assertEquals(0, buffer.readUInt(0, 12));
+    }
+
+    @Test
+    public void testReadText() {
+        // "AB@ " followed by '@' padding: trailing '@' run removed, then trimmed
+        AisBitBuffer buffer = new AisBitBuffer();
+        buffer.appendArmored("120P0000", 0, 8);
+        assertEquals("AB@", buffer.readText(0, 8));
+        // Characters beyond the end of the buffer are ignored
+        assertEquals("AB", buffer.readText(0, 2));
+        assertEquals("", buffer.readText(48, 4));
+    }
+}
@@ -0,0 +1,151 @@
+package io.github.felipecarrillo100.ais;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AisBulkDecoderTest {
+
+    @TempDir
+    Path tempDir;
+
+    // Helper: position reports with two-part static messages whose fragments are
+    // interleaved with each other and with position reports
+    private List<String> archive(int groups) {
+        List<String> lines = new ArrayList<>();
+        for (int g = 0; g < groups; g++) {
+            List<String> a = AisEncoder.encodeStaticMessage(TestSentences.staticMessage(219000000 + 2 * g, "BULK VESSEL", "B"));
+            List<String> b = AisEncoder.encodeStaticMessage(TestSentences.staticMessage(219000001 + 2 * g, "BULK VESSEL", "B"));
+            lines.add(TestSentences.withField(a.get(0), 3, Integer.toString((2 * g) % 10)));
+            lines.addAll(AisEncoder.encodePositionMessage(TestSentences.positionMessage(220000000 + g, 57.1, 10.5, "A")));
+            lines.add(TestSentences.withField(b.get(0), 3, Integer.toString((2 * g + 1) % 10)));
+            lines.add(TestSentences.withField(a.get(1), 3, Integer.toString((2 * g) % 10)));
+            lines.add("garbage line " + g);
+            lines.add(TestSentences.withField(b.get(1), 3, Integer.toString((2 * g + 1) % 10)));
+        }
+        return lines;
+    }
+
+    // Helper: a decoder factory feeding a shared thread-safe sink
+    private AisDecoder sinkDecoder(Queue<String> sink) {
+        AisDecoder decoder = new AisDecoder();
+        decoder.setPositionCallback(msg -> sink.add("P" + msg.getMmsi()));
+        decoder.setStaticCallback(msg -> sink.add("S" + msg.getMmsi() + " " + msg.getName()));
+        return decoder;
+    }
+
+    @Test
+    public void testSmallChunksDecodeLikeSequentialDecoding() throws Exception {
+        List<String> lines = archive(300);
+        Path file = tempDir.resolve("archive.nmea");
+        Files.write(file, lines, StandardCharsets.US_ASCII);
+
+        Queue<String> expectedSink = new ConcurrentLinkedQueue<>();
+        AisDecoder sequential = sinkDecoder(expectedSink);
+        lines.forEach(sequential::onSentence);
+        List<String> expected = new ArrayList<>(expectedSink);
+        Collections.sort(expected);
+        assertEquals(900, expected.size());
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // Chunks of a few lines each, so that many boundaries fall inside interleaved groups
+            for (int chunkSize : new int[] {97, 400, 4096, AisBulkDecoder.DEFAULT_CHUNK_SIZE}) {
+                Queue<String> sink = new ConcurrentLinkedQueue<>();
+                AisBulkDecoder bulk = new AisBulkDecoder(() -> sinkDecoder(sink), pool, chunkSize);
+                AisBulkDecoder.Summary summary = bulk.decode(file);
+
+                List<String> actual = new ArrayList<>(sink);
+                Collections.sort(actual);
+                assertEquals(expected, actual, "chunk size " + chunkSize);
+                assertEquals(Files.size(file), summary.getBytesRead());
+                assertEquals(lines.size(), summary.getLineCount());
+                assertEquals(300, summary.getRejectedCount());
+                assertEquals(lines.size() - 300, summary.getDecodedCount());
+                if (chunkSize < 4096) assertTrue(summary.getChunkCount() > 10);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testReceiversReusingSequenceIdsAreNotSplit() throws Exception {
+        // Two receivers send the fragments of different messages with the same channel and sequence id
+        List<String> lines = new ArrayList<>();
+        for (int g = 0; g < 200; g++) {
+            List<String> a = AisEncoder.encodeStaticMessage(TestSentences.staticMessage(219000000 + 2 * g, "BULK VESSEL", "B"));
+            List<String> b = AisEncoder.encodeStaticMessage(TestSentences.staticMessage(219000001 + 2 * g, "BULK VESSEL", "B"));
+            String seqId = Integer.toString(g % 10);
+            lines.add(TestSentences.tagBlock("s:rx1") + TestSentences.withField(a.get(0), 3, seqId));
+            lines.add(TestSentences.tagBlock("s:rx2") + TestSentences.withField(b.get(0), 3, seqId));
+            lines.add(TestSentences.tagBlock("s:rx1") + TestSentences.withField(a.get(1), 3, seqId));
+            lines.addAll(AisEncoder.encodePositionMessage(TestSentences.positionMessage(220000000 + g, 57.1, 10.5, "A")));
+            lines.add(TestSentences.tagBlock("s:rx2") + TestSentences.withField(b.get(1), 3, seqId));
+        }
+        Path file = tempDir.resolve("receivers.nmea");
+        Files.write(file, lines, StandardCharsets.US_ASCII);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int chunkSize : new int[] {97, 300, 1000}) {
+                Queue<String> sink = new ConcurrentLinkedQueue<>();
+                new AisBulkDecoder(() -> sinkDecoder(sink), pool, chunkSize).decode(file);
+                assertEquals(600, sink.size(), "chunk size " + chunkSize);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailingChunkStopsTheOthers() throws Exception {
+        Path file = tempDir.resolve("failing.nmea");
+        Files.write(file, archive(300), StandardCharsets.US_ASCII);
+        Queue<String> sink = new ConcurrentLinkedQueue<>();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            AisBulkDecoder bulk = new AisBulkDecoder(() -> {
+                AisDecoder decoder = sinkDecoder(sink);
+                decoder.addHandler(AisMessageType.POSITION, msg -> {
+                    if (msg.getMmsi() == 220000010) throw new IllegalStateException("sink failed");
+                });
+                return decoder;
+            }, pool, 200);
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> bulk.decode(file));
+            assertTrue(e.getMessage().contains("sink failed"));
+            // Every chunk has stopped: nothing is delivered after decode has thrown
+            int delivered = sink.size();
+            assertTrue(pool.awaitQuiescence(10, TimeUnit.SECONDS));
+            assertEquals(delivered, sink.size());
+            assertTrue(delivered < 900);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testEmptyFileAndInvalidChunkSize() throws Exception {
+        Path file = tempDir.resolve("empty.nmea");
+        Files.write(file, new byte[0]);
+        Queue<String> sink = new ConcurrentLinkedQueue<>();
+        AisBulkDecoder.Summary summary = new AisBulkDecoder(() -> sinkDecoder(sink)).decode(file);
+        assertEquals(0, summary.getLineCount());
+        assertTrue(sink.isEmpty());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new AisBulkDecoder(AisDecoder::new, ForkJoinPool.commonPool(), 0));
+    }
+}
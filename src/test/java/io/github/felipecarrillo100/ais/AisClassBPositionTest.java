@@ -0,0 +1,138 @@
+package io.github.felipecarrillo100.ais;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class AisClassBPositionTest {
+
+    // Helper: common leading fields of types 18 and 19
+    private AisBitBuffer classBHeader(int type, int mmsi) {
+        AisBitBuffer bits = new AisBitBuffer();
+        bits.appendUInt(type, 6);
+        bits.appendUInt(1, 2);
+        bits.appendUInt(mmsi, 30);
+        bits.appendUInt(0, 8);
+        bits.appendUInt(57, 10);                        // 5.7 knots
+        bits.appendUInt(1, 1);
+        bits.appendUInt((int) Math.round(-3.5 * 600000), 28);
+        bits.appendUInt((int) Math.round(55.25 * 600000), 27);
+        bits.appendUInt(2105, 12);                      // 210.5 degrees
+        bits.appendUInt(211, 9);
+        bits.appendUInt(17, 6);
+        return bits;
+    }
+
+    @Test
+    public void testDecodeType18() {
+        AisBitBuffer bits = classBHeader(18, 235001234);
+        bits.appendUInt(0, 2);
+        bits.appendUInt(1, 1);                          // CS unit
+        bits.appendUInt(0, 1);
+        bits.appendUInt(1, 1);                          // DSC
+        bits.appendUInt(1, 1);                          // band
+        bits.appendUInt(0, 1);
+        bits.appendUInt(0, 1);
+        bits.appendUInt(1, 1);                          // RAIM
+        bits.appendUInt(393222, 20);
+        assertEquals(168, bits.length());
+
+        List<AisClassBPositionMessage> decoded = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.setClassBPositionCallback(decoded::add);
+        TestSentences.armor(bits, "B", "1").forEach(decoder::onSentence);
+
+        assertEquals(1, decoded.size());
+        AisClassBPositionMessage msg = decoded.get(0);
+        assertEquals(18, msg.getMessageType());
+        assertEquals(1, msg.getRepeat());
+        assertEquals(235001234, msg.getMmsi());
+        assertEquals(5.7, msg.getSog(), 1e-9);
+        assertTrue(msg.getAccuracy());
+        assertEquals(-3.5, msg.getLon(), 1e-6);
+        assertEquals(55.25, msg.getLat(), 1e-6);
+        assertEquals(210.5, msg.getCog(), 1e-9);
+        assertEquals(211, msg.getHeading());
+        assertEquals(17, msg.getTimestamp());
+        assertTrue(msg.getCsUnit());
+        assertFalse(msg.getDisplay());
+        assertTrue(msg.getDsc());
+        assertTrue(msg.getBand());
+        assertFalse(msg.getMessage22());
+        assertFalse(msg.getAssigned());
+        assertTrue(msg.getRaim());
+        assertEquals(393222, msg.getRadio());
+        assertNull(msg.getNavStatus());
+        assertNull(msg.getName());
+        assertEquals("B", msg.getChannel());
+    }
+
+    @Test
+    public void testDecodeMultipartType19() {
+        AisBitBuffer bits = classBHeader(19, 244870123);
+        bits.appendUInt(0, 4);
+        bits.appendText("SAILING YACHT", 20);
+        bits.appendUInt(36, 8);
+        bits.appendUInt(9, 9);
+        bits.appendUInt(3, 9);
+        bits.appendUInt(2, 6);
+        bits.appendUInt(2, 6);
+        bits.appendUInt(1, 4);
+        bits.appendUInt(0, 1);
+        bits.appendUInt(0, 1);                          // DTE available
+        bits.appendUInt(1, 1);                          // assigned
+        bits.appendUInt(0, 4);
+        assertEquals(312, bits.length());
+        List<String> sentences = TestSentences.armor(bits, "B", "4");
+        assertEquals(1, sentences.size());
+
+        List<AisClassBPositionMessage> decoded = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.setClassBPositionCallback(decoded::add);
+        decoder.onSentence(sentences.get(0));
+
+        assertEquals(1, decoded.size());
+        AisClassBPositionMessage msg = decoded.get(0);
+        assertEquals(19, msg.getMessageType());
+        assertEquals(244870123, msg.getMmsi());
+        assertEquals(55.25, msg.getLat(), 1e-6);
+        assertEquals("SAILING YACHT", msg.getName());
+        assertEquals(36, msg.getShipType());
+        assertEquals(9, msg.getDimensionToBow());
+        assertEquals(3, msg.getDimensionToStern());
+        assertEquals(2, msg.getDimensionToPort());
+        assertEquals(2, msg.getDimensionToStarboard());
+        assertEquals(1, msg.getEpfd());
+        assertTrue(msg.getDteAvailable());
+        assertTrue(msg.getAssigned());
+        assertNull(msg.getCsUnit());
+    }
+
+    @Test
+    public void testOneCallbackForBothClasses() {
+        AisPositionMessage classA = new AisPositionMessage();
+        classA.setMmsi(244000001);
+        classA.setLat(52.0);
+        classA.setLon(4.0);
+        AisBitBuffer classB = classBHeader(18, 244000002);
+        classB.appendUInt(0, 29);
+
+        List<AisPositionMessage> positions = new ArrayList<>();
+        ConcurrentAisDecoder decoder = new ConcurrentAisDecoder();
+        decoder.setPositionCallback(positions::add);
+        decoder.setClassBPositionCallback(positions::add);
+        decoder.onSentence(AisEncoder.encodePositionMessage(classA).get(0));
+        TestSentences.armor(classB, "B", "1").forEach(decoder::onSentence);
+        // Truncated Class B reports are dropped
+        AisBitBuffer truncated = classBHeader(18, 244000003);
+        TestSentences.armor(truncated, "B", "1").forEach(decoder::onSentence);
+
+        assertEquals(2, positions.size());
+        assertEquals(244000001, positions.get(0).getMmsi());
+        assertEquals(244000002, positions.get(1).getMmsi());
+        assertTrue(positions.get(1) instanceof AisClassBPositionMessage);
+    }
+}
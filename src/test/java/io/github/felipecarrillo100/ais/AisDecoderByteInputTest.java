@@ -0,0 +1,123 @@
+package io.github.felipecarrillo100.ais;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class AisDecoderByteInputTest {
+
+    // Helper: a few position reports followed by a two part static message
+    private List<String> corpus() {
+        List<String> sentences = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            sentences.addAll(AisEncoder.encodePositionMessage(TestSentences.positionMessage(211000000 + i, 40.7128, -74.006, "A")));
+        }
+        sentences.addAll(AisEncoder.encodeStaticMessage(TestSentences.staticMessage(244123456, "BYTE VESSEL", "B")));
+        return sentences;
+    }
+
+    // Helper: decodes the corpus as Strings and returns the decoded messages as text
+    private List<String> decodeStrings(List<String> sentences) {
+        List<String> out = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.setPositionCallback(msg -> out.add(msg.toString()));
+        decoder.setStaticCallback(msg -> out.add(msg.getMmsi() + " " + msg.getName() + " " + msg.getDestination()));
+        sentences.forEach(decoder::onSentence);
+        return out;
+    }
+
+    @Test
+    public void testByteArraySlicesDecodeLikeStrings() {
+        List<String> sentences = corpus();
+        List<String> expected = decodeStrings(sentences);
+        assertEquals(6, expected.size());
+
+        List<String> out = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.setPositionCallback(msg -> out.add(msg.toString()));
+        decoder.setStaticCallback(msg -> out.add(msg.getMmsi() + " " + msg.getName() + " " + msg.getDestination()));
+
+        // All sentences in one read buffer, each one followed by CR/LF
+        byte[] buffer = String.join("\r\n", sentences).concat("\r\n").getBytes(StandardCharsets.US_ASCII);
+        int start = 0;
+        for (String sentence : sentences) {
+            assertTrue(decoder.onSentence(buffer, start, sentence.length() + 2));
+            start += sentence.length() + 2;
+        }
+        assertEquals(expected, out);
+        assertEquals(0, decoder.getPendingMultipartCount());
+    }
+
+    @Test
+    public void testByteBuffersDecodeLikeStringsWithoutMovingPosition() {
+        List<String> sentences = corpus();
+        List<String> expected = decodeStrings(sentences);
+
+        List<String> out = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.setPositionCallback(msg -> out.add(msg.toString()));
+        decoder.setStaticCallback(msg -> out.add(msg.getMmsi() + " " + msg.getName() + " " + msg.getDestination()));
+
+        for (int i = 0; i < sentences.size(); i++) {
+            // Heap, direct and read-only buffers, with the sentence not at index 0
+            ByteBuffer buffer = (i % 3 == 1) ? ByteBuffer.allocateDirect(256) : ByteBuffer.allocate(256);
+            buffer.position(7);
+            buffer.put(sentences.get(i).getBytes(StandardCharsets.US_ASCII));
+            buffer.limit(buffer.position()).position(7);
+            if (i % 3 == 2) buffer = buffer.asReadOnlyBuffer();
+            int limit = buffer.limit();
+            assertTrue(decoder.onSentence(buffer));
+            assertEquals(7, buffer.position());
+            assertEquals(limit, buffer.limit());
+        }
+        assertEquals(expected, out);
+    }
+
+    @Test
+    public void testInvalidBytesAreRejected() {
+        AisDecoder decoder = new AisDecoder();
+        List<AisPositionMessage> out = new ArrayList<>();
+        decoder.setPositionCallback(out::add);
+
+        byte[] bad = "!AIVDM,1,1,,B,15M67FC000G?ufbE`FepT@3n00Sa,0*5D".getBytes(StandardCharsets.US_ASCII);
+        assertFalse(decoder.onSentence(bad, 0, bad.length));
+        assertFalse(decoder.onSentence(ByteBuffer.wrap(bad)));
+        assertFalse(decoder.onSentence(new byte[0], 0, 0));
+
+        // Non-ASCII bytes must not be mistaken for whitespace or valid characters
+        byte[] highBytes = "!AIVDM,1,1,,B,15M67FC000G?ufbE`FepT@3n00Sa,0*5C".getBytes(StandardCharsets.US_ASCII);
+        byte[] padded = new byte[highBytes.length + 2];
+        System.arraycopy(highBytes, 0, padded, 1, highBytes.length);
+        padded[0] = (byte) 0xA1;
+        assertFalse(decoder.onSentence(padded, 0, padded.length));
+        assertTrue(decoder.onSentence(padded, 1, highBytes.length));
+        assertEquals(1, out.size());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> decoder.onSentence(bad, 4, bad.length));
+    }
+
+    @Test
+    public void testConcurrentDecoderAcceptsBytes() {
+        List<String> sentences = corpus();
+        List<String> out = new ArrayList<>();
+        ConcurrentAisDecoder decoder = new ConcurrentAisDecoder();
+        decoder.setPositionCallback(msg -> out.add(msg.toString()));
+        decoder.setStaticCallback(msg -> out.add(msg.getMmsi() + " " + msg.getName() + " " + msg.getDestination()));
+
+        for (int i = 0; i < sentences.size(); i++) {
+            byte[] bytes = sentences.get(i).getBytes(StandardCharsets.US_ASCII);
+            if (i % 2 == 0) {
+                assertTrue(decoder.onSentence(bytes, 0, bytes.length));
+            } else {
+                assertTrue(decoder.onSentence(ByteBuffer.wrap(bytes)));
+            }
+        }
+        assertEquals(decodeStrings(sentences), out);
+        assertEquals(0, decoder.getPendingMultipartCount());
+    }
+}
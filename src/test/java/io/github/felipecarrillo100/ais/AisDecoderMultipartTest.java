@@ -0,0 +1,178 @@
+package io.github.felipecarrillo100.ais;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class AisDecoderMultipartTest {
+
+    // Helper: rewrites the fragment fields, sequential message id and channel of a sentence
+    private String withFields(String sentence, int total, int part, String seqId, String channel) {
+        String[] fields = sentence.substring(0, sentence.indexOf('*')).split(",", -1);
+        fields[1] = Integer.toString(total);
+        fields[2] = Integer.toString(part);
+        fields[3] = seqId;
+        fields[4] = channel;
+        return TestSentences.withChecksum(String.join(",", fields));
+    }
+
+    // Helper: fragments of a static message with the given name, sequence id and channel
+    private List<String> fragments(String name, String seqId, String channel) {
+        AisStaticMessage msg = TestSentences.staticMessage(244123456, "MULTIPART VESSEL", "B");
+        msg.setName(name);
+        List<String> sentences = new ArrayList<>();
+        for (String sentence : AisEncoder.encodeStaticMessage(msg)) {
+            String[] fields = sentence.split(",");
+            sentences.add(withFields(sentence, Integer.parseInt(fields[1]), Integer.parseInt(fields[2]), seqId, channel));
+        }
+        return sentences;
+    }
+
+    @Test
+    public void testDefaultAndCustomTimeout() {
+        assertEquals(AisDecoder.DEFAULT_MULTIPART_TIMEOUT_MS, new AisDecoder().getMultipartTimeoutMs());
+        assertEquals(1500, new AisDecoder(1500).getMultipartTimeoutMs());
+        assertThrows(IllegalArgumentException.class, () -> new AisDecoder(0));
+    }
+
+    @Test
+    public void testExpiredFragmentsAreDiscarded() throws Exception {
+        List<String> sentences = AisEncoder.encodeStaticMessage(TestSentences.staticMessage(244123456, "MULTIPART VESSEL", "B"));
+        assertEquals(2, sentences.size());
+
+        AisDecoder decoder = new AisDecoder(5);
+        AtomicInteger decoded = new AtomicInteger();
+        decoder.setStaticCallback(msg -> decoded.incrementAndGet());
+
+        decoder.onSentence(sentences.get(0));
+        assertEquals(1, decoder.getPendingMultipartCount());
+        Thread.sleep(50);
+
+        // The first fragment expires before the second one is processed
+        decoder.onSentence(sentences.get(1));
+        assertEquals(0, decoded.get());
+
+        decoder.purgeExpiredMultiparts();
+        Thread.sleep(50);
+        decoder.purgeExpiredMultiparts();
+        assertEquals(0, decoder.getPendingMultipartCount());
+
+        // A complete message within the timeout is still decoded
+        AisDecoder patient = new AisDecoder();
+        patient.setStaticCallback(msg -> decoded.incrementAndGet());
+        sentences.forEach(patient::onSentence);
+        assertEquals(1, decoded.get());
+        assertEquals(0, patient.getPendingMultipartCount());
+    }
+
+    @Test
+    public void testNoThreadsCreatedForMultipartMessages() {
+        List<String> sentences = AisEncoder.encodeStaticMessage(TestSentences.staticMessage(244123456, "MULTIPART VESSEL", "B"));
+        AisDecoder decoder = new AisDecoder();
+        int threadsBefore = Thread.activeCount();
+        for (int i = 0; i < 1000; i++) {
+            for (String sentence : sentences) {
+                decoder.onSentence(sentence);
+            }
+        }
+        assertTrue(Thread.activeCount() <= threadsBefore, "Multipart handling must not start threads");
+    }
+
+    @Test
+    public void testInterleavedChannelsAndSourcesDoNotMix() {
+        List<String> onA = fragments("ON CHANNEL A", "3", "A");
+        List<String> onB = fragments("ON CHANNEL B", "3", "B");
+        List<String> fromRx2 = fragments("FROM RX2", "3", "A");
+
+        List<String> names = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.setStaticCallback(msg -> names.add(msg.getName()));
+        decoder.onSentence(onA.get(0), "rx1");
+        decoder.onSentence(onB.get(0), "rx1");
+        decoder.onSentence(fromRx2.get(0), "rx2");
+        assertEquals(3, decoder.getPendingMultipartCount());
+        // Fragments may also arrive out of order
+        decoder.onSentence(fromRx2.get(1), "rx2");
+        decoder.onSentence(onB.get(1), "rx1");
+        decoder.onSentence(onA.get(1), "rx1");
+
+        assertEquals(List.of("FROM RX2", "ON CHANNEL B", "ON CHANNEL A"), names);
+        assertEquals(0, decoder.getPendingMultipartCount());
+        assertEquals(0, decoder.getEvictedMultipartCount());
+    }
+
+    @Test
+    public void testCapacityEvictsLeastRecentlyUpdated() {
+        AisDecoder decoder = new AisDecoder(AisDecoder.DEFAULT_MULTIPART_TIMEOUT_MS, 2);
+        assertEquals(2, decoder.getMaxPendingMultiparts());
+        List<String> names = new ArrayList<>();
+        decoder.setStaticCallback(msg -> names.add(msg.getName()));
+
+        List<String> first = fragments("FIRST", "1", "A");
+        List<String> second = fragments("SECOND", "2", "A");
+        List<String> third = fragments("THIRD", "3", "A");
+        decoder.onSentence(first.get(0));
+        decoder.onSentence(second.get(0));
+        // Touching the first message makes the second one the eviction candidate
+        decoder.onSentence(first.get(0));
+        decoder.onSentence(third.get(0));
+        assertEquals(2, decoder.getPendingMultipartCount());
+        assertEquals(1, decoder.getEvictedMultipartCount());
+
+        decoder.onSentence(first.get(1));
+        decoder.onSentence(third.get(1));
+        decoder.onSentence(second.get(1));
+        assertEquals(List.of("FIRST", "THIRD"), names);
+        // The orphaned second fragment took a slot of its own
+        assertEquals(1, decoder.getPendingMultipartCount());
+
+        // A long stream of unfinished messages never grows beyond the capacity
+        for (int i = 0; i < 1000; i++) {
+            decoder.onSentence(fragments("NOISE", Integer.toString(i % 10), i % 2 == 0 ? "A" : "B").get(0), "rx" + i);
+        }
+        assertEquals(2, decoder.getPendingMultipartCount());
+        assertThrows(IllegalArgumentException.class, () -> new AisDecoder(1000, 0));
+    }
+
+    @Test
+    public void testTimeoutRestartsWithEveryFragment() {
+        String sentence = AisEncoder.encodeStaticMessage(TestSentences.staticMessage(244123456, "MULTIPART VESSEL", "B")).get(0);
+        List<String> three = new ArrayList<>();
+        for (int part = 1; part <= 3; part++) {
+            three.add(withFields(sentence, 3, part, "4", "B"));
+        }
+        long ms = TimeUnit.MILLISECONDS.toNanos(1);
+        MultipartAssembler assembler = new MultipartAssembler(300 * ms, 16);
+        NmeaSentenceScanner scanner = new NmeaSentenceScanner();
+        AisBitBuffer bits = new AisBitBuffer();
+        long start = System.nanoTime();
+        assertTrue(scanner.scan(three.get(0)));
+        assertFalse(assembler.add(null, scanner, bits, start));
+        assertTrue(scanner.scan(three.get(1)));
+        assertFalse(assembler.add(null, scanner, bits, start + 200 * ms));
+        // 400 ms after the first fragment, but only 200 ms after the last one
+        assembler.purgeExpired(start + 400 * ms);
+        assertEquals(1, assembler.pendingCount());
+        assertEquals(0, assembler.expiredCount());
+        assembler.purgeExpired(start + 500 * ms);
+        assertEquals(0, assembler.pendingCount());
+        assertEquals(1, assembler.expiredCount());
+    }
+
+    @Test
+    public void testInvalidFragmentNumbersAreDropped() {
+        String sentence = AisEncoder.encodeStaticMessage(TestSentences.staticMessage(244123456, "MULTIPART VESSEL", "B")).get(0);
+        AisDecoder decoder = new AisDecoder();
+        decoder.onSentence(withFields(sentence, 2, 3, "1", "A"));
+        decoder.onSentence(withFields(sentence, 2, 0, "1", "A"));
+        decoder.onSentence(withFields(sentence, 12, 1, "1", "A"));
+        decoder.onSentence(withFields(sentence, 0, 0, "1", "A"));
+        assertEquals(4, decoder.getDroppedFragmentCount());
+        assertEquals(0, decoder.getPendingMultipartCount());
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.felipecarrillo100.ais;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+public class AisDecoderReusablePositionTest {
+
+    @Test
+    public void testReusableMessageMatchesBoxedMessage() {
+        AisPositionMessage original = TestSentences.positionMessage(235009876, 51.9, 1.3, "B");
+        String sentence = AisEncoder.encodePositionMessage(original).get(0);
+
+        AisDecoder decoder = new AisDecoder();
+        AtomicReference<AisPositionMessage> boxed = new AtomicReference<>();
+        AtomicReference<AisPositionMessage> copied = new AtomicReference<>();
+        List<MutableAisPositionMessage> instances = new ArrayList<>();
+        decoder.setPositionCallback(boxed::set);
+        decoder.setReusablePositionCallback(msg -> {
+            instances.add(msg);
+            copied.set(msg.toAisPositionMessage());
+        });
+
+        decoder.onSentence(sentence);
+        decoder.onSentence(sentence);
+
+        assertEquals(2, instances.size());
+        assertSame(instances.get(0), instances.get(1), "Decoder must reuse the same instance");
+        assertEquals(boxed.get().toString(), copied.get().toString());
+
+        MutableAisPositionMessage msg = instances.get(0);
+        assertEquals(235009876, msg.getMmsi());
+        assertEquals('B', msg.getChannel());
+        assertTrue(msg.isSogAvailable());
+        assertTrue(msg.isPositionAvailable());
+        assertTrue(msg.isHeadingAvailable());
+        assertEquals(51.9, msg.getLat(), 0.0001);
+        assertEquals(1.3, msg.getLon(), 0.0001);
+    }
+
+    @Test
+    public void testNotAvailableValues() {
+        AisPositionMessage original = new AisPositionMessage();
+        original.setMmsi(235000001);
+        String sentence = AisEncoder.encodePositionMessage(original).get(0);
+
+        MutableAisPositionMessage target = new MutableAisPositionMessage();
+        AtomicReference<MutableAisPositionMessage> received = new AtomicReference<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.setReusablePositionCallback(target, received::set);
+        decoder.onSentence(sentence);
+
+        assertSame(target, received.get());
+        assertFalse(target.isRateOfTurnAvailable());
+        assertFalse(target.isSogAvailable());
+        assertFalse(target.isPositionAvailable());
+        assertFalse(target.isCogAvailable());
+        assertFalse(target.isHeadingAvailable());
+        assertEquals(MutableAisPositionMessage.TIMESTAMP_NOT_AVAILABLE, target.getTimestamp());
+    }
+
+    @Test
+    public void testSteadyStateDecodingDoesNotAllocate() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        String[] sentences = new String[64];
+        for (int i = 0; i < sentences.length; i++) {
+            sentences[i] = AisEncoder.encodePositionMessage(TestSentences.positionMessage(235000000 + i, 50 + i * 0.01, 2 - i * 0.01, "B")).get(0);
+        }
+
+        AisDecoder decoder = new AisDecoder();
+        long[] checksum = new long[1];
+        decoder.setReusablePositionCallback(msg -> checksum[0] += msg.getMmsi());
+
+        for (int i = 0; i < 200_000; i++) {
+            decoder.onSentence(sentences[i & 63]);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            decoder.onSentence(sentences[i & 63]);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(checksum[0] > 0);
+        // Allow for a few incidental allocations by the measurement itself, not one per message
+        assertTrue(allocated < 100_000, "Allocated " + allocated + " bytes for 100000 messages");
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.felipecarrillo100.ais;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class AisDuplicateFilterTest {
+
+    // Helper: encodes a position report of the given vessel
+    private List<String> position(int mmsi, double lat) {
+        AisPositionMessage msg = new AisPositionMessage();
+        msg.setMmsi(mmsi);
+        msg.setLat(lat);
+        msg.setLon(4.5);
+        msg.setChannel("A");
+        return AisEncoder.encodePositionMessage(msg);
+    }
+
+    // Helper: encodes a static message of the given vessel, two sentences long
+    private List<String> staticMessage(int mmsi) {
+        AisStaticMessage msg = new AisStaticMessage();
+        msg.setMmsi(mmsi);
+        msg.setCallsign("PDXB");
+        msg.setName("NORDIC STAR");
+        msg.setDestination("ROTTERDAM");
+        msg.setChannel("B");
+        return AisEncoder.encodeStaticMessage(msg);
+    }
+
+    @Test
+    public void testCopiesFromOtherSourcesAreDropped() {
+        List<AisPositionMessage> positions = new ArrayList<>();
+        List<AisStaticMessage> statics = new ArrayList<>();
+        AisDuplicateFilter duplicates = new AisDuplicateFilter();
+        AisDecoder decoder = new AisDecoder();
+        decoder.setPositionCallback(positions::add);
+        decoder.setStaticCallback(statics::add);
+        decoder.setDuplicateFilter(duplicates);
+
+        for (String station : new String[]{"station1", "station2", "station3"}) {
+            position(244660000, 51.9).forEach(s -> decoder.onSentence(s, station));
+            staticMessage(244660000).forEach(s -> decoder.onSentence(s, station));
+        }
+        position(244660000, 52.0).forEach(s -> decoder.onSentence(s, "station2"));
+
+        assertEquals(2, positions.size());
+        assertEquals("station1", positions.get(0).getSource());
+        assertEquals("station2", positions.get(1).getSource());
+        assertEquals(1, statics.size());
+        assertEquals(3, duplicates.getUniqueCount());
+        assertEquals(4, duplicates.getDuplicateCount());
+        assertEquals(2L, duplicates.getUniqueCounts().get("station1"));
+        assertEquals(1L, duplicates.getUniqueCounts().get("station2"));
+        assertEquals(0L, duplicates.getUniqueCounts().get("station3"));
+        assertEquals(2L, duplicates.getDuplicateCounts().get("station3"));
+
+        decoder.setDuplicateFilter(null);
+        position(244660000, 51.9).forEach(decoder::onSentence);
+        assertEquals(3, positions.size());
+    }
+
+    @Test
+    public void testCopiesExpireAfterWindow() {
+        AtomicLong now = new AtomicLong();
+        List<AisPositionMessage> positions = new ArrayList<>();
+        AisDuplicateFilter duplicates = new AisDuplicateFilter(3000, 16, now::get);
+        ConcurrentAisDecoder decoder = new ConcurrentAisDecoder();
+        decoder.setPositionCallback(positions::add);
+        decoder.setDuplicateFilter(duplicates);
+        List<String> sentence = position(211331640, 53.5);
+
+        decoder.onSentence(sentence.get(0));
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(2900));
+        decoder.onSentence(sentence.get(0));
+        assertEquals(1, positions.size());
+
+        // Well past the window the copy is decoded again
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(4500));
+        decoder.onSentence(sentence.get(0));
+        assertEquals(2, positions.size());
+        assertEquals(1, duplicates.getDuplicateCount());
+        assertEquals(1L, duplicates.getDuplicateCounts().get(null));
+    }
+
+    @Test
+    public void testMemoryStaysBoundedBeyondCapacity() {
+        AisDuplicateFilter duplicates = new AisDuplicateFilter(60000, 64, () -> 0L);
+        AisDecoder decoder = new AisDecoder();
+        decoder.setPositionCallback(msg -> { });
+        decoder.setDuplicateFilter(duplicates);
+
+        for (int i = 0; i < 1000; i++) {
+            position(200000000 + i, 50 + i / 1000.0).forEach(decoder::onSentence);
+        }
+        // The last messages are still remembered, the first ones were pushed out
+        position(200000999, 50.999).forEach(decoder::onSentence);
+        assertEquals(1, duplicates.getDuplicateCount());
+        position(200000000, 50.0).forEach(decoder::onSentence);
+        assertEquals(1, duplicates.getDuplicateCount());
+        assertEquals(1001, duplicates.getUniqueCount());
+
+        duplicates.resetCounts();
+        duplicates.clear();
+        position(200000999, 50.999).forEach(decoder::onSentence);
+        assertEquals(0, duplicates.getDuplicateCount());
+        assertThrows(IllegalArgumentException.class, () -> new AisDuplicateFilter(0, 16));
+    }
+}
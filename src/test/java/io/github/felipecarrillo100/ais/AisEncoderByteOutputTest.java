@@ -0,0 +1,165 @@
+package io.github.felipecarrillo100.ais;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class AisEncoderByteOutputTest {
+
+    // Helper: removes the sequential message id and the checksum, which depends on it
+    private String withoutSequenceId(String sentence) {
+        String body = sentence.substring(0, sentence.indexOf('*'));
+        return body.replaceFirst("^(!AIVDM,\\d+,\\d+,)\\d*", "$1");
+    }
+
+    // Helper: checks the checksum of a sentence
+    private void assertValidChecksum(String sentence) {
+        int star = sentence.indexOf('*');
+        int checksum = 0;
+        for (int i = 1; i < star; i++) {
+            checksum ^= sentence.charAt(i);
+        }
+        assertEquals(String.format("%02X", checksum), sentence.substring(star + 1), sentence);
+    }
+
+    // Helper: splits CR LF terminated output into sentences
+    private List<String> lines(byte[] buffer, int offset, int length) {
+        String text = new String(buffer, offset, length, StandardCharsets.US_ASCII);
+        assertTrue(text.endsWith("\r\n"));
+        return Arrays.asList(text.substring(0, text.length() - 2).split("\r\n"));
+    }
+
+    // Helper: compares written sentences with the String API output
+    private void assertSameSentences(List<String> expected, List<String> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertValidChecksum(actual.get(i));
+            assertEquals(withoutSequenceId(expected.get(i)), withoutSequenceId(actual.get(i)));
+        }
+    }
+
+    @Test
+    public void testByteArrayOutputMatchesStringEncoding() {
+        AisEncoder encoder = new AisEncoder();
+        byte[] buffer = new byte[4096];
+        int offset = 3;
+        for (int i = 0; i < 50; i++) {
+            AisPositionMessage msg = TestSentences.positionMessage(257000000 + i, -89.5 + i * 3.6, -179.9 + i * 7.1, "B");
+            int n = encoder.writePositionMessage(msg, buffer, offset);
+            assertSameSentences(AisEncoder.encodePositionMessage(msg), lines(buffer, offset, n));
+        }
+
+        AisStaticMessage staticMsg = TestSentences.staticMessage(257123450, "NORDIC encoder", "A");
+        int n = encoder.writeStaticMessage(staticMsg, buffer, 0);
+        List<String> written = lines(buffer, 0, n);
+        assertEquals(2, written.size());
+        assertSameSentences(AisEncoder.encodeStaticMessage(staticMsg), written);
+    }
+
+    @Test
+    public void testByteBufferOutputRoundTrips() {
+        AisEncoder encoder = new AisEncoder();
+        List<AisPositionMessage> decoded = new ArrayList<>();
+        List<AisStaticMessage> decodedStatic = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.setPositionCallback(decoded::add);
+        decoder.setStaticCallback(decodedStatic::add);
+
+        for (ByteBuffer buffer : new ByteBuffer[] {ByteBuffer.allocate(1024), ByteBuffer.allocateDirect(1024)}) {
+            buffer.position(5);
+            int n1 = encoder.writePositionMessage(TestSentences.positionMessage(257999001, 60.4, 5.3, "B"), buffer);
+            int n2 = encoder.writeStaticMessage(TestSentences.staticMessage(257123450, "NORDIC encoder", "A"), buffer);
+            assertEquals(5 + n1 + n2, buffer.position());
+
+            buffer.flip().position(5);
+            AisStreamDecoder stream = new AisStreamDecoder(decoder);
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            stream.feed(bytes, 0, bytes.length);
+            assertEquals(3, stream.getDecodedCount());
+        }
+
+        assertEquals(2, decoded.size());
+        assertEquals(257999001, decoded.get(0).getMmsi());
+        assertEquals(60.4, decoded.get(0).getLat(), 1e-5);
+        assertEquals("B", decoded.get(0).getChannel());
+        assertEquals(2, decodedStatic.size());
+        assertEquals("NORDIC", decodedStatic.get(0).getName());
+        assertEquals("ROTTERDAM", decodedStatic.get(1).getDestination());
+    }
+
+    @Test
+    public void testInsufficientSpaceWritesNothing() {
+        AisEncoder encoder = new AisEncoder();
+        AisPositionMessage msg = TestSentences.positionMessage(257000001, 2, 1, "B");
+        byte[] buffer = new byte[49];
+        assertThrows(IndexOutOfBoundsException.class, () -> encoder.writePositionMessage(msg, buffer, 0));
+        assertArrayEquals(new byte[49], buffer);
+        assertEquals(50, encoder.writePositionMessage(msg, new byte[50], 0));
+
+        ByteBuffer small = ByteBuffer.allocate(100);
+        small.position(50);
+        assertThrows(BufferOverflowException.class, () -> encoder.writeStaticMessage(TestSentences.staticMessage(257123450, "NORDIC encoder", "A"), small));
+        assertEquals(50, small.position());
+    }
+
+    @Test
+    public void testMutablePositionMessageKeepsTypeAndDoesNotAllocate() {
+        AisEncoder encoder = new AisEncoder();
+        MutableAisPositionMessage msg = new MutableAisPositionMessage();
+        msg.setMessageType(3);
+        msg.setMmsi(257000777);
+        msg.setLon(10.75);
+        msg.setLat(59.9);
+        msg.setSog(3.2);
+        msg.setChannel('A');
+
+        byte[] buffer = new byte[256];
+        int n = encoder.writePositionMessage(msg, buffer, 0);
+        MutableAisPositionMessage[] decoded = new MutableAisPositionMessage[1];
+        AisDecoder decoder = new AisDecoder();
+        decoder.setReusablePositionCallback(m -> {
+            assertEquals(3, m.getMessageType());
+            assertEquals(257000777, m.getMmsi());
+            assertEquals(59.9, m.getLat(), 1e-5);
+            assertFalse(m.isCogAvailable());
+            decoded[0] = m;
+        });
+        assertTrue(decoder.onSentence(buffer, 0, n));
+        assertNotNull(decoded[0]);
+
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        ByteBuffer out = ByteBuffer.allocateDirect(256);
+        for (int i = 0; i < 200_000; i++) {
+            msg.setMmsi(257000000 + (i & 1023));
+            out.clear();
+            encoder.writePositionMessage(msg, out);
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        long total = 0;
+        for (int i = 0; i < 100_000; i++) {
+            msg.setMmsi(257000000 + (i & 1023));
+            total += encoder.writePositionMessage(msg, buffer, 0);
+            out.clear();
+            total += encoder.writePositionMessage(msg, out);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(total > 0);
+        // Allow for a few incidental allocations by the measurement itself, not one per message
+        assertTrue(allocated < 100_000, "Allocated " + allocated + " bytes for 200000 messages");
+    }
+}
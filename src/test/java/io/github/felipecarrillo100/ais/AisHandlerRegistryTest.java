@@ -0,0 +1,142 @@
+package io.github.felipecarrillo100.ais;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+public class AisHandlerRegistryTest {
+
+    // Helper: encodes a single-part position report
+    private String position(int mmsi) {
+        AisPositionMessage msg = new AisPositionMessage();
+        msg.setMmsi(mmsi);
+        msg.setLon(4.5);
+        msg.setLat(51.9);
+        msg.setChannel("A");
+        return AisEncoder.encodePositionMessage(msg).get(0);
+    }
+
+    // Helper: encodes a multipart static message
+    private List<String> staticMessage(int mmsi) {
+        AisStaticMessage msg = new AisStaticMessage();
+        msg.setMmsi(mmsi);
+        msg.setName("REGISTRY");
+        msg.setChannel("B");
+        return AisEncoder.encodeStaticMessage(msg);
+    }
+
+    @Test
+    public void testSeveralHandlersShareOneDecodedMessage() {
+        List<AisPositionMessage> first = new ArrayList<>();
+        List<AisPositionMessage> second = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.addHandler(AisMessageType.POSITION, first::add);
+        decoder.addHandler(AisMessageType.POSITION, second::add);
+
+        decoder.onSentence(position(244660000));
+
+        assertEquals(1, first.size());
+        assertSame(first.get(0), second.get(0));
+        assertEquals(244660000, first.get(0).getMmsi());
+    }
+
+    @Test
+    public void testHandlersAndCallbacksDeliverInDispatchOrder() {
+        List<String> calls = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.setPositionCallback(msg -> calls.add("callback"));
+        decoder.addHandler(AisMessageType.POSITION, msg -> calls.add("handler"));
+        decoder.addHandler(AisMessageType.POSITION_VIEW, view -> calls.add("view " + view.mmsi()));
+
+        decoder.onSentence(position(211331640));
+
+        assertEquals(List.of("view 211331640", "callback", "handler"), calls);
+    }
+
+    @Test
+    public void testSetCallbackReplacesOnlyItsOwnHandler() {
+        List<String> calls = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.addHandler(AisMessageType.STATIC, msg -> calls.add("handler"));
+        decoder.setStaticCallback(msg -> calls.add("first"));
+        decoder.setStaticCallback(msg -> calls.add("second"));
+
+        staticMessage(244000001).forEach(decoder::onSentence);
+        decoder.setStaticCallback(null);
+        staticMessage(244000002).forEach(decoder::onSentence);
+
+        assertEquals(List.of("handler", "second", "handler"), calls);
+    }
+
+    @Test
+    public void testRemoveHandler() {
+        List<Integer> received = new ArrayList<>();
+        Consumer<AisPositionMessage> handler = msg -> received.add(msg.getMmsi());
+        AisDecoder decoder = new AisDecoder();
+        decoder.addHandler(AisMessageType.POSITION, handler);
+        decoder.addHandler(AisMessageType.POSITION, handler);
+
+        decoder.onSentence(position(1));
+        assertTrue(decoder.removeHandler(AisMessageType.POSITION, handler));
+        decoder.onSentence(position(2));
+        assertTrue(decoder.removeHandler(AisMessageType.POSITION, handler));
+        decoder.onSentence(position(3));
+        assertFalse(decoder.removeHandler(AisMessageType.POSITION, handler));
+
+        assertEquals(List.of(1, 1, 2), received);
+    }
+
+    @Test
+    public void testSupertypeHandlerReceivesClassAAndClassB() {
+        List<Integer> types = new ArrayList<>();
+        Consumer<AisPositionMessage> handler = msg -> types.add(msg.getMessageType());
+        AisDecoder decoder = new AisDecoder();
+        decoder.addHandler(AisMessageType.POSITION, handler);
+        decoder.addHandler(AisMessageType.CLASS_B_POSITION, handler);
+
+        decoder.onSentence(position(244660000));
+        decoder.onSentence(TestSentences.withType(position(244660001), 18));
+
+        assertEquals(List.of(1, 18), types);
+    }
+
+    @Test
+    public void testUnhandledTypesAreNotBuffered() {
+        List<AisStaticMessage> statics = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.addHandler(AisMessageType.POSITION, msg -> { });
+
+        staticMessage(244000003).forEach(decoder::onSentence);
+        assertTrue(statics.isEmpty());
+
+        decoder.addHandler(AisMessageType.STATIC, statics::add);
+        staticMessage(244000004).forEach(decoder::onSentence);
+        assertEquals(1, statics.size());
+        assertEquals("REGISTRY", statics.get(0).getName());
+        assertEquals(0, decoder.getPendingMultipartCount());
+    }
+
+    @Test
+    public void testMessageTypes() {
+        assertArrayEquals(new int[] {1, 2, 3}, AisMessageType.POSITION.getMessageTypes());
+        assertArrayEquals(new int[] {5}, AisMessageType.STATIC.getMessageTypes());
+        assertEquals(11, AisMessageType.values().length);
+        assertEquals("CLASS_B_POSITION", AisMessageType.CLASS_B_POSITION.toString());
+    }
+
+    @Test
+    public void testConcurrentDecoderRegistry() {
+        List<AisStaticMessage> statics = new ArrayList<>();
+        ConcurrentAisDecoder decoder = new ConcurrentAisDecoder(1000, 4);
+        decoder.addHandler(AisMessageType.STATIC, statics::add);
+
+        staticMessage(244000005).forEach(decoder::onSentence);
+
+        assertEquals(1, statics.size());
+        assertFalse(decoder.removeHandler(AisMessageType.STATIC, msg -> { }));
+    }
+}
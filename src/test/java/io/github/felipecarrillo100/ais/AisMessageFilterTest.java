@@ -0,0 +1,130 @@
+package io.github.felipecarrillo100.ais;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class AisMessageFilterTest {
+
+    // Helper: encodes a position report, then patches the type (the encoder always writes type 1)
+    private List<String> position(int type, int mmsi) {
+        AisPositionMessage msg = new AisPositionMessage();
+        msg.setMmsi(mmsi);
+        msg.setLon(4.5);
+        msg.setLat(51.9);
+        msg.setChannel("A");
+        return List.of(TestSentences.withType(AisEncoder.encodePositionMessage(msg).get(0), type));
+    }
+
+    // Helper: encodes a multipart static message for the given MMSI
+    private List<String> staticMessage(int mmsi) {
+        AisStaticMessage msg = new AisStaticMessage();
+        msg.setMmsi(mmsi);
+        msg.setName("FILTERED");
+        msg.setChannel("B");
+        return AisEncoder.encodeStaticMessage(msg);
+    }
+
+    @Test
+    public void testTypeFilterDropsOtherTypes() {
+        AisMessageFilter filter = new AisMessageFilter();
+        filter.setAcceptedTypes(1, 2);
+
+        List<Integer> types = new ArrayList<>();
+        List<Integer> statics = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.setFilter(filter);
+        decoder.setPositionCallback(msg -> types.add(msg.getMessageType()));
+        decoder.setStaticCallback(msg -> statics.add(msg.getMmsi()));
+        for (int type = 1; type <= 3; type++) {
+            position(type, 244000000 + type).forEach(decoder::onSentence);
+        }
+        staticMessage(244000009).forEach(decoder::onSentence);
+
+        assertEquals(List.of(1, 2), types);
+        assertTrue(statics.isEmpty());
+        assertEquals(0, decoder.getPendingMultipartCount());
+    }
+
+    @Test
+    public void testWatchListSelectsMmsis() {
+        AisMessageFilter filter = new AisMessageFilter();
+        int[] watched = new int[3000];
+        for (int i = 0; i < watched.length; i++) {
+            watched[i] = 211000000 + i * 7;
+        }
+        filter.addWatchedMmsis(watched);
+        assertEquals(3000, filter.getWatchedMmsiCount());
+
+        List<Integer> decoded = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.setFilter(filter);
+        decoder.setPositionCallback(msg -> decoded.add(msg.getMmsi()));
+        decoder.setStaticCallback(msg -> decoded.add(msg.getMmsi()));
+        position(1, 211000007).forEach(decoder::onSentence);
+        position(1, 211000008).forEach(decoder::onSentence);
+        position(3, 211020993).forEach(decoder::onSentence);
+        staticMessage(211000014).forEach(decoder::onSentence);
+        staticMessage(211000015).forEach(decoder::onSentence);
+
+        assertEquals(List.of(211000007, 211020993, 211000014), decoded);
+    }
+
+    @Test
+    public void testFilterCanBeReplacedAndRemoved() {
+        AisMessageFilter filter = new AisMessageFilter();
+        filter.addWatchedMmsis(1);
+
+        List<Integer> decoded = new ArrayList<>();
+        ConcurrentAisDecoder decoder = new ConcurrentAisDecoder();
+        decoder.setPositionCallback(msg -> decoded.add(msg.getMmsi()));
+        decoder.setFilter(filter);
+        position(1, 2).forEach(decoder::onSentence);
+        decoder.setFilter(null);
+        position(1, 2).forEach(decoder::onSentence);
+
+        assertEquals(List.of(2), decoded);
+    }
+
+    @Test
+    public void testFilterChecks() {
+        AisMessageFilter filter = new AisMessageFilter();
+        assertTrue(filter.accepts(27, 0));
+        filter.setAcceptedTypes(63);
+        filter.addWatchedMmsis(0, 999999999);
+        assertTrue(filter.accepts(63, 0));
+        assertTrue(filter.accepts(63, 999999999));
+        assertFalse(filter.accepts(62, 0));
+        assertFalse(filter.accepts(63, 1));
+        assertFalse(filter.acceptsType(-1));
+        assertFalse(filter.acceptsType(64));
+
+        filter.acceptAllTypes();
+        filter.clearWatchedMmsis();
+        assertTrue(filter.accepts(5, 1));
+        assertEquals(0, filter.getWatchedMmsiCount());
+        assertThrows(IllegalArgumentException.class, () -> filter.setAcceptedTypes(64));
+    }
+
+    @Test
+    public void testIntHashSet() {
+        IntHashSet set = new IntHashSet(4);
+        for (int i = -5000; i <= 5000; i++) {
+            assertTrue(set.add(i * 31));
+        }
+        assertFalse(set.add(0));
+        assertFalse(set.add(31));
+        assertEquals(10001, set.size());
+        for (int i = -5000; i <= 5000; i++) {
+            assertTrue(set.contains(i * 31));
+            assertFalse(set.contains(i * 31 + 1));
+        }
+        set.clear();
+        assertEquals(0, set.size());
+        assertFalse(set.contains(0));
+        assertFalse(set.contains(31));
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.felipecarrillo100.ais;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+public class AisMessageViewTest {
+
+    @Test
+    public void testPositionViewMatchesDecodedMessage() {
+        String sentence = AisEncoder.encodePositionMessage(TestSentences.positionMessage(219000123, -33.8568, 151.2153, "A")).get(0);
+
+        AisDecoder decoder = new AisDecoder();
+        AtomicReference<AisPositionMessage> decoded = new AtomicReference<>();
+        AtomicInteger views = new AtomicInteger();
+        decoder.setPositionCallback(decoded::set);
+        decoder.setPositionViewCallback(view -> {
+            views.incrementAndGet();
+            AisPositionMessage msg = decoded.get();
+            assertTrue(view.isValid());
+            assertEquals(1, view.messageType());
+            assertEquals(219000123, view.mmsi());
+            assertEquals(1, view.navStatus());
+            assertEquals(7, view.rateOfTurn());
+            assertEquals(87, view.sogTenths());
+            assertFalse(view.accuracy());
+            assertEquals(125, view.cogTenths());
+            assertEquals(13, view.heading());
+            assertEquals(17, view.timestamp());
+            assertTrue(view.raim());
+            assertEquals(2222, view.radio());
+            assertEquals(-33.8568, view.lat(), 0.0001);
+            assertEquals(151.2153, view.lon(), 0.0001);
+            assertEquals(-33856800, view.latMicroDeg(), 2);
+            assertEquals(151215300, view.lonMicroDeg(), 2);
+        });
+
+        decoder.onSentence(sentence);
+        assertEquals(1, views.get());
+        assertNotNull(decoded.get());
+    }
+
+    @Test
+    public void testStaticViewMatchesDecodedMessage() {
+        AisStaticMessage original = new AisStaticMessage();
+        original.setMmsi(316001234);
+        original.setImo(9123456);
+        original.setCallsign("CFN1234");
+        original.setName("VIEW TEST");
+        original.setShipType(52);
+        original.setDimensionToBow(12);
+        original.setDimensionToStern(18);
+        original.setDimensionToPort(4);
+        original.setDimensionToStarboard(5);
+        original.setEpfd(3);
+        original.setEtaMonth(6);
+        original.setEtaDay(15);
+        original.setEtaHour(8);
+        original.setEtaMinute(30);
+        original.setDraught(4.2);
+        original.setDestination("HALIFAX");
+        original.setDteAvailable(true);
+        original.setChannel("B");
+
+        AisDecoder decoder = new AisDecoder();
+        AtomicInteger views = new AtomicInteger();
+        decoder.setStaticViewCallback(view -> {
+            views.incrementAndGet();
+            assertTrue(view.isValid());
+            assertEquals(316001234, view.mmsi());
+            assertEquals(9123456, view.imo());
+            assertEquals("CFN1234", view.callsign());
+            assertEquals("VIEW TEST", view.name());
+            assertEquals(52, view.shipType());
+            assertEquals(12, view.dimensionToBow());
+            assertEquals(18, view.dimensionToStern());
+            assertEquals(4, view.dimensionToPort());
+            assertEquals(5, view.dimensionToStarboard());
+            assertEquals(3, view.epfd());
+            assertEquals(6, view.etaMonth());
+            assertEquals(15, view.etaDay());
+            assertEquals(8, view.etaHour());
+            assertEquals(30, view.etaMinute());
+            assertEquals(42, view.draughtTenths());
+            assertEquals("HALIFAX", view.destination());
+            assertTrue(view.dteAvailable());
+        });
+
+        List<AisStaticMessage> decoded = new ArrayList<>();
+        decoder.setStaticCallback(decoded::add);
+
+        AisEncoder.encodeStaticMessage(original).forEach(decoder::onSentence);
+        assertEquals(1, views.get());
+        // The copying decode reads the same bits as the view
+        assertEquals(3, decoded.get(0).getEpfd());
+    }
+
+    @Test
+    public void testCopiedBitsOutliveTheCallback() {
+        // Ring buffer style hand-off: copy bits into slot-owned buffers
+        AisBitBuffer[] slots = { new AisBitBuffer(), new AisBitBuffer(), new AisBitBuffer() };
+        AtomicInteger next = new AtomicInteger();
+
+        AisDecoder decoder = new AisDecoder();
+        decoder.setPositionViewCallback(view -> slots[next.getAndIncrement()].copyFrom(view.bits()));
+
+        List<Integer> mmsis = List.of(111111111, 222222222, 333333333);
+        for (int mmsi : mmsis) {
+            decoder.onSentence(AisEncoder.encodePositionMessage(TestSentences.positionMessage(mmsi, 10, 20, "A")).get(0));
+        }
+
+        AisPositionView view = new AisPositionView();
+        for (int i = 0; i < slots.length; i++) {
+            assertEquals(168, slots[i].length());
+            assertEquals(mmsis.get(i).intValue(), view.wrap(slots[i]).mmsi());
+        }
+    }
+}
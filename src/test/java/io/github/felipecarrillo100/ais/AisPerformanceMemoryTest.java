@@ -84,15 +84,7 @@ public class AisPerformanceMemoryTest {
         // Assert memory usage increase is reasonable (e.g. less than 20 MB)
         assertTrue(memoryDiff < 20, "Memory usage increased too much - possible leak");
 
-        // Check multipartBuffers map is empty (reflection or accessor may be needed if private)
-        try {
-            var field = AisDecoder.class.getDeclaredField("multipartBuffers");
-            field.setAccessible(true);
-            @SuppressWarnings("unchecked")
-            var buffers = (java.util.Map<?, ?>) field.get(decoder);
-            assertTrue(buffers.isEmpty(), "Multipart buffers not cleaned up");
-        } catch (NoSuchFieldException | IllegalAccessException e) {
-            fail("Cannot access multipartBuffers for cleanup verification");
-        }
+        // Check multipart buffers are cleaned up
+        assertEquals(0, decoder.getPendingMultipartCount(), "Multipart buffers not cleaned up");
     }
 }
@@ -0,0 +1,195 @@
+package io.github.felipecarrillo100.ais;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+public class AisSpatialIndexTest {
+
+    // Helper: great-circle distance in nautical miles
+    private double distanceNm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * 3440.065 * Math.asin(Math.sqrt(a));
+    }
+
+    private Set<Integer> box(AisSpatialIndex index, double minLat, double minLon, double maxLat, double maxLon) {
+        Set<Integer> found = new TreeSet<>();
+        int count = index.queryBox(minLat, minLon, maxLat, maxLon, found::add);
+        assertEquals(found.size(), count);
+        return found;
+    }
+
+    private Set<Integer> radius(AisSpatialIndex index, double lat, double lon, double nm) {
+        Set<Integer> found = new TreeSet<>();
+        int count = index.queryRadius(lat, lon, nm, found::add);
+        assertEquals(found.size(), count);
+        return found;
+    }
+
+    private Set<Integer> range(int from, int to) {
+        Set<Integer> set = new TreeSet<>();
+        for (int i = from; i <= to; i++) {
+            set.add(i);
+        }
+        return set;
+    }
+
+    @Test
+    public void testDecoderFeedsIndex() {
+        AisSpatialIndex index = new AisSpatialIndex();
+        AisDecoder decoder = new AisDecoder();
+        decoder.addHandler(AisMessageType.REUSABLE_POSITION, index);
+        AisPositionMessage msg = new AisPositionMessage();
+        msg.setMmsi(244660000);
+        msg.setLat(51.9);
+        msg.setLon(4.5);
+        msg.setChannel("A");
+        AisEncoder.encodePositionMessage(msg).forEach(decoder::onSentence);
+
+        assertEquals(1, index.size());
+        assertEquals(Set.of(244660000), box(index, 51.8, 4.4, 52.0, 4.6));
+        assertEquals(Set.of(244660000), box(index, 51.9, 4.5, 51.9, 4.5));
+        assertTrue(box(index, 52.0, 4.4, 53.0, 4.6).isEmpty());
+    }
+
+    @Test
+    public void testMovesBetweenCells() {
+        AisSpatialIndex index = new AisSpatialIndex(1.0);
+        index.update(1, 10.5, 10.5);
+        index.update(1, 10.6, 10.6);
+        index.update(1, 12.5, 10.5);
+
+        assertEquals(1, index.size());
+        assertTrue(box(index, 10, 10, 11, 11).isEmpty());
+        assertEquals(Set.of(1), box(index, 12, 10, 13, 11));
+        assertEquals(Set.of(1), box(index, -90, -180, 90, 180));
+
+        index.update(1, 91, 181);
+        assertEquals(0, index.size());
+        assertFalse(index.remove(1));
+        assertTrue(box(index, -90, -180, 90, 180).isEmpty());
+    }
+
+    @Test
+    public void testAntimeridianAndPoles() {
+        AisSpatialIndex index = new AisSpatialIndex();
+        index.update(1, 60.0, 179.9);
+        index.update(2, 60.0, -179.9);
+        index.update(3, 60.0, 0.0);
+        index.update(4, 89.99, 45.0);
+        index.update(5, 89.99, -135.0);
+
+        assertEquals(Set.of(1, 2), box(index, 59, 179, 61, -179));
+        assertEquals(Set.of(1, 2), radius(index, 60.0, 180.0, 10));
+        assertEquals(Set.of(4, 5), radius(index, 90.0, 0.0, 5));
+    }
+
+    @Test
+    public void testQueriesMatchLinearScan() {
+        Random random = new Random(42);
+        int n = 20000;
+        double[] lat = new double[n];
+        double[] lon = new double[n];
+        AisSpatialIndex index = new AisSpatialIndex(0.5);
+        for (int i = 0; i < n; i++) {
+            lat[i] = 50 + random.nextDouble() * 10;
+            lon[i] = random.nextDouble() * 10;
+            index.update(100000 + i, lat[i], lon[i]);
+        }
+        // Move a third of the fleet, removing a few
+        for (int i = 0; i < n; i += 3) {
+            lat[i] = 50 + random.nextDouble() * 10;
+            lon[i] = random.nextDouble() * 10;
+            index.update(100000 + i, lat[i], lon[i]);
+        }
+        for (int i = 1; i < n; i += 97) {
+            assertTrue(index.remove(100000 + i));
+            lat[i] = Double.NaN;
+        }
+
+        for (int q = 0; q < 50; q++) {
+            double qLat = 50 + random.nextDouble() * 10;
+            double qLon = random.nextDouble() * 10;
+            double nm = random.nextDouble() * 60;
+            Set<Integer> expectedBox = new TreeSet<>();
+            Set<Integer> expectedRadius = new TreeSet<>();
+            for (int i = 0; i < n; i++) {
+                if (Double.isNaN(lat[i])) continue;
+                if (lat[i] >= qLat - 0.5 && lat[i] <= qLat + 0.5 && lon[i] >= qLon - 0.5 && lon[i] <= qLon + 0.5) {
+                    expectedBox.add(100000 + i);
+                }
+                double d = distanceNm(qLat, qLon, lat[i], lon[i]);
+                // Skip vessels on the boundary, where rounding to AIS units may flip the result
+                if (Math.abs(d - nm) < 0.01) continue;
+                if (d < nm) expectedRadius.add(100000 + i);
+            }
+            assertEquals(expectedBox, box(index, qLat - 0.5, qLon - 0.5, qLat + 0.5, qLon + 0.5));
+            Set<Integer> found = radius(index, qLat, qLon, nm);
+            assertTrue(found.containsAll(expectedRadius));
+            assertTrue(found.size() - expectedRadius.size() <= 2);
+        }
+    }
+
+    @Test
+    public void testQueriesRunWhileIngesting() throws Exception {
+        AisSpatialIndex index = new AisSpatialIndex();
+        for (int i = 1; i <= 1000; i++) {
+            index.update(i, 40.1, 0.1);
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        List<String> bad = new ArrayList<>();
+        Set<Integer> stationary = range(1, 500);
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                // Vessels 1-500 never leave their cell and must always be found;
+                // vessels 501-1000 jump between cells and may be missed
+                Set<Integer> seen = new TreeSet<>();
+                index.queryBox(39, -1, 42, 1, seen::add);
+                if (!seen.containsAll(stationary)
+                        || seen.stream().anyMatch(mmsi -> mmsi < 1 || mmsi > 1000)) {
+                    bad.add(seen.toString());
+                }
+            }
+        });
+        reader.start();
+        Random random = new Random(7);
+        for (int i = 0; i < 200000; i++) {
+            int mmsi = 1 + random.nextInt(1000);
+            if (mmsi <= 500) {
+                index.update(mmsi, 40.1 + random.nextDouble() / 100, 0.1 + random.nextDouble() / 100);
+            } else {
+                index.update(mmsi, 39.5 + random.nextDouble() * 2, random.nextDouble() - 0.5);
+            }
+        }
+        done.set(true);
+        reader.join();
+        assertTrue(bad.isEmpty(), bad.isEmpty() ? "" : bad.get(0));
+        assertEquals(1000, box(index, 39, -1, 42, 1).size());
+    }
+
+    @Test
+    public void testIntIntHashMapRemove() {
+        IntIntHashMap map = new IntIntHashMap(4);
+        for (int i = 1; i <= 1000; i++) {
+            map.put(i * 16, i);
+        }
+        for (int i = 1; i <= 1000; i += 2) {
+            assertEquals(i, map.remove(i * 16, -1));
+        }
+        assertEquals(500, map.size());
+        for (int i = 1; i <= 1000; i++) {
+            assertEquals(i % 2 == 0 ? i : -1, map.get(i * 16, -1));
+        }
+        assertEquals(-1, map.remove(17, -1));
+    }
+}
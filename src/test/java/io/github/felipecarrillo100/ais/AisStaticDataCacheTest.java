@@ -0,0 +1,105 @@
+package io.github.felipecarrillo100.ais;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class AisStaticDataCacheTest {
+
+    // Helper: builds a static message with the given destination
+    private AisStaticMessage staticMessage(int mmsi, String destination) {
+        AisStaticMessage msg = new AisStaticMessage();
+        msg.setMmsi(mmsi);
+        msg.setImo(9074729);
+        msg.setCallsign("PDXB");
+        msg.setName("NORDIC STAR");
+        msg.setShipType(70);
+        msg.setDimensionToBow(120);
+        msg.setDimensionToStern(30);
+        msg.setDimensionToPort(10);
+        msg.setDimensionToStarboard(12);
+        msg.setDraught(7.5);
+        msg.setDestination(destination);
+        msg.setChannel("B");
+        return msg;
+    }
+
+    @Test
+    public void testUnchangedMessagesAreDropped() {
+        List<AisStaticMessage> received = new ArrayList<>();
+        AisStaticDataCache cache = new AisStaticDataCache(received::add);
+        AisDecoder decoder = new AisDecoder();
+        decoder.addHandler(AisMessageType.STATIC_VIEW, cache);
+
+        for (int i = 0; i < 5; i++) {
+            AisEncoder.encodeStaticMessage(staticMessage(244660000, "ROTTERDAM")).forEach(decoder::onSentence);
+        }
+        AisStaticMessage repeated = staticMessage(244660000, "ROTTERDAM");
+        repeated.setRepeat(2);
+        AisEncoder.encodeStaticMessage(repeated).forEach(decoder::onSentence);
+        AisEncoder.encodeStaticMessage(staticMessage(244660000, "HAMBURG")).forEach(decoder::onSentence);
+
+        assertEquals(2, received.size());
+        assertEquals("ROTTERDAM", received.get(0).getDestination());
+        assertEquals("HAMBURG", received.get(1).getDestination());
+        assertSame(received.get(1), cache.get(244660000));
+        assertEquals(2, cache.getChangedCount());
+        assertEquals(5, cache.getUnchangedCount());
+        assertEquals(1, cache.size());
+        assertNull(cache.get(211331640));
+    }
+
+    @Test
+    public void testChangedMessageMatchesStaticCallback() {
+        List<AisStaticMessage> cached = new ArrayList<>();
+        List<AisStaticMessage> decoded = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.addHandler(AisMessageType.STATIC_VIEW, new AisStaticDataCache(cached::add));
+        decoder.setStaticCallback(decoded::add);
+
+        List<String> sentences = AisEncoder.encodeStaticMessage(staticMessage(244660000, "ROTTERDAM"));
+        decoder.onSentence(TestSentences.tagBlock("s:station1,c:1700000000") + sentences.get(0));
+        decoder.onSentence(sentences.get(1), "station1");
+
+        assertEquals(1, cached.size());
+        AisStaticMessage expected = decoded.get(0);
+        AisStaticMessage actual = cached.get(0);
+        assertEquals(expected.getImo(), actual.getImo());
+        assertEquals(expected.getCallsign(), actual.getCallsign());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getShipType(), actual.getShipType());
+        assertEquals(expected.getDimensionToBow(), actual.getDimensionToBow());
+        assertEquals(expected.getDraught(), actual.getDraught());
+        assertEquals(expected.getDestination(), actual.getDestination());
+        assertEquals("station1", cached.get(0).getSource());
+        assertEquals(1700000000L, cached.get(0).getReceiverTime());
+        assertEquals("B", cached.get(0).getChannel());
+    }
+
+    @Test
+    public void testStringsArePooled() {
+        List<AisStaticMessage> received = new ArrayList<>();
+        AisStaticDataCache cache = new AisStaticDataCache(1, received::add);
+        AisDecoder decoder = new AisDecoder();
+        decoder.addHandler(AisMessageType.STATIC_VIEW, cache);
+
+        for (int i = 0; i < 50; i++) {
+            AisEncoder.encodeStaticMessage(staticMessage(244000000 + i, "ROTTERDAM")).forEach(decoder::onSentence);
+        }
+
+        assertEquals(50, received.size());
+        assertEquals(50, cache.size());
+        for (AisStaticMessage msg : received) {
+            assertSame(received.get(0).getDestination(), msg.getDestination());
+            assertSame(received.get(0).getName(), msg.getName());
+            assertSame(received.get(0).getCallsign(), msg.getCallsign());
+        }
+
+        cache.clear();
+        AisEncoder.encodeStaticMessage(staticMessage(244000000, "ROTTERDAM")).forEach(decoder::onSentence);
+        assertEquals(51, received.size());
+    }
+}
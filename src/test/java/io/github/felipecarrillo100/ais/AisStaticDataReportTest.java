@@ -0,0 +1,211 @@
+package io.github.felipecarrillo100.ais;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class AisStaticDataReportTest {
+
+    // Helper: type 24 part A
+    private AisBitBuffer partA(int mmsi, String name) {
+        AisBitBuffer bits = new AisBitBuffer();
+        bits.appendUInt(24, 6);
+        bits.appendUInt(0, 2);
+        bits.appendUInt(mmsi, 30);
+        bits.appendUInt(AisStaticDataReport.PART_A, 2);
+        bits.appendText(name, 20);
+        return bits;
+    }
+
+    // Helper: type 24 part B; tail holds the dimensions or the mother ship MMSI
+    private AisBitBuffer partB(int mmsi, int shipType, String callsign, int tail) {
+        AisBitBuffer bits = new AisBitBuffer();
+        bits.appendUInt(24, 6);
+        bits.appendUInt(0, 2);
+        bits.appendUInt(mmsi, 30);
+        bits.appendUInt(AisStaticDataReport.PART_B, 2);
+        bits.appendUInt(shipType, 8);
+        bits.appendText("SRT", 3);
+        bits.appendUInt(3, 4);                          // unit model code
+        bits.appendUInt(54321, 20);                     // serial number
+        bits.appendText(callsign, 7);
+        bits.appendUInt(tail, 30);
+        bits.appendUInt(0, 6);
+        return bits;
+    }
+
+    // Helper: packs dimensions the way part B carries them
+    private int dimensions(int bow, int stern, int port, int starboard) {
+        return bow << 21 | stern << 12 | port << 6 | starboard;
+    }
+
+    // Helper: builds a decoded report without going through the decoder
+    private AisStaticDataReport report(int mmsi, int part, String text) {
+        AisStaticDataReport report = new AisStaticDataReport();
+        report.setMessageType(24);
+        report.setMmsi(mmsi);
+        report.setPartNumber(part);
+        if (part == AisStaticDataReport.PART_A) report.setName(text);
+        else report.setCallsign(text);
+        return report;
+    }
+
+    @Test
+    public void testDecodePartA() {
+        AisBitBuffer bits = partA(338123456, "BLUE HERON");
+        assertEquals(160, bits.length());
+
+        List<AisStaticDataReport> decoded = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.setStaticDataReportCallback(decoded::add);
+        decoder.onSentence(TestSentences.armor(bits, "A", "").get(0));
+
+        assertEquals(1, decoded.size());
+        AisStaticDataReport msg = decoded.get(0);
+        assertEquals(24, msg.getMessageType());
+        assertEquals(338123456, msg.getMmsi());
+        assertTrue(msg.isPartA());
+        assertEquals("BLUE HERON", msg.getName());
+        assertNull(msg.getCallsign());
+        assertNull(msg.getShipType());
+        assertEquals("A", msg.getChannel());
+    }
+
+    @Test
+    public void testDecodePartB() {
+        AisBitBuffer bits = partB(338123456, 37, "WDX1234", dimensions(8, 4, 2, 2));
+        assertEquals(168, bits.length());
+
+        List<AisStaticDataReport> decoded = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.setStaticDataReportCallback(decoded::add);
+        decoder.onSentence(TestSentences.armor(bits, "A", "").get(0), "station1");
+
+        assertEquals(1, decoded.size());
+        AisStaticDataReport msg = decoded.get(0);
+        assertTrue(msg.isPartB());
+        assertEquals(37, msg.getShipType());
+        assertEquals("SRT", msg.getVendorId());
+        assertEquals(3, msg.getUnitModelCode());
+        assertEquals(54321, msg.getSerialNumber());
+        assertEquals("WDX1234", msg.getCallsign());
+        assertEquals(8, msg.getDimensionToBow());
+        assertEquals(4, msg.getDimensionToStern());
+        assertEquals(2, msg.getDimensionToPort());
+        assertEquals(2, msg.getDimensionToStarboard());
+        assertNull(msg.getMothershipMmsi());
+        assertNull(msg.getName());
+        assertEquals("station1", msg.getSource());
+    }
+
+    @Test
+    public void testDecodeAuxiliaryCraftPartB() {
+        AisBitBuffer bits = partB(983123456, 52, "AUX1", 338123456);
+
+        List<AisStaticDataReport> decoded = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.setStaticDataReportCallback(decoded::add);
+        decoder.onSentence(TestSentences.armor(bits, "A", "").get(0));
+
+        assertEquals(1, decoded.size());
+        assertEquals(338123456, decoded.get(0).getMothershipMmsi());
+        assertNull(decoded.get(0).getDimensionToBow());
+    }
+
+    @Test
+    public void testShortPartIsIgnored() {
+        AisBitBuffer bits = new AisBitBuffer();
+        bits.appendUInt(24, 6);
+        bits.appendUInt(0, 2);
+        bits.appendUInt(338123456, 30);
+        bits.appendUInt(AisStaticDataReport.PART_B, 2);
+        bits.appendUInt(37, 8);
+
+        List<AisStaticDataReport> decoded = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.setStaticDataReportCallback(decoded::add);
+        decoder.onSentence(TestSentences.armor(bits, "A", "").get(0));
+
+        assertTrue(decoded.isEmpty());
+    }
+
+    @Test
+    public void testMergerJoinsPartsInEitherOrder() {
+        List<AisStaticMessage> merged = new ArrayList<>();
+        AisStaticDataMerger merger = new AisStaticDataMerger(merged::add);
+        AisDecoder decoder = new AisDecoder();
+        decoder.setStaticDataReportCallback(merger);
+
+        decoder.onSentence(TestSentences.armor(partB(338123456, 37, "WDX1234", dimensions(8, 4, 2, 2)), "A", "").get(0));
+        decoder.onSentence(TestSentences.armor(partA(211000001, "NORDWIND"), "A", "").get(0));
+        assertTrue(merged.isEmpty());
+        assertEquals(2, merger.getPendingCount());
+
+        decoder.onSentence(TestSentences.armor(partA(338123456, "BLUE HERON"), "A", "").get(0));
+        decoder.onSentence(TestSentences.armor(partB(211000001, 36, "DA1234", dimensions(10, 2, 1, 2)), "A", "").get(0));
+
+        assertEquals(2, merged.size());
+        AisStaticMessage msg = merged.get(0);
+        assertEquals(24, msg.getMessageType());
+        assertEquals(338123456, msg.getMmsi());
+        assertEquals("BLUE HERON", msg.getName());
+        assertEquals(37, msg.getShipType());
+        assertEquals("WDX1234", msg.getCallsign());
+        assertEquals(8, msg.getDimensionToBow());
+        assertEquals(2, msg.getDimensionToStarboard());
+        assertNull(msg.getImo());
+        assertEquals("NORDWIND", merged.get(1).getName());
+        assertEquals("DA1234", merged.get(1).getCallsign());
+        assertEquals(0, merger.getPendingCount());
+        assertEquals(2, merger.getMergedCount());
+    }
+
+    @Test
+    public void testMergerKeepsNewestPartOfSameKind() {
+        List<AisStaticMessage> merged = new ArrayList<>();
+        AisStaticDataMerger merger = new AisStaticDataMerger(merged::add);
+
+        merger.accept(report(338123456, AisStaticDataReport.PART_A, "OLD NAME"));
+        merger.accept(report(338123456, AisStaticDataReport.PART_A, "NEW NAME"));
+        assertEquals(1, merger.getPendingCount());
+        merger.accept(report(338123456, AisStaticDataReport.PART_B, "WDX1234"));
+
+        assertEquals(1, merged.size());
+        assertEquals("NEW NAME", merged.get(0).getName());
+    }
+
+    @Test
+    public void testMergerEvictsLeastRecentlyUpdated() {
+        List<AisStaticMessage> merged = new ArrayList<>();
+        AisStaticDataMerger merger = new AisStaticDataMerger(2, merged::add);
+
+        merger.accept(report(1, AisStaticDataReport.PART_A, "ONE"));
+        merger.accept(report(2, AisStaticDataReport.PART_A, "TWO"));
+        merger.accept(report(1, AisStaticDataReport.PART_A, "ONE AGAIN"));
+        merger.accept(report(3, AisStaticDataReport.PART_A, "THREE"));
+
+        assertEquals(2, merger.getPendingCount());
+        assertEquals(1, merger.getEvictedCount());
+        merger.accept(report(1, AisStaticDataReport.PART_B, "CALL1"));
+        assertEquals(1, merged.size());
+        assertEquals("ONE AGAIN", merged.get(0).getName());
+        merger.accept(report(2, AisStaticDataReport.PART_B, "CALL2"));
+        assertEquals(1, merged.size());
+    }
+
+    @Test
+    public void testMergerIgnoresInvalidReports() {
+        List<AisStaticMessage> merged = new ArrayList<>();
+        AisStaticDataMerger merger = new AisStaticDataMerger(merged::add);
+
+        merger.accept(null);
+        merger.accept(new AisStaticDataReport());
+        merger.accept(report(338123456, 2, "PART C"));
+
+        assertEquals(0, merger.getPendingCount());
+        assertThrows(IllegalArgumentException.class, () -> new AisStaticDataMerger(0, merged::add));
+    }
+}
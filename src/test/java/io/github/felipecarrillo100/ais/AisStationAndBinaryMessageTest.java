@@ -0,0 +1,206 @@
+package io.github.felipecarrillo100.ais;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class AisStationAndBinaryMessageTest {
+
+    // Helper: common leading fields of every message
+    private AisBitBuffer header(int type, int mmsi) {
+        AisBitBuffer bits = new AisBitBuffer();
+        bits.appendUInt(type, 6);
+        bits.appendUInt(0, 2);
+        bits.appendUInt(mmsi, 30);
+        return bits;
+    }
+
+    // Helper: type 8 header with the given application identifier
+    private AisBitBuffer broadcast(int mmsi, int dac, int fi) {
+        AisBitBuffer bits = header(8, mmsi);
+        bits.appendUInt(0, 2);
+        bits.appendUInt(dac, 10);
+        bits.appendUInt(fi, 6);
+        return bits;
+    }
+
+    @Test
+    public void testDecodeBaseStationReport() {
+        AisBitBuffer bits = header(4, 2579999);
+        bits.appendUInt(2024, 14);
+        bits.appendUInt(6, 4);
+        bits.appendUInt(30, 5);
+        bits.appendUInt(23, 5);
+        bits.appendUInt(59, 6);
+        bits.appendUInt(58, 6);
+        bits.appendUInt(1, 1);
+        bits.appendUInt((int) Math.round(10.5 * 600000), 28);
+        bits.appendUInt((int) Math.round(59.75 * 600000), 27);
+        bits.appendUInt(7, 4);                          // EPFD: surveyed
+        bits.appendUInt(0, 10);
+        bits.appendUInt(1, 1);                          // RAIM
+        bits.appendUInt(81926, 19);
+        assertEquals(168, bits.length());
+
+        List<AisBaseStationMessage> decoded = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.setBaseStationCallback(decoded::add);
+        TestSentences.armor(bits, "A", "3").forEach(decoder::onSentence);
+
+        assertEquals(1, decoded.size());
+        AisBaseStationMessage msg = decoded.get(0);
+        assertEquals(4, msg.getMessageType());
+        assertEquals(2579999, msg.getMmsi());
+        assertEquals(2024, msg.getYear());
+        assertEquals(6, msg.getMonth());
+        assertEquals(30, msg.getDay());
+        assertEquals(23, msg.getHour());
+        assertEquals(59, msg.getMinute());
+        assertEquals(58, msg.getSecond());
+        assertTrue(msg.getAccuracy());
+        assertEquals(10.5, msg.getLon(), 1e-6);
+        assertEquals(59.75, msg.getLat(), 1e-6);
+        assertEquals(7, msg.getEpfd());
+        assertTrue(msg.getRaim());
+        assertEquals(81926, msg.getRadio());
+        assertEquals("A", msg.getChannel());
+    }
+
+    @Test
+    public void testDecodeAidToNavigationWithNameExtension() {
+        AisBitBuffer bits = header(21, 992351000);
+        bits.appendUInt(30, 5);                         // special mark
+        bits.appendText("NORTH HARBOUR ENTRAN", 20);
+        bits.appendUInt(0, 1);
+        bits.appendUInt((int) Math.round(-1.25 * 600000), 28);
+        bits.appendUInt((int) Math.round(50.5 * 600000), 27);
+        bits.appendUInt(2, 9);
+        bits.appendUInt(2, 9);
+        bits.appendUInt(1, 6);
+        bits.appendUInt(1, 6);
+        bits.appendUInt(1, 4);
+        bits.appendUInt(61, 6);
+        bits.appendUInt(1, 1);                          // off position
+        bits.appendUInt(0, 8);
+        bits.appendUInt(0, 1);
+        bits.appendUInt(1, 1);                          // virtual
+        bits.appendUInt(0, 1);
+        bits.appendUInt(0, 1);
+        assertEquals(272, bits.length());
+        bits.appendText("CE BUOY", 7);
+
+        List<AisAidToNavigationMessage> decoded = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.setAidToNavigationCallback(decoded::add);
+        TestSentences.armor(bits, "A", "3").forEach(decoder::onSentence);
+
+        assertEquals(1, decoded.size());
+        AisAidToNavigationMessage msg = decoded.get(0);
+        assertEquals(21, msg.getMessageType());
+        assertEquals(30, msg.getAidType());
+        assertEquals("NORTH HARBOUR ENTRANCE BUOY", msg.getName());
+        assertEquals(-1.25, msg.getLon(), 1e-6);
+        assertEquals(50.5, msg.getLat(), 1e-6);
+        assertEquals(2, msg.getDimensionToBow());
+        assertEquals(1, msg.getDimensionToStarboard());
+        assertEquals(61, msg.getSecond());
+        assertTrue(msg.getOffPosition());
+        assertTrue(msg.getVirtualAid());
+        assertFalse(msg.getAssigned());
+    }
+
+    @Test
+    public void testDecodeSafetyMessages() {
+        AisBitBuffer broadcast = header(14, 351809000);
+        broadcast.appendUInt(0, 2);
+        broadcast.appendText("SECURITE GALE WARNING AREA 5", 28);
+        AisBitBuffer addressed = header(12, 351809000);
+        addressed.appendUInt(2, 2);
+        addressed.appendUInt(235009802, 30);
+        addressed.appendUInt(1, 1);
+        addressed.appendUInt(0, 1);
+        addressed.appendText("KEEP CLEAR", 10);
+
+        List<AisSafetyMessage> decoded = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.setSafetyMessageCallback(decoded::add);
+        TestSentences.armor(broadcast, "A", "3").forEach(decoder::onSentence);
+        TestSentences.armor(addressed, "A", "3").forEach(decoder::onSentence);
+
+        assertEquals(2, decoded.size());
+        assertEquals(14, decoded.get(0).getMessageType());
+        assertEquals("SECURITE GALE WARNING AREA 5", decoded.get(0).getText());
+        assertNull(decoded.get(0).getDestinationMmsi());
+        AisSafetyMessage msg = decoded.get(1);
+        assertEquals(12, msg.getMessageType());
+        assertEquals(2, msg.getSequenceNumber());
+        assertEquals(235009802, msg.getDestinationMmsi());
+        assertTrue(msg.getRetransmit());
+        assertEquals("KEEP CLEAR", msg.getText());
+    }
+
+    @Test
+    public void testBinaryHandlerReadsDataInPlace() {
+        AisBitBuffer bits = broadcast(2655619, 1, 31);
+        bits.appendUInt(-1234 & 0x1FF, 9);              // signed data field
+        bits.appendUInt(777, 12);
+        bits.appendText("MET", 3);
+
+        int[] fields = new int[5];
+        String[] text = new String[1];
+        List<Integer> unclaimed = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.setBinaryMessageHandler(1, 31, view -> {
+            fields[0] = view.messageType();
+            fields[1] = view.mmsi();
+            fields[2] = view.dataLength();
+            fields[3] = view.readInt(0, 9);
+            fields[4] = view.readUInt(9, 12);
+            text[0] = view.readText(21, 3);
+            assertSame(view.bits(), view.bits());
+        });
+        decoder.setBinaryMessageCallback(view -> unclaimed.add(view.fi()));
+        TestSentences.armor(bits, "A", "3").forEach(decoder::onSentence);
+
+        assertEquals(8, fields[0]);
+        assertEquals(2655619, fields[1]);
+        assertEquals(39, fields[2]);
+        assertEquals(-1234 << 23 >> 23, fields[3]);
+        assertEquals(777, fields[4]);
+        assertEquals("MET", text[0]);
+        assertTrue(unclaimed.isEmpty());
+    }
+
+    @Test
+    public void testUnclaimedBinaryMessagesReachFallback() {
+        AisBitBuffer addressed = header(6, 2655619);
+        addressed.appendUInt(1, 2);
+        addressed.appendUInt(211000001, 30);
+        addressed.appendUInt(0, 1);
+        addressed.appendUInt(0, 1);
+        addressed.appendUInt(235, 10);
+        addressed.appendUInt(10, 6);
+        addressed.appendUInt(5, 8);
+
+        List<String> received = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.setBinaryMessageHandler(1, 31, view -> received.add("handler"));
+        decoder.setBinaryMessageCallback(view -> received.add(view.messageType() + ":" + view.destinationMmsi()
+                + ":" + view.dac() + "/" + view.fi() + ":" + view.readUInt(0, 8)));
+        TestSentences.armor(addressed, "A", "3").forEach(decoder::onSentence);
+        decoder.setBinaryMessageHandler(1, 31, null);
+        TestSentences.armor(broadcast(2655619, 1, 31), "A", "3").forEach(decoder::onSentence);
+
+        assertEquals(List.of("6:211000001:235/10:5", "8:0:1/31:0"), received);
+    }
+
+    @Test
+    public void testBinaryHandlerRejectsInvalidIdentifier() {
+        AisDecoder decoder = new AisDecoder();
+        assertThrows(IllegalArgumentException.class, () -> decoder.setBinaryMessageHandler(1024, 0, view -> { }));
+        assertThrows(IllegalArgumentException.class, () -> decoder.setBinaryMessageHandler(1, 64, view -> { }));
+    }
+}
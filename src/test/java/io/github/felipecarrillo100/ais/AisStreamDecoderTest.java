@@ -0,0 +1,125 @@
+package io.github.felipecarrillo100.ais;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class AisStreamDecoderTest {
+
+    // Helper: a log of position reports and static messages with a mix of line terminators
+    private String log(List<String> sentences) {
+        String[] terminators = {"\n", "\r\n", "\r", "\r\n\r\n"};
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < sentences.size(); i++) {
+            sb.append(sentences.get(i)).append(terminators[i % terminators.length]);
+        }
+        return sb.toString();
+    }
+
+    private List<String> sentences() {
+        List<String> sentences = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            sentences.addAll(AisEncoder.encodePositionMessage(TestSentences.positionMessage(205000000 + i, 51.9, 3.2, "B")));
+            if (i % 5 == 0) {
+                sentences.addAll(AisEncoder.encodeStaticMessage(TestSentences.staticMessage(205000000 + i, "STREAM VESSEL", "A")));
+            }
+        }
+        return sentences;
+    }
+
+    // Helper: a decoder whose callbacks record decoded MMSIs
+    private AisDecoder recordingDecoder(List<Integer> out) {
+        AisDecoder decoder = new AisDecoder();
+        decoder.setPositionCallback(msg -> out.add(msg.getMmsi()));
+        decoder.setStaticCallback(msg -> out.add(-msg.getMmsi()));
+        return decoder;
+    }
+
+    @Test
+    public void testRandomChunkingMatchesLineByLineDecoding() {
+        List<String> sentences = sentences();
+        List<Integer> expected = new ArrayList<>();
+        AisDecoder reference = recordingDecoder(expected);
+        sentences.forEach(reference::onSentence);
+
+        byte[] bytes = log(sentences).getBytes(StandardCharsets.US_ASCII);
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            List<Integer> out = new ArrayList<>();
+            AisStreamDecoder stream = new AisStreamDecoder(recordingDecoder(out));
+            int offset = 0;
+            while (offset < bytes.length) {
+                int n = Math.min(bytes.length - offset, 1 + random.nextInt(120));
+                stream.feed(bytes, offset, n);
+                offset += n;
+            }
+            stream.finish();
+            assertEquals(expected, out);
+            assertEquals(bytes.length, stream.getBytesRead());
+            assertEquals(sentences.size(), stream.getLineCount());
+            assertEquals(sentences.size(), stream.getDecodedCount());
+            assertEquals(0, stream.getRejectedCount());
+        }
+    }
+
+    @Test
+    public void testInputStreamAndChannel() throws Exception {
+        List<String> sentences = sentences();
+        byte[] bytes = log(sentences).getBytes(StandardCharsets.US_ASCII);
+
+        List<Integer> fromStream = new ArrayList<>();
+        AisStreamDecoder stream = new AisStreamDecoder(recordingDecoder(fromStream), 13, 256);
+        stream.decode(new ByteArrayInputStream(bytes));
+
+        List<Integer> fromChannel = new ArrayList<>();
+        AisStreamDecoder channel = new AisStreamDecoder(recordingDecoder(fromChannel), 4096, 256);
+        channel.decode(Channels.newChannel(new ByteArrayInputStream(bytes)));
+
+        assertEquals(48, fromStream.size());
+        assertEquals(fromStream, fromChannel);
+        assertEquals(sentences.size(), stream.getDecodedCount());
+        assertEquals(sentences.size(), channel.getDecodedCount());
+    }
+
+    @Test
+    public void testNonBlockingChannelIsRejected() throws Exception {
+        Pipe pipe = Pipe.open();
+        try (Pipe.SourceChannel source = pipe.source(); Pipe.SinkChannel sink = pipe.sink()) {
+            source.configureBlocking(false);
+            AisStreamDecoder stream = new AisStreamDecoder(new AisDecoder());
+            assertThrows(IllegalArgumentException.class, () -> stream.decode(source));
+            assertEquals(0, stream.getBytesRead());
+        }
+    }
+
+    @Test
+    public void testRejectedAndUnterminatedLines() throws Exception {
+        String good = AisEncoder.encodePositionMessage(TestSentences.positionMessage(205999999, 51.9, 3.2, "B")).get(0);
+        String overlong = "!" + String.join("", Collections.nCopies(100, "AIVDM,")) + "\n";
+        String input = "garbage\n" + overlong + good.replace('*', '#') + "\n\n" + good;
+
+        List<Integer> out = new ArrayList<>();
+        AisStreamDecoder stream = new AisStreamDecoder(recordingDecoder(out), 16, 82);
+        stream.decode(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)));
+
+        // The last line has no terminator and is decoded by finish()
+        assertEquals(List.of(205999999), out);
+        assertEquals(4, stream.getLineCount());
+        assertEquals(1, stream.getDecodedCount());
+        assertEquals(3, stream.getRejectedCount());
+
+        stream.resetCounters();
+        assertEquals(0, stream.getBytesRead());
+        assertEquals(0, stream.getLineCount());
+        assertThrows(IllegalArgumentException.class, () -> new AisStreamDecoder(new AisDecoder(), 0, 82));
+    }
+}
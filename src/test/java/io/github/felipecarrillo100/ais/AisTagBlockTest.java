@@ -0,0 +1,164 @@
+package io.github.felipecarrillo100.ais;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class AisTagBlockTest {
+
+    // Helper: fragments of a static message, all with the same sequence id and channel
+    private List<String> staticFragments(String name) {
+        AisStaticMessage msg = new AisStaticMessage();
+        msg.setMmsi(244000000 + name.length());
+        msg.setName(name);
+        msg.setDestination("ANTWERP");
+        msg.setChannel("B");
+        AisEncoder encoder = new AisEncoder(channel -> 5);
+        byte[] buffer = new byte[512];
+        int n = encoder.writeStaticMessage(msg, buffer, 0);
+        List<String> fragments = new ArrayList<>();
+        for (String line : new String(buffer, 0, n, StandardCharsets.US_ASCII).split("\r\n")) {
+            fragments.add(line);
+        }
+        return fragments;
+    }
+
+    @Test
+    public void testTagFieldsOnSinglePartMessages() {
+        String sentence = AisEncoder.encodePositionMessage(TestSentences.positionMessage(244660001, 51.9, 4.25, "A")).get(0);
+        List<AisPositionMessage> positions = new ArrayList<>();
+        List<MutableAisPositionMessage> reused = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.setPositionCallback(positions::add);
+        decoder.setReusablePositionCallback(m -> reused.add(copy(m)));
+
+        decoder.onSentence(TestSentences.tagBlock("s:rx-north,c:1700000042") + sentence);
+        decoder.onSentence(sentence);
+        decoder.onSentence(TestSentences.tagBlock("s:rx-north") + sentence, "override");
+
+        assertEquals(3, positions.size());
+        assertEquals(244660001, positions.get(0).getMmsi());
+        assertEquals("rx-north", positions.get(0).getSource());
+        assertEquals(1700000042L, positions.get(0).getReceiverTime());
+        assertNull(positions.get(0).getGroupId());
+        assertNull(positions.get(1).getSource());
+        assertNull(positions.get(1).getReceiverTime());
+        assertEquals("override", positions.get(2).getSource());
+
+        assertEquals("rx-north", reused.get(0).getSource());
+        assertEquals(1700000042L, reused.get(0).getReceiverTime());
+        assertFalse(reused.get(1).isReceiverTimeAvailable());
+        assertEquals(MutableAisPositionMessage.GROUP_ID_NOT_AVAILABLE, reused.get(1).getGroupId());
+    }
+
+    // Helper: snapshot of the reused instance
+    private MutableAisPositionMessage copy(MutableAisPositionMessage m) {
+        MutableAisPositionMessage copy = new MutableAisPositionMessage();
+        copy.setMmsi(m.getMmsi());
+        copy.setSource(m.getSource());
+        copy.setReceiverTime(m.getReceiverTime());
+        copy.setGroupId(m.getGroupId());
+        return copy;
+    }
+
+    @Test
+    public void testGroupsSeparateMessagesWithTheSameSequenceId() {
+        // Both messages use sequence id 5 on channel B, only their tag block groups differ
+        List<String> first = staticFragments("FIRST");
+        List<String> second = staticFragments("SECOND SHIP");
+        List<String> feed = List.of(
+                TestSentences.tagBlock("g:1-2-101,s:rx1,c:1700000100") + first.get(0),
+                TestSentences.tagBlock("g:1-2-102,s:rx1,c:1700000101") + second.get(0),
+                TestSentences.tagBlock("g:2-2-102,s:rx1") + second.get(1),
+                TestSentences.tagBlock("g:2-2-101,s:rx1") + first.get(1));
+
+        for (boolean concurrent : new boolean[] {false, true}) {
+            List<AisStaticMessage> decoded = new ArrayList<>();
+            if (concurrent) {
+                ConcurrentAisDecoder decoder = new ConcurrentAisDecoder();
+                decoder.setStaticCallback(decoded::add);
+                feed.forEach(decoder::onSentence);
+                assertEquals(0, decoder.getPendingMultipartCount());
+            } else {
+                AisDecoder decoder = new AisDecoder();
+                decoder.setStaticCallback(decoded::add);
+                AisStreamDecoder stream = new AisStreamDecoder(decoder);
+                byte[] bytes = (String.join("\r\n", feed) + "\r\n").getBytes(StandardCharsets.ISO_8859_1);
+                stream.feed(bytes, 0, bytes.length);
+                assertEquals(4, stream.getDecodedCount());
+                assertEquals(0, decoder.getPendingMultipartCount());
+            }
+
+            assertEquals(2, decoded.size());
+            assertEquals("SECOND SHIP", decoded.get(0).getName());
+            assertEquals(102, decoded.get(0).getGroupId());
+            assertEquals(1700000101L, decoded.get(0).getReceiverTime());
+            assertEquals("FIRST", decoded.get(1).getName());
+            assertEquals(101, decoded.get(1).getGroupId());
+            assertEquals(1700000100L, decoded.get(1).getReceiverTime());
+            assertEquals("rx1", decoded.get(1).getSource());
+        }
+    }
+
+    @Test
+    public void testLaterGroupFragmentsWithoutSource() {
+        // As in typical feeds, only the first line of each group carries the source and time
+        List<String> first = staticFragments("FIRST");
+        List<String> second = staticFragments("SECOND SHIP");
+        List<String> feed = List.of(
+                TestSentences.tagBlock("g:1-2-7,s:rx1,c:1700000100") + first.get(0),
+                TestSentences.tagBlock("g:1-2-8,s:rx2,c:1700000101") + second.get(0),
+                TestSentences.tagBlock("g:2-2-7") + first.get(1),
+                TestSentences.tagBlock("g:2-2-8") + second.get(1));
+
+        for (boolean concurrent : new boolean[] {false, true}) {
+            List<AisStaticMessage> decoded = new ArrayList<>();
+            if (concurrent) {
+                ConcurrentAisDecoder decoder = new ConcurrentAisDecoder();
+                decoder.setStaticCallback(decoded::add);
+                feed.forEach(decoder::onSentence);
+                assertEquals(0, decoder.getPendingMultipartCount());
+            } else {
+                AisDecoder decoder = new AisDecoder();
+                decoder.setStaticCallback(decoded::add);
+                feed.forEach(decoder::onSentence);
+                assertEquals(0, decoder.getPendingMultipartCount());
+            }
+
+            assertEquals(2, decoded.size());
+            assertEquals("FIRST", decoded.get(0).getName());
+            assertEquals("rx1", decoded.get(0).getSource());
+            assertEquals(1700000100L, decoded.get(0).getReceiverTime());
+            assertEquals(7, decoded.get(0).getGroupId());
+            assertEquals("SECOND SHIP", decoded.get(1).getName());
+            assertEquals("rx2", decoded.get(1).getSource());
+            assertEquals(1700000101L, decoded.get(1).getReceiverTime());
+        }
+
+        // A source given by the caller still separates the groups of different feeds
+        List<AisStaticMessage> decoded = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.setStaticCallback(decoded::add);
+        decoder.onSentence(TestSentences.tagBlock("g:1-2-7") + first.get(0), "feed1");
+        decoder.onSentence(TestSentences.tagBlock("g:2-2-7") + second.get(1), "feed2");
+        assertTrue(decoded.isEmpty());
+        decoder.onSentence(TestSentences.tagBlock("g:2-2-7") + first.get(1), "feed1");
+        assertEquals(1, decoded.size());
+        assertEquals("feed1", decoded.get(0).getSource());
+    }
+
+    @Test
+    public void testBadTagBlockChecksumRejectsSentence() {
+        String sentence = AisEncoder.encodePositionMessage(TestSentences.positionMessage(244660002, 51.9, 4.25, "A")).get(0);
+        String tagged = TestSentences.tagBlock("s:rx1") + sentence;
+        byte[] bytes = tagged.replace("rx1", "rx9").getBytes(StandardCharsets.ISO_8859_1);
+        AisDecoder decoder = new AisDecoder();
+        assertFalse(decoder.onSentence(bytes, 0, bytes.length));
+        bytes = tagged.getBytes(StandardCharsets.ISO_8859_1);
+        assertTrue(decoder.onSentence(bytes, 0, bytes.length));
+    }
+}
@@ -0,0 +1,145 @@
+package io.github.felipecarrillo100.ais;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+public class AisVesselTableTest {
+
+    // Helper: encodes a position report with a tag block receiver time
+    private String position(int mmsi, double lat, double lon, double sog, long time) {
+        AisPositionMessage msg = new AisPositionMessage();
+        msg.setMmsi(mmsi);
+        msg.setLat(lat);
+        msg.setLon(lon);
+        msg.setSog(sog);
+        msg.setCog(87.5);
+        msg.setHeading(88);
+        msg.setNavStatus(5);
+        msg.setChannel("A");
+        return TestSentences.tagBlock("c:" + time) + AisEncoder.encodePositionMessage(msg).get(0);
+    }
+
+    @Test
+    public void testDecoderUpdatesLatestPosition() {
+        AisVesselTable table = new AisVesselTable();
+        AisDecoder decoder = new AisDecoder();
+        decoder.addHandler(AisMessageType.REUSABLE_POSITION, table);
+
+        decoder.onSentence(position(244660000, 51.9, 4.5, 12.3, 1700000000L));
+        decoder.onSentence(position(211331640, 53.5, 9.9, 0.0, 1700000001L));
+        decoder.onSentence(position(244660000, 52.0, 4.6, 11.8, 1700000010L));
+
+        assertEquals(2, table.size());
+        AisVesselState state = new AisVesselState();
+        assertTrue(table.get(244660000, state));
+        assertEquals(244660000, state.getMmsi());
+        assertEquals(52.0, state.getLat(), 1e-6);
+        assertEquals(4.6, state.getLon(), 1e-6);
+        assertEquals(11.8, state.getSog(), 1e-9);
+        assertEquals(87.5, state.getCog(), 1e-9);
+        assertEquals(88, state.getHeading());
+        assertEquals(5, state.getNavStatus());
+        assertEquals(1700000010L, state.getUpdateTime());
+        assertFalse(table.get(999999999, state));
+        assertEquals(244660000, state.getMmsi());
+    }
+
+    @Test
+    public void testClassBReportsHaveUndefinedNavStatus() {
+        AisVesselTable table = new AisVesselTable(16, () -> 42L);
+        AisClassBPositionMessage msg = new AisClassBPositionMessage();
+        msg.setMmsi(367000001);
+        msg.setLat(37.8);
+        msg.setLon(-122.4);
+        msg.setSog(6.1);
+        msg.setCog(270.0);
+        msg.setHeading(511);
+        table.update(msg);
+
+        AisVesselState state = new AisVesselState();
+        assertTrue(table.get(367000001, state));
+        assertEquals(15, state.getNavStatus());
+        assertEquals(-122.4, state.getLon(), 1e-6);
+        assertEquals(42L, state.getUpdateTime());
+    }
+
+    @Test
+    public void testGrowsAndScansAllVessels() {
+        AisVesselTable table = new AisVesselTable(8);
+        for (int i = 1; i <= 20000; i++) {
+            table.update(200000000 + i, 0, i / 1000.0, -i / 1000.0, 1.0, 2.0, 3, i);
+        }
+        table.update(0, 0, 1.0, 1.0, 1.0, 1.0, 1, 1);
+
+        assertEquals(20000, table.size());
+        assertFalse(table.contains(0));
+        long[] sum = new long[2];
+        table.forEach(state -> {
+            sum[0]++;
+            sum[1] += state.getUpdateTime();
+            assertEquals(-state.getLatRaw(), state.getLonRaw());
+        });
+        assertEquals(20000, sum[0]);
+        assertEquals(20000L * 20001 / 2, sum[1]);
+    }
+
+    @Test
+    public void testRemoveOlderThan() {
+        AisVesselTable table = new AisVesselTable();
+        for (int i = 1; i <= 100; i++) {
+            table.update(i, 0, 0.0, 0.0, 0.0, 0.0, 0, i);
+        }
+
+        assertEquals(40, table.removeOlderThan(41));
+        assertEquals(60, table.size());
+        assertFalse(table.contains(40));
+        assertTrue(table.contains(41));
+        assertEquals(0, table.removeOlderThan(41));
+
+        table.clear();
+        assertEquals(0, table.size());
+        assertFalse(table.contains(100));
+    }
+
+    @Test
+    public void testReadersNeverSeeTornRows() throws Exception {
+        AisVesselTable table = new AisVesselTable(64);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> failure = new AtomicReference<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 2; r++) {
+            Thread reader = new Thread(() -> {
+                AisVesselState state = new AisVesselState();
+                while (!done.get()) {
+                    table.forEach(s -> {
+                        // The writer keeps lon = -lat and time = lat for every row
+                        if (s.getLonRaw() != -s.getLatRaw() || s.getUpdateTime() != s.getLatRaw()) {
+                            failure.compareAndSet(null, s.toString());
+                        }
+                    });
+                    if (table.get(1, state) && state.getLonRaw() != -state.getLatRaw()) {
+                        failure.compareAndSet(null, state.toString());
+                    }
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+        for (int i = 0; i < 200000; i++) {
+            int v = i % 50000;
+            table.update(1 + i % 500, 0, v / 600000.0, -v / 600000.0, 0.0, 0.0, 0, v);
+        }
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertNull(failure.get());
+        assertEquals(500, table.size());
+    }
+}
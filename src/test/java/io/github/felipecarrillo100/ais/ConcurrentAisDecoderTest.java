@@ -0,0 +1,93 @@
+package io.github.felipecarrillo100.ais;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentAisDecoderTest {
+
+    @Test
+    public void testStripeCountRoundedToPowerOfTwo() {
+        assertEquals(1, new ConcurrentAisDecoder(1000, 1).getStripeCount());
+        assertEquals(8, new ConcurrentAisDecoder(1000, 5).getStripeCount());
+        assertEquals(16, new ConcurrentAisDecoder(1000, 16).getStripeCount());
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentAisDecoder(1000, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentAisDecoder(0, 4));
+        // Capacity is split evenly among the stripes
+        assertEquals(64, new ConcurrentAisDecoder(1000, 4, 61).getMaxPendingMultiparts());
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentAisDecoder(1000, 4, 0));
+    }
+
+    @Test
+    public void testConcurrentProducersDecodeEveryMessage() throws Exception {
+        final int producers = 8;
+        final int messagesPerProducer = 2000;
+
+        ConcurrentAisDecoder decoder = new ConcurrentAisDecoder();
+        AtomicInteger positions = new AtomicInteger();
+        ConcurrentHashMap<Integer, AtomicInteger> statics = new ConcurrentHashMap<>();
+        AtomicInteger mismatches = new AtomicInteger();
+        decoder.setPositionCallback(msg -> positions.incrementAndGet());
+        decoder.setStaticCallback(msg -> {
+            if (!("VESSEL " + msg.getMmsi()).equals(msg.getName())) mismatches.incrementAndGet();
+            statics.computeIfAbsent(msg.getMmsi(), k -> new AtomicInteger()).incrementAndGet();
+        });
+
+        // Each producer plays one receiver, so it owns its own sequence id
+        List<List<String>> feeds = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            List<String> feed = new ArrayList<>();
+            for (int i = 0; i < messagesPerProducer; i++) {
+                int mmsi = 200000000 + p * messagesPerProducer + i;
+                feed.addAll(AisEncoder.encodePositionMessage(TestSentences.positionMessage(mmsi, 52.1, 4.5, "A")));
+                for (String s : AisEncoder.encodeStaticMessage(TestSentences.staticMessage(mmsi, "VESSEL " + mmsi, "B"))) {
+                    feed.add(TestSentences.withField(s, 3, Integer.toString(p)));
+                }
+            }
+            feeds.add(feed);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (List<String> feed : feeds) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                feed.forEach(decoder::onSentence);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(producers * messagesPerProducer, positions.get());
+        assertEquals(producers * messagesPerProducer, statics.size());
+        assertTrue(statics.values().stream().allMatch(c -> c.get() == 1));
+        assertEquals(0, mismatches.get());
+        assertEquals(0, decoder.getPendingMultipartCount());
+    }
+
+    @Test
+    public void testExpiredFragmentsAreDiscarded() throws InterruptedException {
+        List<String> sentences = AisEncoder.encodeStaticMessage(TestSentences.staticMessage(244000001, "VESSEL 244000001", "B"));
+        ConcurrentAisDecoder decoder = new ConcurrentAisDecoder(5, 4);
+        decoder.onSentence(sentences.get(0));
+        assertEquals(1, decoder.getPendingMultipartCount());
+        Thread.sleep(50);
+        decoder.purgeExpiredMultiparts();
+        assertEquals(0, decoder.getPendingMultipartCount());
+    }
+}
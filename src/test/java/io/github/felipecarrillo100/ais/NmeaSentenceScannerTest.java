@@ -0,0 +1,159 @@
+package io.github.felipecarrillo100.ais;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+public class NmeaSentenceScannerTest {
+
+    private static final Pattern REFERENCE =
+            Pattern.compile("^!(AIVDM|AIVDO),(\\d+),(\\d+),([^,]*),([AB]),([^,]*),(\\d+)\\*([0-9A-Fa-f]{2})");
+
+    // Helper: previous regex based acceptance check, used as reference
+    private boolean referenceAccepts(String sentence) {
+        Matcher matcher = REFERENCE.matcher(sentence.trim());
+        if (!matcher.find()) return false;
+        int starIndex = sentence.indexOf('*');
+        if (starIndex == -1 || starIndex + 3 > sentence.length()) return false;
+        int checksum = 0;
+        for (int i = 1; i < starIndex; i++) {
+            checksum ^= sentence.charAt(i);
+        }
+        return String.format("%02X", checksum).equals(sentence.substring(starIndex + 1, starIndex + 3).toUpperCase());
+    }
+
+    @Test
+    public void testScanSinglePartSentence() {
+        NmeaSentenceScanner scanner = new NmeaSentenceScanner();
+        String sentence = "!AIVDM,1,1,,B,15M67FC000G?ufbE`FepT@3n00Sa,0*5C";
+        assertTrue(scanner.scan(sentence));
+        assertEquals(1, scanner.total());
+        assertEquals(1, scanner.part());
+        assertEquals(scanner.seqIdStart(), scanner.seqIdEnd());
+        assertEquals('B', scanner.channel());
+        assertEquals("15M67FC000G?ufbE`FepT@3n00Sa", sentence.substring(scanner.payloadStart(), scanner.payloadEnd()));
+        assertEquals(0, scanner.fillBits());
+    }
+
+    @Test
+    public void testScanMultipartSentenceWithTrailingWhitespace() {
+        NmeaSentenceScanner scanner = new NmeaSentenceScanner();
+        String sentence = TestSentences.withChecksum("!AIVDO,2,2,37,A,88888888880,2") + "\r\n";
+        assertTrue(scanner.scan(sentence));
+        assertEquals(2, scanner.total());
+        assertEquals(2, scanner.part());
+        assertEquals("37", sentence.substring(scanner.seqIdStart(), scanner.seqIdEnd()));
+        assertEquals('A', scanner.channel());
+        assertEquals(2, scanner.fillBits());
+    }
+
+    @Test
+    public void testScanRejectsMalformedSentences() {
+        NmeaSentenceScanner scanner = new NmeaSentenceScanner();
+        assertFalse(scanner.scan(""));
+        assertFalse(scanner.scan("!AIVDM"));
+        assertFalse(scanner.scan("!AIVDM,1,1,,B,15M67FC000G?ufbE`FepT@3n00Sa,0*5D"));
+        assertFalse(scanner.scan(TestSentences.withChecksum("!AIVDM,1,1,,C,15M67FC000G?ufbE`FepT@3n00Sa,0")));
+        assertFalse(scanner.scan(TestSentences.withChecksum("!GPGGA,1,1,,A,15M67FC000G?ufbE`FepT@3n00Sa,0")));
+        assertFalse(scanner.scan(TestSentences.withChecksum("!AIVDM,,1,,A,15M67FC000G?ufbE`FepT@3n00Sa,0")));
+        assertFalse(scanner.scan(TestSentences.withChecksum("!AIVDM,1,1,,A,15M67FC000G?ufbE`FepT@3n00Sa,")));
+        assertFalse(scanner.scan("!AIVDM,1,1,,A,15M67FC000G?ufbE`FepT@3n00Sa,0"));
+        assertFalse(scanner.scan(" " + TestSentences.withChecksum("!AIVDM,1,1,,A,15M67FC000G?ufbE`FepT@3n00Sa,0")));
+    }
+
+    @Test
+    public void testScanMatchesReferenceOnMutatedSentences() {
+        List<String> seeds = new ArrayList<>();
+        seeds.add("!AIVDM,1,1,,B,15M67FC000G?ufbE`FepT@3n00Sa,0*5C");
+        seeds.add(TestSentences.withChecksum("!AIVDM,2,1,7,A,51mg=5@2Fe3t<4hk7;=@E=B1<PU00000000000161@D577?os@D3lU83i`0h,0"));
+        seeds.add(TestSentences.withChecksum("!AIVDO,2,2,7,B,C3000000000,2"));
+        seeds.add(TestSentences.withChecksum("!AIVDM,1,1,,A,,0"));
+
+        NmeaSentenceScanner scanner = new NmeaSentenceScanner();
+        Random random = new Random(42);
+        String alphabet = "!,*AIVDMOB0123456789aF \t";
+        for (String seed : seeds) {
+            assertEquals(referenceAccepts(seed), scanner.scan(seed), seed);
+            for (int n = 0; n < 2000; n++) {
+                StringBuilder sb = new StringBuilder(seed);
+                int edits = 1 + random.nextInt(2);
+                for (int e = 0; e < edits; e++) {
+                    int pos = random.nextInt(sb.length());
+                    switch (random.nextInt(3)) {
+                        case 0: sb.setCharAt(pos, alphabet.charAt(random.nextInt(alphabet.length()))); break;
+                        case 1: sb.deleteCharAt(pos); break;
+                        default: sb.insert(pos, alphabet.charAt(random.nextInt(alphabet.length()))); break;
+                    }
+                    if (sb.length() == 0) break;
+                }
+                String mutated = sb.toString();
+                // Re-sign half of the mutations so that field level rules are exercised past the checksum
+                int star = mutated.indexOf('*');
+                if (random.nextBoolean() && star > 0 && mutated.startsWith("!")) {
+                    mutated = TestSentences.withChecksum(mutated.substring(0, star)) + mutated.substring(Math.min(mutated.length(), star + 3));
+                }
+                assertEquals(referenceAccepts(mutated), scanner.scan(mutated), mutated);
+            }
+        }
+    }
+
+    @Test
+    public void testScanTagBlock() {
+        NmeaSentenceScanner scanner = new NmeaSentenceScanner();
+        String body = TestSentences.withChecksum("!AIVDM,2,1,7,A,55NBsJ02>PGlL@KsJ21<PtV0l4pB0@E:1CP00000,0");
+        String sentence = TestSentences.tagBlock("g:1-2-4711,s:station7,n:42,c:1700000123") + body;
+        assertTrue(scanner.scan(sentence));
+        assertEquals("station7", scanner.tagSource());
+        assertEquals(1700000123L, scanner.tagTime());
+        assertTrue(scanner.hasGroup());
+        assertEquals(1, scanner.groupPart());
+        assertEquals(2, scanner.groupTotal());
+        assertEquals(4711, scanner.groupId());
+        // The sentence fields are unaffected by the tag block
+        assertEquals(2, scanner.total());
+        assertEquals("7", sentence.substring(scanner.seqIdStart(), scanner.seqIdEnd()));
+        assertEquals('A', scanner.channel());
+        assertEquals("55NBsJ02>PGlL@KsJ21<PtV0l4pB0@E:1CP00000", sentence.substring(scanner.payloadStart(), scanner.payloadEnd()));
+
+        // Sources are cached
+        String source = scanner.tagSource();
+        assertTrue(scanner.scan(TestSentences.tagBlock("s:station7") + body));
+        assertSame(source, scanner.tagSource());
+        assertEquals(-1, scanner.tagTime());
+        assertFalse(scanner.hasGroup());
+
+        // Tag fields do not leak into the next sentence
+        assertTrue(scanner.scan(body));
+        assertNull(scanner.tagSource());
+        assertEquals(-1, scanner.tagTime());
+        assertFalse(scanner.hasGroup());
+    }
+
+    @Test
+    public void testRejectMalformedTagBlocks() {
+        NmeaSentenceScanner scanner = new NmeaSentenceScanner();
+        String body = "!AIVDM,1,1,,B,15M67FC000G?ufbE`FepT@3n00Sa,0*5C";
+        String valid = TestSentences.tagBlock("s:rx1,c:1700000000");
+        assertTrue(scanner.scan(valid + body));
+        // Wrong checksum
+        assertFalse(scanner.scan(valid.replace("rx1", "rx2") + body));
+        // No checksum, no closing backslash, nothing after the tag block
+        assertFalse(scanner.scan("\\s:rx1\\" + body));
+        assertFalse(scanner.scan(valid.substring(0, valid.length() - 1) + body));
+        assertFalse(scanner.scan(valid));
+        // An invalid sentence after a valid tag block
+        assertFalse(scanner.scan(valid + body.replace("*5C", "*5D")));
+
+        // Malformed tag values are ignored, not fatal
+        assertTrue(scanner.scan(TestSentences.tagBlock("c:17000x,g:1-2,s:") + body));
+        assertEquals(-1, scanner.tagTime());
+        assertFalse(scanner.hasGroup());
+        assertEquals("", scanner.tagSource());
+    }
+}
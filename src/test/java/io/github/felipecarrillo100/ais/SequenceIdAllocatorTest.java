@@ -0,0 +1,116 @@
+package io.github.felipecarrillo100.ais;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class SequenceIdAllocatorTest {
+
+    // Helper: sequential message id field of a sentence
+    private String sequenceId(String sentence) {
+        return sentence.split(",", -1)[3];
+    }
+
+    @Test
+    public void testIdsCyclePerChannel() {
+        CyclicSequenceIdAllocator allocator = new CyclicSequenceIdAllocator();
+        for (int i = 0; i < 25; i++) {
+            assertEquals(i % 10, allocator.nextSequenceId('A'));
+        }
+        // Other channels have their own cycles
+        assertEquals(0, allocator.nextSequenceId('B'));
+        assertEquals(1, allocator.nextSequenceId('B'));
+        assertEquals(0, allocator.nextSequenceId('1'));
+        assertEquals(5, allocator.nextSequenceId('A'));
+    }
+
+    @Test
+    public void testConcurrentAllocationIsEvenlySpread() throws Exception {
+        CyclicSequenceIdAllocator allocator = new CyclicSequenceIdAllocator();
+        AtomicInteger[] counts = new AtomicInteger[10];
+        for (int i = 0; i < counts.length; i++) counts[i] = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 25_000; i++) {
+                        counts[allocator.nextSequenceId('B')].incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        } finally {
+            executor.shutdown();
+        }
+        // No id is handed out twice within a cycle, so every id gets exactly a tenth
+        for (AtomicInteger count : counts) {
+            assertEquals(10_000, count.get());
+        }
+        assertEquals(0, allocator.nextSequenceId('B'));
+    }
+
+    @Test
+    public void testEncoderUsesAllocator() {
+        AisEncoder encoder = new AisEncoder(channel -> channel == 'A' ? 7 : 3);
+        byte[] buffer = new byte[512];
+        int n = encoder.writeStaticMessage(TestSentences.staticMessage(244000001, "VESSEL 244000001", "A"), buffer, 0);
+        for (String sentence : new String(buffer, 0, n, StandardCharsets.US_ASCII).split("\r\n")) {
+            assertEquals("7", sequenceId(sentence));
+        }
+        n = encoder.writeStaticMessage(TestSentences.staticMessage(244000002, "VESSEL 244000002", "B"), buffer, 0);
+        assertTrue(new String(buffer, 0, n, StandardCharsets.US_ASCII).startsWith("!AIVDM,2,1,3,B,"));
+
+        assertThrows(IllegalStateException.class,
+                () -> new AisEncoder(channel -> 10).writeStaticMessage(TestSentences.staticMessage(244000003, "VESSEL 244000003", "A"), buffer, 0));
+        assertThrows(NullPointerException.class, () -> new AisEncoder(null));
+    }
+
+    @Test
+    public void testRejectedWritesDoNotAllocateIds() {
+        CyclicSequenceIdAllocator allocator = new CyclicSequenceIdAllocator();
+        AisEncoder encoder = new AisEncoder(allocator);
+        AisStaticMessage msg = TestSentences.staticMessage(244000004, "VESSEL 244000004", "A");
+        assertThrows(IndexOutOfBoundsException.class, () -> encoder.writeStaticMessage(msg, new byte[100], 0));
+        assertThrows(BufferOverflowException.class, () -> encoder.writeStaticMessage(msg, ByteBuffer.allocate(100)));
+        assertThrows(BufferOverflowException.class, () -> encoder.writeStaticMessage(msg, ByteBuffer.allocateDirect(100)));
+        assertEquals(0, allocator.nextSequenceId('A'));
+    }
+
+    @Test
+    public void testInterleavedMultipartMessagesDoNotCollide() {
+        AisEncoder encoder = new AisEncoder();
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        byte[] buffer = new byte[512];
+        int mmsi = 244000010;
+        for (List<String> target : List.of(first, second)) {
+            int n = encoder.writeStaticMessage(TestSentences.staticMessage(mmsi, "VESSEL " + mmsi, "B"), buffer, 0);
+            mmsi++;
+            for (String sentence : new String(buffer, 0, n, StandardCharsets.US_ASCII).split("\r\n")) {
+                target.add(sentence);
+            }
+        }
+        assertNotEquals(sequenceId(first.get(0)), sequenceId(second.get(0)));
+
+        // Fragments of both messages interleaved on the same channel still reassemble
+        List<String> names = new ArrayList<>();
+        AisDecoder decoder = new AisDecoder();
+        decoder.setStaticCallback(msg -> names.add(msg.getName()));
+        decoder.onSentence(first.get(0));
+        decoder.onSentence(second.get(0));
+        decoder.onSentence(first.get(1));
+        decoder.onSentence(second.get(1));
+        assertEquals(List.of("VESSEL 244000010", "VESSEL 244000011"), names);
+    }
+}
@@ -0,0 +1,144 @@
+package io.github.felipecarrillo100.ais;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds test messages, and builds and rewrites NMEA sentences for tests, recomputing their checksums.
+ */
+final class TestSentences {
+
+    private TestSentences() {
+    }
+
+    /**
+     * Builds a position report (type 1) with every field set.
+     * @param mmsi vessel MMSI
+     * @param lat latitude in degrees
+     * @param lon longitude in degrees
+     * @param channel radio channel, "A" or "B"
+     * @return position report
+     */
+    static AisPositionMessage positionMessage(int mmsi, double lat, double lon, String channel) {
+        AisPositionMessage msg = new AisPositionMessage();
+        msg.setMmsi(mmsi);
+        msg.setNavStatus(1);
+        msg.setRateOfTurn(7);
+        msg.setSog(8.7);
+        msg.setAccuracy(false);
+        msg.setLon(lon);
+        msg.setLat(lat);
+        msg.setCog(12.5);
+        msg.setHeading(13);
+        msg.setTimestamp(17);
+        msg.setRaim(true);
+        msg.setRadio(2222);
+        msg.setChannel(channel);
+        return msg;
+    }
+
+    /**
+     * Builds static and voyage data (type 5) with every field set, encoded as two sentences.
+     * @param mmsi vessel MMSI
+     * @param name vessel name
+     * @param channel radio channel, "A" or "B"
+     * @return static message
+     */
+    static AisStaticMessage staticMessage(int mmsi, String name, String channel) {
+        AisStaticMessage msg = new AisStaticMessage();
+        msg.setMessageType(5);
+        msg.setMmsi(mmsi);
+        msg.setImo(9123456);
+        msg.setCallsign("PD" + mmsi % 10000);
+        msg.setName(name);
+        msg.setShipType(70);
+        msg.setDimensionToBow(100);
+        msg.setDimensionToStern(20);
+        msg.setDimensionToPort(8);
+        msg.setDimensionToStarboard(9);
+        msg.setEpfd(1);
+        msg.setEtaMonth(6);
+        msg.setEtaDay(15);
+        msg.setEtaHour(8);
+        msg.setEtaMinute(30);
+        msg.setDraught(5.5);
+        msg.setDestination("ROTTERDAM");
+        msg.setDteAvailable(true);
+        msg.setChannel(channel);
+        return msg;
+    }
+
+    /**
+     * Appends the checksum to a sentence body.
+     * @param body sentence from its start delimiter up to, not including, the '*'
+     * @return signed sentence
+     */
+    static String withChecksum(String body) {
+        int checksum = 0;
+        for (int i = 1; i < body.length(); i++) {
+            checksum ^= body.charAt(i);
+        }
+        return body + "*" + String.format("%02X", checksum);
+    }
+
+    /**
+     * Wraps tag block fields with their checksum and delimiters.
+     * @param fields comma separated tag fields, e.g. {@code s:rx1,c:1700000000}
+     * @return tag block to put in front of a sentence
+     */
+    static String tagBlock(String fields) {
+        int checksum = 0;
+        for (int i = 0; i < fields.length(); i++) {
+            checksum ^= fields.charAt(i);
+        }
+        return "\\" + fields + "*" + String.format("%02X", checksum) + "\\";
+    }
+
+    /**
+     * Armors payload bits into AIVDM sentences of at most 60 payload characters.
+     * @param bits payload bits
+     * @param channel radio channel, e.g. "A"
+     * @param seqId sequential message id, used only when more than one sentence is needed
+     * @return signed sentences
+     */
+    static List<String> armor(AisBitBuffer bits, String channel, String seqId) {
+        int chars = bits.armoredLength();
+        int total = (chars + 59) / 60;
+        List<String> sentences = new ArrayList<>();
+        for (int part = 1; part <= total; part++) {
+            StringBuilder payload = new StringBuilder();
+            for (int i = (part - 1) * 60; i < Math.min(chars, part * 60); i++) {
+                payload.append((char) bits.armoredChar(i));
+            }
+            int fill = part == total ? chars * 6 - bits.length() : 0;
+            sentences.add(withChecksum("!AIVDM," + total + "," + part + "," + (total > 1 ? seqId : "")
+                    + "," + channel + "," + payload + "," + fill));
+        }
+        return sentences;
+    }
+
+    /**
+     * Replaces one comma separated field of a signed sentence and recomputes the checksum.
+     * @param sentence signed sentence without tag block
+     * @param index field index, 0 being the talker and sentence type
+     * @param value new field value
+     * @return signed sentence
+     */
+    static String withField(String sentence, int index, String value) {
+        String[] fields = sentence.substring(0, sentence.indexOf('*')).split(",", -1);
+        fields[index] = value;
+        return withChecksum(String.join(",", fields));
+    }
+
+    /**
+     * Replaces the message type of a signed sentence, i.e. the first payload character.
+     * @param sentence signed sentence without tag block
+     * @param type AIS message type (0-63)
+     * @return signed sentence
+     */
+    static String withType(String sentence, int type) {
+        String payload = sentence.substring(0, sentence.indexOf('*')).split(",", -1)[5];
+        char armored = (char) (type < 40 ? '0' + type : '0' + type + 8);
+        return withField(sentence, 5, armored + payload.substring(1));
+    }
+}